@@ -29,6 +29,8 @@ import org.wso2.carbon.identity.application.common.model.SpFileContent;
 import org.wso2.carbon.identity.application.common.model.SpTemplate;
 import org.wso2.carbon.identity.application.mgt.internal.ApplicationManagementServiceComponentHolder;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -225,6 +227,26 @@ public abstract class ApplicationManagementService implements ApplicationPaginat
 
     public abstract ServiceProvider getServiceProvider(int appId) throws IdentityApplicationManagementException;
 
+    /**
+     * Get the service providers of the given application ids.
+     *
+     * @param appIds Application ids.
+     * @return Service providers in the order of the given ids. Ids which do not match an application are skipped.
+     * @throws IdentityApplicationManagementException If an error occurs while loading the service providers.
+     */
+    public List<ServiceProvider> getServiceProviders(Collection<Integer> appIds)
+            throws IdentityApplicationManagementException {
+
+        List<ServiceProvider> serviceProviders = new ArrayList<>();
+        for (Integer appId : appIds) {
+            ServiceProvider serviceProvider = getServiceProvider(appId);
+            if (serviceProvider != null) {
+                serviceProviders.add(serviceProvider);
+            }
+        }
+        return serviceProviders;
+    }
+
     public abstract ServiceProvider getServiceProviderByClientId(String clientId, String clientType,
                                                                  String tenantDomain)
             throws IdentityApplicationManagementException;
@@ -1126,6 +1126,29 @@ public class ApplicationManagementServiceImpl extends ApplicationManagementServi
         return serviceProvider;
     }
 
+    @Override
+    public List<ServiceProvider> getServiceProviders(Collection<Integer> appIds)
+            throws IdentityApplicationManagementException {
+
+        ApplicationDAO appDAO = ApplicationMgtSystemConfig.getInstance().getApplicationDAO();
+        List<ServiceProvider> serviceProviders = new ArrayList<>();
+        Collection<ApplicationMgtListener> listeners = getApplicationMgtListeners();
+        for (ServiceProvider serviceProvider : appDAO.getApplications(appIds)) {
+            boolean isAllowed = true;
+            for (ApplicationMgtListener listener : listeners) {
+                if (listener.isEnable() && !listener.doPostGetServiceProvider(serviceProvider,
+                        serviceProvider.getApplicationName(), serviceProvider.getOwner().getTenantDomain())) {
+                    isAllowed = false;
+                    break;
+                }
+            }
+            if (isAllowed) {
+                serviceProviders.add(serviceProvider);
+            }
+        }
+        return serviceProviders;
+    }
+
     /**
      * @param appId
      * @return
@@ -226,6 +226,45 @@ public class ApplicationMgtDBQueries {
             "BLOCKING, RULE_ENABLED FROM " +
             "SP_PROVISIONING_CONNECTOR WHERE " +
             "APP_ID = ? AND TENANT_ID = ?";
+
+    // Set based SELECT queries used to load many applications at once. The ID_LIST_PLACEHOLDER is replaced with
+    // a parameter for each id.
+    public static final String ID_LIST_PLACEHOLDER = "_ID_LIST_";
+    public static final String LOAD_BASIC_APP_INFO_BY_APP_IDS = "SELECT ID, TENANT_ID, APP_NAME, USER_STORE, " +
+            "USERNAME, DESCRIPTION, ROLE_CLAIM, AUTH_TYPE, PROVISIONING_USERSTORE_DOMAIN, IS_LOCAL_CLAIM_DIALECT, " +
+            "IS_SEND_LOCAL_SUBJECT_ID, IS_SEND_AUTH_LIST_OF_IDPS, IS_USE_TENANT_DOMAIN_SUBJECT, " +
+            "IS_USE_USER_DOMAIN_SUBJECT, ENABLE_AUTHORIZATION, SUBJECT_CLAIM_URI, IS_SAAS_APP, IS_DUMB_MODE, UUID, " +
+            "IMAGE_URL, ACCESS_URL, IS_DISCOVERABLE FROM SP_APP WHERE ID IN (" + ID_LIST_PLACEHOLDER + ")";
+    public static final String GET_SP_METADATA_BY_SP_IDS = "SELECT SP_ID, NAME, VALUE, DISPLAY_NAME FROM " +
+            "SP_METADATA WHERE SP_ID IN (" + ID_LIST_PLACEHOLDER + ")";
+    public static final String LOAD_CLIENTS_INFO_BY_APP_IDS = "SELECT APP_ID, TENANT_ID, INBOUND_AUTH_KEY, " +
+            "INBOUND_AUTH_TYPE, PROP_NAME, PROP_VALUE, INBOUND_CONFIG_TYPE FROM SP_INBOUND_AUTH WHERE APP_ID IN (" +
+            ID_LIST_PLACEHOLDER + ")";
+    public static final String LOAD_STEPS_INFO_BY_APP_IDS = "SELECT SP_AUTH_STEP.APP_ID, STEP_ORDER, " +
+            "AUTHENTICATOR_ID, IS_SUBJECT_STEP, IS_ATTRIBUTE_STEP FROM SP_AUTH_STEP INNER JOIN SP_FEDERATED_IDP " +
+            "ON SP_AUTH_STEP.ID=SP_FEDERATED_IDP.ID WHERE SP_AUTH_STEP.APP_ID IN (" + ID_LIST_PLACEHOLDER + ") " +
+            "AND SP_AUTH_STEP.TENANT_ID = ?";
+    public static final String LOAD_IDP_AND_AUTHENTICATOR_NAMES_BY_IDS = "SELECT B.ID, A.TENANT_ID, A.NAME, B.NAME, " +
+            "B.DISPLAY_NAME, A.IS_FEDERATION_HUB FROM IDP A JOIN IDP_AUTHENTICATOR B ON A.ID = B.IDP_ID " +
+            "WHERE B.ID IN (" + ID_LIST_PLACEHOLDER + ") AND ((A.TENANT_ID =? AND B.TENANT_ID =?) OR " +
+            "(A.TENANT_ID=? AND A.NAME LIKE 'SHARED_%' AND B.TENANT_ID=?))";
+    public static final String LOAD_SCRIPTS_BY_APP_IDS = "SELECT APP_ID, CONTENT, IS_ENABLED FROM SP_AUTH_SCRIPT " +
+            "WHERE APP_ID IN (" + ID_LIST_PLACEHOLDER + ")";
+    public static final String LOAD_PRO_CONNECTORS_BY_APP_IDS = "SELECT APP_ID, TENANT_ID, IDP_NAME, " +
+            "CONNECTOR_NAME, IS_JIT_ENABLED, BLOCKING, RULE_ENABLED FROM SP_PROVISIONING_CONNECTOR WHERE APP_ID IN (" +
+            ID_LIST_PLACEHOLDER + ")";
+    public static final String LOAD_CLAIM_MAPPING_BY_APP_IDS = "SELECT APP_ID, TENANT_ID, IDP_CLAIM, SP_CLAIM, " +
+            "IS_REQUESTED, IS_MANDATORY, DEFAULT_VALUE FROM SP_CLAIM_MAPPING WHERE APP_ID IN (" +
+            ID_LIST_PLACEHOLDER + ")";
+    public static final String LOAD_SP_DIALECTS_BY_APP_IDS = "SELECT APP_ID, TENANT_ID, SP_DIALECT FROM " +
+            "SP_CLAIM_DIALECT WHERE APP_ID IN (" + ID_LIST_PLACEHOLDER + ")";
+    public static final String LOAD_ROLE_MAPPING_BY_APP_IDS = "SELECT APP_ID, TENANT_ID, IDP_ROLE, SP_ROLE FROM " +
+            "SP_ROLE_MAPPING WHERE APP_ID IN (" + ID_LIST_PLACEHOLDER + ")";
+    public static final String LOAD_REQ_PATH_AUTHENTICATORS_BY_APP_IDS = "SELECT APP_ID, TENANT_ID, " +
+            "AUTHENTICATOR_NAME FROM SP_REQ_PATH_AUTHENTICATOR WHERE APP_ID IN (" + ID_LIST_PLACEHOLDER + ")";
+    public static final String GET_CERTIFICATES_BY_IDS = "SELECT ID, CERTIFICATE_IN_PEM FROM IDN_CERTIFICATE " +
+            "WHERE ID IN (" + ID_LIST_PLACEHOLDER + ")";
+
     public static final String LOAD_UM_PERMISSIONS = "SELECT UM_ID, UM_RESOURCE_ID FROM UM_PERMISSION WHERE " +
             "UM_RESOURCE_ID LIKE ?";
     public static final String LOAD_UM_PERMISSIONS_W = "SELECT UM_ID FROM UM_PERMISSION WHERE UM_RESOURCE_ID = ?";
@@ -57,6 +57,7 @@ import org.wso2.carbon.user.core.UserRealm;
 import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.user.mgt.UserMgtConstants;
+import org.wso2.carbon.user.mgt.permission.UIPermissionTreeManager;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -382,6 +383,9 @@ public class ApplicationMgtUtil {
             tenantGovReg.put(newApplicationNode, permissionNode);
             addPermission(applicationNode, loadPermissions.toArray(new ApplicationPermission[loadPermissions.size()]),
                     tenantGovReg);
+            int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+            UIPermissionTreeManager.getInstance().removeApplicationPermissions(oldName, tenantId);
+            UIPermissionTreeManager.getInstance().refreshApplicationPermissions(newName, tenantId);
         } catch (RegistryException e) {
             throw new IdentityApplicationManagementException("Error while renaming permission node "
                     + oldName + "to " + newName, e);
@@ -430,6 +434,7 @@ public class ApplicationMgtUtil {
                 Collection appRootNode = tenantGovReg.newCollection();
                 appRootNode.setProperty("name", "Applications");
                 tenantGovReg.put(permissionResourcePath, appRootNode);
+                UIPermissionTreeManager.getInstance().clearPermissionTree(tenantId);
                 if (loggedInUserChanged) {
                     PrivilegedCarbonContext.getThreadLocalCarbonContext().setUsername(username);
                 }
@@ -453,6 +458,7 @@ public class ApplicationMgtUtil {
                     permissionNode.setProperty("name", permission.getValue());
                     tenantGovReg.put(permissinPath, permissionNode);
                 }
+                UIPermissionTreeManager.getInstance().refreshApplicationPermissions(applicationName, tenantId);
             }
 
         } catch (Exception e) {
@@ -495,6 +501,8 @@ public class ApplicationMgtUtil {
             }
 
             if (ArrayUtils.isEmpty(permissions)) {
+                UIPermissionTreeManager.getInstance().refreshApplicationPermissions(applicationName,
+                        CarbonContext.getThreadLocalCarbonContext().getTenantId());
                 return;
             }
 
@@ -510,6 +518,8 @@ public class ApplicationMgtUtil {
                 }
                 addPermission(applicationNode, permissions, tenantGovReg);
             }
+            UIPermissionTreeManager.getInstance().refreshApplicationPermissions(applicationName,
+                    CarbonContext.getThreadLocalCarbonContext().getTenantId());
 
         } catch (RegistryException e) {
             throw new IdentityApplicationManagementException("Error while storing permissions", e);
@@ -637,6 +647,8 @@ public class ApplicationMgtUtil {
                 return;
             }
             tenantGovReg.delete(applicationNode);
+            UIPermissionTreeManager.getInstance().removeApplicationPermissions(applicationName,
+                    CarbonContext.getThreadLocalCarbonContext().getTenantId());
         } catch (Exception e) {
             /*
              * For more information read https://github.com/wso2/product-is/issues/12579. This is to overcome the
@@ -653,6 +665,8 @@ public class ApplicationMgtUtil {
                         return;
                     }
                     tenantGovReg.delete(applicationNode);
+                    UIPermissionTreeManager.getInstance().removeApplicationPermissions(applicationName,
+                            CarbonContext.getThreadLocalCarbonContext().getTenantId());
                     isOperationFailed = false;
                     log.info(String.format("Permissions deleted application: %s in the retry attempt: %s",
                             applicationName, attempt));
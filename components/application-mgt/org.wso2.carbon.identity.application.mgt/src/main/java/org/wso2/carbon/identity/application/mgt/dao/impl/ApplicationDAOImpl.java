@@ -71,7 +71,9 @@ import org.wso2.carbon.identity.application.mgt.dao.IdentityProviderDAO;
 import org.wso2.carbon.identity.application.mgt.dao.PaginatableFilterableApplicationDAO;
 import org.wso2.carbon.identity.application.mgt.internal.ApplicationManagementServiceComponent;
 import org.wso2.carbon.identity.application.mgt.internal.ApplicationManagementServiceComponentHolder;
+import org.wso2.carbon.identity.core.CachingCertificateRetriever;
 import org.wso2.carbon.identity.core.CertificateRetrievingException;
+import org.wso2.carbon.identity.core.DatabaseCertificateRetriever;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
@@ -94,12 +96,17 @@ import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -120,9 +127,10 @@ import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.A
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.DELETE_SP_CONSENT_PURPOSES;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.DELETE_SP_DIALECTS_BY_APP_ID;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.DELETE_SP_METADATA;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.GET_CERTIFICATE_BY_ID;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.GET_CERTIFICATES_BY_IDS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.GET_CERTIFICATE_ID_BY_NAME;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.GET_SP_METADATA_BY_SP_ID;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.GET_SP_METADATA_BY_SP_IDS;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.ID_LIST_PLACEHOLDER;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.IS_APP_BY_TENANT_AND_UUID_DISCOVERABLE;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_APPLICATION_NAME_BY_CLIENT_ID_AND_TYPE;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_APP_BY_TENANT_AND_NAME;
@@ -147,12 +155,12 @@ import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.L
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_APP_NAMES_BY_TENANT_POSTGRESQL;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_APP_NAME_BY_APP_ID;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_AUTH_TYPE_BY_APP_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_BASIC_APP_INFO_BY_APP_ID;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_BASIC_APP_INFO_BY_APP_IDS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_BASIC_APP_INFO_BY_APP_NAME;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_CLAIM_CONIFG_BY_APP_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_CLAIM_MAPPING_BY_APP_ID;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_CLAIM_MAPPING_BY_APP_IDS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_CLAIM_MAPPING_BY_APP_NAME;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_CLIENTS_INFO_BY_APP_ID;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_CLIENTS_INFO_BY_APP_IDS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_DISCOVERABLE_APPS_BY_TENANT_AND_APP_NAME_DB2;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_DISCOVERABLE_APPS_BY_TENANT_AND_APP_NAME_INFORMIX;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_DISCOVERABLE_APPS_BY_TENANT_AND_APP_NAME_MSSQL;
@@ -167,18 +175,15 @@ import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.L
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_DISCOVERABLE_APPS_BY_TENANT_POSTGRESQL;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_DISCOVERABLE_APP_COUNT_BY_APP_NAME_AND_TENANT;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_DISCOVERABLE_APP_COUNT_BY_TENANT;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_HUB_IDP_BY_NAME;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_IDP_AND_AUTHENTICATOR_NAMES;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_IDP_AND_AUTHENTICATOR_NAMES_BY_IDS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_IDP_AUTHENTICATOR_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_LOCAL_AND_OUTBOUND_CONFIG_BY_APP_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_PRO_CONNECTORS_BY_APP_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_PRO_PROPERTIES_BY_APP_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_REQ_PATH_AUTHENTICATORS_BY_APP_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_ROLE_MAPPING_BY_APP_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_SCRIPT_BY_APP_ID_QUERY;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_PRO_CONNECTORS_BY_APP_IDS;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_REQ_PATH_AUTHENTICATORS_BY_APP_IDS;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_ROLE_MAPPING_BY_APP_IDS;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_SCRIPTS_BY_APP_IDS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_SP_CONSENT_PURPOSES;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_SP_DIALECTS_BY_APP_ID;
-import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_STEPS_INFO_BY_APP_ID;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_SP_DIALECTS_BY_APP_IDS;
+import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_STEPS_INFO_BY_APP_IDS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_UM_PERMISSIONS;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_UM_PERMISSIONS_W;
 import static org.wso2.carbon.identity.application.mgt.ApplicationMgtDBQueries.LOAD_UUID_BY_APP_ID;
@@ -251,6 +256,14 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
     private static final String AUDIT_SUCCESS = "Success";
     private static final String AUDIT_FAIL = "Fail";
     private static final int MAX_RETRY_ATTEMPTS = 3;
+    private static final int MAX_IDS_PER_QUERY = 100;
+
+    /**
+     * Certificate cache invalidations of the current transaction. These are applied once the transaction commits, so
+     * that a concurrent read can not cache the old certificate again before the change is visible.
+     */
+    private static final ThreadLocal<List<CertificateInvalidation>> pendingCertificateInvalidations =
+            ThreadLocal.withInitial(ArrayList::new);
 
     private List<String> standardInboundAuthTypes;
     public static final String USE_DOMAIN_IN_ROLES = "USE_DOMAIN_IN_ROLES";
@@ -272,37 +285,6 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         return !standardInboundAuthTypes.contains(authType);
     }
 
-    /**
-     * Get Service provider properties
-     *
-     * @param dbConnection database connection
-     * @param spId         SP Id
-     * @return service provider properties
-     */
-    private List<ServiceProviderProperty> getServicePropertiesBySpId(Connection dbConnection, int spId)
-            throws SQLException {
-
-        PreparedStatement prepStmt = null;
-        ResultSet rs = null;
-        List<ServiceProviderProperty> idpProperties = new ArrayList<ServiceProviderProperty>();
-        try {
-            prepStmt = dbConnection.prepareStatement(GET_SP_METADATA_BY_SP_ID);
-            prepStmt.setInt(1, spId);
-            rs = prepStmt.executeQuery();
-            while (rs.next()) {
-                ServiceProviderProperty property = new ServiceProviderProperty();
-                property.setName(rs.getString("NAME"));
-                property.setValue(rs.getString("VALUE"));
-                property.setDisplayName(rs.getString("DISPLAY_NAME"));
-                idpProperties.add(property);
-            }
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(prepStmt);
-            IdentityApplicationManagementUtil.closeResultSet(rs);
-        }
-        return idpProperties;
-    }
-
     /**
      * Add Service provider properties
      *
@@ -380,10 +362,10 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         Connection connection = IdentityDatabaseUtil.getDBConnection(true);
         try {
             ApplicationCreateResult result = persistBasicApplicationInformation(connection, application, tenantDomain);
-            IdentityDatabaseUtil.commitTransaction(connection);
+            commitTransaction(connection);
             return result.getApplicationId();
         } catch (SQLException e) {
-            IdentityDatabaseUtil.rollbackTransaction(connection);
+            rollbackTransaction(connection);
             if (isApplicationConflict(e)) {
                 throw new IdentityApplicationManagementClientException(APPLICATION_ALREADY_EXISTS.getCode(),
                         "Application already exists with name: " + application.getApplicationName()
@@ -493,9 +475,9 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             deleteApplicationConfigurations(connection, serviceProvider, applicationId);
             addApplicationConfigurations(connection, serviceProvider, tenantDomain);
 
-            IdentityDatabaseUtil.commitTransaction(connection);
+            commitTransaction(connection);
         } catch (SQLException | UserStoreException | IdentityApplicationManagementException e) {
-            IdentityDatabaseUtil.rollbackTransaction(connection);
+            rollbackTransaction(connection);
             throw new IdentityApplicationManagementException("Failed to update application id: " + applicationId, e);
         } finally {
             IdentityApplicationManagementUtil.closeConnection(connection);
@@ -701,7 +683,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                             propertiesWithoutCertificateReference.length - certificateReferenceIdIndex);
 
                     serviceProvider.setSpProperties(propertiesWithoutCertificateReference);
-                    deleteCertificate(connection, Integer.parseInt(certificateReferenceId));
+                    deleteCertificate(connection, Integer.parseInt(certificateReferenceId), tenantID);
                 }
             }
         } else {
@@ -719,6 +701,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                     statementToUpdateCertificate.setInt(2, Integer.parseInt(certificateReferenceIdString));
 
                     statementToUpdateCertificate.executeUpdate();
+                    deferCertificateInvalidation(tenantID, certificateReferenceIdString);
                 } catch (IOException e) {
                     throw new IdentityApplicationManagementException("An error occurred while processing content " +
                             "stream of certificate.", e);
@@ -1195,104 +1178,6 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         }
     }
 
-    /**
-     * @param applicationId
-     * @param connection
-     * @return
-     * @throws SQLException
-     */
-    private InboundProvisioningConfig getInboundProvisioningConfiguration(int applicationId,
-                                                                          Connection connection, int tenantID)
-            throws SQLException {
-
-        PreparedStatement inboundProConfigPrepStmt = null;
-        InboundProvisioningConfig inBoundProvisioningConfig = new InboundProvisioningConfig();
-        ResultSet resultSet = null;
-
-        try {
-
-            inboundProConfigPrepStmt = connection.prepareStatement(LOAD_PRO_PROPERTIES_BY_APP_ID);
-            // PROVISIONING_USERSTORE_DOMAIN
-            inboundProConfigPrepStmt.setInt(1, tenantID);
-            inboundProConfigPrepStmt.setInt(2, applicationId);
-            resultSet = inboundProConfigPrepStmt.executeQuery();
-
-            while (resultSet.next()) {
-                inBoundProvisioningConfig.setProvisioningUserStore(resultSet.getString(1));
-                inBoundProvisioningConfig.setDumbMode("1".equals(resultSet.getString(2)));
-            }
-
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(inboundProConfigPrepStmt);
-        }
-        return inBoundProvisioningConfig;
-    }
-
-    /**
-     * @param applicationId
-     * @param connection
-     * @return
-     * @throws SQLException
-     */
-    private OutboundProvisioningConfig getOutboundProvisioningConfiguration(int applicationId,
-                                                                            Connection connection, int tenantID)
-            throws SQLException {
-
-        PreparedStatement outboundProConfigPrepStmt = null;
-        OutboundProvisioningConfig outBoundProvisioningConfig = new OutboundProvisioningConfig();
-        ResultSet resultSet = null;
-        List<IdentityProvider> idpProConnectors = new ArrayList<IdentityProvider>();
-
-        try {
-
-            outboundProConfigPrepStmt = connection.prepareStatement(LOAD_PRO_CONNECTORS_BY_APP_ID);
-            // IDP_NAME, CONNECTOR_NAM
-            outboundProConfigPrepStmt.setInt(1, applicationId);
-            outboundProConfigPrepStmt.setInt(2, tenantID);
-            resultSet = outboundProConfigPrepStmt.executeQuery();
-
-            while (resultSet.next()) {
-                ProvisioningConnectorConfig proConnector = null;
-                IdentityProvider fedIdp = null;
-
-                fedIdp = new IdentityProvider();
-                fedIdp.setIdentityProviderName(resultSet.getString(1));
-
-                proConnector = new ProvisioningConnectorConfig();
-                proConnector.setName(resultSet.getString(2));
-
-                if ("1".equals(resultSet.getString(3))) {
-                    JustInTimeProvisioningConfig jitConfig = new JustInTimeProvisioningConfig();
-                    jitConfig.setProvisioningEnabled(true);
-                    fedIdp.setJustInTimeProvisioningConfig(jitConfig);
-                }
-
-                if ("1".equals(resultSet.getString(4))) {
-                    proConnector.setBlocking(true);
-                } else {
-                    proConnector.setBlocking(false);
-                }
-
-                if ("1".equals(resultSet.getString(5))) {
-                    proConnector.setRulesEnabled(true);
-                } else {
-                    proConnector.setRulesEnabled(false);
-                }
-
-                fedIdp.setDefaultProvisioningConnectorConfig(proConnector);
-                idpProConnectors.add(fedIdp);
-
-            }
-
-            outBoundProvisioningConfig.setProvisioningIdentityProviders(idpProConnectors.toArray(new
-                    IdentityProvider[idpProConnectors.size()]));
-
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(outboundProConfigPrepStmt);
-        }
-        return outBoundProvisioningConfig;
-    }
-
     /**
      * @param applicationId
      * @param localAndOutboundAuthConfig
@@ -1837,57 +1722,6 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         return consentPurposeConfigs;
     }
 
-    /**
-     * Retrieves the certificate content from the database using the certificate reference id property of a
-     * service provider.
-     *
-     * @param serviceProviderProperties
-     * @param connection
-     * @return
-     * @throws CertificateRetrievingException
-     */
-    private String getCertificateContent(List<ServiceProviderProperty> serviceProviderProperties, Connection connection)
-            throws CertificateRetrievingException {
-
-        String certificateReferenceId = null;
-        for (ServiceProviderProperty property : serviceProviderProperties) {
-            if ("CERTIFICATE".equals(property.getName())) {
-                certificateReferenceId = property.getValue();
-            }
-        }
-
-        if (certificateReferenceId != null) {
-
-            PreparedStatement statementForFetchingCertificate = null;
-            ResultSet results = null;
-            try {
-                statementForFetchingCertificate = connection.prepareStatement(
-                        GET_CERTIFICATE_BY_ID);
-                statementForFetchingCertificate.setInt(1, Integer.parseInt(certificateReferenceId));
-
-                results = statementForFetchingCertificate.executeQuery();
-
-                String certificateContent = null;
-                while (results.next()) {
-                    certificateContent = getBlobValue(results.getBinaryStream("CERTIFICATE_IN_PEM"));
-                }
-
-                if (certificateContent != null) {
-                    return certificateContent;
-                }
-            } catch (SQLException | IOException e) {
-                String errorMessage = "An error occurred while retrieving the certificate for the " +
-                        "application.";
-                log.error(errorMessage);
-                throw new CertificateRetrievingException(errorMessage, e);
-            } finally {
-                IdentityApplicationManagementUtil.closeResultSet(results);
-                IdentityApplicationManagementUtil.closeStatement(statementForFetchingCertificate);
-            }
-        }
-        return null;
-    }
-
     /**
      * @param applicationName
      * @param connection
@@ -2101,112 +1935,92 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
     @Override
     public ServiceProvider getApplication(int applicationId) throws IdentityApplicationManagementException {
 
+        List<ServiceProvider> serviceProviders = getApplications(Collections.singletonList(applicationId));
+        if (serviceProviders.isEmpty()) {
+            return null;
+        }
+        return serviceProviders.get(0);
+    }
+
+    /**
+     * Get the service providers of the given application ids. The configurations of the applications are read with
+     * one set based query per configuration table for each chunk of ids and are assembled in memory, so the number of
+     * database round trips does not grow with the number of applications or with the size of their configurations.
+     *
+     * @param applicationIds Application ids.
+     * @return Service providers in the order of the given ids. Ids which do not match an application are skipped.
+     * @throws IdentityApplicationManagementException If an error occurs while loading the service providers.
+     */
+    @Override
+    public List<ServiceProvider> getApplications(Collection<Integer> applicationIds)
+            throws IdentityApplicationManagementException {
+
+        List<ServiceProvider> serviceProviders = new ArrayList<>();
+        if (CollectionUtils.isEmpty(applicationIds)) {
+            return serviceProviders;
+        }
+        List<Integer> appIds = new ArrayList<>(new LinkedHashSet<>(applicationIds));
+        Map<Integer, ServiceProvider> loadedServiceProviders = new HashMap<>();
         Connection connection = IdentityDatabaseUtil.getDBConnection(false);
         try {
-
-            // Load basic application data
-            ServiceProvider serviceProvider = getBasicApplicationData(applicationId, connection);
-            if (serviceProvider == null) {
-                return null;
-            }
-            int tenantID = IdentityTenantUtil.getTenantId(serviceProvider.getOwner().getTenantDomain());
-            List<ServiceProviderProperty> propertyList = getServicePropertiesBySpId(connection, applicationId);
-
-            serviceProvider.setJwksUri(getJwksUri(propertyList));
-            serviceProvider.setTemplateId(getTemplateId(propertyList));
-            serviceProvider.setInboundAuthenticationConfig(getInboundAuthenticationConfig(
-                    applicationId, connection, tenantID));
-            serviceProvider
-                    .setLocalAndOutBoundAuthenticationConfig(getLocalAndOutboundAuthenticationConfig(
-                            applicationId, connection, tenantID, propertyList));
-
-            serviceProvider.setInboundProvisioningConfig(getInboundProvisioningConfiguration(
-                    applicationId, connection, tenantID));
-
-            serviceProvider.setOutboundProvisioningConfig(getOutboundProvisioningConfiguration(
-                    applicationId, connection, tenantID));
-
-            // Load Claim Mapping
-            serviceProvider.setClaimConfig(getClaimConfiguration(applicationId, connection,
-                    tenantID));
-
-            // Load Role Mappings
-            List<RoleMapping> roleMappings = getRoleMappingOfApplication(applicationId, connection,
-                    tenantID);
-            PermissionsAndRoleConfig permissionAndRoleConfig = new PermissionsAndRoleConfig();
-            permissionAndRoleConfig.setRoleMappings(roleMappings.toArray(new RoleMapping[0]));
-            serviceProvider.setPermissionAndRoleConfig(permissionAndRoleConfig);
-
-            RequestPathAuthenticatorConfig[] requestPathAuthenticators = getRequestPathAuthenticators(
-                    applicationId, connection, tenantID);
-            serviceProvider.setRequestPathAuthenticatorConfigs(requestPathAuthenticators);
-
-            serviceProvider.setSpProperties(propertyList.toArray(new ServiceProviderProperty[0]));
-            serviceProvider.setCertificateContent(getCertificateContent(propertyList, connection));
-
-            // Will be supported with 'Advance Consent Management Feature'.
-            /*
-            ConsentConfig consentConfig = serviceProvider.getConsentConfig();
-            if (isNull(consentConfig)) {
-                consentConfig = new ConsentConfig();
+            for (List<Integer> appIdChunk : partitionIds(appIds)) {
+                loadedServiceProviders.putAll(loadApplications(appIdChunk, connection));
             }
-            consentConfig.setConsentPurposeConfigs(getConsentPurposeConfigs(connection, applicationId, tenantID));
-            serviceProvider.setConsentConfig(consentConfig);
-            */
-
-            String serviceProviderName = serviceProvider.getApplicationName();
-            loadApplicationPermissions(serviceProviderName, serviceProvider);
-            return serviceProvider;
         } catch (SQLException | CertificateRetrievingException e) {
-            throw new IdentityApplicationManagementException("Failed to get service provider with id: " + applicationId,
+            throw new IdentityApplicationManagementException("Failed to get service providers with ids: " + appIds,
                     e);
         } finally {
             IdentityApplicationManagementUtil.closeConnection(connection);
         }
-    }
-
-    private String getTemplateId(List<ServiceProviderProperty> propertyList) {
 
-        return propertyList.stream()
-                .filter(property -> TEMPLATE_ID_SP_PROPERTY_NAME.equals(property.getName()))
-                .findFirst()
-                .map(ServiceProviderProperty::getValue)
-                .orElse(StringUtils.EMPTY);
+        for (Integer appId : appIds) {
+            ServiceProvider serviceProvider = loadedServiceProviders.get(appId);
+            if (serviceProvider != null) {
+                loadApplicationPermissions(serviceProvider.getApplicationName(), serviceProvider);
+                serviceProviders.add(serviceProvider);
+            }
+        }
+        return serviceProviders;
     }
 
-    private String getJwksUri(List<ServiceProviderProperty> propertyList) {
-
-        return propertyList.stream()
-                .filter(property -> JWKS_URI_SP_PROPERTY_NAME.equals(property.getName()))
-                .findFirst()
-                .map(ServiceProviderProperty::getValue)
-                .orElse(StringUtils.EMPTY);
-    }
+    private Map<Integer, ServiceProvider> loadApplications(List<Integer> appIds, Connection connection)
+            throws SQLException, CertificateRetrievingException, IdentityApplicationManagementException {
 
-    /**
-     * @param appId
-     * @param connection
-     * @return
-     * @throws SQLException
-     */
-    private ServiceProvider getBasicApplicationData(int appId, Connection connection)
-            throws SQLException, IdentityApplicationManagementException {
+        if (log.isDebugEnabled()) {
+            log.debug("Loading service providers of application IDs: " + appIds);
+        }
+        Map<Integer, ServiceProviderLoadContext> contexts = loadBasicApplicationData(appIds, connection);
+        Map<Integer, ServiceProvider> serviceProviders = new HashMap<>();
+        if (contexts.isEmpty()) {
+            return serviceProviders;
+        }
 
-        ServiceProvider serviceProvider = null;
+        List<Integer> existingAppIds = new ArrayList<>(contexts.keySet());
+        loadServiceProviderProperties(existingAppIds, contexts, connection);
+        loadInboundAuthenticationConfigs(existingAppIds, contexts, connection);
+        loadAuthenticationSteps(existingAppIds, contexts, connection);
+        loadAuthenticationScripts(existingAppIds, contexts, connection);
+        loadOutboundProvisioningConfigs(existingAppIds, contexts, connection);
+        loadClaimConfigs(existingAppIds, contexts, connection);
+        loadRoleMappings(existingAppIds, contexts, connection);
+        loadRequestPathAuthenticators(existingAppIds, contexts, connection);
+        loadCertificates(contexts, connection);
 
-        if (log.isDebugEnabled()) {
-            log.debug("Loading Basic Application Data of application ID: " + appId);
+        for (ServiceProviderLoadContext context : contexts.values()) {
+            serviceProviders.put(context.serviceProvider.getApplicationID(), buildServiceProvider(context));
         }
+        return serviceProviders;
+    }
 
-        PreparedStatement prepStmt = null;
-        ResultSet rs = null;
-        try {
-            prepStmt = connection.prepareStatement(LOAD_BASIC_APP_INFO_BY_APP_ID);
-            prepStmt.setInt(1, appId);
-            rs = prepStmt.executeQuery();
+    private Map<Integer, ServiceProviderLoadContext> loadBasicApplicationData(List<Integer> appIds,
+                                                                              Connection connection)
+            throws SQLException {
 
-            if (rs.next()) {
-                serviceProvider = new ServiceProvider();
+        Map<Integer, ServiceProviderLoadContext> contexts = new HashMap<>();
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_BASIC_APP_INFO_BY_APP_IDS, appIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
+                ServiceProvider serviceProvider = new ServiceProvider();
                 serviceProvider.setApplicationID(rs.getInt(ApplicationTableColumns.ID));
                 serviceProvider.setApplicationResourceId(rs.getString(ApplicationTableColumns.UUID));
                 serviceProvider.setApplicationName(rs.getString(ApplicationTableColumns.APP_NAME));
@@ -2214,11 +2028,13 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                 serviceProvider.setImageUrl(rs.getString(ApplicationTableColumns.IMAGE_URL));
                 serviceProvider.setAccessUrl(rs.getString(ApplicationTableColumns.ACCESS_URL));
                 serviceProvider.setDiscoverable(getBooleanValue(rs.getString(ApplicationTableColumns.IS_DISCOVERABLE)));
+                serviceProvider.setSaasApp(getBooleanValue(rs.getString(ApplicationTableColumns.IS_SAAS_APP)));
 
+                int tenantId = rs.getInt(ApplicationTableColumns.TENANT_ID);
                 User owner = new User();
                 owner.setUserName(rs.getString(ApplicationTableColumns.USERNAME));
                 owner.setUserStoreDomain(rs.getString(ApplicationTableColumns.USER_STORE));
-                owner.setTenantDomain(IdentityTenantUtil.getTenantDomain(rs.getInt(ApplicationTableColumns.TENANT_ID)));
+                owner.setTenantDomain(IdentityTenantUtil.getTenantDomain(tenantId));
                 serviceProvider.setOwner(owner);
 
                 ClaimConfig claimConfig = new ClaimConfig();
@@ -2229,79 +2045,559 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                         getBooleanValue(rs.getString(ApplicationTableColumns.IS_SEND_LOCAL_SUBJECT_ID)));
                 serviceProvider.setClaimConfig(claimConfig);
 
-                LocalAndOutboundAuthenticationConfig localAndOutboundAuthenticationConfig =
+                LocalAndOutboundAuthenticationConfig localAndOutboundConfig =
                         new LocalAndOutboundAuthenticationConfig();
-                localAndOutboundAuthenticationConfig.setAlwaysSendBackAuthenticatedListOfIdPs(
-                        getBooleanValue(rs.getString(ApplicationTableColumns.IS_SEND_AUTH_LIST_OF_IDPS)));
-                localAndOutboundAuthenticationConfig.setEnableAuthorization(
+                localAndOutboundConfig.setUseTenantDomainInLocalSubjectIdentifier(
+                        getBooleanValue(rs.getString(ApplicationTableColumns.IS_USE_TENANT_DOMAIN_SUBJECT)));
+                localAndOutboundConfig.setUseUserstoreDomainInLocalSubjectIdentifier(
+                        getBooleanValue(rs.getString(ApplicationTableColumns.IS_USE_USER_DOMAIN_SUBJECT)));
+                localAndOutboundConfig.setEnableAuthorization(
                         getBooleanValue(rs.getString(ApplicationTableColumns.ENABLE_AUTHORIZATION)));
-                localAndOutboundAuthenticationConfig.setSubjectClaimUri(
-                        rs.getString(ApplicationTableColumns.SUBJECT_CLAIM_URI));
-                serviceProvider.setLocalAndOutBoundAuthenticationConfig(localAndOutboundAuthenticationConfig);
-
-                serviceProvider.setSaasApp(getBooleanValue(rs.getString(ApplicationTableColumns.IS_SAAS_APP)));
+                localAndOutboundConfig.setAlwaysSendBackAuthenticatedListOfIdPs(
+                        getBooleanValue(rs.getString(ApplicationTableColumns.IS_SEND_AUTH_LIST_OF_IDPS)));
+                localAndOutboundConfig.setSubjectClaimUri(rs.getString(ApplicationTableColumns.SUBJECT_CLAIM_URI));
+                serviceProvider.setLocalAndOutBoundAuthenticationConfig(localAndOutboundConfig);
+
+                InboundProvisioningConfig inboundProvisioningConfig = new InboundProvisioningConfig();
+                inboundProvisioningConfig.setProvisioningUserStore(
+                        rs.getString(ApplicationTableColumns.PROVISIONING_USERSTORE_DOMAIN));
+                inboundProvisioningConfig.setDumbMode(
+                        getBooleanValue(rs.getString(ApplicationTableColumns.IS_DUMB_MODE)));
+                serviceProvider.setInboundProvisioningConfig(inboundProvisioningConfig);
+
+                contexts.put(serviceProvider.getApplicationID(), new ServiceProviderLoadContext(serviceProvider,
+                        tenantId, rs.getString(ApplicationTableColumns.AUTH_TYPE)));
+            }
+        }
+        return contexts;
+    }
 
-                // Will be supported with 'Advance Consent Management Feature'.
-                /*
-                ConsentConfig consentConfig = new ConsentConfig();
-                consentConfig.setEnabled("1".equals(rs.getString(18)));
-                serviceProvider.setConsentConfig(consentConfig);
-                */
+    private void loadServiceProviderProperties(List<Integer> appIds,
+                                               Map<Integer, ServiceProviderLoadContext> contexts,
+                                               Connection connection) throws SQLException {
 
-                if (log.isDebugEnabled()) {
-                    log.debug("ApplicationID: " + serviceProvider.getApplicationID()
-                            + " ApplicationName: " + serviceProvider.getApplicationName()
-                            + " UserName: " + serviceProvider.getOwner().getUserName()
-                            + " TenantDomain: " + serviceProvider.getOwner().getTenantDomain());
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, GET_SP_METADATA_BY_SP_IDS, appIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
+                ServiceProviderLoadContext context = contexts.get(rs.getInt("SP_ID"));
+                if (context != null) {
+                    ServiceProviderProperty property = new ServiceProviderProperty();
+                    property.setName(rs.getString("NAME"));
+                    property.setValue(rs.getString("VALUE"));
+                    property.setDisplayName(rs.getString("DISPLAY_NAME"));
+                    context.properties.add(property);
                 }
             }
-
-            return serviceProvider;
-        } finally {
-            IdentityApplicationManagementUtil.closeResultSet(rs);
-            IdentityApplicationManagementUtil.closeStatement(prepStmt);
         }
     }
 
-    private boolean getBooleanValue(String booleanValueAsString) throws SQLException {
+    private void loadInboundAuthenticationConfigs(List<Integer> appIds,
+                                                  Map<Integer, ServiceProviderLoadContext> contexts,
+                                                  Connection connection) throws SQLException {
 
-        return "1".equals(booleanValueAsString);
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_CLIENTS_INFO_BY_APP_IDS, appIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
+                ServiceProviderLoadContext context = getLoadContext(contexts, rs.getInt(1), rs.getInt(2));
+                if (context != null) {
+                    addInboundAuthenticationRequestConfig(context.inboundAuthenticationRequestConfigs,
+                            rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6), rs.getString(7));
+                }
+            }
+        }
     }
 
-    private String getStringValueForBoolean(boolean booleanValue) throws SQLException {
+    private void loadAuthenticationSteps(List<Integer> appIds, Map<Integer, ServiceProviderLoadContext> contexts,
+                                         Connection connection) throws SQLException {
 
-        return booleanValue ? "1" : "0";
+        // The steps are read per tenant of the applications, which is a single query for a chunk of one tenant.
+        Map<Integer, List<Integer>> appIdsByTenant = new HashMap<>();
+        for (Integer appId : appIds) {
+            appIdsByTenant.computeIfAbsent(contexts.get(appId).tenantId, k -> new ArrayList<>()).add(appId);
+        }
+        Map<Integer, Set<Integer>> authenticatorIdsByTenant = new HashMap<>();
+        for (Entry<Integer, List<Integer>> tenantAppIds : appIdsByTenant.entrySet()) {
+            try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_STEPS_INFO_BY_APP_IDS,
+                    tenantAppIds.getValue())) {
+                prepStmt.setInt(tenantAppIds.getValue().size() + 1, tenantAppIds.getKey());
+                try (ResultSet rs = prepStmt.executeQuery()) {
+                    // APP_ID, STEP_ORDER, AUTHENTICATOR_ID, IS_SUBJECT_STEP, IS_ATTRIBUTE_STEP
+                    while (rs.next()) {
+                        ServiceProviderLoadContext context = contexts.get(rs.getInt(1));
+                        if (context == null) {
+                            continue;
+                        }
+                        int stepOrder = rs.getInt(2);
+                        int authenticatorId = rs.getInt(3);
+                        AuthenticationStep authStep = context.authenticationSteps.get(stepOrder);
+                        if (authStep == null) {
+                            authStep = new AuthenticationStep();
+                            authStep.setStepOrder(stepOrder);
+                            context.authenticationSteps.put(stepOrder, authStep);
+                            context.stepAuthenticatorIds.put(stepOrder, new ArrayList<>());
+                        }
+                        authStep.setSubjectStep("1".equals(rs.getString(4)));
+                        authStep.setAttributeStep("1".equals(rs.getString(5)));
+                        context.stepAuthenticatorIds.get(stepOrder).add(authenticatorId);
+                        authenticatorIdsByTenant.computeIfAbsent(context.tenantId, k -> new HashSet<>())
+                                .add(authenticatorId);
+                    }
+                }
+            }
+        }
+
+        Map<Integer, Map<Integer, Map<String, String>>> authenticatorInfoByTenant = new HashMap<>();
+        Map<Integer, Set<String>> federationHubIdPsByTenant = new HashMap<>();
+        for (Entry<Integer, Set<Integer>> entry : authenticatorIdsByTenant.entrySet()) {
+            Map<Integer, Map<String, String>> authenticatorInfo = new HashMap<>();
+            Set<String> federationHubIdPs = new HashSet<>();
+            loadAuthenticatorInfo(connection, entry.getKey(), entry.getValue(), authenticatorInfo,
+                    federationHubIdPs);
+            authenticatorInfoByTenant.put(entry.getKey(), authenticatorInfo);
+            federationHubIdPsByTenant.put(entry.getKey(), federationHubIdPs);
+        }
+
+        for (ServiceProviderLoadContext context : contexts.values()) {
+            context.serviceProvider.getLocalAndOutBoundAuthenticationConfig().setAuthenticationSteps(
+                    buildAuthenticationSteps(context,
+                            authenticatorInfoByTenant.getOrDefault(context.tenantId, Collections.emptyMap()),
+                            federationHubIdPsByTenant.getOrDefault(context.tenantId, Collections.emptySet())));
+        }
     }
 
     /**
-     * @param applicationid
-     * @param connection
-     * @return
-     * @throws SQLException
+     * Load the identity provider and authenticator names of the given authenticators which are visible to the tenant,
+     * that is the authenticators of the tenant and the shared authenticators of the super tenant.
+     *
+     * @param connection        Database connection.
+     * @param tenantId          Tenant id of the applications referring the authenticators.
+     * @param authenticatorIds  Authenticator ids.
+     * @param authenticatorInfo Map to populate with the names of each authenticator.
+     * @param federationHubIdPs Set to populate with the names of the federation hub identity providers of the tenant.
+     * @throws SQLException If an error occurs while reading the authenticators.
      */
-    private String getAuthenticationType(int applicationid, Connection connection)
-            throws SQLException {
+    private void loadAuthenticatorInfo(Connection connection, int tenantId, Collection<Integer> authenticatorIds,
+                                       Map<Integer, Map<String, String>> authenticatorInfo,
+                                       Set<String> federationHubIdPs) throws SQLException {
+
+        for (List<Integer> authenticatorIdChunk : partitionIds(authenticatorIds)) {
+            try (PreparedStatement prepStmt = prepareStatementForIds(connection,
+                    LOAD_IDP_AND_AUTHENTICATOR_NAMES_BY_IDS, authenticatorIdChunk)) {
+                int parameterIndex = authenticatorIdChunk.size();
+                prepStmt.setInt(++parameterIndex, tenantId);
+                prepStmt.setInt(++parameterIndex, tenantId);
+                prepStmt.setInt(++parameterIndex, MultitenantConstants.SUPER_TENANT_ID);
+                prepStmt.setInt(++parameterIndex, MultitenantConstants.SUPER_TENANT_ID);
+                try (ResultSet rs = prepStmt.executeQuery()) {
+                    // B.ID, A.TENANT_ID, A.NAME, B.NAME, B.DISPLAY_NAME, A.IS_FEDERATION_HUB
+                    while (rs.next()) {
+                        Map<String, String> info = new HashMap<>();
+                        info.put(ApplicationConstants.IDP_NAME, rs.getString(3));
+                        info.put(ApplicationConstants.IDP_AUTHENTICATOR_NAME, rs.getString(4));
+                        info.put(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME, rs.getString(5));
+                        authenticatorInfo.put(rs.getInt(1), info);
+                        if (rs.getInt(2) == tenantId && "1".equals(rs.getString(6))) {
+                            federationHubIdPs.add(rs.getString(3));
+                        }
+                    }
+                }
+            }
+        }
+    }
 
-        int tenantID = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+    private AuthenticationStep[] buildAuthenticationSteps(ServiceProviderLoadContext context,
+                                                          Map<Integer, Map<String, String>> authenticatorInfo,
+                                                          Set<String> federationHubIdPs) {
 
-        PreparedStatement authTypeStmt = null;
-        ResultSet authTypeResultSet = null;
-        try {
-            authTypeStmt = connection
-                    .prepareStatement(LOAD_AUTH_TYPE_BY_APP_ID);
-            authTypeStmt.setInt(1, applicationid);
-            authTypeStmt.setInt(2, tenantID);
-            authTypeResultSet = authTypeStmt.executeQuery();
+        AuthenticationStep[] authenticationSteps = new AuthenticationStep[context.authenticationSteps.size()];
+        int authStepCount = 0;
+        for (Entry<Integer, AuthenticationStep> entry : context.authenticationSteps.entrySet()) {
+            AuthenticationStep authStep = entry.getValue();
+            List<LocalAuthenticatorConfig> localAuthenticators = new ArrayList<>();
+            Map<String, List<FederatedAuthenticatorConfig>> stepFedIdps = new LinkedHashMap<>();
 
-            if (authTypeResultSet.next()) {
-                return authTypeResultSet.getString(1);
+            for (Integer authenticatorId : context.stepAuthenticatorIds.get(entry.getKey())) {
+                Map<String, String> info = authenticatorInfo.getOrDefault(authenticatorId, Collections.emptyMap());
+                String idpName = info.get(ApplicationConstants.IDP_NAME);
+                if (ApplicationConstants.LOCAL_IDP_NAME.equals(idpName)) {
+                    LocalAuthenticatorConfig localAuthenticator = new LocalAuthenticatorConfig();
+                    localAuthenticator.setName(info.get(ApplicationConstants.IDP_AUTHENTICATOR_NAME));
+                    localAuthenticator.setDisplayName(info.get(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME));
+                    localAuthenticators.add(localAuthenticator);
+                } else {
+                    FederatedAuthenticatorConfig fedAuthenticator = new FederatedAuthenticatorConfig();
+                    fedAuthenticator.setName(info.get(ApplicationConstants.IDP_AUTHENTICATOR_NAME));
+                    fedAuthenticator.setDisplayName(info.get(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME));
+                    stepFedIdps.computeIfAbsent(idpName, k -> new ArrayList<>()).add(fedAuthenticator);
+                }
             }
 
-            return ApplicationConstants.AUTH_TYPE_DEFAULT;
+            if (!localAuthenticators.isEmpty()) {
+                authStep.setLocalAuthenticatorConfigs(localAuthenticators.toArray(new LocalAuthenticatorConfig[0]));
+            }
+            if (!stepFedIdps.isEmpty()) {
+                List<IdentityProvider> fedIdpList = new ArrayList<>();
+                for (Entry<String, List<FederatedAuthenticatorConfig>> idpEntry : stepFedIdps.entrySet()) {
+                    IdentityProvider idp = new IdentityProvider();
+                    idp.setIdentityProviderName(idpEntry.getKey());
+                    idp.setFederationHub(federationHubIdPs.contains(idpEntry.getKey()));
+                    idp.setFederatedAuthenticatorConfigs(
+                            idpEntry.getValue().toArray(new FederatedAuthenticatorConfig[0]));
+                    idp.setDefaultAuthenticatorConfig(idp.getFederatedAuthenticatorConfigs()[0]);
+                    fedIdpList.add(idp);
+                }
+                authStep.setFederatedIdentityProviders(fedIdpList.toArray(new IdentityProvider[0]));
+            }
+            authenticationSteps[authStepCount++] = authStep;
+        }
 
-        } finally {
-            IdentityApplicationManagementUtil.closeResultSet(authTypeResultSet);
-            IdentityApplicationManagementUtil.closeStatement(authTypeStmt);
+        Arrays.sort(authenticationSteps, Comparator.comparingInt(AuthenticationStep::getStepOrder));
+
+        int numSteps = authenticationSteps.length;
+        // We check if the steps have consecutive step numbers.
+        if (numSteps > 0 && authenticationSteps[numSteps - 1].getStepOrder() != numSteps) {
+            if (log.isDebugEnabled()) {
+                log.debug("Authentication steps of Application with id: " + context.serviceProvider.getApplicationID()
+                        + "  do not have consecutive numbers. This was possibility due to a IDP force deletion. " +
+                        "Fixing the step order.");
+            }
+            // Iterate through the steps and fix step order.
+            int count = 1;
+            for (AuthenticationStep step : authenticationSteps) {
+                step.setStepOrder(count++);
+            }
+        }
+        return authenticationSteps;
+    }
+
+    private void loadAuthenticationScripts(List<Integer> appIds, Map<Integer, ServiceProviderLoadContext> contexts,
+                                           Connection connection)
+            throws SQLException, IdentityApplicationManagementException {
+
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_SCRIPTS_BY_APP_IDS, appIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
+                int appId = rs.getInt(1);
+                ServiceProviderLoadContext context = contexts.get(appId);
+                LocalAndOutboundAuthenticationConfig localAndOutboundConfig = context == null ? null :
+                        context.serviceProvider.getLocalAndOutBoundAuthenticationConfig();
+                if (localAndOutboundConfig == null || localAndOutboundConfig.getAuthenticationScriptConfig() != null) {
+                    continue;
+                }
+                AuthenticationScriptConfig authenticationScriptConfig = new AuthenticationScriptConfig();
+                try {
+                    InputStream scriptBinaryStream = rs.getBinaryStream(2);
+                    String targetString = StringUtils.EMPTY;
+                    if (scriptBinaryStream != null) {
+                        targetString = IOUtils.toString(scriptBinaryStream);
+                    }
+                    authenticationScriptConfig.setContent(targetString);
+                    authenticationScriptConfig.setEnabled("1".equals(rs.getString(3)));
+                } catch (IOException e) {
+                    throw new IdentityApplicationManagementException(
+                            "Could not read the Script for application : " + appId, e);
+                }
+                localAndOutboundConfig.setAuthenticationScriptConfig(authenticationScriptConfig);
+            }
+        }
+    }
+
+    private void loadOutboundProvisioningConfigs(List<Integer> appIds,
+                                                 Map<Integer, ServiceProviderLoadContext> contexts,
+                                                 Connection connection) throws SQLException {
+
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_PRO_CONNECTORS_BY_APP_IDS, appIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            // APP_ID, TENANT_ID, IDP_NAME, CONNECTOR_NAME, IS_JIT_ENABLED, BLOCKING, RULE_ENABLED
+            while (rs.next()) {
+                ServiceProviderLoadContext context = getLoadContext(contexts, rs.getInt(1), rs.getInt(2));
+                if (context == null) {
+                    continue;
+                }
+                IdentityProvider fedIdp = new IdentityProvider();
+                fedIdp.setIdentityProviderName(rs.getString(3));
+
+                ProvisioningConnectorConfig proConnector = new ProvisioningConnectorConfig();
+                proConnector.setName(rs.getString(4));
+                if ("1".equals(rs.getString(5))) {
+                    JustInTimeProvisioningConfig jitConfig = new JustInTimeProvisioningConfig();
+                    jitConfig.setProvisioningEnabled(true);
+                    fedIdp.setJustInTimeProvisioningConfig(jitConfig);
+                }
+                proConnector.setBlocking("1".equals(rs.getString(6)));
+                proConnector.setRulesEnabled("1".equals(rs.getString(7)));
+
+                fedIdp.setDefaultProvisioningConnectorConfig(proConnector);
+                context.provisioningIdPs.add(fedIdp);
+            }
+        }
+    }
+
+    private void loadClaimConfigs(List<Integer> appIds, Map<Integer, ServiceProviderLoadContext> contexts,
+                                  Connection connection) throws SQLException {
+
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_CLAIM_MAPPING_BY_APP_IDS, appIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            // APP_ID, TENANT_ID, IDP_CLAIM, SP_CLAIM, IS_REQUESTED, IS_MANDATORY, DEFAULT_VALUE
+            while (rs.next()) {
+                ServiceProviderLoadContext context = getLoadContext(contexts, rs.getInt(1), rs.getInt(2));
+                if (context == null) {
+                    continue;
+                }
+                ClaimMapping claimMapping = new ClaimMapping();
+                Claim localClaim = new Claim();
+                Claim remoteClaim = new Claim();
+                localClaim.setClaimUri(rs.getString(3));
+                remoteClaim.setClaimUri(rs.getString(4));
+                if (StringUtils.isBlank(remoteClaim.getClaimUri())) {
+                    remoteClaim.setClaimUri(localClaim.getClaimUri());
+                }
+                if (StringUtils.isBlank(localClaim.getClaimUri())) {
+                    localClaim.setClaimUri(remoteClaim.getClaimUri());
+                }
+                claimMapping.setRequested("1".equalsIgnoreCase(rs.getString(5)));
+                claimMapping.setMandatory("1".equalsIgnoreCase(rs.getString(6)));
+                claimMapping.setDefaultValue(rs.getString(7));
+                claimMapping.setLocalClaim(localClaim);
+                claimMapping.setRemoteClaim(remoteClaim);
+                context.claimMappings.add(claimMapping);
+            }
+        }
+
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_SP_DIALECTS_BY_APP_IDS, appIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
+                ServiceProviderLoadContext context = getLoadContext(contexts, rs.getInt(1), rs.getInt(2));
+                String spDialect = rs.getString(3);
+                if (context != null && StringUtils.isNotEmpty(spDialect)) {
+                    context.spClaimDialects.add(spDialect);
+                }
+            }
+        }
+    }
+
+    private void loadRoleMappings(List<Integer> appIds, Map<Integer, ServiceProviderLoadContext> contexts,
+                                  Connection connection) throws SQLException {
+
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_ROLE_MAPPING_BY_APP_IDS, appIds);
+             ResultSet rs = prepStmt.executeQuery()) {
+            // APP_ID, TENANT_ID, IDP_ROLE, SP_ROLE
+            while (rs.next()) {
+                ServiceProviderLoadContext context = getLoadContext(contexts, rs.getInt(1), rs.getInt(2));
+                if (context != null) {
+                    RoleMapping roleMapping = new RoleMapping();
+                    LocalRole localRole = new LocalRole();
+                    localRole.setLocalRoleName(rs.getString(3));
+                    roleMapping.setLocalRole(localRole);
+                    roleMapping.setRemoteRole(rs.getString(4));
+                    context.roleMappings.add(roleMapping);
+                }
+            }
+        }
+    }
+
+    private void loadRequestPathAuthenticators(List<Integer> appIds,
+                                               Map<Integer, ServiceProviderLoadContext> contexts,
+                                               Connection connection) throws SQLException {
+
+        try (PreparedStatement prepStmt = prepareStatementForIds(connection, LOAD_REQ_PATH_AUTHENTICATORS_BY_APP_IDS,
+                appIds); ResultSet rs = prepStmt.executeQuery()) {
+            while (rs.next()) {
+                ServiceProviderLoadContext context = getLoadContext(contexts, rs.getInt(1), rs.getInt(2));
+                if (context != null) {
+                    RequestPathAuthenticatorConfig reqAuth = new RequestPathAuthenticatorConfig();
+                    reqAuth.setName(rs.getString(3));
+                    context.requestPathAuthenticators.add(reqAuth);
+                }
+            }
+        }
+    }
+
+    private void loadCertificates(Map<Integer, ServiceProviderLoadContext> contexts, Connection connection)
+            throws CertificateRetrievingException {
+
+        Map<Integer, List<ServiceProviderLoadContext>> contextsByCertificateId = new HashMap<>();
+        for (ServiceProviderLoadContext context : contexts.values()) {
+            String certificateReferenceId = null;
+            for (ServiceProviderProperty property : context.properties) {
+                if (SP_PROPERTY_NAME_CERTIFICATE.equals(property.getName())) {
+                    certificateReferenceId = property.getValue();
+                }
+            }
+            if (certificateReferenceId != null) {
+                contextsByCertificateId.computeIfAbsent(Integer.parseInt(certificateReferenceId),
+                        k -> new ArrayList<>()).add(context);
+            }
+        }
+        if (contextsByCertificateId.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (List<Integer> certificateIdChunk : partitionIds(contextsByCertificateId.keySet())) {
+                try (PreparedStatement prepStmt = prepareStatementForIds(connection, GET_CERTIFICATES_BY_IDS,
+                        certificateIdChunk); ResultSet rs = prepStmt.executeQuery()) {
+                    while (rs.next()) {
+                        String certificateContent = getBlobValue(rs.getBinaryStream("CERTIFICATE_IN_PEM"));
+                        for (ServiceProviderLoadContext context : contextsByCertificateId.get(rs.getInt("ID"))) {
+                            context.serviceProvider.setCertificateContent(certificateContent);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException | IOException e) {
+            String errorMessage = "An error occurred while retrieving the certificate for the application.";
+            log.error(errorMessage);
+            throw new CertificateRetrievingException(errorMessage, e);
+        }
+    }
+
+    private ServiceProvider buildServiceProvider(ServiceProviderLoadContext context) {
+
+        ServiceProvider serviceProvider = context.serviceProvider;
+        List<ServiceProviderProperty> propertyList = context.properties;
+        serviceProvider.setJwksUri(getJwksUri(propertyList));
+        serviceProvider.setTemplateId(getTemplateId(propertyList));
+        serviceProvider.setSpProperties(propertyList.toArray(new ServiceProviderProperty[0]));
+        serviceProvider.setInboundAuthenticationConfig(
+                buildInboundAuthenticationConfig(context.inboundAuthenticationRequestConfigs));
+
+        LocalAndOutboundAuthenticationConfig localAndOutboundConfig =
+                serviceProvider.getLocalAndOutBoundAuthenticationConfig();
+        String authType = context.authenticationType;
+        if (StringUtils.equalsIgnoreCase(authType, ApplicationConstants.AUTH_TYPE_FEDERATED)
+                || StringUtils.equalsIgnoreCase(authType, ApplicationConstants.AUTH_TYPE_FLOW)) {
+            if (ArrayUtils.isEmpty(localAndOutboundConfig.getAuthenticationSteps())) {
+                // Although auth type is 'federated' or 'flow' we don't have any authentication steps. This can
+                // happen due to a force delete of a federated identity provider referred by the SP. So we change
+                // the authType to 'default'.
+                if (log.isDebugEnabled()) {
+                    log.debug("Authentication type is '" + authType + "' eventhough the application with id: " +
+                            serviceProvider.getApplicationID() + " has zero authentication step. This was " +
+                            "possibility due to a IDP force deletion. Defaulting authentication type to " +
+                            ApplicationConstants.AUTH_TYPE_DEFAULT);
+                }
+                authType = ApplicationConstants.AUTH_TYPE_DEFAULT;
+            }
+        }
+        localAndOutboundConfig.setAuthenticationType(authType);
+        readAndSetConfigurationsFromProperties(propertyList, localAndOutboundConfig);
+
+        OutboundProvisioningConfig outboundProvisioningConfig = new OutboundProvisioningConfig();
+        outboundProvisioningConfig.setProvisioningIdentityProviders(
+                context.provisioningIdPs.toArray(new IdentityProvider[0]));
+        serviceProvider.setOutboundProvisioningConfig(outboundProvisioningConfig);
+
+        ClaimConfig claimConfig = serviceProvider.getClaimConfig();
+        claimConfig.setClaimMappings(context.claimMappings.toArray(new ClaimMapping[0]));
+        claimConfig.setSpClaimDialects(context.spClaimDialects.toArray(new String[0]));
+
+        PermissionsAndRoleConfig permissionAndRoleConfig = new PermissionsAndRoleConfig();
+        permissionAndRoleConfig.setRoleMappings(context.roleMappings.toArray(new RoleMapping[0]));
+        serviceProvider.setPermissionAndRoleConfig(permissionAndRoleConfig);
+
+        serviceProvider.setRequestPathAuthenticatorConfigs(
+                context.requestPathAuthenticators.toArray(new RequestPathAuthenticatorConfig[0]));
+        return serviceProvider;
+    }
+
+    /**
+     * Get the load context of an application if the row read from a configuration table belongs to the tenant of the
+     * application.
+     */
+    private ServiceProviderLoadContext getLoadContext(Map<Integer, ServiceProviderLoadContext> contexts, int appId,
+                                                      int tenantId) {
+
+        ServiceProviderLoadContext context = contexts.get(appId);
+        if (context == null || context.tenantId != tenantId) {
+            return null;
+        }
+        return context;
+    }
+
+    private PreparedStatement prepareStatementForIds(Connection connection, String query, List<Integer> ids)
+            throws SQLException {
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        PreparedStatement prepStmt = connection.prepareStatement(query.replace(ID_LIST_PLACEHOLDER, placeholders));
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                prepStmt.setInt(i + 1, ids.get(i));
+            }
+        } catch (SQLException e) {
+            IdentityApplicationManagementUtil.closeStatement(prepStmt);
+            throw e;
+        }
+        return prepStmt;
+    }
+
+    private static List<List<Integer>> partitionIds(Collection<Integer> ids) {
+
+        List<Integer> idList = new ArrayList<>(ids);
+        List<List<Integer>> partitions = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < idList.size(); fromIndex += MAX_IDS_PER_QUERY) {
+            partitions.add(idList.subList(fromIndex, Math.min(idList.size(), fromIndex + MAX_IDS_PER_QUERY)));
+        }
+        return partitions;
+    }
+
+    private String getTemplateId(List<ServiceProviderProperty> propertyList) {
+
+        return propertyList.stream()
+                .filter(property -> TEMPLATE_ID_SP_PROPERTY_NAME.equals(property.getName()))
+                .findFirst()
+                .map(ServiceProviderProperty::getValue)
+                .orElse(StringUtils.EMPTY);
+    }
+
+    private String getJwksUri(List<ServiceProviderProperty> propertyList) {
+
+        return propertyList.stream()
+                .filter(property -> JWKS_URI_SP_PROPERTY_NAME.equals(property.getName()))
+                .findFirst()
+                .map(ServiceProviderProperty::getValue)
+                .orElse(StringUtils.EMPTY);
+    }
+
+    private boolean getBooleanValue(String booleanValueAsString) throws SQLException {
+
+        return "1".equals(booleanValueAsString);
+    }
+
+    private String getStringValueForBoolean(boolean booleanValue) throws SQLException {
+
+        return booleanValue ? "1" : "0";
+    }
+
+    /**
+     * @param applicationid
+     * @param connection
+     * @return
+     * @throws SQLException
+     */
+    private String getAuthenticationType(int applicationid, Connection connection)
+            throws SQLException {
+
+        int tenantID = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+
+        PreparedStatement authTypeStmt = null;
+        ResultSet authTypeResultSet = null;
+        try {
+            authTypeStmt = connection
+                    .prepareStatement(LOAD_AUTH_TYPE_BY_APP_ID);
+            authTypeStmt.setInt(1, applicationid);
+            authTypeStmt.setInt(2, tenantID);
+            authTypeResultSet = authTypeStmt.executeQuery();
+
+            if (authTypeResultSet.next()) {
+                return authTypeResultSet.getString(1);
+            }
+
+            return ApplicationConstants.AUTH_TYPE_DEFAULT;
+
+        } finally {
+            IdentityApplicationManagementUtil.closeResultSet(authTypeResultSet);
+            IdentityApplicationManagementUtil.closeStatement(authTypeStmt);
         }
 
     }
@@ -2463,608 +2759,201 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             IdentityApplicationManagementUtil.closeStatement(getAppIDPrepStmt);
         }
 
-        return applicationId;
-    }
-
-    /**
-     * Reading the mapping of properties.
-     *
-     * @param customAuthenticator
-     * @param propertyName
-     * @return
-     */
-    private Property getMappedProperty(AbstractInboundAuthenticatorConfig customAuthenticator, String propertyName) {
-
-        Property property = null;
-        if (customAuthenticator != null) {
-            Property[] confProps = customAuthenticator.getConfigurationProperties();
-            if (confProps != null) {
-                for (Property confProp : confProps) {
-                    if (propertyName != null && propertyName.equals(confProp.getName())) {
-                        property = confProp;
-                    }
-                }
-            }
-        }
-        return property;
-    }
-
-    /**
-     * @param applicationId
-     * @param connection
-     * @return
-     * @throws SQLException
-     */
-    private InboundAuthenticationConfig getInboundAuthenticationConfig(int applicationId, Connection connection, int
-            tenantID) throws SQLException {
-
-        if (log.isDebugEnabled()) {
-            log.debug("Reading Clients of Application " + applicationId);
-        }
-        Map<String, InboundAuthenticationRequestConfig> inboundAuthenticationRequestConfigMap =
-                new HashMap<String, InboundAuthenticationRequestConfig>();
-
-        PreparedStatement getClientInfo = null;
-        ResultSet resultSet = null;
-
-        try {
-            getClientInfo = connection
-                    .prepareStatement(LOAD_CLIENTS_INFO_BY_APP_ID);
-
-            getClientInfo.setInt(1, applicationId);
-            getClientInfo.setInt(2, tenantID);
-            resultSet = getClientInfo.executeQuery();
-
-            while (resultSet.next()) {
-                String authKey = resultSet.getString(1);
-                //this is done to handle empty string added to oracle database as null.
-                if (authKey == null) {
-                    authKey = new String();
-                }
-                String authType = resultSet.getString(2);
-                String propName = resultSet.getString(3);
-                String propValue = resultSet.getString(4);
-                String configType = resultSet.getString(5);
-
-                String mapKey = authType + ":" + authKey;
-
-                InboundAuthenticationRequestConfig inboundAuthRequest = null;
-                if ((inboundAuthRequest = inboundAuthenticationRequestConfigMap.get(mapKey)) == null) {
-                    inboundAuthRequest = new InboundAuthenticationRequestConfig();
-                }
-                inboundAuthRequest.setInboundAuthKey(authKey);
-                inboundAuthRequest.setInboundAuthType(authType);
-                inboundAuthRequest.setInboundConfigType(configType);
-
-                boolean isCustomAuthenticator = isCustomInboundAuthType(authType);
-                AbstractInboundAuthenticatorConfig customAuthenticator = ApplicationManagementServiceComponentHolder
-                        .getInboundAuthenticatorConfig(authType + ":" + configType);
-                if (isCustomAuthenticator && customAuthenticator != null) {
-                    inboundAuthRequest.setFriendlyName(customAuthenticator.getFriendlyName());
-                }
-                if (propName != null) {
-                    Property prop = new Property();
-                    prop.setName(propName);
-                    prop.setValue(propValue);
-                    if (isCustomAuthenticator && customAuthenticator != null) {
-                        Property mappedProperty = getMappedProperty(customAuthenticator, propName);
-                        if (mappedProperty != null) {
-                            prop.setDisplayName(mappedProperty.getDisplayName());
-                        }
-                    }
-                    inboundAuthRequest.setProperties((ApplicationMgtUtil.concatArrays(new Property[]{prop},
-                            inboundAuthRequest.getProperties())));
-                }
-                inboundAuthenticationRequestConfigMap.put(mapKey, inboundAuthRequest);
-            }
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(getClientInfo);
-            IdentityApplicationManagementUtil.closeResultSet(resultSet);
-        }
-        Map<String, AbstractInboundAuthenticatorConfig> allCustomAuthenticators = new HashMap<>
-                (ApplicationManagementServiceComponentHolder.getAllInboundAuthenticatorConfig());
-        for (Map.Entry<String, InboundAuthenticationRequestConfig> entry : inboundAuthenticationRequestConfigMap
-                .entrySet()) {
-            InboundAuthenticationRequestConfig inboundAuthenticationRequestConfig = entry.getValue();
-            AbstractInboundAuthenticatorConfig inboundAuthenticatorConfig = allCustomAuthenticators.remove
-                    (inboundAuthenticationRequestConfig.getInboundAuthType() + ":" +
-                            inboundAuthenticationRequestConfig.getInboundConfigType());
-            if (inboundAuthenticatorConfig != null && inboundAuthenticationRequestConfig != null) {
-                Property[] sources = inboundAuthenticatorConfig.getConfigurationProperties();
-                Property[] destinations = inboundAuthenticationRequestConfig.getProperties();
-                Map<String, Property> destinationMap = new HashMap<>();
-                for (Property destination : destinations) {
-                    destinationMap.put(destination.getName(), destination);
-                }
-                for (Property source : sources) {
-                    Property property = destinationMap.get(source.getName());
-                    if (property == null) {
-                        if (isCustomInboundAuthType(inboundAuthenticationRequestConfig.getInboundAuthType())) {
-                            if (inboundAuthenticatorConfig.isRelyingPartyKeyConfigured()) {
-                                if (StringUtils.equals(inboundAuthenticatorConfig.getRelyingPartyKey(), source
-                                        .getName())) {
-                                    source.setValue(inboundAuthenticationRequestConfig.getInboundAuthKey());
-                                }
-                            }
-                        }
-                        destinationMap.put(source.getName(), source);
-                    } else {
-                        property.setConfidential(source.isConfidential());
-                        property.setDefaultValue(source.getDefaultValue());
-                        property.setAdvanced(source.isAdvanced());
-                        property.setDescription(source.getDescription());
-                        property.setDisplayOrder(source.getDisplayOrder());
-                        property.setRequired(source.isRequired());
-                        property.setType(source.getType());
-                    }
-                }
-
-                inboundAuthenticationRequestConfig
-                        .setProperties(destinationMap.values().toArray(new Property[destinationMap.size()]));
-            }
-        }
-        List<InboundAuthenticationRequestConfig> returnList = new ArrayList<>(inboundAuthenticationRequestConfigMap
-                .values());
-        InboundAuthenticationConfig inboundAuthenticationConfig = new InboundAuthenticationConfig();
-        inboundAuthenticationConfig.setInboundAuthenticationRequestConfigs(returnList.toArray(new
-                InboundAuthenticationRequestConfig[returnList.size()]));
-        return inboundAuthenticationConfig;
-    }
-
-    /**
-     * @param applicationId
-     * @param connection
-     * @param propertyList
-     * @return
-     * @throws SQLException
-     */
-    private LocalAndOutboundAuthenticationConfig getLocalAndOutboundAuthenticationConfig(
-            int applicationId, Connection connection, int tenantId, List<ServiceProviderProperty> propertyList)
-            throws SQLException, IdentityApplicationManagementException {
-
-        PreparedStatement getStepInfoPrepStmt = null;
-        ResultSet stepInfoResultSet = null;
-
-        if (log.isDebugEnabled()) {
-            log.debug("Reading Steps of Application " + applicationId);
-        }
-
-        try {
-            getStepInfoPrepStmt = connection
-                    .prepareStatement(LOAD_STEPS_INFO_BY_APP_ID);
-            // STEP_ORDER, AUTHENTICATOR_ID, IS_SUBJECT_STEP, IS_ATTRIBUTE_STEP
-            getStepInfoPrepStmt.setInt(1, applicationId);
-            stepInfoResultSet = getStepInfoPrepStmt.executeQuery();
-
-            Map<String, AuthenticationStep> authSteps = new HashMap<>();
-            Map<String, Map<String, List<FederatedAuthenticatorConfig>>> stepFedIdPAuthenticators = new HashMap<>();
-            Map<String, List<LocalAuthenticatorConfig>> stepLocalAuth = new HashMap<>();
-
-            while (stepInfoResultSet.next()) {
-
-                String step = String.valueOf(stepInfoResultSet.getInt(1));
-                AuthenticationStep authStep;
-
-                if (authSteps.containsKey(step)) {
-                    authStep = authSteps.get(step);
-                } else {
-                    authStep = new AuthenticationStep();
-                    authStep.setStepOrder(stepInfoResultSet.getInt(1));
-                    stepLocalAuth.put(step, new ArrayList<LocalAuthenticatorConfig>());
-                    stepFedIdPAuthenticators.put(step,
-                            new HashMap<String, List<FederatedAuthenticatorConfig>>());
-                }
-
-                int authenticatorId = stepInfoResultSet.getInt(2);
-                Map<String, String> authenticatorInfo = getAuthenticatorInfo(connection, tenantId,
-                        authenticatorId);
-
-                if (authenticatorInfo != null
-                        && authenticatorInfo.get(ApplicationConstants.IDP_NAME) != null
-                        && ApplicationConstants.LOCAL_IDP_NAME.equals(authenticatorInfo
-                        .get("idpName"))) {
-                    LocalAuthenticatorConfig localAuthenticator = new LocalAuthenticatorConfig();
-                    localAuthenticator.setName(authenticatorInfo
-                            .get(ApplicationConstants.IDP_AUTHENTICATOR_NAME));
-                    localAuthenticator.setDisplayName(authenticatorInfo
-                            .get(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME));
-                    stepLocalAuth.get(step).add(localAuthenticator);
-                } else {
-                    Map<String, List<FederatedAuthenticatorConfig>> stepFedIdps = stepFedIdPAuthenticators
-                            .get(step);
-
-                    if (!stepFedIdps.containsKey(authenticatorInfo
-                            .get(ApplicationConstants.IDP_NAME))) {
-                        stepFedIdps.put(authenticatorInfo.get(ApplicationConstants.IDP_NAME),
-                                new ArrayList<FederatedAuthenticatorConfig>());
-                    }
-
-                    List<FederatedAuthenticatorConfig> idpAuths = stepFedIdps.get(authenticatorInfo
-                            .get(ApplicationConstants.IDP_NAME));
-                    FederatedAuthenticatorConfig fedAuthenticator = new FederatedAuthenticatorConfig();
-                    fedAuthenticator.setName(authenticatorInfo
-                            .get(ApplicationConstants.IDP_AUTHENTICATOR_NAME));
-                    fedAuthenticator.setDisplayName(authenticatorInfo
-                            .get(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME));
-                    idpAuths.add(fedAuthenticator);
-                }
-
-                authStep.setSubjectStep("1".equals(stepInfoResultSet.getString(3)));
-                authStep.setAttributeStep("1".equals(stepInfoResultSet.getString(4)));
-
-                authSteps.put(step, authStep);
-            }
-
-            LocalAndOutboundAuthenticationConfig localAndOutboundConfiguration
-                    = new LocalAndOutboundAuthenticationConfig();
-
-            AuthenticationStep[] authenticationSteps = new AuthenticationStep[authSteps.size()];
-
-            int authStepCount = 0;
-
-            for (Entry<String, AuthenticationStep> entry : authSteps.entrySet()) {
-
-                AuthenticationStep authStep = entry.getValue();
-                String stepId = entry.getKey();
-
-                List<LocalAuthenticatorConfig> localAuthenticatorList = stepLocalAuth.get(stepId);
-
-                if (localAuthenticatorList != null && localAuthenticatorList.size() > 0) {
-                    authStep.setLocalAuthenticatorConfigs(
-                            localAuthenticatorList.toArray(
-                                    new LocalAuthenticatorConfig[localAuthenticatorList.size()]));
-                }
-
-                Map<String, List<FederatedAuthenticatorConfig>> idpList = stepFedIdPAuthenticators
-                        .get(stepId);
-
-                if (idpList != null && idpList.size() > 0) {
-                    IdentityProvider[] fedIdpList = new IdentityProvider[idpList.size()];
-                    int idpCount = 0;
-
-                    for (Entry<String, List<FederatedAuthenticatorConfig>> idpEntry : idpList
-                            .entrySet()) {
-                        String idpName = idpEntry.getKey();
-                        List<FederatedAuthenticatorConfig> fedAuthenticators = idpEntry.getValue();
-                        IdentityProvider idp = new IdentityProvider();
-                        idp.setIdentityProviderName(idpName);
-                        idp.setFederationHub(isFederationHubIdP(idpName, connection, tenantId));
-                        idp.setFederatedAuthenticatorConfigs(
-                                fedAuthenticators.toArray(new FederatedAuthenticatorConfig[fedAuthenticators.size()]));
-                        idp.setDefaultAuthenticatorConfig(idp.getFederatedAuthenticatorConfigs()[0]);
-                        fedIdpList[idpCount++] = idp;
-                    }
-                    authStep.setFederatedIdentityProviders(fedIdpList);
-                }
-
-                authenticationSteps[authStepCount++] = authStep;
-            }
-
-            Arrays.sort(authenticationSteps, Comparator.comparingInt(AuthenticationStep::getStepOrder));
-
-            int numSteps = authenticationSteps.length;
-            // We check if the steps have consecutive step numbers.
-            if (numSteps > 0 && authenticationSteps[numSteps - 1].getStepOrder() != numSteps) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Authentication steps of Application with id: " + applicationId + "  do not have " +
-                            "consecutive numbers. This was possibility due to a IDP force deletion. Fixing the step " +
-                            "order.");
-                }
-                // Iterate through the steps and fix step order.
-                int count = 1;
-                for (AuthenticationStep step : authenticationSteps) {
-                    step.setStepOrder(count++);
-                }
-            }
-
-            localAndOutboundConfiguration.setAuthenticationSteps(authenticationSteps);
-
-            String authType = getAuthenticationType(applicationId, connection);
-            if (StringUtils.equalsIgnoreCase(authType, ApplicationConstants.AUTH_TYPE_FEDERATED)
-                    || StringUtils.equalsIgnoreCase(authType, ApplicationConstants.AUTH_TYPE_FLOW)) {
-                if (ArrayUtils.isEmpty(authenticationSteps)) {
-                    // Although auth type is 'federated' or 'flow' we don't have any authentication steps. This can
-                    // happen due to a force delete of a federated identity provider referred by the SP. So we change
-                    // the authType to 'default'.
-                    if (log.isDebugEnabled()) {
-                        log.debug("Authentication type is '" + authType + "' eventhough the application with id: " +
-                                applicationId +
-                                " has zero authentication step. This was possibility due to a IDP force deletion. " +
-                                " Defaulting authentication type to " + ApplicationConstants.AUTH_TYPE_DEFAULT);
-                    }
-                    authType = ApplicationConstants.AUTH_TYPE_DEFAULT;
-                }
-            }
-
-            localAndOutboundConfiguration.setAuthenticationType(authType);
-
-            AuthenticationScriptConfig authenticationScriptConfig = getScriptConfiguration(applicationId, connection);
-            if (authenticationScriptConfig != null) {
-                localAndOutboundConfiguration.setAuthenticationScriptConfig(authenticationScriptConfig);
-            }
-
-            PreparedStatement localAndOutboundConfigPrepStmt = null;
-            ResultSet localAndOutboundConfigResultSet = null;
-
-            try {
-                localAndOutboundConfigPrepStmt = connection
-                        .prepareStatement(LOAD_LOCAL_AND_OUTBOUND_CONFIG_BY_APP_ID);
-                localAndOutboundConfigPrepStmt.setInt(1, tenantId);
-                localAndOutboundConfigPrepStmt.setInt(2, applicationId);
-                localAndOutboundConfigResultSet = localAndOutboundConfigPrepStmt.executeQuery();
-
-                if (localAndOutboundConfigResultSet.next()) {
-                    localAndOutboundConfiguration.setUseTenantDomainInLocalSubjectIdentifier("1"
-                            .equals(localAndOutboundConfigResultSet.getString(1)));
-                    localAndOutboundConfiguration.setUseUserstoreDomainInLocalSubjectIdentifier("1"
-                            .equals(localAndOutboundConfigResultSet.getString(2)));
-                    localAndOutboundConfiguration.setEnableAuthorization("1"
-                            .equals(localAndOutboundConfigResultSet.getString(3)));
-                    localAndOutboundConfiguration.setAlwaysSendBackAuthenticatedListOfIdPs("1"
-                            .equals(localAndOutboundConfigResultSet.getString(4)));
-                    localAndOutboundConfiguration.setSubjectClaimUri(localAndOutboundConfigResultSet
-                            .getString(5));
-
-                    readAndSetConfigurationsFromProperties(propertyList, localAndOutboundConfiguration);
-                }
-            } finally {
-                IdentityApplicationManagementUtil.closeStatement(localAndOutboundConfigPrepStmt);
-                IdentityApplicationManagementUtil.closeResultSet(localAndOutboundConfigResultSet);
-            }
-
-            return localAndOutboundConfiguration;
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(getStepInfoPrepStmt);
-            IdentityApplicationManagementUtil.closeResultSet(stepInfoResultSet);
-        }
-    }
-
-    private void readAndSetConfigurationsFromProperties(List<ServiceProviderProperty> propertyList,
-                                                        LocalAndOutboundAuthenticationConfig localAndOutboundConfig) {
-        // Override with changed values.
-        if (CollectionUtils.isNotEmpty(propertyList)) {
-            for (ServiceProviderProperty serviceProviderProperty : propertyList) {
-
-                String name = serviceProviderProperty.getName();
-                String value = serviceProviderProperty.getValue();
-
-                if (USE_DOMAIN_IN_ROLES.equals(name)) {
-                    localAndOutboundConfig.setUseUserstoreDomainInRoles(value == null || Boolean.parseBoolean(value));
-                } else if (SKIP_CONSENT.equals(name)) {
-                    localAndOutboundConfig.setSkipConsent(Boolean.parseBoolean(value));
-                } else if (SKIP_LOGOUT_CONSENT.equals(name)) {
-                    localAndOutboundConfig.setSkipLogoutConsent(Boolean.parseBoolean(value));
-                }
-            }
-        }
-    }
-
-    private AuthenticationScriptConfig getScriptConfiguration(int applicationId, Connection connection)
-            throws SQLException, IdentityApplicationManagementException {
-
-        try (PreparedStatement localAndOutboundConfigScriptPrepStmt = connection
-                .prepareStatement(LOAD_SCRIPT_BY_APP_ID_QUERY);) {
-
-            localAndOutboundConfigScriptPrepStmt.setInt(1, applicationId);
-            try (ResultSet localAndOutboundConfigScriptResultSet = localAndOutboundConfigScriptPrepStmt
-                    .executeQuery()) {
-                if (localAndOutboundConfigScriptResultSet.next()) {
-                    AuthenticationScriptConfig authenticationScriptConfig = new AuthenticationScriptConfig();
-
-                    try {
-                        boolean isEnabled = "1".equals(localAndOutboundConfigScriptResultSet.getString(2));
-                        InputStream scriptBinaryStream = localAndOutboundConfigScriptResultSet.getBinaryStream(1);
-                        String targetString = StringUtils.EMPTY;
-                        if (scriptBinaryStream != null) {
-                            targetString = IOUtils.toString(scriptBinaryStream);
-                        }
-                        authenticationScriptConfig.setContent(targetString);
-                        authenticationScriptConfig.setEnabled(isEnabled);
-                    } catch (IOException e) {
-                        throw new IdentityApplicationManagementException(
-                                "Could not read the Script for application : " + applicationId, e);
-                    }
-
-                    return authenticationScriptConfig;
-                }
-            }
-        }
-        return null;
-    }
-
-    private boolean isFederationHubIdP(String idPName, Connection connection, int tenantId)
-            throws SQLException {
-
-        PreparedStatement get = null;
-        ResultSet resultSet = null;
-
-        try {
-            get = connection.prepareStatement(LOAD_HUB_IDP_BY_NAME);
+        return applicationId;
+    }
 
-            get.setString(1, idPName);
-            get.setInt(2, tenantId);
-            resultSet = get.executeQuery();
+    /**
+     * Reading the mapping of properties.
+     *
+     * @param customAuthenticator
+     * @param propertyName
+     * @return
+     */
+    private Property getMappedProperty(AbstractInboundAuthenticatorConfig customAuthenticator, String propertyName) {
 
-            if (resultSet.next()) {
-                return "1".equals(resultSet.getString(1));
+        Property property = null;
+        if (customAuthenticator != null) {
+            Property[] confProps = customAuthenticator.getConfigurationProperties();
+            if (confProps != null) {
+                for (Property confProp : confProps) {
+                    if (propertyName != null && propertyName.equals(confProp.getName())) {
+                        property = confProp;
+                    }
+                }
             }
-
-            return false;
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(get);
-            IdentityApplicationManagementUtil.closeResultSet(resultSet);
         }
-
+        return property;
     }
 
     /**
      * @param applicationId
      * @param connection
      * @return
-     * @throws IdentityApplicationManagementException
+     * @throws SQLException
      */
-    private ClaimConfig getClaimConfiguration(int applicationId, Connection connection, int tenantID)
-            throws IdentityApplicationManagementException {
-
-        ClaimConfig claimConfig = new ClaimConfig();
-        ArrayList<ClaimMapping> claimMappingList = new ArrayList<ClaimMapping>();
-        List<String> spDialectList = new ArrayList<String>();
+    private InboundAuthenticationConfig getInboundAuthenticationConfig(int applicationId, Connection connection, int
+            tenantID) throws SQLException {
 
         if (log.isDebugEnabled()) {
-            log.debug("Reading Claim Mappings of Application " + applicationId);
+            log.debug("Reading Clients of Application " + applicationId);
         }
+        Map<String, InboundAuthenticationRequestConfig> inboundAuthenticationRequestConfigMap =
+                new HashMap<String, InboundAuthenticationRequestConfig>();
 
-        PreparedStatement get = null;
+        PreparedStatement getClientInfo = null;
         ResultSet resultSet = null;
-        try {
-            get = connection.prepareStatement(LOAD_CLAIM_MAPPING_BY_APP_ID);
-            // IDP_CLAIM, SP_CLAIM, IS_REQUESTED
-            get.setInt(1, applicationId);
-            get.setInt(2, tenantID);
-            resultSet = get.executeQuery();
-
-            while (resultSet.next()) {
-                ClaimMapping claimMapping = new ClaimMapping();
-                Claim localClaim = new Claim();
-                Claim remoteClaim = new Claim();
-
-                localClaim.setClaimUri(resultSet.getString(1));
-                remoteClaim.setClaimUri(resultSet.getString(2));
-
-                String requested = resultSet.getString(3);
-
-                if ("1".equalsIgnoreCase(requested)) {
-                    claimMapping.setRequested(true);
-                } else {
-                    claimMapping.setRequested(false);
-                }
 
-                String mandatory = resultSet.getString(4);
-
-                if ("1".equalsIgnoreCase(mandatory)) {
-                    claimMapping.setMandatory(true);
-                } else {
-                    claimMapping.setMandatory(false);
-                }
-
-                if (remoteClaim.getClaimUri() == null
-                        || remoteClaim.getClaimUri().trim().length() == 0) {
-                    remoteClaim.setClaimUri(localClaim.getClaimUri());
-                }
-
-                if (localClaim.getClaimUri() == null
-                        || localClaim.getClaimUri().trim().length() == 0) {
-                    localClaim.setClaimUri(remoteClaim.getClaimUri());
-                }
-
-                claimMapping.setDefaultValue(resultSet.getString(5));
-
-                claimMapping.setLocalClaim(localClaim);
-                claimMapping.setRemoteClaim(remoteClaim);
+        try {
+            getClientInfo = connection
+                    .prepareStatement(LOAD_CLIENTS_INFO_BY_APP_ID);
 
-                claimMappingList.add(claimMapping);
+            getClientInfo.setInt(1, applicationId);
+            getClientInfo.setInt(2, tenantID);
+            resultSet = getClientInfo.executeQuery();
 
-                if (log.isDebugEnabled()) {
-                    log.debug("Local Claim: " + claimMapping.getLocalClaim().getClaimUri()
-                            + " SPClaim: " + claimMapping.getRemoteClaim().getClaimUri());
-                }
+            while (resultSet.next()) {
+                addInboundAuthenticationRequestConfig(inboundAuthenticationRequestConfigMap, resultSet.getString(1),
+                        resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
+                        resultSet.getString(5));
             }
-
-            claimConfig.setClaimMappings(claimMappingList.toArray(new ClaimMapping[claimMappingList
-                    .size()]));
-        } catch (SQLException e) {
-            throw new IdentityApplicationManagementException(
-                    "Error while retrieving all application");
         } finally {
-            IdentityApplicationManagementUtil.closeStatement(get);
+            IdentityApplicationManagementUtil.closeStatement(getClientInfo);
             IdentityApplicationManagementUtil.closeResultSet(resultSet);
         }
+        return buildInboundAuthenticationConfig(inboundAuthenticationRequestConfigMap);
+    }
 
-        PreparedStatement loadClaimConfigsPrepStmt = null;
-        ResultSet loadClaimConfigsResultSet = null;
-
-        try {
-            loadClaimConfigsPrepStmt = connection
-                    .prepareStatement(LOAD_CLAIM_CONIFG_BY_APP_ID);
-            loadClaimConfigsPrepStmt.setInt(1, tenantID);
-            loadClaimConfigsPrepStmt.setInt(2, applicationId);
-            loadClaimConfigsResultSet = loadClaimConfigsPrepStmt.executeQuery();
-
-            while (loadClaimConfigsResultSet.next()) {
-                claimConfig.setRoleClaimURI(loadClaimConfigsResultSet.getString(1));
-                claimConfig.setLocalClaimDialect("1".equals(loadClaimConfigsResultSet.getString(2)));
-                claimConfig.setAlwaysSendMappedLocalSubjectId("1".equals(loadClaimConfigsResultSet
-                        .getString(3)));
+    /**
+     * Add an inbound authentication property row to the inbound authentication request configurations of an
+     * application.
+     *
+     * @param inboundAuthenticationRequestConfigMap Inbound authentication request configurations by type and key.
+     * @param authKey                               Inbound authentication key.
+     * @param authType                              Inbound authentication type.
+     * @param propName                              Property name.
+     * @param propValue                             Property value.
+     * @param configType                            Inbound configuration type.
+     */
+    private void addInboundAuthenticationRequestConfig(Map<String, InboundAuthenticationRequestConfig>
+                                                               inboundAuthenticationRequestConfigMap, String authKey,
+                                                       String authType, String propName, String propValue,
+                                                       String configType) {
+
+        //this is done to handle empty string added to oracle database as null.
+        if (authKey == null) {
+            authKey = new String();
+        }
+
+        String mapKey = authType + ":" + authKey;
+
+        InboundAuthenticationRequestConfig inboundAuthRequest = null;
+        if ((inboundAuthRequest = inboundAuthenticationRequestConfigMap.get(mapKey)) == null) {
+            inboundAuthRequest = new InboundAuthenticationRequestConfig();
+        }
+        inboundAuthRequest.setInboundAuthKey(authKey);
+        inboundAuthRequest.setInboundAuthType(authType);
+        inboundAuthRequest.setInboundConfigType(configType);
+
+        boolean isCustomAuthenticator = isCustomInboundAuthType(authType);
+        AbstractInboundAuthenticatorConfig customAuthenticator = ApplicationManagementServiceComponentHolder
+                .getInboundAuthenticatorConfig(authType + ":" + configType);
+        if (isCustomAuthenticator && customAuthenticator != null) {
+            inboundAuthRequest.setFriendlyName(customAuthenticator.getFriendlyName());
+        }
+        if (propName != null) {
+            Property prop = new Property();
+            prop.setName(propName);
+            prop.setValue(propValue);
+            if (isCustomAuthenticator && customAuthenticator != null) {
+                Property mappedProperty = getMappedProperty(customAuthenticator, propName);
+                if (mappedProperty != null) {
+                    prop.setDisplayName(mappedProperty.getDisplayName());
+                }
             }
-        } catch (SQLException e) {
-            throw new IdentityApplicationManagementException("Error while retrieving all application");
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(loadClaimConfigsPrepStmt);
-            IdentityApplicationManagementUtil.closeResultSet(loadClaimConfigsResultSet);
+            inboundAuthRequest.setProperties((ApplicationMgtUtil.concatArrays(new Property[]{prop},
+                    inboundAuthRequest.getProperties())));
         }
+        inboundAuthenticationRequestConfigMap.put(mapKey, inboundAuthRequest);
+    }
 
-        PreparedStatement loadSPDialectsPrepStmt = null;
-        ResultSet loadSPDialectsResultSet = null;
+    /**
+     * Build the inbound authentication configuration of an application, merging in the properties of the registered
+     * custom inbound authenticators.
+     *
+     * @param inboundAuthenticationRequestConfigMap Inbound authentication request configurations by type and key.
+     * @return Inbound authentication configuration.
+     */
+    private InboundAuthenticationConfig buildInboundAuthenticationConfig(Map<String,
+            InboundAuthenticationRequestConfig> inboundAuthenticationRequestConfigMap) {
 
-        try {
-            loadSPDialectsPrepStmt = connection
-                    .prepareStatement(LOAD_SP_DIALECTS_BY_APP_ID);
-            loadSPDialectsPrepStmt.setInt(1, tenantID);
-            loadSPDialectsPrepStmt.setInt(2, applicationId);
-            loadSPDialectsResultSet = loadSPDialectsPrepStmt.executeQuery();
-
-            while (loadSPDialectsResultSet.next()) {
-                String spDialect = loadSPDialectsResultSet.getString(1);
-                if (spDialect != null && !spDialect.isEmpty()) {
-                    spDialectList.add(spDialect);
+        Map<String, AbstractInboundAuthenticatorConfig> allCustomAuthenticators = new HashMap<>
+                (ApplicationManagementServiceComponentHolder.getAllInboundAuthenticatorConfig());
+        for (Map.Entry<String, InboundAuthenticationRequestConfig> entry : inboundAuthenticationRequestConfigMap
+                .entrySet()) {
+            InboundAuthenticationRequestConfig inboundAuthenticationRequestConfig = entry.getValue();
+            AbstractInboundAuthenticatorConfig inboundAuthenticatorConfig = allCustomAuthenticators.remove
+                    (inboundAuthenticationRequestConfig.getInboundAuthType() + ":" +
+                            inboundAuthenticationRequestConfig.getInboundConfigType());
+            if (inboundAuthenticatorConfig != null && inboundAuthenticationRequestConfig != null) {
+                Property[] sources = inboundAuthenticatorConfig.getConfigurationProperties();
+                Property[] destinations = inboundAuthenticationRequestConfig.getProperties();
+                Map<String, Property> destinationMap = new HashMap<>();
+                for (Property destination : destinations) {
+                    destinationMap.put(destination.getName(), destination);
+                }
+                for (Property source : sources) {
+                    Property property = destinationMap.get(source.getName());
+                    if (property == null) {
+                        if (isCustomInboundAuthType(inboundAuthenticationRequestConfig.getInboundAuthType())) {
+                            if (inboundAuthenticatorConfig.isRelyingPartyKeyConfigured()) {
+                                if (StringUtils.equals(inboundAuthenticatorConfig.getRelyingPartyKey(), source
+                                        .getName())) {
+                                    source.setValue(inboundAuthenticationRequestConfig.getInboundAuthKey());
+                                }
+                            }
+                        }
+                        destinationMap.put(source.getName(), source);
+                    } else {
+                        property.setConfidential(source.isConfidential());
+                        property.setDefaultValue(source.getDefaultValue());
+                        property.setAdvanced(source.isAdvanced());
+                        property.setDescription(source.getDescription());
+                        property.setDisplayOrder(source.getDisplayOrder());
+                        property.setRequired(source.isRequired());
+                        property.setType(source.getType());
+                    }
                 }
+
+                inboundAuthenticationRequestConfig
+                        .setProperties(destinationMap.values().toArray(new Property[destinationMap.size()]));
             }
-            claimConfig.setSpClaimDialects(spDialectList.toArray(new String[spDialectList.size()]));
-        } catch (SQLException e) {
-            throw new IdentityApplicationManagementException("Error while retrieving all application");
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(loadClaimConfigsPrepStmt);
-            IdentityApplicationManagementUtil.closeResultSet(loadClaimConfigsResultSet);
         }
-
-        return claimConfig;
+        List<InboundAuthenticationRequestConfig> returnList = new ArrayList<>(inboundAuthenticationRequestConfigMap
+                .values());
+        InboundAuthenticationConfig inboundAuthenticationConfig = new InboundAuthenticationConfig();
+        inboundAuthenticationConfig.setInboundAuthenticationRequestConfigs(returnList.toArray(new
+                InboundAuthenticationRequestConfig[returnList.size()]));
+        return inboundAuthenticationConfig;
     }
 
-    /**
-     * @param applicationId
-     * @param connection
-     * @return
-     * @throws IdentityApplicationManagementException
-     */
-    private RequestPathAuthenticatorConfig[] getRequestPathAuthenticators(int applicationId,
-                                                                          Connection connection, int tenantID)
-            throws IdentityApplicationManagementException {
+    private void readAndSetConfigurationsFromProperties(List<ServiceProviderProperty> propertyList,
+                                                        LocalAndOutboundAuthenticationConfig localAndOutboundConfig) {
+        // Override with changed values.
+        if (CollectionUtils.isNotEmpty(propertyList)) {
+            for (ServiceProviderProperty serviceProviderProperty : propertyList) {
 
-        PreparedStatement loadReqPathAuthenticators = null;
-        ResultSet authResultSet = null;
-        List<RequestPathAuthenticatorConfig> authenticators = new ArrayList<RequestPathAuthenticatorConfig>();
+                String name = serviceProviderProperty.getName();
+                String value = serviceProviderProperty.getValue();
 
-        try {
-            loadReqPathAuthenticators = connection
-                    .prepareStatement(LOAD_REQ_PATH_AUTHENTICATORS_BY_APP_ID);
-            loadReqPathAuthenticators.setInt(1, applicationId);
-            loadReqPathAuthenticators.setInt(2, tenantID);
-            authResultSet = loadReqPathAuthenticators.executeQuery();
-
-            while (authResultSet.next()) {
-                RequestPathAuthenticatorConfig reqAuth = new RequestPathAuthenticatorConfig();
-                reqAuth.setName(authResultSet.getString(1));
-                authenticators.add(reqAuth);
+                if (USE_DOMAIN_IN_ROLES.equals(name)) {
+                    localAndOutboundConfig.setUseUserstoreDomainInRoles(value == null || Boolean.parseBoolean(value));
+                } else if (SKIP_CONSENT.equals(name)) {
+                    localAndOutboundConfig.setSkipConsent(Boolean.parseBoolean(value));
+                } else if (SKIP_LOGOUT_CONSENT.equals(name)) {
+                    localAndOutboundConfig.setSkipLogoutConsent(Boolean.parseBoolean(value));
+                }
             }
-        } catch (SQLException e) {
-            throw new IdentityApplicationManagementException(
-                    "Error while retrieving all application");
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(loadReqPathAuthenticators);
-            IdentityApplicationManagementUtil.closeResultSet(authResultSet);
         }
-
-        return authenticators.toArray(new RequestPathAuthenticatorConfig[authenticators.size()]);
     }
 
     /**
@@ -3128,57 +3017,6 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         }
     }
 
-    /**
-     * Reads the claim mappings for a given appID
-     *
-     * @param applicationId
-     * @param connection
-     * @return
-     * @throws IdentityApplicationManagementException
-     */
-    private List<RoleMapping> getRoleMappingOfApplication(int applicationId, Connection connection,
-                                                          int tenantID) throws IdentityApplicationManagementException {
-
-        ArrayList<RoleMapping> roleMappingList = new ArrayList<RoleMapping>();
-
-        if (log.isDebugEnabled()) {
-            log.debug("Reading Role Mapping of Application " + applicationId);
-        }
-
-        PreparedStatement getClientInfo = null;
-        ResultSet resultSet = null;
-        try {
-            getClientInfo = connection
-                    .prepareStatement(LOAD_ROLE_MAPPING_BY_APP_ID);
-            // IDP_ROLE, SP_ROLE
-            getClientInfo.setInt(1, applicationId);
-            getClientInfo.setInt(2, tenantID);
-            resultSet = getClientInfo.executeQuery();
-
-            while (resultSet.next()) {
-                RoleMapping roleMapping = new RoleMapping();
-                LocalRole localRole = new LocalRole();
-                localRole.setLocalRoleName(resultSet.getString(1));
-                roleMapping.setLocalRole(localRole);
-                roleMapping.setRemoteRole(resultSet.getString(2));
-                roleMappingList.add(roleMapping);
-
-                if (log.isDebugEnabled()) {
-                    log.debug("Local Role: " + roleMapping.getLocalRole().getLocalRoleName()
-                            + " SPRole: " + roleMapping.getRemoteRole());
-                }
-            }
-
-        } catch (SQLException e) {
-            throw new IdentityApplicationManagementException(
-                    "Error while retrieving all application");
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(getClientInfo);
-            IdentityApplicationManagementUtil.closeResultSet(resultSet);
-        }
-        return roleMappingList;
-    }
-
     /**
      * Get count of applications for user
      *
@@ -3504,9 +3342,9 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                 handleClientDeletion(client.getInboundAuthKey(), client.getInboundAuthType());
             }
             handleDeleteServiceProvider(connection, appName, tenantID);
-            IdentityDatabaseUtil.commitTransaction(connection);
+            commitTransaction(connection);
         } catch (SQLException | UserStoreException | IdentityApplicationManagementException e) {
-            IdentityDatabaseUtil.rollbackTransaction(connection);
+            rollbackTransaction(connection);
             String errorMessege = "An error occured while delete the application : " + appName;
             log.error(errorMessege, e);
             throw new IdentityApplicationManagementException(errorMessege, e);
@@ -3629,16 +3467,20 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         String auditData = "\"" + "Tenant Id" + "\" : \"" + tenantId + "\"";
 
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
-
-            // Delete the application certificates of the tenant.
-            deleteCertificatesByTenantId(connection, tenantId);
-
-            try (PreparedStatement deleteClientPrepStmt = connection
-                    .prepareStatement(REMOVE_APPS_FROM_APPMGT_APP_BY_TENANT_ID)) {
-                deleteClientPrepStmt.setInt(1, tenantId);
-                deleteClientPrepStmt.execute();
-                IdentityDatabaseUtil.commitTransaction(connection);
-                audit("Delete all applications of a tenant", auditData, AUDIT_SUCCESS);
+            try {
+                // Delete the application certificates of the tenant.
+                deleteCertificatesByTenantId(connection, tenantId);
+
+                try (PreparedStatement deleteClientPrepStmt = connection
+                        .prepareStatement(REMOVE_APPS_FROM_APPMGT_APP_BY_TENANT_ID)) {
+                    deleteClientPrepStmt.setInt(1, tenantId);
+                    deleteClientPrepStmt.execute();
+                    commitTransaction(connection);
+                    audit("Delete all applications of a tenant", auditData, AUDIT_SUCCESS);
+                }
+            } catch (SQLException e) {
+                rollbackTransaction(connection);
+                throw e;
             }
         } catch (SQLException e) {
             audit("Delete all applications of a tenant", auditData, AUDIT_FAIL);
@@ -3884,7 +3726,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         String certificateReferenceID = getCertificateReferenceID(application.getSpProperties());
 
         if (certificateReferenceID != null) {
-            deleteCertificate(connection, Integer.parseInt(certificateReferenceID));
+            deleteCertificate(connection, Integer.parseInt(certificateReferenceID), tenantID);
         }
     }
 
@@ -3893,8 +3735,9 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
      *
      * @param connection
      * @param id
+     * @param tenantId
      */
-    private void deleteCertificate(Connection connection, int id) throws SQLException {
+    private void deleteCertificate(Connection connection, int id, int tenantId) throws SQLException {
 
         PreparedStatement statementToRemoveCertificate = null;
         try {
@@ -3902,11 +3745,38 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             statementToRemoveCertificate = connection.prepareStatement(REMOVE_CERTIFICATE);
             statementToRemoveCertificate.setInt(1, id);
             statementToRemoveCertificate.execute();
+            deferCertificateInvalidation(tenantId, Integer.toString(id));
         } finally {
             IdentityApplicationManagementUtil.closeStatement(statementToRemoveCertificate);
         }
     }
 
+    private void deferCertificateInvalidation(int tenantId, String certificateId) {
+
+        pendingCertificateInvalidations.get().add(new CertificateInvalidation(tenantId, certificateId));
+    }
+
+    private void commitTransaction(Connection connection) {
+
+        List<CertificateInvalidation> invalidations = pendingCertificateInvalidations.get();
+        pendingCertificateInvalidations.remove();
+        IdentityDatabaseUtil.commitTransaction(connection);
+        for (CertificateInvalidation invalidation : invalidations) {
+            if (invalidation.certificateId == null) {
+                CachingCertificateRetriever.clearCache(invalidation.tenantId);
+            } else {
+                CachingCertificateRetriever.clearCacheEntry(DatabaseCertificateRetriever.class,
+                        invalidation.certificateId, invalidation.tenantId);
+            }
+        }
+    }
+
+    private void rollbackTransaction(Connection connection) {
+
+        pendingCertificateInvalidations.remove();
+        IdentityDatabaseUtil.rollbackTransaction(connection);
+    }
+
     /**
      * Deletes all certificates of a given tenant id from the database.
      *
@@ -3925,6 +3795,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             deleteCertificatesStmt = connection.prepareStatement(REMOVE_CERTIFICATES_BY_TENANT_ID);
             deleteCertificatesStmt.setInt(1, tenantId);
             deleteCertificatesStmt.execute();
+            deferCertificateInvalidation(tenantId, null);
         } finally {
             IdentityApplicationManagementUtil.closeStatement(deleteCertificatesStmt);
         }
@@ -4232,40 +4103,6 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         return authId;
     }
 
-    /**
-     * @param conn
-     * @param tenantId
-     * @param authenticatorId
-     * @return
-     * @throws SQLException
-     */
-    private Map<String, String> getAuthenticatorInfo(Connection conn, int tenantId,
-                                                     int authenticatorId) throws SQLException {
-
-        PreparedStatement prepStmt = null;
-        ResultSet rs = null;
-        String sqlStmt = LOAD_IDP_AND_AUTHENTICATOR_NAMES;
-        Map<String, String> returnData = new HashMap<String, String>();
-        try {
-            prepStmt = conn.prepareStatement(sqlStmt);
-            prepStmt.setInt(1, authenticatorId);
-            prepStmt.setInt(2, tenantId);
-            prepStmt.setInt(3, tenantId);
-            prepStmt.setInt(4, MultitenantConstants.SUPER_TENANT_ID);
-            prepStmt.setInt(5, MultitenantConstants.SUPER_TENANT_ID);
-            rs = prepStmt.executeQuery();
-            while (rs.next()) {
-                returnData.put(ApplicationConstants.IDP_NAME, rs.getString(1));
-                returnData.put(ApplicationConstants.IDP_AUTHENTICATOR_NAME, rs.getString(2));
-                returnData
-                        .put(ApplicationConstants.IDP_AUTHENTICATOR_DISPLAY_NAME, rs.getString(3));
-            }
-        } finally {
-            IdentityApplicationManagementUtil.closeStatement(prepStmt);
-        }
-        return returnData;
-    }
-
     /**
      * @param conn
      * @param tenantId
@@ -4765,12 +4602,12 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
             application.setApplicationResourceId(resourceId);
 
             addApplicationConfigurations(connection, application, tenantDomain);
-            IdentityDatabaseUtil.commitTransaction(connection);
+            commitTransaction(connection);
             return resourceId;
         } catch (SQLException | UserStoreException | IdentityApplicationManagementException e) {
             log.error("Error while creating the application with name: " + application.getApplicationName()
                     + " in tenantDomain: " + tenantDomain + ". Rolling back created application information.");
-            IdentityDatabaseUtil.rollbackTransaction(connection);
+            rollbackTransaction(connection);
             if (isApplicationConflict(e)) {
                 throw new IdentityApplicationManagementClientException(APPLICATION_ALREADY_EXISTS.getCode(),
                         "Application already exists with name: " + application.getApplicationName()
@@ -4836,7 +4673,7 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
 
             if (application != null) {
                 // Delete the application certificate if there is any
-                deleteApplicationCertificate(connection, application);
+                deleteApplicationCertificate(connection, application, IdentityTenantUtil.getTenantId(tenantDomain));
 
                 try (NamedPreparedStatement deleteAppStatement =
                              new NamedPreparedStatement(connection, REMOVE_APP_FROM_SP_APP_WITH_UUID)) {
@@ -4846,9 +4683,9 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
                     deleteAppStatement.setInt(ApplicationTableColumns.TENANT_ID, tenantId);
                     deleteAppStatement.execute();
 
-                    IdentityDatabaseUtil.commitTransaction(connection);
+                    commitTransaction(connection);
                 } catch (SQLException ex) {
-                    IdentityDatabaseUtil.rollbackTransaction(connection);
+                    rollbackTransaction(connection);
                     String msg = "Error occurred while deleting application with resourceId: %s in tenantDomain: %s.";
                     throw new IdentityApplicationManagementException(String.format(msg, resourceId, tenantDomain), ex);
                 }
@@ -5249,11 +5086,12 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
         }
     }
 
-    private void deleteApplicationCertificate(Connection connection, ServiceProvider application) throws SQLException {
+    private void deleteApplicationCertificate(Connection connection, ServiceProvider application, int tenantId)
+            throws SQLException {
 
         String certificateReferenceID = getCertificateReferenceID(application.getSpProperties());
         if (certificateReferenceID != null) {
-            deleteCertificate(connection, Integer.parseInt(certificateReferenceID));
+            deleteCertificate(connection, Integer.parseInt(certificateReferenceID), tenantId);
         }
     }
 
@@ -5336,4 +5174,48 @@ public class ApplicationDAOImpl extends AbstractApplicationDAOImpl implements Pa
 
         AUDIT_LOG.info(String.format(AUDIT_MESSAGE, loggedInUser, action, data, result));
     }
+
+    /**
+     * Configurations of an application collected from the configuration tables while loading service providers in
+     * bulk.
+     */
+    private static final class ServiceProviderLoadContext {
+
+        private final ServiceProvider serviceProvider;
+        private final int tenantId;
+        private final String authenticationType;
+        private final List<ServiceProviderProperty> properties = new ArrayList<>();
+        private final Map<String, InboundAuthenticationRequestConfig> inboundAuthenticationRequestConfigs =
+                new HashMap<>();
+        private final Map<Integer, AuthenticationStep> authenticationSteps = new HashMap<>();
+        private final Map<Integer, List<Integer>> stepAuthenticatorIds = new HashMap<>();
+        private final List<IdentityProvider> provisioningIdPs = new ArrayList<>();
+        private final List<ClaimMapping> claimMappings = new ArrayList<>();
+        private final List<String> spClaimDialects = new ArrayList<>();
+        private final List<RoleMapping> roleMappings = new ArrayList<>();
+        private final List<RequestPathAuthenticatorConfig> requestPathAuthenticators = new ArrayList<>();
+
+        private ServiceProviderLoadContext(ServiceProvider serviceProvider, int tenantId, String authenticationType) {
+
+            this.serviceProvider = serviceProvider;
+            this.tenantId = tenantId;
+            this.authenticationType = authenticationType;
+        }
+    }
+
+    /**
+     * Certificate cache invalidation to be applied once the transaction commits. A null certificate id invalidates
+     * all the cached certificates of the tenant.
+     */
+    private static class CertificateInvalidation {
+
+        private final int tenantId;
+        private final String certificateId;
+
+        private CertificateInvalidation(int tenantId, String certificateId) {
+
+            this.tenantId = tenantId;
+            this.certificateId = certificateId;
+        }
+    }
 }
@@ -49,7 +49,9 @@ import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderRe
 import org.wso2.carbon.identity.application.mgt.internal.cache.ServiceProviderResourceIdCacheKey;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -115,6 +117,38 @@ public class CacheBackedApplicationDAO extends ApplicationDAOImpl {
         return serviceProvider;
     }
 
+    @Override
+    public List<ServiceProvider> getApplications(Collection<Integer> appIds)
+            throws IdentityApplicationManagementException {
+
+        String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        Map<Integer, ServiceProvider> serviceProviders = new HashMap<>();
+        List<Integer> missedAppIds = new ArrayList<>();
+        for (Integer appId : appIds) {
+            ServiceProvider serviceProvider = getApplicationFromCache(appId, tenantDomain);
+            if (serviceProvider != null) {
+                serviceProviders.put(appId, serviceProvider);
+            } else {
+                missedAppIds.add(appId);
+            }
+        }
+        if (!missedAppIds.isEmpty()) {
+            for (ServiceProvider serviceProvider : appDAO.getApplications(missedAppIds)) {
+                addToCache(serviceProvider, serviceProvider.getOwner().getTenantDomain());
+                serviceProviders.put(serviceProvider.getApplicationID(), serviceProvider);
+            }
+        }
+
+        List<ServiceProvider> orderedServiceProviders = new ArrayList<>();
+        for (Integer appId : new LinkedHashSet<>(appIds)) {
+            ServiceProvider serviceProvider = serviceProviders.get(appId);
+            if (serviceProvider != null) {
+                orderedServiceProviders.add(serviceProvider);
+            }
+        }
+        return orderedServiceProviders;
+    }
+
     public String getApplicationName(int applicationID) throws IdentityApplicationManagementException {
 
         ServiceProvider applicationFromCache = getApplicationFromCache(applicationID,
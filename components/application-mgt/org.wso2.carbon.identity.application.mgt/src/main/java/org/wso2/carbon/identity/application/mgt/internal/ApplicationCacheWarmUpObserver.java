@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.mgt.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.core.ServerStartupObserver;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.mgt.ApplicationMgtSystemConfig;
+import org.wso2.carbon.identity.application.mgt.ApplicationMgtUtil;
+import org.wso2.carbon.identity.base.IdentityException;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.IdentityProviderManager;
+import org.wso2.carbon.idp.mgt.model.IdpSearchResult;
+import org.wso2.carbon.user.api.Tenant;
+import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the service provider and identity provider caches of the tenants before the server starts serving
+ * requests, so that the first requests after a restart do not load every application one by one.
+ * <p>
+ * Service providers are loaded in chunks with the bulk application DAO, which also populates the inbound
+ * authentication key mappings. Identity providers are listed a page at a time with their basic information only, and
+ * each of them is then loaded once through the cache backed IdP DAO. The chunks of all tenants are loaded in parallel.
+ * A tenant is counted as completed once all of its chunks are loaded. Server startup, and hence the transports, is
+ * held until the warm-up completes or the configured timeout is reached. The progress of the warm-up can be read from
+ * the observer kept in {@link ApplicationManagementServiceComponentHolder}.
+ */
+public class ApplicationCacheWarmUpObserver implements ServerStartupObserver {
+
+    private static final Log log = LogFactory.getLog(ApplicationCacheWarmUpObserver.class);
+
+    private static final String CACHE_WARM_UP_ENABLE = "ApplicationMgt.CacheWarmUp.Enable";
+    private static final String CACHE_WARM_UP_ALL_TENANTS = "ApplicationMgt.CacheWarmUp.AllTenants";
+    private static final String CACHE_WARM_UP_MAX_APPLICATIONS =
+            "ApplicationMgt.CacheWarmUp.MaxApplicationsPerTenant";
+    private static final String CACHE_WARM_UP_POOL_SIZE = "ApplicationMgt.CacheWarmUp.PoolSize";
+    private static final String CACHE_WARM_UP_TIMEOUT = "ApplicationMgt.CacheWarmUp.TimeoutInSeconds";
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final int DEFAULT_TIMEOUT_IN_SECONDS = 300;
+    private static final int CHUNK_SIZE = 100;
+    private static final long PROGRESS_INTERVAL_IN_MILLIS = 10000L;
+
+    private final boolean allTenants;
+    private final int maxApplicationsPerTenant;
+    private final int poolSize;
+    private final long timeoutInMillis;
+
+    private final Object completionLock = new Object();
+    private int pendingTasks;
+    private int tenantCount;
+    private final AtomicInteger completedTenants = new AtomicInteger();
+    private final AtomicInteger loadedApplications = new AtomicInteger();
+    private final AtomicInteger loadedIdentityProviders = new AtomicInteger();
+    private final AtomicInteger failedTasks = new AtomicInteger();
+
+    public ApplicationCacheWarmUpObserver() {
+
+        this.allTenants = IdentityUtil.getBooleanProperty(CACHE_WARM_UP_ALL_TENANTS, false);
+        this.maxApplicationsPerTenant = IdentityUtil.getIntProperty(CACHE_WARM_UP_MAX_APPLICATIONS, 0);
+        this.poolSize = Math.max(1, IdentityUtil.getIntProperty(CACHE_WARM_UP_POOL_SIZE, DEFAULT_POOL_SIZE));
+        this.timeoutInMillis = TimeUnit.SECONDS.toMillis(IdentityUtil.getIntProperty(CACHE_WARM_UP_TIMEOUT,
+                DEFAULT_TIMEOUT_IN_SECONDS));
+    }
+
+    /**
+     * Check whether the cache warm-up is enabled.
+     *
+     * @return True if the caches are to be preloaded on server startup.
+     */
+    public static boolean isEnabled() {
+
+        return IdentityUtil.getBooleanProperty(CACHE_WARM_UP_ENABLE, false);
+    }
+
+    @Override
+    public void completingServerStartup() {
+
+        long startTime = System.currentTimeMillis();
+        List<String> tenantDomains = getTenantDomains();
+        tenantCount = tenantDomains.size();
+        log.info("Starting the service provider and identity provider cache warm-up of " + tenantCount +
+                " tenant(s).");
+
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            for (String tenantDomain : tenantDomains) {
+                AtomicInteger tenantTasks = new AtomicInteger();
+                submit(executor, tenantTasks, () -> warmUpTenant(executor, tenantDomain, tenantTasks));
+            }
+            boolean completed = awaitCompletion(startTime + timeoutInMillis);
+            if (!completed) {
+                log.warn("Cache warm-up did not complete within " + timeoutInMillis + " ms. Continuing the server " +
+                        "startup with partially loaded caches.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Cache warm-up was interrupted. Continuing the server startup.");
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Cache warm-up finished in " + (System.currentTimeMillis() - startTime) + " ms. " +
+                getProgress());
+    }
+
+    @Override
+    public void completedServerStartup() {
+
+        // Do nothing.
+    }
+
+    public int getCompletedTenantCount() {
+
+        return completedTenants.get();
+    }
+
+    public int getLoadedApplicationCount() {
+
+        return loadedApplications.get();
+    }
+
+    public int getLoadedIdentityProviderCount() {
+
+        return loadedIdentityProviders.get();
+    }
+
+    public int getFailedTaskCount() {
+
+        return failedTasks.get();
+    }
+
+    private List<String> getTenantDomains() {
+
+        List<String> tenantDomains = new ArrayList<>();
+        tenantDomains.add(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        if (!allTenants) {
+            return tenantDomains;
+        }
+        try {
+            Tenant[] tenants = ApplicationManagementServiceComponentHolder.getInstance().getRealmService()
+                    .getTenantManager().getAllTenants();
+            for (Tenant tenant : tenants) {
+                if (tenant.isActive()) {
+                    tenantDomains.add(tenant.getDomain());
+                }
+            }
+        } catch (UserStoreException e) {
+            log.error("Error while listing the tenants for the cache warm-up. Only the super tenant caches will " +
+                    "be preloaded.", e);
+        }
+        return tenantDomains;
+    }
+
+    private void warmUpTenant(ExecutorService executor, String tenantDomain, AtomicInteger tenantTasks) {
+
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        try {
+            if (tenantId != MultitenantConstants.SUPER_TENANT_ID) {
+                IdentityTenantUtil.initializeRegistry(tenantId);
+            }
+            List<Integer> applicationIds = getApplicationIds(tenantDomain);
+            for (int fromIndex = 0; fromIndex < applicationIds.size(); fromIndex += CHUNK_SIZE) {
+                List<Integer> chunk = applicationIds.subList(fromIndex,
+                        Math.min(applicationIds.size(), fromIndex + CHUNK_SIZE));
+                submit(executor, tenantTasks, () -> loadApplications(tenantDomain, chunk));
+            }
+            submitIdentityProviders(executor, tenantDomain, tenantTasks);
+        } catch (IdentityException | IdentityApplicationManagementException e) {
+            failedTasks.incrementAndGet();
+            log.warn("Error while preparing the cache warm-up of tenant: " + tenantDomain, e);
+        }
+    }
+
+    private List<Integer> getApplicationIds(String tenantDomain) throws IdentityApplicationManagementException {
+
+        ApplicationBasicInfo[] applicationBasicInfos;
+        try {
+            ApplicationMgtUtil.startTenantFlow(tenantDomain);
+            applicationBasicInfos = ApplicationMgtSystemConfig.getInstance().getApplicationDAO()
+                    .getAllApplicationBasicInfo();
+        } finally {
+            ApplicationMgtUtil.endTenantFlow();
+        }
+
+        List<Integer> applicationIds = new ArrayList<>();
+        for (ApplicationBasicInfo applicationBasicInfo : applicationBasicInfos) {
+            if (maxApplicationsPerTenant > 0 && applicationIds.size() >= maxApplicationsPerTenant) {
+                break;
+            }
+            applicationIds.add(applicationBasicInfo.getApplicationId());
+        }
+        return applicationIds;
+    }
+
+    private void loadApplications(String tenantDomain, List<Integer> applicationIds) {
+
+        try {
+            ApplicationMgtUtil.startTenantFlow(tenantDomain);
+            int count = ApplicationMgtSystemConfig.getInstance().getApplicationDAO().getApplications(applicationIds)
+                    .size();
+            loadedApplications.addAndGet(count);
+        } catch (IdentityApplicationManagementException e) {
+            failedTasks.incrementAndGet();
+            log.warn("Error while preloading " + applicationIds.size() + " service provider(s) of tenant: " +
+                    tenantDomain, e);
+        } finally {
+            ApplicationMgtUtil.endTenantFlow();
+        }
+    }
+
+    private void submitIdentityProviders(ExecutorService executor, String tenantDomain, AtomicInteger tenantTasks)
+            throws IdentityProviderManagementException {
+
+        // Only the basic information of each page is listed, as the full identity providers are loaded by the tasks.
+        IdentityProviderManager identityProviderManager = IdentityProviderManager.getInstance();
+        int offset = 0;
+        while (true) {
+            IdpSearchResult result = identityProviderManager.getIdPs(CHUNK_SIZE, offset, null, null, null,
+                    tenantDomain, new ArrayList<>());
+            List<IdentityProvider> identityProviders = result.getIdPs();
+            if (identityProviders == null || identityProviders.isEmpty()) {
+                return;
+            }
+            List<String> identityProviderNames = new ArrayList<>();
+            for (IdentityProvider identityProvider : identityProviders) {
+                identityProviderNames.add(identityProvider.getIdentityProviderName());
+            }
+            submit(executor, tenantTasks, () -> loadIdentityProviders(tenantDomain, identityProviderNames));
+            offset += identityProviders.size();
+            if (offset >= result.getTotalIDPCount()) {
+                return;
+            }
+        }
+    }
+
+    private void loadIdentityProviders(String tenantDomain, List<String> identityProviderNames) {
+
+        IdentityProviderManager identityProviderManager = IdentityProviderManager.getInstance();
+        for (String identityProviderName : identityProviderNames) {
+            try {
+                if (identityProviderManager.getIdPByName(identityProviderName, tenantDomain) != null) {
+                    loadedIdentityProviders.incrementAndGet();
+                }
+            } catch (IdentityProviderManagementException e) {
+                failedTasks.incrementAndGet();
+                log.warn("Error while preloading the identity provider: " + identityProviderName + " of tenant: " +
+                        tenantDomain, e);
+            }
+        }
+    }
+
+    /**
+     * Submit a warm-up task of a tenant. The tenant is counted as completed when the last of its tasks finishes.
+     *
+     * @param executor    Executor of the warm-up.
+     * @param tenantTasks Number of unfinished tasks of the tenant.
+     * @param task        Task to run.
+     */
+    private void submit(ExecutorService executor, AtomicInteger tenantTasks, Runnable task) {
+
+        synchronized (completionLock) {
+            pendingTasks++;
+        }
+        tenantTasks.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    failedTasks.incrementAndGet();
+                    log.warn("Error while executing a cache warm-up task.", e);
+                } finally {
+                    if (tenantTasks.decrementAndGet() == 0) {
+                        completedTenants.incrementAndGet();
+                    }
+                    completeTask();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The warm-up has timed out and the executor is shut down, hence the tenant does not complete.
+            completeTask();
+        }
+    }
+
+    private void completeTask() {
+
+        synchronized (completionLock) {
+            if (--pendingTasks == 0) {
+                completionLock.notifyAll();
+            }
+        }
+    }
+
+    private boolean awaitCompletion(long deadline) throws InterruptedException {
+
+        long nextProgressTime = System.currentTimeMillis() + PROGRESS_INTERVAL_IN_MILLIS;
+        synchronized (completionLock) {
+            while (pendingTasks > 0) {
+                long currentTime = System.currentTimeMillis();
+                if (currentTime >= deadline) {
+                    return false;
+                }
+                if (currentTime >= nextProgressTime) {
+                    log.info("Cache warm-up in progress. " + getProgress());
+                    nextProgressTime = currentTime + PROGRESS_INTERVAL_IN_MILLIS;
+                }
+                completionLock.wait(Math.min(deadline, nextProgressTime) - currentTime);
+            }
+        }
+        return true;
+    }
+
+    private String getProgress() {
+
+        return "Tenants: " + completedTenants.get() + "/" + tenantCount + ", service providers: " +
+                loadedApplications.get() + ", identity providers: " + loadedIdentityProviders.get() +
+                ", failed tasks: " + failedTasks.get() + ".";
+    }
+}
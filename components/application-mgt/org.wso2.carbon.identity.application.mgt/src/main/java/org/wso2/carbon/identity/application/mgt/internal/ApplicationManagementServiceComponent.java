@@ -36,6 +36,7 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.consent.mgt.core.ConsentManager;
+import org.wso2.carbon.core.ServerStartupObserver;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.application.mgt.AbstractInboundAuthenticatorConfig;
 import org.wso2.carbon.identity.application.mgt.ApplicationConstants;
@@ -123,6 +124,13 @@ public class ApplicationManagementServiceComponent {
             // Register the ApplicationValidator.
             context.getBundleContext().registerService(ApplicationValidator.class,
                     new DefaultApplicationValidator(), null);
+
+            if (ApplicationCacheWarmUpObserver.isEnabled()) {
+                // Preload the application and IdP caches before the server starts serving requests.
+                ApplicationCacheWarmUpObserver cacheWarmUpObserver = new ApplicationCacheWarmUpObserver();
+                ApplicationManagementServiceComponentHolder.getInstance().setCacheWarmUpObserver(cacheWarmUpObserver);
+                bundleContext.registerService(ServerStartupObserver.class.getName(), cacheWarmUpObserver, null);
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Identity ApplicationManagementComponent bundle is activated");
             }
@@ -51,6 +51,8 @@ public class ApplicationManagementServiceComponentHolder {
 
     private ClaimMetadataManagementService claimMetadataManagementService;
 
+    private ApplicationCacheWarmUpObserver cacheWarmUpObserver;
+
     private ApplicationManagementServiceComponentHolder() {
 
     }
@@ -184,4 +186,24 @@ public class ApplicationManagementServiceComponentHolder {
 
         this.claimMetadataManagementService = claimMetadataManagementService;
     }
+
+    /**
+     * Set the cache warm-up observer registered on activation.
+     *
+     * @param cacheWarmUpObserver Cache warm-up observer.
+     */
+    public void setCacheWarmUpObserver(ApplicationCacheWarmUpObserver cacheWarmUpObserver) {
+
+        this.cacheWarmUpObserver = cacheWarmUpObserver;
+    }
+
+    /**
+     * Get the cache warm-up observer, to read the progress of the warm-up.
+     *
+     * @return Cache warm-up observer, or null if the warm-up is disabled.
+     */
+    public ApplicationCacheWarmUpObserver getCacheWarmUpObserver() {
+
+        return cacheWarmUpObserver;
+    }
 }
@@ -69,6 +69,8 @@ import org.wso2.carbon.user.core.service.RealmService;
 
 import java.lang.reflect.Field;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
@@ -503,6 +505,48 @@ public class ApplicationManagementServiceImplTest extends PowerMockTestCase {
         applicationManagementService.deleteApplications(SUPER_TENANT_ID);
     }
 
+    @Test
+    public void testGetServiceProviders() throws IdentityApplicationManagementException {
+
+        ServiceProvider inputSP1 = new ServiceProvider();
+        inputSP1.setApplicationName(APPLICATION_NAME_1);
+        addApplicationConfigurations(inputSP1);
+        ServiceProvider inputSP2 = new ServiceProvider();
+        inputSP2.setApplicationName(APPLICATION_NAME_2);
+
+        // Adding applications.
+        String resourceId1 = applicationManagementService.createApplication(inputSP1, SUPER_TENANT_DOMAIN_NAME,
+                USERNAME_1);
+        String resourceId2 = applicationManagementService.createApplication(inputSP2, SUPER_TENANT_DOMAIN_NAME,
+                USERNAME_1);
+        int appId1 = applicationManagementService.getApplicationBasicInfoByResourceId(resourceId1,
+                SUPER_TENANT_DOMAIN_NAME).getApplicationId();
+        int appId2 = applicationManagementService.getApplicationBasicInfoByResourceId(resourceId2,
+                SUPER_TENANT_DOMAIN_NAME).getApplicationId();
+
+        // Retrieving applications in bulk, including an id which does not match an application.
+        List<ServiceProvider> serviceProviders = applicationManagementService.getServiceProviders(
+                Arrays.asList(appId2, -1, appId1));
+
+        Assert.assertEquals(serviceProviders.size(), 2);
+        Assert.assertEquals(serviceProviders.get(0).getApplicationName(), APPLICATION_NAME_2);
+        ServiceProvider actual = serviceProviders.get(1);
+        Assert.assertEquals(actual.getApplicationName(), APPLICATION_NAME_1);
+        Assert.assertEquals(actual.getDescription(), inputSP1.getDescription());
+        Assert.assertEquals(actual.getInboundAuthenticationConfig().getInboundAuthenticationRequestConfigs()[0]
+                .getInboundAuthKey(), "auth key");
+        Assert.assertEquals(actual.getInboundProvisioningConfig().getProvisioningUserStore(), "UserStore");
+        Assert.assertEquals(actual.getRequestPathAuthenticatorConfigs()[0].getName(),
+                "Request path authenticator");
+        Assert.assertEquals(actual.getClaimConfig().getRoleClaimURI(), "Role claim uri");
+        Assert.assertEquals(actual.getClaimConfig().getClaimMappings()[0].getLocalClaim().getClaimUri(),
+                "Local claim uri");
+        Assert.assertEquals(actual.getClaimConfig().getSpClaimDialects()[0], "SP claim dialect");
+
+        // Deleting added applications.
+        applicationManagementService.deleteApplications(SUPER_TENANT_ID);
+    }
+
     private void addApplicationConfigurations(ServiceProvider serviceProvider) {
 
         serviceProvider.setDescription("Created for testing");
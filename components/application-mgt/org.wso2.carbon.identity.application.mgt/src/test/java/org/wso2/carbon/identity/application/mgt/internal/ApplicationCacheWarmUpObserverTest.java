@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.mgt.internal;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.ApplicationMgtSystemConfig;
+import org.wso2.carbon.identity.application.mgt.ApplicationMgtUtil;
+import org.wso2.carbon.identity.application.mgt.dao.ApplicationDAO;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.IdentityProviderManager;
+import org.wso2.carbon.idp.mgt.model.IdpSearchResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.wso2.carbon.utils.multitenancy.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+import static org.wso2.carbon.utils.multitenancy.MultitenantConstants.SUPER_TENANT_ID;
+
+/**
+ * Unit tests for ApplicationCacheWarmUpObserver.
+ */
+@PrepareForTest({IdentityUtil.class, IdentityTenantUtil.class, ApplicationMgtUtil.class,
+        ApplicationMgtSystemConfig.class, IdentityProviderManager.class})
+public class ApplicationCacheWarmUpObserverTest extends PowerMockTestCase {
+
+    private static final int APPLICATION_COUNT = 150;
+    private static final int IDENTITY_PROVIDER_COUNT = 120;
+
+    @Mock
+    private ApplicationMgtSystemConfig mockApplicationMgtSystemConfig;
+    @Mock
+    private ApplicationDAO mockApplicationDAO;
+    @Mock
+    private IdentityProviderManager mockIdentityProviderManager;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        initMocks(this);
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getBooleanProperty(anyString(), anyBoolean())).thenReturn(false);
+        when(IdentityUtil.getIntProperty(anyString(), anyInt())).thenAnswer(
+                invocation -> invocation.getArguments()[1]);
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(SUPER_TENANT_DOMAIN_NAME)).thenReturn(SUPER_TENANT_ID);
+        mockStatic(ApplicationMgtUtil.class);
+
+        mockStatic(ApplicationMgtSystemConfig.class);
+        when(ApplicationMgtSystemConfig.getInstance()).thenReturn(mockApplicationMgtSystemConfig);
+        when(mockApplicationMgtSystemConfig.getApplicationDAO()).thenReturn(mockApplicationDAO);
+        ApplicationBasicInfo[] applicationBasicInfos = new ApplicationBasicInfo[APPLICATION_COUNT];
+        for (int i = 0; i < APPLICATION_COUNT; i++) {
+            applicationBasicInfos[i] = new ApplicationBasicInfo();
+            applicationBasicInfos[i].setApplicationId(i + 1);
+        }
+        when(mockApplicationDAO.getAllApplicationBasicInfo()).thenReturn(applicationBasicInfos);
+        when(mockApplicationDAO.getApplications(any(Collection.class))).thenAnswer(invocation -> {
+            List<ServiceProvider> serviceProviders = new ArrayList<>();
+            for (Object ignored : (Collection<?>) invocation.getArguments()[0]) {
+                serviceProviders.add(new ServiceProvider());
+            }
+            return serviceProviders;
+        });
+
+        mockStatic(IdentityProviderManager.class);
+        when(IdentityProviderManager.getInstance()).thenReturn(mockIdentityProviderManager);
+        when(mockIdentityProviderManager.getIdPs(anyInt(), anyInt(), anyString(), anyString(), anyString(),
+                eq(SUPER_TENANT_DOMAIN_NAME), anyListOf(String.class))).thenAnswer(invocation -> {
+            int limit = (Integer) invocation.getArguments()[0];
+            int offset = (Integer) invocation.getArguments()[1];
+            List<IdentityProvider> identityProviders = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + limit, IDENTITY_PROVIDER_COUNT); i++) {
+                IdentityProvider identityProvider = new IdentityProvider();
+                identityProvider.setIdentityProviderName("idp-" + i);
+                identityProviders.add(identityProvider);
+            }
+            IdpSearchResult result = new IdpSearchResult();
+            result.setIdpList(identityProviders);
+            result.setTotalIDPCount(IDENTITY_PROVIDER_COUNT);
+            return result;
+        });
+        when(mockIdentityProviderManager.getIdPByName(anyString(), eq(SUPER_TENANT_DOMAIN_NAME)))
+                .thenReturn(new IdentityProvider());
+    }
+
+    @Test
+    public void testWarmUpLoadsEachIdentityProviderOnce() throws Exception {
+
+        ApplicationCacheWarmUpObserver observer = new ApplicationCacheWarmUpObserver();
+        observer.completingServerStartup();
+
+        assertEquals(observer.getCompletedTenantCount(), 1);
+        assertEquals(observer.getLoadedApplicationCount(), APPLICATION_COUNT);
+        assertEquals(observer.getLoadedIdentityProviderCount(), IDENTITY_PROVIDER_COUNT);
+        assertEquals(observer.getFailedTaskCount(), 0);
+        verify(mockApplicationDAO, times(2)).getApplications(any(Collection.class));
+        verify(mockIdentityProviderManager, times(IDENTITY_PROVIDER_COUNT)).getIdPByName(anyString(),
+                eq(SUPER_TENANT_DOMAIN_NAME));
+        verify(mockIdentityProviderManager, never()).getIdPs(anyString());
+    }
+
+    @Test
+    public void testTenantCompletesAfterFailedTasks() throws Exception {
+
+        when(mockIdentityProviderManager.getIdPByName(eq("idp-0"), eq(SUPER_TENANT_DOMAIN_NAME)))
+                .thenThrow(new IdentityProviderManagementException("Error while loading the identity provider."));
+
+        ApplicationCacheWarmUpObserver observer = new ApplicationCacheWarmUpObserver();
+        observer.completingServerStartup();
+
+        assertEquals(observer.getCompletedTenantCount(), 1);
+        assertEquals(observer.getLoadedIdentityProviderCount(), IDENTITY_PROVIDER_COUNT - 1);
+        assertEquals(observer.getFailedTaskCount(), 1);
+    }
+}
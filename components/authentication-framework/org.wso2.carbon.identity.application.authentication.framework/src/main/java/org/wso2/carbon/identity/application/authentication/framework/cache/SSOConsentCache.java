@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
+import org.wso2.carbon.consent.mgt.core.model.ReceiptService;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache of the consent receipts resolved by
+ * {@link org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.SSOConsentServiceImpl}
+ * for a user and a service provider. Entries are kept in the tenant of the service provider.
+ */
+public class SSOConsentCache extends BaseCache<SSOConsentCacheKey, SSOConsentCacheEntry> {
+
+    private static final String SSO_CONSENT_CACHE_NAME = "AppAuthFrameworkSSOConsentCache";
+
+    private static volatile SSOConsentCache instance;
+
+    private SSOConsentCache() {
+
+        super(SSO_CONSENT_CACHE_NAME);
+    }
+
+    public static SSOConsentCache getInstance() {
+
+        if (instance == null) {
+            synchronized (SSOConsentCache.class) {
+                if (instance == null) {
+                    instance = new SSOConsentCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Clear the entries of the receipt for each of the service providers it is issued to. The entries are keyed by
+     * the PII principal and the tenant of the receipt, and kept in the tenant of the service provider.
+     *
+     * @param receipt Consent receipt.
+     */
+    public void clearCacheEntries(Receipt receipt) {
+
+        if (receipt == null || receipt.getServices() == null) {
+            return;
+        }
+        for (ReceiptService service : receipt.getServices()) {
+            clearCacheEntry(new SSOConsentCacheKey(receipt.getPiiPrincipalId(), receipt.getTenantDomain(),
+                    service.getService()), service.getTenantDomain());
+        }
+    }
+}
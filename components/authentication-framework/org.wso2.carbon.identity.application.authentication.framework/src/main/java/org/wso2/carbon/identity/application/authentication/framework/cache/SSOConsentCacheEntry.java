@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Cache entry holding the active consent receipt of a user for a service provider, or the absence of one. The receipt
+ * holds the consented claims along with their validity, which is evaluated when the entry is read.
+ * <p>
+ * The receipt is only kept in the local cache. An entry read from a distributed cache is not resolved and needs to be
+ * loaded again.
+ */
+public class SSOConsentCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 2290473915066134531L;
+
+    private final transient Receipt receipt;
+    private final boolean receiptAvailable;
+
+    public SSOConsentCacheEntry(Receipt receipt) {
+
+        this.receipt = receipt;
+        this.receiptAvailable = receipt != null;
+    }
+
+    /**
+     * Get the active consent receipt.
+     *
+     * @return Consent receipt, or null if the user has no active receipt for the service provider.
+     */
+    public Receipt getReceipt() {
+
+        return receipt;
+    }
+
+    /**
+     * Check whether the entry holds the resolved consent state.
+     *
+     * @return False if the entry lost its receipt on serialization.
+     */
+    public boolean isResolved() {
+
+        return !receiptAvailable || receipt != null;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key of the consent receipt of a user for a service provider.
+ */
+public class SSOConsentCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -3126470385361904822L;
+
+    private final String subject;
+    private final String subjectTenantDomain;
+    private final String serviceProvider;
+
+    public SSOConsentCacheKey(String subject, String subjectTenantDomain, String serviceProvider) {
+
+        this.subject = subject;
+        this.subjectTenantDomain = subjectTenantDomain;
+        this.serviceProvider = serviceProvider;
+    }
+
+    public String getSubject() {
+
+        return subject;
+    }
+
+    public String getSubjectTenantDomain() {
+
+        return subjectTenantDomain;
+    }
+
+    public String getServiceProvider() {
+
+        return serviceProvider;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SSOConsentCacheKey that = (SSOConsentCacheKey) o;
+        return Objects.equals(subject, that.subject) && Objects.equals(subjectTenantDomain, that.subjectTenantDomain)
+                && Objects.equals(serviceProvider, that.serviceProvider);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(subject, subjectTenantDomain, serviceProvider);
+    }
+}
@@ -29,6 +29,7 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Framew
 import org.wso2.carbon.identity.core.cache.BaseCache;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.util.concurrent.TimeUnit;
 
@@ -78,10 +79,11 @@ public class SessionContextCache extends BaseCache<SessionContextCacheKey, Sessi
         if (authUser != null && authUser instanceof AuthenticatedUser) {
             String tenantDomain = ((AuthenticatedUser) authUser).getTenantDomain();
             int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
-            SessionDataStore.getInstance()
-                    .storeSessionData(key.getContextId(), SESSION_CONTEXT_CACHE_NAME, entry, tenantId);
+            SessionDataStore.getInstance().storeSessionContextData(key.getContextId(), SESSION_CONTEXT_CACHE_NAME,
+                    entry, entry.getContext(), tenantId);
         } else {
-            SessionDataStore.getInstance().storeSessionData(key.getContextId(), SESSION_CONTEXT_CACHE_NAME, entry);
+            SessionDataStore.getInstance().storeSessionContextData(key.getContextId(), SESSION_CONTEXT_CACHE_NAME,
+                    entry, entry.getContext(), MultitenantConstants.INVALID_TENANT_ID);
         }
     }
 
@@ -44,6 +44,9 @@ public class SessionContextCacheEntry extends CacheEntry {
         this.context = entry.getContext();
         this.loggedInUser = entry.getLoggedInUser();
         this.setAccessedTime(TimeUnit.NANOSECONDS.toMillis(sessionContextDO.getNanoTime()));
+        if (this.context != null) {
+            this.context.setPersisted(sessionContextDO.getNanoTime(), true);
+        }
     }
 
     public String getLoggedInUser() {
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache for the lookups of {@link org.wso2.carbon.identity.application.authentication.framework.store.UserSessionStore}
+ * which resolve nearly immutable mappings, such as the user id of a federated user and the id of an identity provider.
+ * Entries are kept per tenant.
+ */
+public class UserSessionLookupCache extends BaseCache<String, String> {
+
+    private static final String USER_SESSION_LOOKUP_CACHE_NAME = "AppAuthFrameworkUserSessionLookupCache";
+    private static final String USER_SESSION_NEGATIVE_LOOKUP_CACHE_NAME =
+            "AppAuthFrameworkUserSessionNegativeLookupCache";
+
+    private static volatile UserSessionLookupCache instance;
+    private static volatile UserSessionLookupCache negativeLookupInstance;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private UserSessionLookupCache(String cacheName) {
+
+        super(cacheName);
+    }
+
+    public static UserSessionLookupCache getInstance() {
+
+        if (instance == null) {
+            synchronized (UserSessionLookupCache.class) {
+                if (instance == null) {
+                    instance = new UserSessionLookupCache(USER_SESSION_LOOKUP_CACHE_NAME);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the cache of the lookups which did not find a mapping, such as the lookups of users on their first login.
+     * Entries are removed when the mapping is stored on this node. Mappings stored by other nodes are only seen once
+     * an entry times out, hence this cache is configured with a shorter timeout.
+     *
+     * @return Negative lookup cache.
+     */
+    public static UserSessionLookupCache getNegativeLookupInstance() {
+
+        if (negativeLookupInstance == null) {
+            synchronized (UserSessionLookupCache.class) {
+                if (negativeLookupInstance == null) {
+                    negativeLookupInstance = new UserSessionLookupCache(USER_SESSION_NEGATIVE_LOOKUP_CACHE_NAME);
+                }
+            }
+        }
+        return negativeLookupInstance;
+    }
+
+    /**
+     * Get the cached value of a lookup, recording a hit or miss.
+     *
+     * @param key      Lookup key.
+     * @param tenantId Tenant id.
+     * @return Cached value, or null if not cached.
+     */
+    public String getLookupValue(String key, int tenantId) {
+
+        String value = getValueFromCache(key, tenantId);
+        if (value == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return value;
+    }
+
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+}
@@ -40,6 +40,12 @@ public class SessionContext implements Serializable {
     // This authenticatedIdPsOfApp has the mapping of application and the map of authenticated IDPs.
     private Map<String, Map<String, AuthenticatedIdPData>> authenticatedIdPsOfApp;
 
+    // Persistence bookkeeping. A context read back from the session store is not modified until it is changed
+    // through the setters or marked modified, as the transient fields are not restored on deserialization.
+    private transient boolean modified = true;
+    private transient long lastPersistedTime;
+    private transient long lastSnapshotTime;
+
     public Map<String, SequenceConfig> getAuthenticatedSequences() {
         return authenticatedSequences;
     }
@@ -47,6 +53,7 @@ public class SessionContext implements Serializable {
     public void setAuthenticatedSequences(
             Map<String, SequenceConfig> authenticatedSequences) {
         this.authenticatedSequences = authenticatedSequences;
+        this.modified = true;
     }
 
     public Map<String, AuthenticatedIdPData> getAuthenticatedIdPs() {
@@ -56,11 +63,12 @@ public class SessionContext implements Serializable {
 
     public void setAuthenticatedIdPs(Map<String, AuthenticatedIdPData> authenticatedIdPs) {
         this.authenticatedIdPs = authenticatedIdPs;
+        this.modified = true;
     }
 
     public Map<String, AuthenticatedIdPData> getAuthenticatedIdPsOfApp(String app) {
 
-        return authenticatedIdPsOfApp.get(app);
+        return authenticatedIdPsOfApp == null ? null : authenticatedIdPsOfApp.get(app);
     }
 
     public void setAuthenticatedIdPsOfApp(String app, Map<String, AuthenticatedIdPData> authenticatedIdPsOfApp) {
@@ -69,6 +77,7 @@ public class SessionContext implements Serializable {
             this.authenticatedIdPsOfApp = new HashMap<>();
         }
         this.authenticatedIdPsOfApp.put(app, authenticatedIdPsOfApp);
+        this.modified = true;
     }
 
     public boolean isRememberMe() {
@@ -77,9 +86,25 @@ public class SessionContext implements Serializable {
 
     public void setRememberMe(boolean isRememberMe) {
         this.isRememberMe = isRememberMe;
+        this.modified = true;
     }
 
     public void addProperty(String key, Object value) {
+        Object previousValue = properties.put(key, value);
+        if (!isSameImmutableValue(previousValue, value)) {
+            this.modified = true;
+        }
+    }
+
+    /**
+     * Add a property which only records when the session was last used, such as the updated timestamp, without
+     * marking the context modified. Such a property is written with the next full snapshot, hence a copy read back
+     * from the session store may hold an older value.
+     *
+     * @param key   Property name.
+     * @param value Property value.
+     */
+    public void addAccessTimeProperty(String key, Object value) {
         properties.put(key, value);
     }
 
@@ -90,4 +115,60 @@ public class SessionContext implements Serializable {
     public SessionAuthHistory getSessionAuthHistory() {
         return sessionAuthHistory;
     }
+
+    /**
+     * Check whether the content of the context changed since it was last persisted as a full snapshot.
+     *
+     * @return True if the context is modified.
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Mark the context as modified. Needs to be invoked after changing the collections or objects returned by the
+     * getters in place, so that the next persistence writes a full snapshot instead of only updating the access
+     * time.
+     */
+    public void markModified() {
+        this.modified = true;
+    }
+
+    /**
+     * Get the time the context was last written to the session store.
+     *
+     * @return Time in nano seconds, or 0 if the context has not been persisted.
+     */
+    public long getLastPersistedTime() {
+        return lastPersistedTime;
+    }
+
+    /**
+     * Get the time a full snapshot of the context was last written to the session store.
+     *
+     * @return Time in nano seconds, or 0 if the context has not been persisted.
+     */
+    public long getLastSnapshotTime() {
+        return lastSnapshotTime;
+    }
+
+    /**
+     * Record that the context was written to the session store.
+     *
+     * @param persistedTime Time in nano seconds the context was persisted with.
+     * @param snapshot      Whether a full snapshot was written, as opposed to an access time update.
+     */
+    public void setPersisted(long persistedTime, boolean snapshot) {
+        this.lastPersistedTime = persistedTime;
+        if (snapshot) {
+            this.lastSnapshotTime = persistedTime;
+            this.modified = false;
+        }
+    }
+
+    private static boolean isSameImmutableValue(Object previousValue, Object value) {
+        // Mutable values may have been changed in place, hence only equal immutable values are treated as unchanged.
+        boolean immutable = value instanceof String || value instanceof Number || value instanceof Boolean;
+        return immutable && value.equals(previousValue);
+    }
 }
@@ -53,6 +53,8 @@ import org.wso2.carbon.identity.application.authentication.framework.util.Framew
 import org.wso2.carbon.identity.application.authentication.framework.util.LoginContextManagementUtil;
 import org.wso2.carbon.identity.application.authentication.framework.util.SessionMgtConstants;
 import org.wso2.carbon.identity.base.IdentityConstants;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
@@ -68,8 +70,11 @@ import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.Cookie;
@@ -409,9 +414,16 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
             // session context may be null when cache expires therefore creating new cookie as well.
             if (sessionContext != null) {
                 analyticsSessionAction = FrameworkConstants.AnalyticsAttributes.SESSION_UPDATE;
+                // A plain SSO request only changes the access time of the session. Determine whether this request
+                // changes anything else before the session is updated in place, so that persisting an otherwise
+                // unchanged session only updates its access time.
+                boolean sessionContentChanged = isSessionContentChanged(sessionContext, sequenceConfig, context,
+                        appConfig.getApplicationName());
                 sessionContext.getAuthenticatedSequences().put(appConfig.getApplicationName(), sequenceConfig);
                 sessionContext.getAuthenticatedIdPs().putAll(context.getCurrentAuthenticatedIdPs());
-                if (!context.isPassiveAuthenticate()) {
+                if (!context.isPassiveAuthenticate() && !isSameAuthenticatedIdPs(
+                        sessionContext.getAuthenticatedIdPsOfApp(appConfig.getApplicationName()),
+                        context.getCurrentAuthenticatedIdPs())) {
                     setAuthenticatedIDPsOfApp(sessionContext, context.getCurrentAuthenticatedIdPs(),
                             appConfig.getApplicationName());
                 }
@@ -421,7 +433,7 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
                 populateAuthenticationContextHistory(authenticationResult, context, sessionContext);
                 long updatedSessionTime = System.currentTimeMillis();
                 if (!context.isPreviousAuthTime()) {
-                    sessionContext.addProperty(FrameworkConstants.UPDATED_TIMESTAMP, updatedSessionTime);
+                    sessionContext.addAccessTimeProperty(FrameworkConstants.UPDATED_TIMESTAMP, updatedSessionTime);
                 }
 
                 authenticationResult.addProperty(FrameworkConstants.AnalyticsAttributes.SESSION_ID, sessionContextKey);
@@ -491,6 +503,10 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
                 }
                 handleSessionContextUpdate(context.getRequestType(), sessionContextKey, sessionContext,
                         request, response, context);
+                if (sessionContentChanged) {
+                    // The authenticated sequences, IdPs and history are updated in place above.
+                    sessionContext.markModified();
+                }
                 // TODO add to cache?
                 // store again. when replicate  cache is used. this may be needed.
                 FrameworkUtils.addSessionContextToCache(sessionContextKey, sessionContext, applicationTenantDomain,
@@ -552,11 +568,26 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
             }
 
             if (FrameworkServiceDataHolder.getInstance().isUserSessionMappingEnabled()) {
+                // The user and application session mappings are one unit of work on the session database when the
+                // connection scope is enabled, and are committed before the response is sent.
+                IdentityDatabaseUtil.beginConnectionScope();
+                boolean stored = false;
                 try {
                     storeSessionData(context, sessionContextKey);
+                    stored = true;
                 } catch (UserSessionException e) {
                     throw new FrameworkException("Error while storing session details of the authenticated user to " +
                             "the database", e);
+                } finally {
+                    if (!stored) {
+                        IdentityDatabaseUtil.endConnectionScope(false);
+                    }
+                }
+                try {
+                    IdentityDatabaseUtil.endConnectionScope(true);
+                } catch (IdentityRuntimeException e) {
+                    throw new FrameworkException("Error while committing session details of the authenticated user " +
+                            "to the database", e);
                 }
             }
             // Check whether the authentication flow includes a SAML federated IdP and
@@ -689,6 +720,8 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
         String inboundAuth = context.getCallerPath().substring(1);
         int appId = context.getSequenceConfig().getApplicationConfig().getApplicationID();
 
+        // Mappings are collected first and stored as one batch, which also skips a user id seen in several steps.
+        Set<String> unmappedUserIds = new LinkedHashSet<>();
         for (AuthenticatedIdPData authenticatedIdPData : context.getCurrentAuthenticatedIdPs().values()) {
             AuthenticatedUser user = authenticatedIdPData.getUser();
 
@@ -696,8 +729,9 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
                 String userId = user.getUserId();
 
                 try {
-                    if (!UserSessionStore.getInstance().isExistingMapping(userId, sessionContextKey)) {
-                        UserSessionStore.getInstance().storeUserSessionData(userId, sessionContextKey);
+                    if (!unmappedUserIds.contains(userId) &&
+                            !UserSessionStore.getInstance().isExistingMapping(userId, sessionContextKey)) {
+                        unmappedUserIds.add(userId);
                     }
                     /*
                 For JIT provisioned users, if AssertIdentity Using Mapped Local Subject Identifier config is enabled in
@@ -709,9 +743,9 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
                                 FrameworkUtils.resolveUserIdFromUsername(
                                         IdentityTenantUtil.getTenantId(user.getTenantDomain()),
                                         user.getUserStoreDomain(), user.getUserName());
-                        if (StringUtils.isNotEmpty(localUserId) &&
+                        if (StringUtils.isNotEmpty(localUserId) && !unmappedUserIds.contains(localUserId) &&
                                 !UserSessionStore.getInstance().isExistingMapping(localUserId, sessionContextKey)) {
-                            UserSessionStore.getInstance().storeUserSessionData(localUserId, sessionContextKey);
+                            unmappedUserIds.add(localUserId);
                         }
                     }
                 } catch (UserSessionException e) {
@@ -727,6 +761,9 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
                 }
             }
         }
+        if (!unmappedUserIds.isEmpty()) {
+            UserSessionStore.getInstance().storeUserSessionData(unmappedUserIds, sessionContextKey);
+        }
         if (appId > 0) {
             storeAppSessionData(sessionContextKey, subject, appId, inboundAuth);
         }
@@ -974,6 +1011,57 @@ public class DefaultAuthenticationRequestHandler implements AuthenticationReques
         return authenticationResult;
     }
 
+    /**
+     * Check whether updating the session with the result of the current request changes the authenticated user,
+     * IdPs, authentication history or the authentication context properties held by the session.
+     *
+     * @param sessionContext  Existing session context.
+     * @param sequenceConfig  Sequence config of the current request.
+     * @param context         Authentication context of the current request.
+     * @param applicationName Name of the application.
+     * @return True if the content of the session changes.
+     */
+    private boolean isSessionContentChanged(SessionContext sessionContext, SequenceConfig sequenceConfig,
+                                            AuthenticationContext context, String applicationName) {
+
+        SequenceConfig previousSequenceConfig = sessionContext.getAuthenticatedSequences().get(applicationName);
+        if (previousSequenceConfig == null || !Objects.equals(previousSequenceConfig.getAuthenticatedUser(),
+                sequenceConfig.getAuthenticatedUser())) {
+            return true;
+        }
+        if (!containsAuthenticatedIdPs(sessionContext.getAuthenticatedIdPs(), context.getCurrentAuthenticatedIdPs())) {
+            return true;
+        }
+        List<AuthHistory> history = sessionContext.getSessionAuthHistory().getHistory();
+        if (!AuthHistory.merge(history, context.getAuthenticationStepHistory()).equals(history)) {
+            return true;
+        }
+        if (context.getSelectedAcr() != null &&
+                !context.getSelectedAcr().equals(sessionContext.getSessionAuthHistory().getSelectedAcrValue())) {
+            return true;
+        }
+        return context.getProperty(FrameworkConstants.AUTHENTICATION_CONTEXT_PROPERTIES) != null;
+    }
+
+    private boolean isSameAuthenticatedIdPs(Map<String, AuthenticatedIdPData> existingIdPs,
+                                            Map<String, AuthenticatedIdPData> currentIdPs) {
+
+        return existingIdPs != null && existingIdPs.keySet().equals(currentIdPs.keySet()) &&
+                containsAuthenticatedIdPs(existingIdPs, currentIdPs);
+    }
+
+    private boolean containsAuthenticatedIdPs(Map<String, AuthenticatedIdPData> existingIdPs,
+                                              Map<String, AuthenticatedIdPData> currentIdPs) {
+
+        for (Map.Entry<String, AuthenticatedIdPData> currentIdP : currentIdPs.entrySet()) {
+            AuthenticatedIdPData existingIdP = existingIdPs == null ? null : existingIdPs.get(currentIdP.getKey());
+            if (existingIdP == null || !Objects.equals(existingIdP.getUser(), currentIdP.getValue().getUser())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void setAuthenticatedIDPsOfApp(SessionContext sessionContext,
                                            Map<String, AuthenticatedIdPData> authenticatedIdPs,
                                            String applicationName) throws FrameworkException {
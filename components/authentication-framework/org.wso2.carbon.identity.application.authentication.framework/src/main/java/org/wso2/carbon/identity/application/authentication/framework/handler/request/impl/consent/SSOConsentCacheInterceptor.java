@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.consent.mgt.core.connector.ConsentMgtInterceptor;
+import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
+import org.wso2.carbon.consent.mgt.core.model.ConsentMessageContext;
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SSOConsentCache;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.InterceptorConstants.POST_DELETE_RECEIPT;
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.InterceptorConstants.POST_REVOKE_RECEIPT;
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.InterceptorConstants.PRE_DELETE_RECEIPT;
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.InterceptorConstants.RECEIPT_ID;
+
+/**
+ * Consent management interceptor which clears the {@link SSOConsentCache} entries of the receipts revoked or deleted
+ * through the consent management API. A deleted receipt is read before the deletion, and its entries are cleared once
+ * it is deleted.
+ */
+public class SSOConsentCacheInterceptor implements ConsentMgtInterceptor {
+
+    private static final Log log = LogFactory.getLog(SSOConsentCacheInterceptor.class);
+    private static final String DELETED_RECEIPT = "SSOConsentCacheInterceptor.DeletedReceipt";
+
+    @Override
+    public int getOrder() {
+
+        return 100;
+    }
+
+    @Override
+    public void intercept(ConsentMessageContext context) throws ConsentManagementException {
+
+        String operation = context.getOperation();
+        if (PRE_DELETE_RECEIPT.equals(operation)) {
+            context.addParameter(DELETED_RECEIPT, getReceipt(context));
+        } else if (POST_DELETE_RECEIPT.equals(operation)) {
+            clearCacheEntries((Receipt) context.getParameter(DELETED_RECEIPT));
+        } else if (POST_REVOKE_RECEIPT.equals(operation)) {
+            clearCacheEntries(getReceipt(context));
+        }
+    }
+
+    private Receipt getReceipt(ConsentMessageContext context) throws ConsentManagementException {
+
+        String receiptId = (String) context.getParameter(RECEIPT_ID);
+        if (receiptId == null) {
+            return null;
+        }
+        return FrameworkServiceDataHolder.getInstance().getConsentManager().getReceipt(receiptId);
+    }
+
+    private void clearCacheEntries(Receipt receipt) {
+
+        if (receipt == null) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing the SSO consent cache entries of the receipt: " + receipt.getConsentReceiptId());
+        }
+        SSOConsentCache.getInstance().clearCacheEntries(receipt);
+    }
+}
@@ -38,6 +38,9 @@ import org.wso2.carbon.consent.mgt.core.model.ReceiptPurposeInput;
 import org.wso2.carbon.consent.mgt.core.model.ReceiptService;
 import org.wso2.carbon.consent.mgt.core.model.ReceiptServiceInput;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SSOConsentCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SSOConsentCacheEntry;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SSOConsentCacheKey;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.constant.SSOConsentConstants;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.exception.SSOConsentDisabledException;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.exception.SSOConsentServiceException;
@@ -494,8 +497,19 @@ public class SSOConsentServiceImpl implements SSOConsentService {
                                             String spName, String spTenantDomain,
                                             String subject) throws SSOConsentServiceException {
 
+        SSOConsentCacheKey cacheKey = new SSOConsentCacheKey(subject, authenticatedUser.getTenantDomain(), spName);
+        SSOConsentCacheEntry cacheEntry = SSOConsentCache.getInstance().getValueFromCache(cacheKey, spTenantDomain);
+        if (cacheEntry != null && cacheEntry.isResolved()) {
+            if (isDebugEnabled()) {
+                logDebug(String.format("Consent receipt of user: %s for service provider: %s in tenant domain: %s " +
+                        "is found in the cache.", subject, spName, spTenantDomain));
+            }
+            return cacheEntry.getReceipt();
+        }
+
         int receiptListLimit = 2;
         List<ReceiptListResponse> receiptListResponses;
+        Receipt receipt = null;
         try {
             receiptListResponses = getReceiptListOfUserForSP(authenticatedUser, spName, spTenantDomain, subject,
                     receiptListLimit);
@@ -511,14 +525,14 @@ public class SSOConsentServiceImpl implements SSOConsentService {
                         "ACTIVE consent per service provider.");
             } else if (hasUserSingleReceipt(receiptListResponses)) {
                 String receiptId = getFirstConsentReceiptFromList(receiptListResponses);
-                return getReceipt(authenticatedUser, receiptId);
-            } else {
-                return null;
+                receipt = getReceipt(authenticatedUser, receiptId);
             }
         } catch (ConsentManagementException e) {
             throw new SSOConsentServiceException("Consent Management Error",
                     "Error while retrieving user consents.", e);
         }
+        SSOConsentCache.getInstance().addToCache(cacheKey, new SSOConsentCacheEntry(receipt), spTenantDomain);
+        return receipt;
     }
 
     private void addReceipt(String subject, String subjectTenantDomain, ServiceProvider serviceProvider,
@@ -536,6 +550,9 @@ public class SSOConsentServiceImpl implements SSOConsentService {
                     "receipt", e);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
+            // Adding a receipt revokes the existing active receipt of the user for the service provider.
+            SSOConsentCache.getInstance().clearCacheEntry(new SSOConsentCacheKey(subject, subjectTenantDomain,
+                    serviceProvider.getApplicationName()), spTenantDomain);
         }
         if (isDebugEnabled()) {
             logDebug("Successfully added consent receipt: " + receiptResponse.getConsentReceiptId());
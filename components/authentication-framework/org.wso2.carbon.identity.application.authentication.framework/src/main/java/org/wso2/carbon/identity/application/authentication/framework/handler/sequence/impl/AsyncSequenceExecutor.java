@@ -27,33 +27,108 @@ import org.wso2.carbon.identity.application.authentication.framework.exception.F
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.model.LongWaitStatus;
 import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 
+import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Asynchronous authentication sequence executor.
+ * <p>
+ * Async callers, which usually make blocking calls to external systems, and the returns which resume the
+ * authentication flow run on separate bounded pools, so that slow external systems can not starve the resumption of
+ * other flows. The number of concurrent async processes of a tenant and the time an async process may take can be
+ * limited through the configuration.
  */
 public class AsyncSequenceExecutor {
 
     private static final Log log = LogFactory.getLog(AsyncSequenceExecutor.class);
 
-    private ExecutorService executorService;
+    private static final String CALLER_THREAD_NAME = "AdaptiveAuth-AsyncCaller-";
+    private static final String RETURN_THREAD_NAME = "AdaptiveAuth-AsyncReturn-";
+    private static final String TIMEOUT_THREAD_NAME = "AdaptiveAuth-AsyncTimeout";
+
+    private ThreadPoolExecutor callerExecutorService;
+    private ThreadPoolExecutor returnExecutorService;
+    private ScheduledThreadPoolExecutor timeoutService;
+    private int maxConcurrentCallsPerTenant;
+    private long timeoutInMillis;
+
+    private final Map<String, Semaphore> tenantPermits = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> tenantInFlightCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final AtomicLong timedOutCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
 
     public void init() {
 
-        String poolSizeString = IdentityUtil.getProperty("AdaptiveAuth.AsyncSequenceExecutorPoolSize");
-        int poolSize;
-        if (poolSizeString != null) {
-            poolSize = Integer.parseInt(poolSizeString);
-        } else {
-            poolSize = 5;
+        int callerPoolSize = IdentityUtil.getIntProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_EXECUTOR_CALLER_POOL_SIZE,
+                FrameworkConstants.AdaptiveAuthentication.DEFAULT_ASYNC_EXECUTOR_CALLER_POOL_SIZE);
+        int callerQueueSize = IdentityUtil.getIntProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_EXECUTOR_CALLER_QUEUE_SIZE,
+                FrameworkConstants.AdaptiveAuthentication.DEFAULT_ASYNC_EXECUTOR_CALLER_QUEUE_SIZE);
+        int returnPoolSize = IdentityUtil.getIntProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_EXECUTOR_RETURN_POOL_SIZE,
+                FrameworkConstants.AdaptiveAuthentication.DEFAULT_ASYNC_EXECUTOR_RETURN_POOL_SIZE);
+        int returnQueueSize = IdentityUtil.getIntProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_EXECUTOR_RETURN_QUEUE_SIZE,
+                FrameworkConstants.AdaptiveAuthentication.DEFAULT_ASYNC_EXECUTOR_RETURN_QUEUE_SIZE);
+        maxConcurrentCallsPerTenant = IdentityUtil.getIntProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_EXECUTOR_MAX_CONCURRENT_CALLS_PER_TENANT,
+                FrameworkConstants.AdaptiveAuthentication.DEFAULT_ASYNC_EXECUTOR_MAX_CONCURRENT_CALLS_PER_TENANT);
+        timeoutInMillis = IdentityUtil.getLongProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_ASYNC_EXECUTOR_TIMEOUT,
+                FrameworkConstants.AdaptiveAuthentication.DEFAULT_ASYNC_EXECUTOR_TIMEOUT);
+
+        // The caller queue is unbounded unless a size is configured, in which case async processes exceeding it are
+        // rejected.
+        BlockingQueue<Runnable> callerQueue = callerQueueSize > 0 ? new ArrayBlockingQueue<>(callerQueueSize) :
+                new LinkedBlockingQueue<>();
+        callerExecutorService = new ThreadPoolExecutor(callerPoolSize, callerPoolSize, 0L, TimeUnit.MILLISECONDS,
+                callerQueue, new NamedThreadFactory(CALLER_THREAD_NAME), new ThreadPoolExecutor.AbortPolicy());
+        // Returns only update the long wait status and notify the waiting flow, hence when the return pool is
+        // saturated it is safe to run them on the submitting thread instead of dropping them.
+        returnExecutorService = new ThreadPoolExecutor(returnPoolSize, returnPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(returnQueueSize, 1)), new NamedThreadFactory(RETURN_THREAD_NAME),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        if (timeoutInMillis > 0) {
+            timeoutService = new ScheduledThreadPoolExecutor(1, r -> new Thread(r, TIMEOUT_THREAD_NAME));
+            timeoutService.setRemoveOnCancelPolicy(true);
         }
+    }
 
-        executorService = Executors.newFixedThreadPool(poolSize);
+    /**
+     * Shutdown the executor. Async processes which are already running are not interrupted.
+     */
+    public void shutdown() {
+
+        if (callerExecutorService != null) {
+            callerExecutorService.shutdown();
+        }
+        if (returnExecutorService != null) {
+            returnExecutorService.shutdown();
+        }
+        if (timeoutService != null) {
+            timeoutService.shutdownNow();
+        }
     }
 
     public void exec(AsyncCaller caller, AsyncReturn returnFunction, AuthenticationContext authenticationContext)
@@ -64,19 +139,117 @@ public class AsyncSequenceExecutor {
                     "returnFunction.");
         }
 
-        AsyncReturn wrappedReturn = (ctx, m, r) -> {
-            this.execReturn(returnFunction, ctx, m, r);
-        };
+        String tenantDomain = authenticationContext.getTenantDomain();
+        Semaphore tenantPermit = getTenantPermit(tenantDomain);
+        if (tenantPermit != null && !tenantPermit.tryAcquire()) {
+            rejectedCount.incrementAndGet();
+            throw new FrameworkException("Can not execute the async process of context: " +
+                    authenticationContext.getContextIdentifier() + ", as the tenant: " + tenantDomain +
+                    " has reached the maximum of " + maxConcurrentCallsPerTenant + " concurrent async processes.");
+        }
+
+        ObservingAsyncProcess asyncProcess = new ObservingAsyncProcess(caller, returnFunction, authenticationContext,
+                tenantPermit);
+        asyncProcess.start();
+        try {
+            asyncProcess.callerFuture = callerExecutorService.submit(new AsyncCallerTask(asyncProcess));
+        } catch (RejectedExecutionException e) {
+            asyncProcess.complete();
+            rejectedCount.incrementAndGet();
+            throw new FrameworkException("Can not execute the async process of context: " +
+                    authenticationContext.getContextIdentifier() + ", as the async caller queue is full.", e);
+        }
+        if (timeoutService != null) {
+            asyncProcess.timeoutFuture = timeoutService.schedule(asyncProcess::timeout, timeoutInMillis,
+                    TimeUnit.MILLISECONDS);
+            if (asyncProcess.completed.get()) {
+                // The process returned before the timeout got scheduled.
+                asyncProcess.timeoutFuture.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Get the number of async processes which are accepted and have not returned yet, including the queued ones.
+     *
+     * @return In flight async process count.
+     */
+    public int getInFlightCount() {
+
+        return inFlightCount.get();
+    }
+
+    /**
+     * Get the number of async processes of a tenant which are accepted and have not returned yet.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return In flight async process count of the tenant.
+     */
+    public int getInFlightCount(String tenantDomain) {
 
-        executorService.submit(
-                new AsyncCallerTask(
-                        new ObservingAsyncProcess(caller, wrappedReturn, authenticationContext)));
+        AtomicInteger count = tenantInFlightCounts.get(tenantDomain);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Get the number of async callers and returns waiting for a thread.
+     *
+     * @return Queued task count.
+     */
+    public int getQueuedCount() {
+
+        return callerExecutorService.getQueue().size() + returnExecutorService.getQueue().size();
+    }
+
+    /**
+     * Get the number of async processes which did not return within the configured timeout.
+     *
+     * @return Timed out async process count.
+     */
+    public long getTimedOutCount() {
+
+        return timedOutCount.get();
+    }
+
+    /**
+     * Get the number of async processes rejected due to the tenant limit or a full caller queue.
+     *
+     * @return Rejected async process count.
+     */
+    public long getRejectedCount() {
+
+        return rejectedCount.get();
+    }
+
+    private Semaphore getTenantPermit(String tenantDomain) {
+
+        if (maxConcurrentCallsPerTenant <= 0 || tenantDomain == null) {
+            return null;
+        }
+        return tenantPermits.computeIfAbsent(tenantDomain, key -> new Semaphore(maxConcurrentCallsPerTenant));
     }
 
     private void execReturn(AsyncReturn returnFunction,
                             AuthenticationContext authenticationContext, Map<String, Object> data, String result) {
 
-        executorService.execute(new AsyncReturnWorker(returnFunction, authenticationContext, data, result));
+        returnExecutorService.execute(new AsyncReturnWorker(returnFunction, authenticationContext, data, result));
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadIndex = new AtomicInteger();
+
+        public NamedThreadFactory(String namePrefix) {
+
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            return new Thread(runnable, namePrefix + threadIndex.incrementAndGet());
+        }
     }
 
     private class AsyncCallerTask implements Runnable {
@@ -94,8 +267,9 @@ public class AsyncSequenceExecutor {
             try {
                 FrameworkUtils.startTenantFlow(asyncProcess.authenticationContext.getTenantDomain());
                 asyncProcess.call();
-            } catch (FrameworkException e) {
+            } catch (FrameworkException | RuntimeException e) {
                 log.error("Error while calling async process. ", e);
+                asyncProcess.fail();
             } finally {
                 FrameworkUtils.endTenantFlow();
             }
@@ -136,6 +310,7 @@ public class AsyncSequenceExecutor {
             } catch (FrameworkException e) {
                 log.error("Error while resuming from the wait. ", e);
             } finally {
+                longWaitStatusStoreService.notifyCompletion(authenticationContext.getContextIdentifier());
                 FrameworkUtils.endTenantFlow();
             }
         }
@@ -146,18 +321,100 @@ public class AsyncSequenceExecutor {
         private AsyncCaller caller;
         private AsyncReturn returnFunction;
         private AuthenticationContext authenticationContext;
+        private Semaphore tenantPermit;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile Future<?> callerFuture;
+        private volatile ScheduledFuture<?> timeoutFuture;
 
         public ObservingAsyncProcess(AsyncCaller caller, AsyncReturn returnFunction,
-                                     AuthenticationContext authenticationContext) {
+                                     AuthenticationContext authenticationContext, Semaphore tenantPermit) {
 
             this.caller = caller;
             this.returnFunction = returnFunction;
             this.authenticationContext = authenticationContext;
+            this.tenantPermit = tenantPermit;
+        }
+
+        private void start() {
+
+            inFlightCount.incrementAndGet();
+            String tenantDomain = authenticationContext.getTenantDomain();
+            if (tenantDomain != null) {
+                tenantInFlightCounts.computeIfAbsent(tenantDomain, key -> new AtomicInteger()).incrementAndGet();
+            }
         }
 
         private void call() throws FrameworkException {
 
-            caller.accept(authenticationContext, returnFunction);
+            caller.accept(authenticationContext, this::onReturn);
+        }
+
+        private void onReturn(AuthenticationContext context, Map<String, Object> data, String result) {
+
+            if (complete()) {
+                execReturn(returnFunction, context, data, result);
+            } else if (log.isDebugEnabled()) {
+                log.debug("Ignoring the return with outcome: " + result + " of the async process of context: " +
+                        authenticationContext.getContextIdentifier() + ", as it has already completed.");
+            }
+        }
+
+        private void timeout() {
+
+            if (!complete()) {
+                return;
+            }
+            timedOutCount.incrementAndGet();
+            log.warn("The async process of context: " + authenticationContext.getContextIdentifier() + " in tenant: "
+                    + authenticationContext.getTenantDomain() + " did not return within " + timeoutInMillis
+                    + "(ms). Resuming the flow with outcome: "
+                    + FrameworkConstants.AdaptiveAuthentication.ASYNC_PROCESS_TIMEOUT_OUTCOME + ".");
+            Future<?> future = callerFuture;
+            if (future != null) {
+                future.cancel(true);
+            }
+            execReturn(returnFunction, authenticationContext, Collections.emptyMap(),
+                    FrameworkConstants.AdaptiveAuthentication.ASYNC_PROCESS_TIMEOUT_OUTCOME);
+        }
+
+        private void fail() {
+
+            if (!complete()) {
+                return;
+            }
+            log.warn("The async process of context: " + authenticationContext.getContextIdentifier() + " in tenant: "
+                    + authenticationContext.getTenantDomain() + " failed. Resuming the flow with outcome: "
+                    + FrameworkConstants.AdaptiveAuthentication.ASYNC_PROCESS_ERROR_OUTCOME + ".");
+            execReturn(returnFunction, authenticationContext, Collections.emptyMap(),
+                    FrameworkConstants.AdaptiveAuthentication.ASYNC_PROCESS_ERROR_OUTCOME);
+        }
+
+        /**
+         * Mark the process as completed and release the resources held by it.
+         *
+         * @return False if the process was already completed.
+         */
+        private boolean complete() {
+
+            if (!completed.compareAndSet(false, true)) {
+                return false;
+            }
+            ScheduledFuture<?> future = timeoutFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+            if (tenantPermit != null) {
+                tenantPermit.release();
+            }
+            inFlightCount.decrementAndGet();
+            String tenantDomain = authenticationContext.getTenantDomain();
+            if (tenantDomain != null) {
+                AtomicInteger tenantCount = tenantInFlightCounts.get(tenantDomain);
+                if (tenantCount != null) {
+                    tenantCount.decrementAndGet();
+                }
+            }
+            return true;
         }
     }
 }
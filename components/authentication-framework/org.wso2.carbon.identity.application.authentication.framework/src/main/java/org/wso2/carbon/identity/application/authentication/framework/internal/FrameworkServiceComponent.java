@@ -33,6 +33,7 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.http.HttpService;
 import org.wso2.carbon.consent.mgt.core.ConsentManager;
+import org.wso2.carbon.consent.mgt.core.connector.ConsentMgtInterceptor;
 import org.wso2.carbon.identity.application.authentication.framework.ApplicationAuthenticationService;
 import org.wso2.carbon.identity.application.authentication.framework.ApplicationAuthenticator;
 import org.wso2.carbon.identity.application.authentication.framework.AuthenticationDataPublisher;
@@ -63,6 +64,7 @@ import org.wso2.carbon.identity.application.authentication.framework.handler.req
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.PostAuthenticatedSubjectIdentifierHandler;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.PostAuthnMissingClaimHandler;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.ConsentMgtPostAuthnHandler;
+import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.SSOConsentCacheInterceptor;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.SSOConsentService;
 import org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent.SSOConsentServiceImpl;
 import org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl.AsyncSequenceExecutor;
@@ -77,6 +79,7 @@ import org.wso2.carbon.identity.application.authentication.framework.internal.im
 import org.wso2.carbon.identity.application.authentication.framework.internal.impl.UserSessionManagementServiceImpl;
 import org.wso2.carbon.identity.application.authentication.framework.listener.AuthenticationEndpointTenantActivityListener;
 import org.wso2.carbon.identity.application.authentication.framework.listener.SessionContextMgtListener;
+import org.wso2.carbon.identity.application.authentication.framework.listener.UserSessionLookupCacheIdPMgtListener;
 import org.wso2.carbon.identity.application.authentication.framework.services.PostAuthenticationMgtService;
 import org.wso2.carbon.identity.application.authentication.framework.servlet.CommonAuthenticationServlet;
 import org.wso2.carbon.identity.application.authentication.framework.servlet.LoginContextServlet;
@@ -268,6 +271,8 @@ public class FrameworkServiceComponent {
         }
 
         if (promptOnLongWait()) {
+            // The HttpService does not register servlets with asynchronous support, hence the servlet answers the
+            // status requests immediately.
             Servlet longWaitStatusServlet = new ContextPathServletAdaptor(new LongWaitStatusServlet(),
                     LONGWAITSTATUS_SERVLET_URL);
             try {
@@ -300,10 +305,13 @@ public class FrameworkServiceComponent {
         bundleContext.registerService(SSOConsentService.class.getName(), ssoConsentService, null);
         dataHolder.setSSOConsentService(ssoConsentService);
         bundleContext.registerService(PostAuthenticationHandler.class.getName(), consentMgtPostAuthnHandler, null);
+        bundleContext.registerService(ConsentMgtInterceptor.class.getName(), new SSOConsentCacheInterceptor(), null);
         JITProvisioningIdentityProviderMgtListener jitProvisioningIDPMgtListener =
                 new JITProvisioningIdentityProviderMgtListener();
         bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
                 jitProvisioningIDPMgtListener, null);
+        bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
+                new UserSessionLookupCacheIdPMgtListener(), null);
         bundleContext.registerService(ClaimFilter.class.getName(), new DefaultClaimFilter(), null);
 
         //this is done to load SessionDataStore class and start the cleanup tasks.
@@ -416,6 +424,9 @@ public class FrameworkServiceComponent {
         FrameworkServiceDataHolder.getInstance().setBundleContext(null);
         SessionDataStore.getInstance().stopService();
         FrameworkServiceDataHolder.getInstance().getJsExecutionSupervisor().shutdown();
+        if (FrameworkServiceDataHolder.getInstance().getAsyncSequenceExecutor() != null) {
+            FrameworkServiceDataHolder.getInstance().getAsyncSequenceExecutor().shutdown();
+        }
     }
 
     @Reference(
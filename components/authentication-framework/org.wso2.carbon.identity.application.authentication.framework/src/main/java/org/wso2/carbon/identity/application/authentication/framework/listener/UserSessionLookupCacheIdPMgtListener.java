@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.listener;
+
+import org.wso2.carbon.identity.application.authentication.framework.store.UserSessionStore;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.listener.AbstractIdentityProviderMgtListener;
+
+/**
+ * Clears the cached identity provider id lookups of
+ * {@link org.wso2.carbon.identity.application.authentication.framework.store.UserSessionStore} when an identity
+ * provider is renamed or deleted.
+ */
+public class UserSessionLookupCacheIdPMgtListener extends AbstractIdentityProviderMgtListener {
+
+    @Override
+    public boolean doPostUpdateIdP(String oldIdPName, IdentityProvider identityProvider, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        clearIdPIdLookup(oldIdPName, tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateIdPByResourceId(String resourceId, IdentityProvider oldIdentityProvider,
+                                               IdentityProvider newIdentityProvider, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        if (oldIdentityProvider != null) {
+            clearIdPIdLookup(oldIdentityProvider.getIdentityProviderName(), tenantDomain);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteIdP(String idPName, String tenantDomain) throws IdentityProviderManagementException {
+
+        clearIdPIdLookup(idPName, tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteIdPByResourceId(String resourceId, IdentityProvider identityProvider,
+                                               String tenantDomain) throws IdentityProviderManagementException {
+
+        if (identityProvider != null) {
+            clearIdPIdLookup(identityProvider.getIdentityProviderName(), tenantDomain);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteIdPs(String tenantDomain) throws IdentityProviderManagementException {
+
+        UserSessionStore.getInstance().clearCachedIdPIds(tenantDomain);
+        return true;
+    }
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return 37;
+    }
+
+    private void clearIdPIdLookup(String idPName, String tenantDomain) {
+
+        if (idPName != null) {
+            UserSessionStore.getInstance().clearCachedIdPId(idPName, tenantDomain);
+        }
+    }
+}
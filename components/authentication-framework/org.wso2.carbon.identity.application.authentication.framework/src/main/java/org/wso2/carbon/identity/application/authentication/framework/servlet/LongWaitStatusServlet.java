@@ -19,6 +19,8 @@
 package org.wso2.carbon.identity.application.authentication.framework.servlet;
 
 import com.google.gson.Gson;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.javascript.flow.LongWaitStatusRequest;
@@ -27,10 +29,15 @@ import org.wso2.carbon.identity.application.authentication.framework.model.LongW
 import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -38,11 +45,23 @@ import javax.servlet.http.HttpServletResponse;
 
 /**
  * Servlet to get the status of long wait process.
+ * <p>
+ * When a poll timeout is configured and the container supports asynchronous requests, a status request of a wait
+ * which is still in progress is parked until the wait completes in this node or the poll timeout is reached, instead
+ * of being answered immediately. On timeout the status is read again from the store, so that waits completed in
+ * another node of the cluster are still reported.
+ * <p>
+ * The servlet is registered through the OSGi HTTP service, which decides whether asynchronous requests are
+ * supported. The HTTP service of the Carbon servlet bridge does not support them, hence requests are not parked
+ * there, even with a poll timeout configured. Support is checked per request, and the request is answered immediately
+ * as before when it is not available. Parked requests are always answered from a container thread.
  */
 public class LongWaitStatusServlet extends HttpServlet {
 
     private static final long serialVersionUID = -3714283612680472526L;
+    private static final Log log = LogFactory.getLog(LongWaitStatusServlet.class);
     private static final String PROP_WAITING_ID = "waitingId";
+    private static final AtomicBoolean asyncUnsupportedLogged = new AtomicBoolean();
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
@@ -80,27 +99,89 @@ public class LongWaitStatusServlet extends HttpServlet {
             if (longWaitStatusStoreService == null) {
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             } else {
-                LongWaitStatus longWaitStatus = null;
-                try {
-                    longWaitStatus = longWaitStatusStoreService.getWait(id);
-                } catch (FrameworkException e) {
-                    response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                resolveStatus(id, longWaitStatusStoreService, longWaitResponse, response);
+                if (LongWaitStatus.Status.WAITING.name().equals(longWaitResponse.getStatus())
+                        && parkUntilCompleted(request, id, longWaitStatusStoreService)) {
+                    return;
                 }
-                if (longWaitStatus == null) {
+            }
+        }
+
+        writeResponse(response, longWaitResponse);
+    }
+
+    private void resolveStatus(String id, LongWaitStatusStoreService longWaitStatusStoreService,
+                               LongWaitStatusResponse longWaitResponse, HttpServletResponse response) {
+
+        LongWaitStatus longWaitStatus = null;
+        try {
+            longWaitStatus = longWaitStatusStoreService.getWait(id);
+        } catch (FrameworkException e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+        if (longWaitStatus == null) {
+            longWaitResponse.setStatus(LongWaitStatus.Status.COMPLETED.name());
+        } else {
+            if (longWaitStatus.getStatus() != null) {
+                if (longWaitStatus.getStatus() == LongWaitStatus.Status.UNKNOWN) {
                     longWaitResponse.setStatus(LongWaitStatus.Status.COMPLETED.name());
                 } else {
-                    if (longWaitStatus.getStatus() != null) {
-                        if (longWaitStatus.getStatus() == LongWaitStatus.Status.UNKNOWN) {
-                            longWaitResponse.setStatus(LongWaitStatus.Status.COMPLETED.name());
-                        } else {
-                            longWaitResponse.setStatus(longWaitStatus.getStatus().name());
-                        }
-                    } else {
-                        longWaitResponse.setStatus(LongWaitStatus.Status.COMPLETED.name());
-                    }
+                    longWaitResponse.setStatus(longWaitStatus.getStatus().name());
                 }
+            } else {
+                longWaitResponse.setStatus(LongWaitStatus.Status.COMPLETED.name());
+            }
+        }
+    }
+
+    /**
+     * Park the status request until the wait completes or the poll timeout is reached.
+     *
+     * @return True if the request was parked and will be responded asynchronously.
+     */
+    private boolean parkUntilCompleted(HttpServletRequest request, String id,
+                                       LongWaitStatusStoreService longWaitStatusStoreService) {
+
+        long pollTimeout = IdentityUtil.getLongProperty(
+                FrameworkConstants.AdaptiveAuthentication.CONF_LONG_WAIT_STATUS_POLL_TIMEOUT,
+                FrameworkConstants.AdaptiveAuthentication.DEFAULT_LONG_WAIT_STATUS_POLL_TIMEOUT);
+        if (pollTimeout <= 0) {
+            return false;
+        }
+        if (!request.isAsyncSupported()) {
+            if (!asyncUnsupportedLogged.getAndSet(true)) {
+                log.warn("Asynchronous requests are not supported for the long wait status servlet. Hence long wait "
+                        + "status requests are answered immediately, ignoring the configured poll timeout.");
+            }
+            return false;
+        }
+
+        AsyncContext asyncContext;
+        try {
+            asyncContext = request.startAsync();
+        } catch (IllegalStateException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not start an asynchronous request for the wait key: " + id, e);
             }
+            return false;
+        }
+        asyncContext.setTimeout(pollTimeout);
+        ParkedStatusRequest parkedRequest = new ParkedStatusRequest(asyncContext, id, longWaitStatusStoreService);
+        asyncContext.addListener(parkedRequest);
+        longWaitStatusStoreService.addCompletionListener(id, parkedRequest);
+
+        // The wait may have completed before the listener got registered.
+        LongWaitStatusResponse longWaitResponse = new LongWaitStatusResponse();
+        resolveStatus(id, longWaitStatusStoreService, longWaitResponse,
+                (HttpServletResponse) asyncContext.getResponse());
+        if (!LongWaitStatus.Status.WAITING.name().equals(longWaitResponse.getStatus())) {
+            parkedRequest.respondCompleted();
         }
+        return true;
+    }
+
+    private void writeResponse(HttpServletResponse response, LongWaitStatusResponse longWaitResponse)
+            throws IOException {
 
         response.setContentType(FrameworkConstants.ContentTypes.TYPE_APPLICATION_JSON);
         String json = new Gson().toJson(longWaitResponse);
@@ -109,4 +190,95 @@ public class LongWaitStatusServlet extends HttpServlet {
             out.flush();
         }
     }
+
+    /**
+     * Status request parked until the wait completes. Responds exactly once, either on completion of the wait in
+     * this node or on timeout with the status read from the store. The completion is signalled from the thread
+     * completing the wait, hence the response is handed over to a container thread through
+     * {@link AsyncContext#start(Runnable)}.
+     */
+    private class ParkedStatusRequest implements Runnable, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final String id;
+        private final LongWaitStatusStoreService longWaitStatusStoreService;
+        private final AtomicBoolean responded = new AtomicBoolean();
+
+        ParkedStatusRequest(AsyncContext asyncContext, String id,
+                            LongWaitStatusStoreService longWaitStatusStoreService) {
+
+            this.asyncContext = asyncContext;
+            this.id = id;
+            this.longWaitStatusStoreService = longWaitStatusStoreService;
+        }
+
+        @Override
+        public void run() {
+
+            if (responded.get()) {
+                return;
+            }
+            try {
+                asyncContext.start(this::respondCompleted);
+            } catch (IllegalStateException e) {
+                // The request has already timed out or completed.
+                if (log.isDebugEnabled()) {
+                    log.debug("The long wait status request of wait key: " + id + " is no longer active.", e);
+                }
+            }
+        }
+
+        private void respondCompleted() {
+
+            LongWaitStatusResponse longWaitResponse = new LongWaitStatusResponse();
+            longWaitResponse.setWaitId(id);
+            longWaitResponse.setStatus(LongWaitStatus.Status.COMPLETED.name());
+            respond(longWaitResponse);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+
+            LongWaitStatusResponse longWaitResponse = new LongWaitStatusResponse();
+            longWaitResponse.setWaitId(id);
+            resolveStatus(id, longWaitStatusStoreService, longWaitResponse,
+                    (HttpServletResponse) asyncContext.getResponse());
+            respond(longWaitResponse);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+
+            longWaitStatusStoreService.removeCompletionListener(id, this);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+
+            longWaitStatusStoreService.removeCompletionListener(id, this);
+            if (responded.compareAndSet(false, true)) {
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+
+        }
+
+        private void respond(LongWaitStatusResponse longWaitResponse) {
+
+            if (!responded.compareAndSet(false, true)) {
+                return;
+            }
+            longWaitStatusStoreService.removeCompletionListener(id, this);
+            try {
+                writeResponse((HttpServletResponse) asyncContext.getResponse(), longWaitResponse);
+            } catch (IOException | IllegalStateException e) {
+                log.error("Error while responding to the long wait status request of wait key: " + id, e);
+            } finally {
+                asyncContext.complete();
+            }
+        }
+    }
 }
@@ -24,6 +24,9 @@ import org.wso2.carbon.identity.application.authentication.framework.model.LongW
 
 import java.sql.Timestamp;
 import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The service holds long wait status.
@@ -32,6 +35,7 @@ public class LongWaitStatusStoreService {
 
     private LongWaitStatusDAO statusDAO;
     private int connectionTimeout;
+    private final Map<String, Set<Runnable>> completionListeners = new ConcurrentHashMap<>();
 
     public LongWaitStatusStoreService(LongWaitStatusDAO statusDAO, int connectionTimeout) {
 
@@ -56,4 +60,45 @@ public class LongWaitStatusStoreService {
 
         statusDAO.removeWaitStatus(sessionId);
     }
+
+    /**
+     * Register a listener to be notified when the wait completes in this node. Waits completed in another node of
+     * the cluster are not notified, hence listeners should fall back to {@link #getWait(String)} after a timeout.
+     *
+     * @param sessionId Wait key.
+     * @param listener  Listener to run on completion.
+     */
+    public void addCompletionListener(String sessionId, Runnable listener) {
+
+        completionListeners.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet()).add(listener);
+    }
+
+    /**
+     * Remove a registered completion listener.
+     *
+     * @param sessionId Wait key.
+     * @param listener  Listener to remove.
+     */
+    public void removeCompletionListener(String sessionId, Runnable listener) {
+
+        completionListeners.computeIfPresent(sessionId, (key, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    /**
+     * Notify the listeners waiting for the completion of a wait.
+     *
+     * @param sessionId Wait key.
+     */
+    public void notifyCompletion(String sessionId) {
+
+        Set<Runnable> listeners = completionListeners.remove(sessionId);
+        if (listeners != null) {
+            for (Runnable listener : listeners) {
+                listener.run();
+            }
+        }
+    }
 }
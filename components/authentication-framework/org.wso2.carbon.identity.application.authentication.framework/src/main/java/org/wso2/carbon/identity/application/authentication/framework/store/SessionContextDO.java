@@ -33,6 +33,8 @@ public class SessionContextDO {
 
     private int tenantId;
 
+    private long previousNanoTime;
+
     public SessionContextDO(String key, String type, Object entry, long nanoTime) {
         this.type = type;
         this.key = key;
@@ -84,6 +86,19 @@ public class SessionContextDO {
         return tenantId;
     }
 
+    /**
+     * Get the time of the persisted record to update, when only the access time of the entry changed.
+     *
+     * @return Time in nano seconds, or 0 if the entry has to be persisted as a new record.
+     */
+    public long getPreviousNanoTime() {
+        return previousNanoTime;
+    }
+
+    public void setPreviousNanoTime(long previousNanoTime) {
+        this.previousNanoTime = previousNanoTime;
+    }
+
     public void setTenantId(int tenantId) {
         this.tenantId = tenantId;
     }
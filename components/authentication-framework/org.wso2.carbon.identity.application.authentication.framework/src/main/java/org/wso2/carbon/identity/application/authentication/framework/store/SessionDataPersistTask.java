@@ -22,6 +22,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Task to persist and remove session data
@@ -45,19 +46,11 @@ public class SessionDataPersistTask implements Runnable {
         while (running) {
 
             try {
-                SessionContextDO sessionContextDO = sessionContextQueue.take();
+                // Poll with a timeout so that the task stops once shut down, leaving the rest of the queue to be
+                // drained by SessionDataStore#stopService.
+                SessionContextDO sessionContextDO = sessionContextQueue.poll(1, TimeUnit.SECONDS);
                 if (sessionContextDO != null) {
-                    if (sessionContextDO.getEntry() == null) {
-                        log.debug("Session Data removing Task is started to run");
-                        SessionDataStore.getInstance().removeSessionData(
-                                sessionContextDO.getKey(), sessionContextDO.getType(), sessionContextDO.getNanoTime());
-                    } else {
-                        log.debug("Session Data persisting Task is started to run");
-                        SessionDataStore.getInstance().persistSessionData(
-                                sessionContextDO.getKey(), sessionContextDO.getType(),
-                                sessionContextDO.getEntry(), sessionContextDO.getNanoTime(),
-                                sessionContextDO.getTenantId());
-                    }
+                    SessionDataStore.getInstance().persistQueuedSessionData(sessionContextDO);
                 }
             } catch (InterruptedException e) {
                 //ignore
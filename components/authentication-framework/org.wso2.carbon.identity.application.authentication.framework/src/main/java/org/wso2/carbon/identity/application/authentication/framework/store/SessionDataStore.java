@@ -23,6 +23,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.SessionSerializerException;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
@@ -42,11 +43,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Data will be persisted or stored date will be removed from the store. These two events are considered as STORE
@@ -63,6 +70,9 @@ public class SessionDataStore {
     private static final String SQL_INSERT_STORE_OPERATION =
             "INSERT INTO IDN_AUTH_SESSION_STORE(SESSION_ID, SESSION_TYPE, OPERATION, SESSION_OBJECT, TIME_CREATED, " +
                     "EXPIRY_TIME, TENANT_ID) VALUES (?,?,?,?,?,?,?)";
+    private static final String SQL_UPDATE_STORE_OPERATION_TIME =
+            "UPDATE IDN_AUTH_SESSION_STORE SET TIME_CREATED = ?, EXPIRY_TIME = ? WHERE SESSION_ID = ? AND " +
+                    "SESSION_TYPE = ? AND OPERATION = '" + OPERATION_STORE + "' AND TIME_CREATED = ?";
     private static final String SQL_INSERT_DELETE_OPERATION =
             "INSERT INTO IDN_AUTH_SESSION_STORE(SESSION_ID, SESSION_TYPE,OPERATION, TIME_CREATED, EXPIRY_TIME) " +
                     "VALUES (?,?,?,?,?)";
@@ -127,6 +137,8 @@ public class SessionDataStore {
     private static final String INFORMIX_DATABASE = "Informix";
 
     private static final int DEFAULT_DELETE_LIMIT = 50000;
+    private static final long DEFAULT_SNAPSHOT_INTERVAL = 10;
+    private static final long PERSIST_QUEUE_SHUTDOWN_TIMEOUT_SECONDS = 30;
     public static final String DEFAULT_SESSION_STORE_TABLE_NAME = "IDN_AUTH_SESSION_STORE";
     private static final String CACHE_MANAGER_NAME = "IdentityApplicationManagementCacheManager";
     public static final String DEFAULT_TEMP_SESSION_STORE_TABLE_NAME = "IDN_AUTH_TEMP_SESSION_STORE";
@@ -134,8 +146,16 @@ public class SessionDataStore {
     private static int maxTempDataPoolSize = 50;
     private static BlockingDeque<SessionContextDO> sessionContextQueue = new LinkedBlockingDeque();
     private static BlockingDeque<SessionContextDO> tempAuthnContextDataDeleteQueue = new LinkedBlockingDeque();
+    // Latest queued session data per key and type, which is served to the reads until it is persisted.
+    private static final ConcurrentMap<String, SessionContextDO> pendingSessionData = new ConcurrentHashMap<>();
+    private static ExecutorService sessionDataPersistPool;
+    private static volatile boolean persistQueueStopped;
+    // Guards queueing session data against the persist queue being stopped concurrently.
+    private static final ReadWriteLock persistQueueLock = new ReentrantReadWriteLock();
     private static volatile SessionDataStore instance;
     private boolean enablePersist;
+    private boolean deltaPersistEnabled;
+    private long snapshotIntervalNanos;
     private String sqlInsertSTORE;
     private String sqlInsertDELETE;
     private String sqlDeleteSTORETask;
@@ -181,9 +201,9 @@ public class SessionDataStore {
         }
         if (maxSessionDataPoolSize > 0) {
             log.info("Thread pool size for session persistent consumer : " + maxSessionDataPoolSize);
-            ExecutorService threadPool = Executors.newFixedThreadPool(maxSessionDataPoolSize);
+            sessionDataPersistPool = Executors.newFixedThreadPool(maxSessionDataPoolSize);
             for (int i = 0; i < maxSessionDataPoolSize; i++) {
-                threadPool.execute(new SessionDataPersistTask(sessionContextQueue));
+                sessionDataPersistPool.execute(new SessionDataPersistTask(sessionContextQueue));
             }
         }
         if (tempDataCleanupEnabled && maxTempDataPoolSize > 0) {
@@ -256,6 +276,10 @@ public class SessionDataStore {
         if (!enablePersist) {
             log.info("Session Data Persistence of Authentication framework is not enabled.");
         }
+        deltaPersistEnabled = Boolean.parseBoolean(
+                IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.DeltaPersist.Enable"));
+        snapshotIntervalNanos = TimeUnit.MINUTES.toNanos(IdentityUtil.getLongProperty(
+                "JDBCPersistenceManager.SessionDataPersist.DeltaPersist.SnapshotInterval", DEFAULT_SNAPSHOT_INTERVAL));
         String isCleanUpEnabledVal
                 = IdentityUtil.getProperty("JDBCPersistenceManager.SessionDataPersist.SessionDataCleanUp.Enable");
 
@@ -306,6 +330,17 @@ public class SessionDataStore {
         if (!enablePersist) {
             return null;
         }
+        SessionContextDO pendingData = pendingSessionData.get(getPendingSessionDataKey(key, type));
+        if (pendingData != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("SessionContextData is not persisted yet. Returning the queued data. key : " + key +
+                        " type : " + type);
+            }
+            if (pendingData.getEntry() == null) {
+                return null;
+            }
+            return new SessionContextDO(key, type, pendingData.getEntry(), pendingData.getNanoTime());
+        }
         Connection connection = null;
         try {
             connection = IdentityDatabaseUtil.getSessionDBConnection(false);
@@ -365,32 +400,168 @@ public class SessionDataStore {
             return;
         }
         long nanoTime = FrameworkUtils.getCurrentStandardNano();
-        if (maxSessionDataPoolSize > 0 && !isTempCache(type)) {
-            sessionContextQueue.push(new SessionContextDO(key, type, entry, nanoTime, tenantId));
-        } else {
+        if (!isAsyncPersist(type) ||
+                !enqueueSessionData(new SessionContextDO(key, type, entry, nanoTime, tenantId))) {
             persistSessionData(key, type, entry, nanoTime, tenantId);
         }
     }
 
+    /**
+     * Store the entry of a session context. When delta persistence is enabled and the session context has not been
+     * modified since its last full snapshot, only the access time of the persisted record is updated instead of
+     * serializing the whole context again. A full snapshot is still written once the configured snapshot interval
+     * elapses, which bounds the staleness of any change made without marking the context as modified.
+     *
+     * @param key            Session context key.
+     * @param type           Session data type.
+     * @param entry          Cache entry wrapping the session context.
+     * @param sessionContext Session context of the entry.
+     * @param tenantId       Tenant id.
+     */
+    public void storeSessionContextData(String key, String type, Object entry, SessionContext sessionContext,
+                                        int tenantId) {
+
+        if (!enablePersist) {
+            return;
+        }
+        long nanoTime = FrameworkUtils.getCurrentStandardNano();
+        long previousNanoTime = sessionContext.getLastPersistedTime();
+        boolean touchOnly = deltaPersistEnabled && !sessionContext.isModified() && previousNanoTime > 0
+                && nanoTime - sessionContext.getLastSnapshotTime() < snapshotIntervalNanos;
+        sessionContext.setPersisted(nanoTime, !touchOnly);
+
+        if (!touchOnly) {
+            if (!isAsyncPersist(type) ||
+                    !enqueueSessionData(new SessionContextDO(key, type, entry, nanoTime, tenantId))) {
+                persistSessionData(key, type, entry, nanoTime, tenantId);
+            }
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Session context is not modified. Updating only the access time. key : " + key);
+        }
+        if (isAsyncPersist(type)) {
+            SessionContextDO sessionContextDO = new SessionContextDO(key, type, entry, nanoTime, tenantId);
+            sessionContextDO.setPreviousNanoTime(previousNanoTime);
+            if (enqueueSessionData(sessionContextDO)) {
+                return;
+            }
+        }
+        updateSessionDataAccessTime(key, type, entry, previousNanoTime, nanoTime, tenantId);
+    }
+
     public void clearSessionData(String key, String type) {
         if (!enablePersist) {
             return;
         }
         long nanoTime = FrameworkUtils.getCurrentStandardNano();
-        if (maxSessionDataPoolSize > 0 && !isTempCache(type)) {
-            sessionContextQueue.push(new SessionContextDO(key, type, null, nanoTime));
-        } else {
+        if (!isAsyncPersist(type) || !enqueueSessionData(new SessionContextDO(key, type, null, nanoTime))) {
             removeSessionData(key, type, nanoTime);
         }
     }
 
     /**
-     * Method to stop running tasks, when the component is deactivated.
+     * Method to stop running tasks, when the component is deactivated. The session data which is still queued to be
+     * persisted is written to the database before returning, and any session data stored afterwards is persisted
+     * synchronously.
      */
     public void stopService() {
 
         TempAuthContextDataDeleteTask.shutdown();
+        // Once the queue is marked stopped under the lock, no session data can be queued anymore, hence everything
+        // queued so far is persisted by the tasks or drained below.
+        persistQueueLock.writeLock().lock();
+        try {
+            persistQueueStopped = true;
+        } finally {
+            persistQueueLock.writeLock().unlock();
+        }
         SessionDataPersistTask.shutdown();
+        if (sessionDataPersistPool != null) {
+            sessionDataPersistPool.shutdown();
+            try {
+                if (!sessionDataPersistPool.awaitTermination(PERSIST_QUEUE_SHUTDOWN_TIMEOUT_SECONDS,
+                        TimeUnit.SECONDS)) {
+                    log.warn("Session data persist tasks did not stop within " +
+                            PERSIST_QUEUE_SHUTDOWN_TIMEOUT_SECONDS + " seconds.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<SessionContextDO> queuedSessionData = new ArrayList<>();
+        sessionContextQueue.drainTo(queuedSessionData);
+        if (!queuedSessionData.isEmpty()) {
+            log.info("Persisting " + queuedSessionData.size() + " queued session data entries before shutdown.");
+        }
+        for (SessionContextDO sessionContextDO : queuedSessionData) {
+            persistQueuedSessionData(sessionContextDO);
+        }
+    }
+
+    /**
+     * Persist or remove session data taken from the persist queue, and stop serving it from the queued data once
+     * done.
+     *
+     * @param sessionContextDO Queued session data.
+     */
+    void persistQueuedSessionData(SessionContextDO sessionContextDO) {
+
+        try {
+            if (sessionContextDO.getEntry() == null) {
+                log.debug("Session Data removing Task is started to run");
+                removeSessionData(sessionContextDO.getKey(), sessionContextDO.getType(),
+                        sessionContextDO.getNanoTime());
+            } else if (sessionContextDO.getPreviousNanoTime() > 0) {
+                log.debug("Session Data access time update Task is started to run");
+                updateSessionDataAccessTime(sessionContextDO.getKey(), sessionContextDO.getType(),
+                        sessionContextDO.getEntry(), sessionContextDO.getPreviousNanoTime(),
+                        sessionContextDO.getNanoTime(), sessionContextDO.getTenantId());
+            } else {
+                log.debug("Session Data persisting Task is started to run");
+                persistSessionData(sessionContextDO.getKey(), sessionContextDO.getType(),
+                        sessionContextDO.getEntry(), sessionContextDO.getNanoTime(), sessionContextDO.getTenantId());
+            }
+        } finally {
+            // Only the latest queued data of the key is kept, hence this does nothing if a newer one is queued.
+            pendingSessionData.remove(getPendingSessionDataKey(sessionContextDO.getKey(),
+                    sessionContextDO.getType()), sessionContextDO);
+        }
+    }
+
+    /**
+     * Queue session data to be persisted by the persist tasks.
+     *
+     * @param sessionContextDO Session data.
+     * @return False if the persist queue is stopped, in which case the session data has to be persisted by the
+     * caller.
+     */
+    private boolean enqueueSessionData(SessionContextDO sessionContextDO) {
+
+        persistQueueLock.readLock().lock();
+        try {
+            if (persistQueueStopped) {
+                return false;
+            }
+            pendingSessionData.merge(getPendingSessionDataKey(sessionContextDO.getKey(), sessionContextDO.getType()),
+                    sessionContextDO,
+                    (queued, latest) -> latest.getNanoTime() >= queued.getNanoTime() ? latest : queued);
+            sessionContextQueue.push(sessionContextDO);
+            return true;
+        } finally {
+            persistQueueLock.readLock().unlock();
+        }
+    }
+
+    private boolean isAsyncPersist(String type) {
+
+        return maxSessionDataPoolSize > 0 && !persistQueueStopped && !isTempCache(type);
+    }
+
+    private static String getPendingSessionDataKey(String key, String type) {
+
+        return type + ":" + key;
     }
 
     /**
@@ -509,15 +680,7 @@ public class SessionDataStore {
             return;
         }
 
-        long validityPeriodNano = 0L;
-
-        if (entry instanceof CacheEntry) {
-            validityPeriodNano = ((CacheEntry) entry).getValidityPeriod();
-        }
-
-        if (validityPeriodNano == 0L) {
-            validityPeriodNano = getCleanupTimeout(type, tenantId);
-        }
+        long validityPeriodNano = getValidityPeriod(type, entry, tenantId);
 
         PreparedStatement preparedStatement = null;
         try {
@@ -544,6 +707,62 @@ public class SessionDataStore {
         }
     }
 
+    /**
+     * Update the access time of the persisted record of a session data entry, without rewriting the entry. The
+     * entry is persisted as a new record if the record to update is no longer available, e.g. since a newer record
+     * was persisted or the entry was not persisted yet.
+     *
+     * @param key              Session data key.
+     * @param type             Session data type.
+     * @param entry            Session data entry.
+     * @param previousNanoTime Time of the persisted record to update.
+     * @param nanoTime         New access time.
+     * @param tenantId         Tenant id.
+     */
+    public void updateSessionDataAccessTime(String key, String type, Object entry, long previousNanoTime,
+                                            long nanoTime, int tenantId) {
+
+        if (!enablePersist) {
+            return;
+        }
+        Connection connection = null;
+        try {
+            connection = IdentityDatabaseUtil.getSessionDBConnection(true);
+        } catch (IdentityRuntimeException e) {
+            log.error(e.getMessage(), e);
+            return;
+        }
+
+        int updatedRows = 0;
+        PreparedStatement preparedStatement = null;
+        try {
+            preparedStatement = connection.prepareStatement(
+                    getSessionStoreDBQuery(SQL_UPDATE_STORE_OPERATION_TIME, type));
+            preparedStatement.setLong(1, nanoTime);
+            preparedStatement.setLong(2, nanoTime + getValidityPeriod(type, entry, tenantId));
+            preparedStatement.setString(3, key);
+            preparedStatement.setString(4, type);
+            preparedStatement.setLong(5, previousNanoTime);
+            updatedRows = preparedStatement.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            log.error("Error while updating the access time of session data", e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, preparedStatement);
+        }
+
+        if (updatedRows == 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("No persisted session data to update for key : " + key + " type : " + type +
+                        ". Persisting the whole entry.");
+            }
+            persistSessionData(key, type, entry, nanoTime, tenantId);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Updated the access time of session data. key : " + key + " type : " + type);
+        }
+    }
+
     public void removeSessionData(String key, String type, long nanoTime) {
         if (!enablePersist) {
             return;
@@ -709,6 +928,20 @@ public class SessionDataStore {
         return query;
     }
 
+    private long getValidityPeriod(String type, Object entry, int tenantId) {
+
+        long validityPeriodNano = 0L;
+
+        if (entry instanceof CacheEntry) {
+            validityPeriodNano = ((CacheEntry) entry).getValidityPeriod();
+        }
+
+        if (validityPeriodNano == 0L) {
+            validityPeriodNano = getCleanupTimeout(type, tenantId);
+        }
+        return validityPeriodNano;
+    }
+
     private long getCleanupTimeout(String type, int tenantId) {
         if (isTempCache(type)) {
             return TimeUnit.MINUTES.toNanos(IdentityUtil.getTempDataCleanUpTimeout());
@@ -23,6 +23,7 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
 import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
 import org.wso2.carbon.database.utils.jdbc.exceptions.TransactionException;
+import org.wso2.carbon.identity.application.authentication.framework.cache.UserSessionLookupCache;
 import org.wso2.carbon.identity.application.authentication.framework.context.AuthHistory;
 import org.wso2.carbon.identity.application.authentication.framework.exception.DuplicatedAuthUserException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserSessionException;
@@ -34,6 +35,7 @@ import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -41,6 +43,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +64,10 @@ public class UserSessionStore {
     private static final String IDN_AUTH_USER_SESSION_MAPPING_TABLE = "IDN_AUTH_USER_SESSION_MAPPING";
     private static final String IDN_AUTH_SESSION_APP_INFO_TABLE = "IDN_AUTH_SESSION_APP_INFO_TABLE";
     private static final String IDN_AUTH_SESSION_META_DATA_TABLE = "IDN_AUTH_SESSION_META_DATA";
+    private static final String USER_ID_LOOKUP_PREFIX = "USER_ID:";
+    private static final String EXISTING_USER_LOOKUP_PREFIX = "USER:";
+    private static final String IDP_ID_LOOKUP_PREFIX = "IDP_ID:";
+    private static final String NOT_FOUND = "NOT_FOUND";
 
     private int deleteChunkSize = 10000;
 
@@ -88,6 +95,7 @@ public class UserSessionStore {
     public void storeUserData(String userId, String userName, int tenantId, String userDomain, int idPId)
             throws UserSessionException {
 
+        String userIdLookupKey = getUserIdLookupKey(userName, userDomain, idPId);
         try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true)) {
             try (PreparedStatement preparedStatement = connection
                     .prepareStatement(SQLQueries.SQL_INSERT_USER_STORE_OPERATION)) {
@@ -122,7 +130,15 @@ public class UserSessionStore {
                         "IDN_AUTH_USER_STORE of user: " + userName + ", Tenant Id: " + tenantId + ", User domain: " +
                         userDomain + ", Identity provider id: " + idPId, e);
             }
+        } finally {
+            // The user is either stored now or was stored concurrently, hence the misses are no longer valid.
+            UserSessionLookupCache.getNegativeLookupInstance().clearCacheEntry(userIdLookupKey, tenantId);
+            UserSessionLookupCache.getNegativeLookupInstance().clearCacheEntry(EXISTING_USER_LOOKUP_PREFIX + userId,
+                    MultitenantConstants.SUPER_TENANT_ID);
         }
+        cacheStoredLookup(userIdLookupKey, userId, tenantId);
+        cacheStoredLookup(EXISTING_USER_LOOKUP_PREFIX + userId, Boolean.TRUE.toString(),
+                MultitenantConstants.SUPER_TENANT_ID);
     }
 
     /**
@@ -151,6 +167,26 @@ public class UserSessionStore {
     public String getUserId(String userName, int tenantId, String userDomain, int idPId)
             throws UserSessionException {
 
+        String lookupKey = getUserIdLookupKey(userName, userDomain, idPId);
+        String userId = UserSessionLookupCache.getInstance().getLookupValue(lookupKey, tenantId);
+        if (userId != null) {
+            return userId;
+        }
+        if (UserSessionLookupCache.getNegativeLookupInstance().getLookupValue(lookupKey, tenantId) != null) {
+            return null;
+        }
+        userId = getUserIdFromDB(userName, tenantId, userDomain, idPId);
+        if (userId != null) {
+            cacheStoredLookup(lookupKey, userId, tenantId);
+        } else {
+            UserSessionLookupCache.getNegativeLookupInstance().addToCache(lookupKey, NOT_FOUND, tenantId);
+        }
+        return userId;
+    }
+
+    private String getUserIdFromDB(String userName, int tenantId, String userDomain, int idPId)
+            throws UserSessionException {
+
         String userId = null;
         try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(false)) {
             try (PreparedStatement preparedStatement = connection
@@ -303,6 +339,21 @@ public class UserSessionStore {
         if (idpName.equals("LOCAL")) {
             return idPId;
         }
+        String lookupKey = IDP_ID_LOOKUP_PREFIX + idpName;
+        String cachedIdPId = UserSessionLookupCache.getInstance().getLookupValue(lookupKey, tenantId);
+        if (cachedIdPId != null) {
+            return Integer.parseInt(cachedIdPId);
+        }
+        idPId = getIdPIdFromDB(idpName, tenantId);
+        if (idPId != -1) {
+            UserSessionLookupCache.getInstance().addToCache(lookupKey, String.valueOf(idPId), tenantId);
+        }
+        return idPId;
+    }
+
+    private int getIdPIdFromDB(String idpName, int tenantId) throws UserSessionException {
+
+        int idPId = -1;
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
             try (PreparedStatement preparedStatement = connection
                     .prepareStatement(SQLQueries.SQL_SELECT_IDP_WITH_TENANT)) {
@@ -351,6 +402,40 @@ public class UserSessionStore {
         }
     }
 
+    /**
+     * Method to store the mappings between a set of user ids and a session id in the database table
+     * IDN_AUTH_USER_SESSION_MAPPING as one batch.
+     *
+     * @param userIds   Ids of the users
+     * @param sessionId Id of the authenticated session
+     * @throws UserSessionException if an error occurs when storing the mappings in the database
+     */
+    public void storeUserSessionData(Collection<String> userIds, String sessionId) throws UserSessionException {
+
+        try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(true)) {
+            try (PreparedStatement preparedStatement = connection
+                     .prepareStatement(SQLQueries.SQL_INSERT_USER_SESSION_STORE_OPERATION)) {
+                for (String userId : userIds) {
+                    preparedStatement.setString(1, userId);
+                    preparedStatement.setString(2, sessionId);
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+                IdentityDatabaseUtil.commitTransaction(connection);
+                if (log.isDebugEnabled()) {
+                    log.debug("Stored user session data for users " + userIds + " with session id: " + sessionId);
+                }
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw new UserSessionException("Error while storing mappings between user Ids: " + userIds +
+                        " and session Id: " + sessionId, e1);
+            }
+        } catch (SQLException e) {
+            throw new UserSessionException("Error while storing mappings between user Ids: " + userIds +
+                    " and session Id: " + sessionId, e);
+        }
+    }
+
     /**
      * Method to check whether the user id and session id mapping is already exists in the database.
      *
@@ -937,6 +1022,25 @@ public class UserSessionStore {
      */
     public boolean isExistingUser(String userId) throws UserSessionException {
 
+        String lookupKey = EXISTING_USER_LOOKUP_PREFIX + userId;
+        int tenantId = MultitenantConstants.SUPER_TENANT_ID;
+        if (UserSessionLookupCache.getInstance().getLookupValue(lookupKey, tenantId) != null) {
+            return true;
+        }
+        if (UserSessionLookupCache.getNegativeLookupInstance().getLookupValue(lookupKey, tenantId) != null) {
+            return false;
+        }
+        boolean isExisting = isExistingUserInDB(userId);
+        if (isExisting) {
+            cacheStoredLookup(lookupKey, Boolean.TRUE.toString(), tenantId);
+        } else {
+            UserSessionLookupCache.getNegativeLookupInstance().addToCache(lookupKey, NOT_FOUND, tenantId);
+        }
+        return isExisting;
+    }
+
+    private boolean isExistingUserInDB(String userId) throws UserSessionException {
+
         Boolean isExisting = false;
         try (Connection connection = IdentityDatabaseUtil.getSessionDBConnection(false)) {
             try (PreparedStatement preparedStatement = connection
@@ -1006,4 +1110,43 @@ public class UserSessionStore {
         // When federated user is stored, the userDomain is added as "FEDERATED" to the store.
         return getUserId(subjectIdentifier, tenantId, FEDERATED_USER_DOMAIN, idPId);
     }
+
+    /**
+     * Clear the cached id of an identity provider. Needs to be invoked when the identity provider is renamed or
+     * deleted.
+     *
+     * @param idpName      Name of the identity provider.
+     * @param tenantDomain Tenant domain of the identity provider.
+     */
+    public void clearCachedIdPId(String idpName, String tenantDomain) {
+
+        UserSessionLookupCache.getInstance().clearCacheEntry(IDP_ID_LOOKUP_PREFIX + idpName, tenantDomain);
+    }
+
+    /**
+     * Clear the cached lookups of a tenant. The lookup cache is not keyed by identity provider, hence this needs to be
+     * invoked when all the identity providers of the tenant are deleted.
+     *
+     * @param tenantDomain Tenant domain of the identity providers.
+     */
+    public void clearCachedIdPIds(String tenantDomain) {
+
+        UserSessionLookupCache.getInstance().clear(tenantDomain);
+    }
+
+    /**
+     * Cache a mapping found in, or written to, the session database. Within a unit of work the mapping may not be
+     * committed yet, hence it is only cached once the unit of work commits.
+     */
+    private static void cacheStoredLookup(String lookupKey, String value, int tenantId) {
+
+        IdentityDatabaseUtil.runAfterCommit(() ->
+                UserSessionLookupCache.getInstance().addToCache(lookupKey, value, tenantId));
+    }
+
+    private static String getUserIdLookupKey(String userName, String userDomain, int idPId) {
+
+        return USER_ID_LOOKUP_PREFIX + idPId + ":" + ((userDomain == null) ? FEDERATED_USER_DOMAIN :
+                userDomain.toUpperCase()) + ":" + userName;
+    }
 }
@@ -558,6 +558,27 @@ public abstract class FrameworkConstants {
         public static final long DEFAULT_EXECUTION_SUPERVISOR_MEMORY_LIMIT = -1;
         public static final String PROP_EXECUTION_SUPERVISOR_RESULT
                 = "AdaptiveAuthExecutionSupervisorResult";
+
+        public static final String CONF_ASYNC_EXECUTOR_CALLER_POOL_SIZE = "AdaptiveAuth.AsyncSequenceExecutorPoolSize";
+        public static final String CONF_ASYNC_EXECUTOR_CALLER_QUEUE_SIZE =
+                "AdaptiveAuth.AsyncSequenceExecutor.CallerQueueSize";
+        public static final String CONF_ASYNC_EXECUTOR_RETURN_POOL_SIZE =
+                "AdaptiveAuth.AsyncSequenceExecutor.ReturnPoolSize";
+        public static final String CONF_ASYNC_EXECUTOR_RETURN_QUEUE_SIZE =
+                "AdaptiveAuth.AsyncSequenceExecutor.ReturnQueueSize";
+        public static final String CONF_ASYNC_EXECUTOR_MAX_CONCURRENT_CALLS_PER_TENANT =
+                "AdaptiveAuth.AsyncSequenceExecutor.MaxConcurrentCallsPerTenant";
+        public static final String CONF_ASYNC_EXECUTOR_TIMEOUT = "AdaptiveAuth.AsyncSequenceExecutor.Timeout";
+        public static final int DEFAULT_ASYNC_EXECUTOR_CALLER_POOL_SIZE = 5;
+        public static final int DEFAULT_ASYNC_EXECUTOR_CALLER_QUEUE_SIZE = -1;
+        public static final int DEFAULT_ASYNC_EXECUTOR_RETURN_POOL_SIZE = 5;
+        public static final int DEFAULT_ASYNC_EXECUTOR_RETURN_QUEUE_SIZE = 1000;
+        public static final int DEFAULT_ASYNC_EXECUTOR_MAX_CONCURRENT_CALLS_PER_TENANT = -1;
+        public static final long DEFAULT_ASYNC_EXECUTOR_TIMEOUT = -1L;
+        public static final String ASYNC_PROCESS_TIMEOUT_OUTCOME = "onTimeout";
+        public static final String ASYNC_PROCESS_ERROR_OUTCOME = "onFail";
+        public static final String CONF_LONG_WAIT_STATUS_POLL_TIMEOUT = "AdaptiveAuth.LongWaitStatusPollTimeout";
+        public static final long DEFAULT_LONG_WAIT_STATUS_POLL_TIMEOUT = -1L;
     }
 
     /**
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.request.impl.consent;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.consent.mgt.core.ConsentManager;
+import org.wso2.carbon.consent.mgt.core.model.ConsentMessageContext;
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
+import org.wso2.carbon.consent.mgt.core.model.ReceiptService;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SSOConsentCache;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SSOConsentCacheKey;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.util.Arrays;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.InterceptorConstants.POST_DELETE_RECEIPT;
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.InterceptorConstants.POST_REVOKE_RECEIPT;
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.InterceptorConstants.PRE_DELETE_RECEIPT;
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.InterceptorConstants.RECEIPT_ID;
+
+@PrepareForTest({SSOConsentCache.class, FrameworkServiceDataHolder.class, IdentityUtil.class})
+public class SSOConsentCacheInterceptorTest extends PowerMockTestCase {
+
+    private static final String RECEIPT_ID_VALUE = "5c1a9e0c-4b52-4bb4-8b3c-9f2f8c1d2e71";
+    private static final String SUBJECT = "PRIMARY/alex";
+    private static final String USER_TENANT_DOMAIN = "users.com";
+    private static final String SP_TENANT_DOMAIN = "apps.com";
+
+    private SSOConsentCache ssoConsentCache;
+    private ConsentManager consentManager;
+    private Receipt receipt;
+
+    @BeforeMethod
+    public void setUp() {
+
+        ReceiptService firstService = new ReceiptService();
+        firstService.setService("travelocity.com");
+        firstService.setTenantDomain(SP_TENANT_DOMAIN);
+        ReceiptService secondService = new ReceiptService();
+        secondService.setService("avis.com");
+        secondService.setTenantDomain(USER_TENANT_DOMAIN);
+        receipt = new Receipt();
+        receipt.setConsentReceiptId(RECEIPT_ID_VALUE);
+        receipt.setPiiPrincipalId(SUBJECT);
+        receipt.setTenantDomain(USER_TENANT_DOMAIN);
+        receipt.setServices(Arrays.asList(firstService, secondService));
+
+        mockStatic(FrameworkServiceDataHolder.class);
+        FrameworkServiceDataHolder dataHolder = mock(FrameworkServiceDataHolder.class);
+        when(FrameworkServiceDataHolder.getInstance()).thenReturn(dataHolder);
+        consentManager = mock(ConsentManager.class);
+        when(dataHolder.getConsentManager()).thenReturn(consentManager);
+
+        mockStatic(SSOConsentCache.class);
+        ssoConsentCache = mock(SSOConsentCache.class);
+        when(SSOConsentCache.getInstance()).thenReturn(ssoConsentCache);
+    }
+
+    @Test
+    public void testClearCacheEntriesInServiceProviderTenant() throws Exception {
+
+        mockStatic(IdentityUtil.class);
+        SSOConsentCache cache = spy(Whitebox.invokeConstructor(SSOConsentCache.class));
+        doNothing().when(cache).clearCacheEntry(any(SSOConsentCacheKey.class), anyString());
+
+        cache.clearCacheEntries(receipt);
+
+        verify(cache).clearCacheEntry(new SSOConsentCacheKey(SUBJECT, USER_TENANT_DOMAIN, "travelocity.com"),
+                SP_TENANT_DOMAIN);
+        verify(cache).clearCacheEntry(new SSOConsentCacheKey(SUBJECT, USER_TENANT_DOMAIN, "avis.com"),
+                USER_TENANT_DOMAIN);
+    }
+
+    @Test
+    public void testRevokedReceiptIsCleared() throws Exception {
+
+        ConsentMessageContext context = mockContext(POST_REVOKE_RECEIPT);
+        when(consentManager.getReceipt(RECEIPT_ID_VALUE)).thenReturn(receipt);
+
+        new SSOConsentCacheInterceptor().intercept(context);
+
+        verify(ssoConsentCache).clearCacheEntries(receipt);
+    }
+
+    @Test
+    public void testDeletedReceiptIsClearedAfterDeletion() throws Exception {
+
+        SSOConsentCacheInterceptor interceptor = new SSOConsentCacheInterceptor();
+        ConsentMessageContext preDeleteContext = mockContext(PRE_DELETE_RECEIPT);
+        when(consentManager.getReceipt(RECEIPT_ID_VALUE)).thenReturn(receipt);
+
+        interceptor.intercept(preDeleteContext);
+
+        verify(preDeleteContext).addParameter(anyString(), eq(receipt));
+        verify(ssoConsentCache, never()).clearCacheEntries(any(Receipt.class));
+
+        ConsentMessageContext postDeleteContext = mockContext(POST_DELETE_RECEIPT);
+        when(postDeleteContext.getParameter(anyString())).thenReturn(receipt);
+
+        interceptor.intercept(postDeleteContext);
+
+        verify(ssoConsentCache).clearCacheEntries(receipt);
+    }
+
+    private ConsentMessageContext mockContext(String operation) {
+
+        ConsentMessageContext context = mock(ConsentMessageContext.class);
+        when(context.getOperation()).thenReturn(operation);
+        when(context.getParameter(RECEIPT_ID)).thenReturn(RECEIPT_ID_VALUE);
+        return context;
+    }
+}
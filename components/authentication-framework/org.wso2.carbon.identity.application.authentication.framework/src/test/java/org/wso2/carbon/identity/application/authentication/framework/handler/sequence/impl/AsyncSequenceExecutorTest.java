@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.handler.sequence.impl;
+
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.AsyncCaller;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.model.LongWaitStatus;
+import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.io.File;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class AsyncSequenceExecutorTest {
+
+    private AsyncSequenceExecutor asyncSequenceExecutor;
+    private CountDownLatch callerLatch;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        URL root = this.getClass().getClassLoader().getResource(".");
+        System.setProperty("carbon.home", new File(root.getPath()).toString());
+
+        RealmService realmService = mock(RealmService.class);
+        TenantManager tenantManager = mock(TenantManager.class);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getTenantId(anyString())).thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+        FrameworkServiceDataHolder.getInstance().setRealmService(realmService);
+
+        LongWaitStatusStoreService longWaitStatusStoreService = mock(LongWaitStatusStoreService.class);
+        when(longWaitStatusStoreService.getWait(anyString())).thenReturn(new LongWaitStatus());
+        FrameworkServiceDataHolder.getInstance().setLongWaitStatusStoreService(longWaitStatusStoreService);
+
+        asyncSequenceExecutor = new AsyncSequenceExecutor();
+        asyncSequenceExecutor.init();
+        callerLatch = new CountDownLatch(1);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        callerLatch.countDown();
+        asyncSequenceExecutor.shutdown();
+    }
+
+    @Test
+    public void testTenantConcurrencyLimit() throws Exception {
+
+        Whitebox.setInternalState(asyncSequenceExecutor, "maxConcurrentCallsPerTenant", 1);
+
+        asyncSequenceExecutor.exec(blockingCaller(), (ctx, data, result) -> {
+        }, createContext("context-1"));
+        assertEquals(asyncSequenceExecutor.getInFlightCount(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME), 1);
+
+        try {
+            asyncSequenceExecutor.exec(blockingCaller(), (ctx, data, result) -> {
+            }, createContext("context-2"));
+            fail("The async process exceeding the tenant limit should be rejected.");
+        } catch (FrameworkException e) {
+            // Expected, as the tenant limit is reached.
+        }
+        assertEquals(asyncSequenceExecutor.getRejectedCount(), 1L);
+        assertEquals(asyncSequenceExecutor.getInFlightCount(), 1);
+    }
+
+    @Test
+    public void testAsyncProcessTimeout() throws Exception {
+
+        ScheduledThreadPoolExecutor timeoutService = new ScheduledThreadPoolExecutor(1);
+        Whitebox.setInternalState(asyncSequenceExecutor, "timeoutInMillis", 100L);
+        Whitebox.setInternalState(asyncSequenceExecutor, "timeoutService", timeoutService);
+
+        AtomicReference<String> outcome = new AtomicReference<>();
+        CountDownLatch returnLatch = new CountDownLatch(1);
+        asyncSequenceExecutor.exec(blockingCaller(), (ctx, data, result) -> {
+            outcome.set(result);
+            returnLatch.countDown();
+        }, createContext("context-3"));
+
+        assertTrue(returnLatch.await(5, TimeUnit.SECONDS), "The timed out async process did not resume.");
+        assertEquals(outcome.get(), FrameworkConstants.AdaptiveAuthentication.ASYNC_PROCESS_TIMEOUT_OUTCOME);
+        assertEquals(asyncSequenceExecutor.getTimedOutCount(), 1L);
+        assertEquals(asyncSequenceExecutor.getInFlightCount(), 0);
+    }
+
+    @Test
+    public void testFailedAsyncCallerResumesFlow() throws Exception {
+
+        AtomicReference<String> outcome = new AtomicReference<>();
+        CountDownLatch returnLatch = new CountDownLatch(1);
+        asyncSequenceExecutor.exec((ctx, asyncReturn) -> {
+            throw new IllegalStateException("External call failed.");
+        }, (ctx, data, result) -> {
+            outcome.set(result);
+            returnLatch.countDown();
+        }, createContext("context-4"));
+
+        assertTrue(returnLatch.await(5, TimeUnit.SECONDS), "The failed async process did not resume.");
+        assertEquals(outcome.get(), FrameworkConstants.AdaptiveAuthentication.ASYNC_PROCESS_ERROR_OUTCOME);
+        assertEquals(asyncSequenceExecutor.getInFlightCount(), 0);
+    }
+
+    @Test
+    public void testCallerQueueIsUnboundedByDefault() throws Exception {
+
+        ThreadPoolExecutor callerExecutorService = Whitebox.getInternalState(asyncSequenceExecutor,
+                "callerExecutorService");
+        assertEquals(callerExecutorService.getQueue().remainingCapacity(), Integer.MAX_VALUE);
+    }
+
+    private AsyncCaller blockingCaller() {
+
+        return (ctx, asyncReturn) -> {
+            try {
+                callerLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private AuthenticationContext createContext(String contextIdentifier) {
+
+        AuthenticationContext context = new AuthenticationContext();
+        context.setContextIdentifier(contextIdentifier);
+        context.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        return context;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.application.authentication.framework.servlet;
+
+import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.model.LongWaitStatus;
+import org.wso2.carbon.identity.application.authentication.framework.store.LongWaitStatusStoreService;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({IdentityUtil.class, FrameworkUtils.class})
+public class LongWaitStatusServletTest {
+
+    private static final String WAIT_ID = "wait-id";
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private LongWaitStatusStoreService longWaitStatusStoreService;
+    private StringWriter responseBody;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getLongProperty(anyString(), anyLong())).thenReturn(1000L);
+        mockStatic(FrameworkUtils.class);
+        when(FrameworkUtils.getMaxInactiveInterval()).thenReturn(1);
+
+        LongWaitStatus longWaitStatus = new LongWaitStatus();
+        longWaitStatus.setStatus(LongWaitStatus.Status.WAITING);
+        longWaitStatusStoreService = mock(LongWaitStatusStoreService.class);
+        when(longWaitStatusStoreService.getWait(WAIT_ID)).thenReturn(longWaitStatus);
+        FrameworkServiceDataHolder.getInstance().setLongWaitStatusStoreService(longWaitStatusStoreService);
+
+        request = mock(HttpServletRequest.class);
+        when(request.getParameter("waitingId")).thenReturn(WAIT_ID);
+        response = mock(HttpServletResponse.class);
+        responseBody = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(responseBody));
+    }
+
+    @Test
+    public void testRequestIsAnsweredWhenAsyncIsNotSupported() throws Exception {
+
+        when(request.isAsyncSupported()).thenReturn(false);
+
+        new LongWaitStatusServlet().doPost(request, response);
+
+        verify(request, never()).startAsync();
+        assertTrue(responseBody.toString().contains(LongWaitStatus.Status.WAITING.name()));
+    }
+
+    @Test
+    public void testParkedRequestIsAnsweredOnContainerThread() throws Exception {
+
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(asyncContext.getResponse()).thenReturn(response);
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync()).thenReturn(asyncContext);
+
+        new LongWaitStatusServlet().doPost(request, response);
+
+        verify(asyncContext).setTimeout(1000L);
+        ArgumentCaptor<Runnable> listenerCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(longWaitStatusStoreService).addCompletionListener(eq(WAIT_ID), listenerCaptor.capture());
+        assertEquals(responseBody.toString(), "");
+
+        // Completing the wait only hands the response over to the container.
+        listenerCaptor.getValue().run();
+        ArgumentCaptor<Runnable> responderCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(asyncContext).start(responderCaptor.capture());
+        verify(asyncContext, never()).complete();
+        assertEquals(responseBody.toString(), "");
+
+        responderCaptor.getValue().run();
+        assertTrue(responseBody.toString().contains(LongWaitStatus.Status.COMPLETED.name()));
+        verify(asyncContext).complete();
+        verify(longWaitStatusStoreService).removeCompletionListener(eq(WAIT_ID), any(Runnable.class));
+    }
+}
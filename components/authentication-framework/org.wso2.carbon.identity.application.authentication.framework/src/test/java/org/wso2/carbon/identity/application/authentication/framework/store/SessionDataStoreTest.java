@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.application.authentication.framework.store;
 
 import org.mockito.Mock;
+import org.powermock.reflect.Whitebox;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -27,7 +28,9 @@ import org.testng.annotations.Test;
 import org.wso2.carbon.base.ServerConfiguration;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.SessionContext;
 import org.wso2.carbon.identity.application.authentication.framework.internal.FrameworkServiceDataHolder;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.common.testng.WithCarbonHome;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
@@ -35,7 +38,13 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.idp.mgt.util.IdPManagementUtil;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
@@ -46,6 +55,10 @@ import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.spy;
 import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test class that includes unit tests of Session Data Store.
@@ -94,7 +107,86 @@ public class SessionDataStoreTest extends DataStoreBaseTest {
         SessionDataStore.getInstance().persistSessionData(key, type, entry, nanoTime, tenantId);
     }
 
-    @Test(dependsOnMethods = "testPersistSessionData")
+    @Test(dataProvider = "getSessionData", dependsOnMethods = "testPersistSessionData")
+    public void testUpdateSessionDataAccessTime(String key, String type, Object entry, long nanoTime, int tenantId)
+            throws Exception {
+
+        Connection connection = getConnection(DB_NAME);
+        mockIdentityDataBaseUtilConnection(connection, true);
+        mockCarbonContext();
+        mockIdentityUtils();
+        mockDataHolder();
+        long accessedTime = nanoTime + 10000;
+        SessionDataStore.getInstance().updateSessionDataAccessTime(key, type, entry, nanoTime, accessedTime,
+                tenantId);
+
+        try (Connection verifyConnection = getConnection(DB_NAME);
+             PreparedStatement preparedStatement = verifyConnection.prepareStatement(
+                     "SELECT TIME_CREATED FROM IDN_AUTH_SESSION_STORE WHERE SESSION_ID = ? AND SESSION_TYPE = ?")) {
+            preparedStatement.setString(1, key);
+            preparedStatement.setString(2, type);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertEquals(resultSet.getLong(1), accessedTime);
+                assertFalse(resultSet.next(), "Updating the access time should not add a new record.");
+            }
+        }
+    }
+
+    @Test(dependsOnMethods = "testUpdateSessionDataAccessTime")
+    public void testTimestampOnlyUpdateUpdatesAccessTime() throws Exception {
+
+        Connection connection = getConnection(DB_NAME);
+        mockIdentityDataBaseUtilConnection(connection, true);
+        mockCarbonContext();
+        mockIdentityUtils();
+        mockDataHolder();
+
+        SessionDataStore sessionDataStore = SessionDataStore.getInstance();
+        boolean enablePersist = Whitebox.getInternalState(sessionDataStore, "enablePersist");
+        boolean deltaPersistEnabled = Whitebox.getInternalState(sessionDataStore, "deltaPersistEnabled");
+        long snapshotIntervalNanos = Whitebox.getInternalState(sessionDataStore, "snapshotIntervalNanos");
+        int maxSessionDataPoolSize = Whitebox.getInternalState(sessionDataStore, "maxSessionDataPoolSize");
+        Whitebox.setInternalState(sessionDataStore, "enablePersist", true);
+        Whitebox.setInternalState(sessionDataStore, "deltaPersistEnabled", true);
+        Whitebox.setInternalState(sessionDataStore, "snapshotIntervalNanos", TimeUnit.MINUTES.toNanos(10));
+        Whitebox.setInternalState(sessionDataStore, "maxSessionDataPoolSize", 0);
+        try {
+            String key = "00000002";
+            String type = "sessionType";
+            SessionContext sessionContext = new SessionContext();
+            sessionContext.addProperty(FrameworkConstants.CREATED_TIMESTAMP, 1000L);
+            sessionDataStore.storeSessionContextData(key, type, sessionContext, sessionContext, 1);
+            assertFalse(sessionContext.isModified());
+
+            // An SSO request which only updates the timestamps of the session.
+            sessionContext.addAccessTimeProperty(FrameworkConstants.UPDATED_TIMESTAMP, 2000L);
+            sessionContext.addProperty(FrameworkConstants.CREATED_TIMESTAMP, 1000L);
+            assertFalse(sessionContext.isModified());
+            sessionDataStore.storeSessionContextData(key, type, sessionContext, sessionContext, 1);
+
+            try (Connection verifyConnection = getConnection(DB_NAME);
+                 PreparedStatement preparedStatement = verifyConnection.prepareStatement(
+                         "SELECT TIME_CREATED FROM IDN_AUTH_SESSION_STORE WHERE SESSION_ID = ? AND " +
+                                 "SESSION_TYPE = ?")) {
+                preparedStatement.setString(1, key);
+                preparedStatement.setString(2, type);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertEquals(resultSet.getLong(1), sessionContext.getLastPersistedTime());
+                    assertFalse(resultSet.next(), "A timestamp only update should not add a new record.");
+                }
+            }
+            assertTrue(sessionContext.getLastSnapshotTime() < sessionContext.getLastPersistedTime());
+        } finally {
+            Whitebox.setInternalState(sessionDataStore, "enablePersist", enablePersist);
+            Whitebox.setInternalState(sessionDataStore, "deltaPersistEnabled", deltaPersistEnabled);
+            Whitebox.setInternalState(sessionDataStore, "snapshotIntervalNanos", snapshotIntervalNanos);
+            Whitebox.setInternalState(sessionDataStore, "maxSessionDataPoolSize", maxSessionDataPoolSize);
+        }
+    }
+
+    @Test(dependsOnMethods = "testTimestampOnlyUpdateUpdatesAccessTime")
     public void testRemoveExpiredSessionData() throws Exception {
 
         Connection connection = getConnection(DB_NAME);
@@ -104,6 +196,59 @@ public class SessionDataStoreTest extends DataStoreBaseTest {
         SessionDataStore.getInstance().removeExpiredSessionData();
     }
 
+    @Test(dependsOnMethods = "testRemoveExpiredSessionData")
+    public void testQueuedSessionDataIsServedAndDrainedOnStop() throws Exception {
+
+        Connection connection = getConnection(DB_NAME);
+        mockIdentityDataBaseUtilConnection(connection, true);
+        mockCarbonContext();
+        mockIdentityUtils();
+        mockDataHolder();
+
+        SessionDataStore sessionDataStore = SessionDataStore.getInstance();
+        // A queue which is not consumed by the running persist tasks, so that the data stays queued until drained.
+        BlockingDeque<SessionContextDO> sessionContextQueue = new LinkedBlockingDeque<>();
+        Whitebox.setInternalState(SessionDataStore.class, "sessionContextQueue", sessionContextQueue);
+        Whitebox.setInternalState(sessionDataStore, "enablePersist", true);
+        Whitebox.setInternalState(sessionDataStore, "maxSessionDataPoolSize", 1);
+
+        String key = "00000003";
+        String type = "sessionType";
+        Object entry = mock(Object.class, withSettings().serializable());
+        sessionDataStore.storeSessionData(key, type, entry, 1);
+
+        assertEquals(sessionContextQueue.size(), 1);
+        assertEquals(countSessionRecords(key, type), 0);
+        SessionContextDO queuedData = sessionDataStore.getSessionContextData(key, type);
+        assertNotNull(queuedData, "Queued session data should be served before it is persisted.");
+        assertEquals(queuedData.getEntry(), entry);
+
+        sessionDataStore.stopService();
+
+        assertTrue(sessionContextQueue.isEmpty());
+        assertEquals(countSessionRecords(key, type), 1);
+        assertTrue(((Map) Whitebox.getInternalState(SessionDataStore.class, "pendingSessionData")).isEmpty());
+
+        // Session data stored after stopping is persisted synchronously.
+        sessionDataStore.storeSessionData("00000004", type, entry, 1);
+        assertTrue(sessionContextQueue.isEmpty());
+        assertEquals(countSessionRecords("00000004", type), 1);
+    }
+
+    private int countSessionRecords(String key, String type) throws SQLException {
+
+        try (Connection verifyConnection = getConnection(DB_NAME);
+             PreparedStatement preparedStatement = verifyConnection.prepareStatement(
+                     "SELECT COUNT(*) FROM IDN_AUTH_SESSION_STORE WHERE SESSION_ID = ? AND SESSION_TYPE = ?")) {
+            preparedStatement.setString(1, key);
+            preparedStatement.setString(2, type);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
     private void mockCarbonContext() {
 
         mockStatic(CarbonContext.class);
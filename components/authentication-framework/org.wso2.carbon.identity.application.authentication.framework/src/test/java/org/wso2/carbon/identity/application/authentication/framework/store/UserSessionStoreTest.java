@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.application.authentication.framework.store;
 
+import org.mockito.Mock;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.testng.Assert;
@@ -25,15 +26,27 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.cache.UserSessionLookupCache;
 import org.wso2.carbon.identity.application.authentication.framework.exception.DuplicatedAuthUserException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserSessionException;
+import org.wso2.carbon.identity.application.authentication.framework.listener.UserSessionLookupCacheIdPMgtListener;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.spy;
@@ -42,12 +55,17 @@ import static org.powermock.api.mockito.PowerMockito.when;
 /**
  * Test class that includes unit tests of UserSessionStore
  */
-@PrepareForTest({IdentityDatabaseUtil.class})
+@PrepareForTest({IdentityDatabaseUtil.class, UserSessionLookupCache.class})
 @PowerMockIgnore({"javax.xml.*"})
 public class UserSessionStoreTest extends DataStoreBaseTest {
 
     private static final String DB_NAME = "USER_SESSION_STORE";
 
+    @Mock
+    private UserSessionLookupCache mockLookupCache;
+    @Mock
+    private UserSessionLookupCache mockNegativeLookupCache;
+
     @BeforeClass
     public void setUp() throws Exception {
 
@@ -239,6 +257,88 @@ public class UserSessionStoreTest extends DataStoreBaseTest {
         }
     }
 
+    @Test
+    public void testStoredUserIsCachedOnlyAfterCommit() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            mockIdentityDataBaseUtilConnection(connection, true);
+            List<Runnable> afterCommitActions = captureAfterCommitActions();
+            UserSessionStore.getInstance().storeUserData("00000010", "testuser10", -1234, "PRIMARY", -1);
+
+            verify(mockNegativeLookupCache).clearCacheEntry(contains("testuser10"), eq(-1234));
+            verify(mockLookupCache, never()).addToCache(anyString(), anyString(), anyInt());
+            afterCommitActions.forEach(Runnable::run);
+            verify(mockLookupCache).addToCache(contains("testuser10"), eq("00000010"), eq(-1234));
+        }
+    }
+
+    @Test(dependsOnMethods = {"testStoreUserData"})
+    public void testUserIdLookupIsCachedOnlyAfterCommit() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            mockIdentityDataBaseUtilConnection(connection, false);
+            List<Runnable> afterCommitActions = captureAfterCommitActions();
+            Assert.assertEquals(UserSessionStore.getInstance().getUserId("testuser1", -1234, "PRIMARY", -1),
+                    "00000001");
+
+            verify(mockLookupCache, never()).addToCache(anyString(), anyString(), anyInt());
+            afterCommitActions.forEach(Runnable::run);
+            verify(mockLookupCache).addToCache(contains("testuser1"), eq("00000001"), eq(-1234));
+        }
+    }
+
+    @Test
+    public void testUserIdLookupServedFromCache() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            mockIdentityDataBaseUtilConnection(connection, false);
+            when(mockLookupCache.getLookupValue(contains("cacheduser"), eq(-1234))).thenReturn("00000099");
+            Assert.assertEquals(UserSessionStore.getInstance().getUserId("cacheduser", -1234, "PRIMARY", -1),
+                    "00000099");
+
+            when(mockLookupCache.getLookupValue(contains("cacheduser"), eq(-1234))).thenReturn(null);
+            when(mockNegativeLookupCache.getLookupValue(contains("cacheduser"), eq(-1234))).thenReturn("NOT_FOUND");
+            Assert.assertNull(UserSessionStore.getInstance().getUserId("cacheduser", -1234, "PRIMARY", -1));
+        }
+    }
+
+    @Test
+    public void testMissingUserIsCachedAsNegativeLookup() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            mockIdentityDataBaseUtilConnection(connection, false);
+            Assert.assertNull(UserSessionStore.getInstance().getUserId("unknownuser", -1234, "PRIMARY", -1));
+
+            verify(mockNegativeLookupCache).addToCache(contains("unknownuser"), eq("NOT_FOUND"), eq(-1234));
+            verify(mockLookupCache, never()).addToCache(anyString(), anyString(), anyInt());
+        }
+    }
+
+    @Test
+    public void testIdPIdLookupEvictedOnIdPDeletion() throws Exception {
+
+        try (Connection connection = getConnection(DB_NAME)) {
+            mockIdentityDataBaseUtilConnection(connection, false);
+            when(mockLookupCache.getLookupValue(eq("IDP_ID:testIdP"), eq(-1234))).thenReturn("5");
+            Assert.assertEquals(UserSessionStore.getInstance().getIdPId("testIdP", -1234), 5);
+
+            UserSessionLookupCacheIdPMgtListener listener = new UserSessionLookupCacheIdPMgtListener();
+            listener.doPostDeleteIdP("testIdP", "carbon.super");
+            verify(mockLookupCache).clearCacheEntry("IDP_ID:testIdP", "carbon.super");
+            listener.doPostDeleteIdPs("carbon.super");
+            verify(mockLookupCache).clear("carbon.super");
+        }
+    }
+
+    private List<Runnable> captureAfterCommitActions() {
+
+        List<Runnable> afterCommitActions = new ArrayList<>();
+        doAnswer(invocation -> afterCommitActions.add((Runnable) invocation.getArguments()[0]))
+                .when(IdentityDatabaseUtil.class);
+        IdentityDatabaseUtil.runAfterCommit(any(Runnable.class));
+        return afterCommitActions;
+    }
+
     private void mockIdentityDataBaseUtilConnection(Connection connection, Boolean shouldApplyTransaction) throws
             SQLException {
 
@@ -251,6 +351,10 @@ public class UserSessionStoreTest extends DataStoreBaseTest {
             when(IdentityDatabaseUtil.getDBConnection(shouldApplyTransaction)).thenReturn(connection1);
         }
         when(IdentityDatabaseUtil.getSessionDBConnection(shouldApplyTransaction)).thenReturn(connection1);
+        reset(mockLookupCache, mockNegativeLookupCache);
+        mockStatic(UserSessionLookupCache.class);
+        when(UserSessionLookupCache.getInstance()).thenReturn(mockLookupCache);
+        when(UserSessionLookupCache.getNegativeLookupInstance()).thenReturn(mockNegativeLookupCache);
     }
 
 }
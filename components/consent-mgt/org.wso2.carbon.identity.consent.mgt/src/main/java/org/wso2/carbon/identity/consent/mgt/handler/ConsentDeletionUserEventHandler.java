@@ -20,14 +20,14 @@ package org.wso2.carbon.identity.consent.mgt.handler;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.consent.mgt.core.ConsentManager;
 import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
-import org.wso2.carbon.consent.mgt.core.model.ReceiptListResponse;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.consent.mgt.IdentityConsentMgtUtils;
-import org.wso2.carbon.identity.consent.mgt.internal.IdentityConsentDataHolder;
+import org.wso2.carbon.identity.consent.mgt.purge.ConsentPurgeJob;
+import org.wso2.carbon.identity.consent.mgt.purge.ConsentPurgeManager;
 import org.wso2.carbon.identity.core.bean.context.MessageContext;
 import org.wso2.carbon.identity.core.handler.InitConfig;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
@@ -37,11 +37,8 @@ import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.UserStoreManager;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 
-import java.util.List;
 import java.util.Map;
 
-import static org.wso2.carbon.identity.core.util.LambdaExceptionUtils.rethrowConsumer;
-
 /**
  * Deletes Consents issued against a particular user when a user is deleted from the system.
  */
@@ -97,7 +94,7 @@ public class ConsentDeletionUserEventHandler extends AbstractEventHandler {
     }
 
     /**
-     * Delete consents issued against a particular user when a user is deleted.
+     * Purge consents issued against a particular user in the background when a user is deleted.
      *
      * @param event Post User Delete event.
      * @throws IdentityEventException IdentityEventException.
@@ -124,24 +121,12 @@ public class ConsentDeletionUserEventHandler extends AbstractEventHandler {
         String tenantDomain = getUserTenantDomain(eventProperties);
         String usernameWithUserStoreDomain = UserCoreUtil.addDomainToName(userName, domainName);
         if (log.isDebugEnabled()) {
-            log.debug(String.format("Deleting consents for user: %s , in tenant domain :%s",
+            log.debug(String.format("Purging consents for user: %s , in tenant domain :%s",
                     usernameWithUserStoreDomain, tenantDomain));
         }
-        ConsentManager consentManager = IdentityConsentDataHolder.getInstance().getPrivilegedConsentManager();
         try {
-            List<ReceiptListResponse> receiptListResponses = consentManager.searchReceipts(consentSearchLimit, 0,
-                    usernameWithUserStoreDomain, null, "*", null);
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("Found %d receipts issued for user: %s, in tenant domain: %s",
-                        receiptListResponses.size(), usernameWithUserStoreDomain, tenantDomain));
-            }
-            receiptListResponses.forEach(rethrowConsumer(receiptListResponse -> {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Deleting receipt with ID : %s, issued for application %s",
-                            receiptListResponse.getConsentReceiptId(), receiptListResponse.getSpDisplayName()));
-                }
-                consentManager.deleteReceipt(receiptListResponse.getConsentReceiptId());
-            }));
+            ConsentPurgeManager.getInstance().purge(IdentityTenantUtil.getTenantId(tenantDomain),
+                    ConsentPurgeJob.PurgeType.USER, usernameWithUserStoreDomain, consentSearchLimit);
         } catch (ConsentManagementException e) {
             throw new IdentityEventException("Error while deleting consents for user " + userName, e);
         }
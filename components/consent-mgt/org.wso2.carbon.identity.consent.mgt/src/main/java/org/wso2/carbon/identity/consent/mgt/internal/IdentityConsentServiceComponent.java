@@ -23,6 +23,7 @@ import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -33,6 +34,7 @@ import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.consent.mgt.handler.ConsentDeletionUserEventHandler;
 import org.wso2.carbon.identity.consent.mgt.listener.ConsentDeletionAppMgtListener;
 import org.wso2.carbon.identity.consent.mgt.listener.TenantConsentMgtListener;
+import org.wso2.carbon.identity.consent.mgt.purge.ConsentPurgeManager;
 import org.wso2.carbon.identity.consent.mgt.services.ConsentUtilityService;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
@@ -62,11 +64,18 @@ public class IdentityConsentServiceComponent {
                     , null);
             ctxt.getBundleContext().registerService(ConsentUtilityService.class.getName(), new ConsentUtilityService
                     (), null);
+            ConsentPurgeManager.getInstance().start();
         } catch (Throwable throwable) {
             log.error("Error while activating Identity Consent Service Component.", throwable);
         }
     }
 
+    @Deactivate
+    protected void deactivate(ComponentContext ctxt) {
+
+        ConsentPurgeManager.getInstance().stop();
+    }
+
     @Reference(
             name = "consent.mgt.service",
             service = ConsentManager.class,
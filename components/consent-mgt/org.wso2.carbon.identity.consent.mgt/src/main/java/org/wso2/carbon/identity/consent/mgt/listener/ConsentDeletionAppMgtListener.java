@@ -20,23 +20,20 @@ package org.wso2.carbon.identity.consent.mgt.listener;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.consent.mgt.core.ConsentManager;
 import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
-import org.wso2.carbon.consent.mgt.core.model.ReceiptListResponse;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
 import org.wso2.carbon.identity.application.mgt.listener.AbstractApplicationMgtListener;
 import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
 import org.wso2.carbon.identity.consent.mgt.IdentityConsentMgtUtils;
-import org.wso2.carbon.identity.consent.mgt.internal.IdentityConsentDataHolder;
+import org.wso2.carbon.identity.consent.mgt.purge.ConsentPurgeJob;
+import org.wso2.carbon.identity.consent.mgt.purge.ConsentPurgeManager;
 import org.wso2.carbon.identity.core.model.IdentityEventListenerConfig;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
-import static org.wso2.carbon.identity.core.util.LambdaExceptionUtils.rethrowConsumer;
-
 /**
  * Takes care of deleting consents / receipts which are issued against a service provider. When the service provider
  * is deleted, consents issued against the service provider will be deleted through this listener.
@@ -95,7 +92,8 @@ public class ConsentDeletionAppMgtListener extends AbstractApplicationMgtListene
     }
 
     /**
-     * When an application is deleted, it will delete all relevant receipts issued againsed that application.
+     * When an application is deleted, it will purge all relevant receipts issued againsed that application in the
+     * background.
      *
      * @param applicationName Name of the application which is getting deleted.
      * @param tenantDomain    Tenant domain of the application.
@@ -107,27 +105,13 @@ public class ConsentDeletionAppMgtListener extends AbstractApplicationMgtListene
     public boolean doPostDeleteApplication(String applicationName, String tenantDomain, String userName)
             throws IdentityApplicationManagementException {
 
-        ConsentManager consentManager = IdentityConsentDataHolder.getInstance().getConsentManager();
-
         if (log.isDebugEnabled()) {
-            log.debug(String.format("Deleting consents on deletion of application: %s, in tenant domain: %s.",
+            log.debug(String.format("Purging consents on deletion of application: %s, in tenant domain: %s.",
                                     applicationName, tenantDomain));
         }
         try {
-            List<ReceiptListResponse> receiptListResponses = consentManager.searchReceipts(consentSearchLimit, 0,
-                    "*", tenantDomain, applicationName, null, null);
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("%d number of consents found for application %s", receiptListResponses.size(),
-                        applicationName));
-            }
-            receiptListResponses.forEach(rethrowConsumer(receiptListResponse -> {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Deleting receipt with id : %s, issued for user: ", receiptListResponse
-                            .getConsentReceiptId(), receiptListResponse.getPiiPrincipalId()));
-                }
-                consentManager.deleteReceipt(receiptListResponse.getConsentReceiptId());
-            }));
-
+            ConsentPurgeManager.getInstance().purge(IdentityTenantUtil.getTenantId(tenantDomain),
+                    ConsentPurgeJob.PurgeType.APPLICATION, applicationName, consentSearchLimit);
         } catch (ConsentManagementException e) {
             throw new IdentityApplicationManagementException("Error while deleting user consents for application "
                     + applicationName, e);
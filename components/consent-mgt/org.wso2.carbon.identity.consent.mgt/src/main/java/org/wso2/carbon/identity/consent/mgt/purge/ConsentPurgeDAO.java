@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.consent.mgt.purge;
+
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the outstanding consent purges in the IDN_CONSENT_PURGE table, so that purges interrupted by a restart are
+ * resumed.
+ */
+public class ConsentPurgeDAO {
+
+    static final String CONSENT_PURGE_TABLE = "IDN_CONSENT_PURGE";
+
+    private static final String ADD_PURGE = "INSERT INTO IDN_CONSENT_PURGE (TENANT_ID, PURGE_TYPE, SUBJECT, " +
+            "DELETED_COUNT, TIME_CREATED, TIME_UPDATED) VALUES (?, ?, ?, 0, ?, ?)";
+    private static final String GET_PURGE_ID = "SELECT MAX(ID) FROM IDN_CONSENT_PURGE WHERE TENANT_ID = ? AND " +
+            "PURGE_TYPE = ? AND SUBJECT = ?";
+    private static final String UPDATE_PURGE_PROGRESS = "UPDATE IDN_CONSENT_PURGE SET DELETED_COUNT = ?, " +
+            "TIME_UPDATED = ? WHERE ID = ?";
+    private static final String CLAIM_PURGE = "UPDATE IDN_CONSENT_PURGE SET TIME_UPDATED = ? WHERE ID = ? AND " +
+            "TIME_UPDATED < ?";
+    private static final String DELETE_PURGE = "DELETE FROM IDN_CONSENT_PURGE WHERE ID = ?";
+    private static final String GET_STALE_PURGES = "SELECT ID, TENANT_ID, PURGE_TYPE, SUBJECT, DELETED_COUNT, " +
+            "TIME_CREATED FROM IDN_CONSENT_PURGE WHERE TIME_UPDATED < ? ORDER BY ID";
+
+    /**
+     * Record a purge as outstanding and set its id.
+     *
+     * @param purgeJob Purge to record.
+     * @throws SQLException If an error occurs while recording the purge.
+     */
+    public void addPurge(ConsentPurgeJob purgeJob) throws SQLException {
+
+        Timestamp createdTime = new Timestamp(purgeJob.getCreatedTime());
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try {
+                try (PreparedStatement prepStmt = connection.prepareStatement(ADD_PURGE)) {
+                    prepStmt.setInt(1, purgeJob.getTenantId());
+                    prepStmt.setString(2, purgeJob.getPurgeType().name());
+                    prepStmt.setString(3, purgeJob.getSubject());
+                    prepStmt.setTimestamp(4, createdTime);
+                    prepStmt.setTimestamp(5, createdTime);
+                    prepStmt.executeUpdate();
+                }
+                try (PreparedStatement prepStmt = connection.prepareStatement(GET_PURGE_ID)) {
+                    prepStmt.setInt(1, purgeJob.getTenantId());
+                    prepStmt.setString(2, purgeJob.getPurgeType().name());
+                    prepStmt.setString(3, purgeJob.getSubject());
+                    try (ResultSet resultSet = prepStmt.executeQuery()) {
+                        if (resultSet.next()) {
+                            purgeJob.setId(resultSet.getInt(1));
+                        }
+                    }
+                }
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Record the number of receipts deleted by a purge, which also marks the purge as active.
+     *
+     * @param purgeJob Purge in progress.
+     * @throws SQLException If an error occurs while updating the purge.
+     */
+    public void updateProgress(ConsentPurgeJob purgeJob) throws SQLException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(UPDATE_PURGE_PROGRESS)) {
+                prepStmt.setInt(1, purgeJob.getDeletedCount());
+                prepStmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+                prepStmt.setInt(3, purgeJob.getId());
+                prepStmt.executeUpdate();
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Take over a purge which has not progressed since the given time, by marking it as active. Only one node of a
+     * cluster succeeds in taking over a purge, until it stops progressing again.
+     *
+     * @param purgeJob      Purge to take over.
+     * @param updatedBefore Time in milliseconds, before which the purge last progressed.
+     * @return Whether the purge was taken over.
+     * @throws SQLException If an error occurs while updating the purge.
+     */
+    public boolean claimPurge(ConsentPurgeJob purgeJob, long updatedBefore) throws SQLException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(CLAIM_PURGE)) {
+                prepStmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                prepStmt.setInt(2, purgeJob.getId());
+                prepStmt.setTimestamp(3, new Timestamp(updatedBefore));
+                boolean claimed = prepStmt.executeUpdate() > 0;
+                IdentityDatabaseUtil.commitTransaction(connection);
+                return claimed;
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Remove a completed purge.
+     *
+     * @param purgeJob Completed purge.
+     * @throws SQLException If an error occurs while removing the purge.
+     */
+    public void deletePurge(ConsentPurgeJob purgeJob) throws SQLException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(DELETE_PURGE)) {
+                prepStmt.setInt(1, purgeJob.getId());
+                prepStmt.executeUpdate();
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Get the outstanding purges which have not progressed since the given time.
+     *
+     * @param updatedBefore Time in milliseconds.
+     * @return Outstanding purges.
+     * @throws SQLException If an error occurs while reading the purges.
+     */
+    public List<ConsentPurgeJob> getStalePurges(long updatedBefore) throws SQLException {
+
+        List<ConsentPurgeJob> purgeJobs = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement prepStmt = connection.prepareStatement(GET_STALE_PURGES)) {
+            prepStmt.setTimestamp(1, new Timestamp(updatedBefore));
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    ConsentPurgeJob purgeJob = new ConsentPurgeJob(resultSet.getInt(2),
+                            ConsentPurgeJob.PurgeType.valueOf(resultSet.getString(3)), resultSet.getString(4),
+                            resultSet.getTimestamp(6).getTime());
+                    purgeJob.setId(resultSet.getInt(1));
+                    purgeJob.setDeletedCount(resultSet.getInt(5));
+                    purgeJobs.add(purgeJob);
+                }
+            }
+        }
+        return purgeJobs;
+    }
+}
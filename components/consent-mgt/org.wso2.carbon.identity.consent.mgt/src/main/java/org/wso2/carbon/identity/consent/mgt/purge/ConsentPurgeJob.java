@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.consent.mgt.purge;
+
+/**
+ * Purge of the consent receipts issued against a deleted application or user.
+ */
+public class ConsentPurgeJob {
+
+    /**
+     * Entity whose receipts are purged.
+     */
+    public enum PurgeType {
+        APPLICATION,
+        USER
+    }
+
+    private int id;
+    private final int tenantId;
+    private final PurgeType purgeType;
+    private final String subject;
+    private final long createdTime;
+    private int deletedCount;
+
+    /**
+     * @param tenantId  Tenant id of the application, or of the user.
+     * @param purgeType Entity whose receipts are purged.
+     * @param subject   Application name, or the username with the user store domain.
+     */
+    public ConsentPurgeJob(int tenantId, PurgeType purgeType, String subject) {
+
+        this(tenantId, purgeType, subject, System.currentTimeMillis());
+    }
+
+    /**
+     * @param tenantId    Tenant id of the application, or of the user.
+     * @param purgeType   Entity whose receipts are purged.
+     * @param subject     Application name, or the username with the user store domain.
+     * @param createdTime Time in milliseconds at which the application or the user was deleted. Receipts given after
+     *                    this time, such as to an application or a user created again with the same name, are kept.
+     */
+    public ConsentPurgeJob(int tenantId, PurgeType purgeType, String subject, long createdTime) {
+
+        this.tenantId = tenantId;
+        this.purgeType = purgeType;
+        this.subject = subject;
+        this.createdTime = createdTime;
+    }
+
+    public int getId() {
+
+        return id;
+    }
+
+    public void setId(int id) {
+
+        this.id = id;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public PurgeType getPurgeType() {
+
+        return purgeType;
+    }
+
+    public String getSubject() {
+
+        return subject;
+    }
+
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+
+    public int getDeletedCount() {
+
+        return deletedCount;
+    }
+
+    public void setDeletedCount(int deletedCount) {
+
+        this.deletedCount = deletedCount;
+    }
+
+    @Override
+    public String toString() {
+
+        return purgeType + " " + subject + " of tenant " + tenantId;
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.consent.mgt.purge;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.consent.mgt.core.ConsentManager;
+import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
+import org.wso2.carbon.consent.mgt.core.model.ReceiptListResponse;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SSOConsentCache;
+import org.wso2.carbon.identity.consent.mgt.internal.IdentityConsentDataHolder;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.ErrorMessages.ERROR_CODE_INVALID_RECEIPT_ID;
+
+/**
+ * Purges the consent receipts of deleted applications and users in the background.
+ * <p>
+ * Receipts are searched and deleted in batches, and the number of receipts deleted is recorded after each batch. Each
+ * purge is tracked in the IDN_CONSENT_PURGE table until it completes, and purges which have not progressed for a
+ * while, such as those interrupted by a restart, are periodically resumed by the one node of the cluster which takes
+ * them over. Only the receipts given before the application or the user was deleted are purged. Purges run inline
+ * when the table is not available.
+ */
+public class ConsentPurgeManager {
+
+    private static final Log log = LogFactory.getLog(ConsentPurgeManager.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long RESUME_INTERVAL_IN_MINUTES = 10;
+    private static final long STALE_PURGE_THRESHOLD = TimeUnit.MINUTES.toMillis(RESUME_INTERVAL_IN_MINUTES);
+    private static final String PURGE_THREAD_NAME = "ConsentPurgeThread";
+
+    private static volatile ConsentPurgeManager instance;
+
+    private final ConsentPurgeDAO consentPurgeDAO = new ConsentPurgeDAO();
+    private final Set<Integer> activePurges = ConcurrentHashMap.newKeySet();
+    private volatile ScheduledExecutorService purgeExecutor;
+    private volatile Boolean purgeTableAvailable;
+
+    private ConsentPurgeManager() {
+
+    }
+
+    public static ConsentPurgeManager getInstance() {
+
+        if (instance == null) {
+            synchronized (ConsentPurgeManager.class) {
+                if (instance == null) {
+                    instance = new ConsentPurgeManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start the purge thread and schedule the resumption of the outstanding purges.
+     */
+    public synchronized void start() {
+
+        if (purgeExecutor != null) {
+            return;
+        }
+        purgeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, PURGE_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (isPurgeTableAvailable()) {
+            purgeExecutor.scheduleWithFixedDelay(this::resumeStalePurges, 0, RESUME_INTERVAL_IN_MINUTES,
+                    TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Stop the purge thread. Purges in progress are resumed once the manager is started again.
+     */
+    public synchronized void stop() {
+
+        if (purgeExecutor != null) {
+            purgeExecutor.shutdownNow();
+            purgeExecutor = null;
+        }
+    }
+
+    /**
+     * Purge the receipts issued against an application or a user. The purge is recorded and run in the background
+     * when the purge thread is running, and run inline otherwise. A recorded purge which fails is resumed later, while
+     * an inline purge fails on the first receipt which could not be deleted.
+     *
+     * @param tenantId  Tenant id of the application, or of the user.
+     * @param purgeType Entity whose receipts are purged.
+     * @param subject   Application name, or the username with the user store domain.
+     * @param batchSize Number of receipts searched and deleted at a time.
+     * @throws ConsentManagementException If the purge is run inline and fails.
+     */
+    public void purge(int tenantId, ConsentPurgeJob.PurgeType purgeType, String subject, int batchSize)
+            throws ConsentManagementException {
+
+        ConsentPurgeJob purgeJob = new ConsentPurgeJob(tenantId, purgeType, subject);
+        ScheduledExecutorService executor = purgeExecutor;
+        if (executor == null || !isPurgeTableAvailable()) {
+            runPurge(purgeJob, batchSize, true);
+            return;
+        }
+        try {
+            consentPurgeDAO.addPurge(purgeJob);
+        } catch (SQLException e) {
+            log.error("Error while recording the consent purge of " + purgeJob + ". Purging the consents inline.", e);
+            runPurge(purgeJob, batchSize, true);
+            return;
+        }
+        activePurges.add(purgeJob.getId());
+        try {
+            executor.execute(() -> runRecordedPurge(purgeJob, batchSize));
+        } catch (RejectedExecutionException e) {
+            runRecordedPurge(purgeJob, batchSize);
+        }
+    }
+
+    private void resumeStalePurges() {
+
+        long updatedBefore = System.currentTimeMillis() - STALE_PURGE_THRESHOLD;
+        List<ConsentPurgeJob> stalePurges;
+        try {
+            stalePurges = consentPurgeDAO.getStalePurges(updatedBefore);
+        } catch (SQLException e) {
+            log.error("Error while reading the outstanding consent purges.", e);
+            return;
+        }
+        for (ConsentPurgeJob purgeJob : stalePurges) {
+            if (!activePurges.add(purgeJob.getId())) {
+                continue;
+            }
+            // Other nodes of the cluster scan the same purges, and only the node which takes a purge over resumes it.
+            boolean claimed = false;
+            try {
+                claimed = consentPurgeDAO.claimPurge(purgeJob, updatedBefore);
+            } catch (SQLException e) {
+                log.error("Error while taking over the consent purge of " + purgeJob, e);
+            }
+            if (!claimed) {
+                activePurges.remove(purgeJob.getId());
+                continue;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Resuming the consent purge of " + purgeJob + ". " + purgeJob.getDeletedCount() +
+                        " receipts are already deleted.");
+            }
+            try {
+                purgeExecutor.execute(() -> runRecordedPurge(purgeJob, DEFAULT_BATCH_SIZE));
+            } catch (RejectedExecutionException e) {
+                activePurges.remove(purgeJob.getId());
+            }
+        }
+    }
+
+    private void runRecordedPurge(ConsentPurgeJob purgeJob, int batchSize) {
+
+        boolean completed = false;
+        try {
+            completed = runPurge(purgeJob, batchSize, false);
+        } catch (ConsentManagementException | RuntimeException e) {
+            log.error("Error while purging the consents of " + purgeJob + ". " + purgeJob.getDeletedCount() +
+                    " receipts were deleted.", e);
+        } finally {
+            activePurges.remove(purgeJob.getId());
+        }
+
+        if (completed) {
+            try {
+                consentPurgeDAO.deletePurge(purgeJob);
+            } catch (SQLException e) {
+                log.error("Error while removing the completed consent purge of " + purgeJob, e);
+            }
+        }
+    }
+
+    private boolean runPurge(ConsentPurgeJob purgeJob, int batchSize, boolean failOnError)
+            throws ConsentManagementException {
+
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(purgeJob.getTenantId());
+        PrivilegedCarbonContext.startTenantFlow();
+        try {
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantId(purgeJob.getTenantId());
+            carbonContext.setTenantDomain(tenantDomain);
+            return purgeReceipts(purgeJob, tenantDomain, Math.max(batchSize, 1), failOnError);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    /**
+     * Delete the receipts batch by batch. As the deleted receipts drop out of the search results, the first page is
+     * read until no receipts remain, skipping only the receipts which are kept or could not be deleted. Receipts given
+     * after the purge was created are kept, and receipts already deleted, such as by another node, are ignored.
+     *
+     * @return Whether all the receipts were deleted.
+     */
+    private boolean purgeReceipts(ConsentPurgeJob purgeJob, String tenantDomain, int batchSize, boolean failOnError)
+            throws ConsentManagementException {
+
+        ConsentManager consentManager = IdentityConsentDataHolder.getInstance().getPrivilegedConsentManager();
+        int failedCount = 0;
+        int keptCount = 0;
+        List<ReceiptListResponse> receiptListResponses;
+        do {
+            receiptListResponses = searchReceipts(consentManager, purgeJob, tenantDomain, batchSize,
+                    failedCount + keptCount);
+            for (ReceiptListResponse receiptListResponse : receiptListResponses) {
+                String receiptId = receiptListResponse.getConsentReceiptId();
+                try {
+                    // The receipt is read before the deletion to find the service providers it is cached for.
+                    Receipt receipt = consentManager.getReceipt(receiptId);
+                    if (receipt.getConsentTimestamp() > purgeJob.getCreatedTime()) {
+                        keptCount++;
+                        continue;
+                    }
+                    consentManager.deleteReceipt(receiptId);
+                    purgeJob.setDeletedCount(purgeJob.getDeletedCount() + 1);
+                    SSOConsentCache.getInstance().clearCacheEntries(receipt);
+                } catch (ConsentManagementException e) {
+                    if (isReceiptNotFound(e)) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Receipt with id: " + receiptId + " of " + purgeJob + " is already deleted.");
+                        }
+                        continue;
+                    }
+                    if (failOnError) {
+                        throw e;
+                    }
+                    log.error("Error while deleting the receipt with id: " + receiptId + " of " + purgeJob, e);
+                    failedCount++;
+                }
+            }
+            updateProgress(purgeJob);
+        } while (receiptListResponses.size() >= batchSize);
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Consent purge of %s completed. Deleted: %d, kept: %d, failed: %d.", purgeJob,
+                    purgeJob.getDeletedCount(), keptCount, failedCount));
+        }
+        return failedCount == 0;
+    }
+
+    private boolean isReceiptNotFound(ConsentManagementException e) {
+
+        return ERROR_CODE_INVALID_RECEIPT_ID.getCode().equals(e.getErrorCode());
+    }
+
+    private List<ReceiptListResponse> searchReceipts(ConsentManager consentManager, ConsentPurgeJob purgeJob,
+                                                     String tenantDomain, int limit, int offset)
+            throws ConsentManagementException {
+
+        if (purgeJob.getPurgeType() == ConsentPurgeJob.PurgeType.APPLICATION) {
+            return consentManager.searchReceipts(limit, offset, "*", tenantDomain, purgeJob.getSubject(), null,
+                    null);
+        }
+        return consentManager.searchReceipts(limit, offset, purgeJob.getSubject(), null, "*", null);
+    }
+
+    private void updateProgress(ConsentPurgeJob purgeJob) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Deleted " + purgeJob.getDeletedCount() + " receipts of " + purgeJob);
+        }
+        if (purgeJob.getId() <= 0) {
+            return;
+        }
+        try {
+            consentPurgeDAO.updateProgress(purgeJob);
+        } catch (SQLException e) {
+            log.error("Error while updating the progress of the consent purge of " + purgeJob, e);
+        }
+    }
+
+    private boolean isPurgeTableAvailable() {
+
+        if (purgeTableAvailable == null) {
+            purgeTableAvailable = IdentityDatabaseUtil.isTableExists(ConsentPurgeDAO.CONSENT_PURGE_TABLE);
+            if (!purgeTableAvailable) {
+                log.warn(ConsentPurgeDAO.CONSENT_PURGE_TABLE + " table is not available. Consents of deleted " +
+                        "applications and users will be purged inline.");
+            }
+        }
+        return purgeTableAvailable;
+    }
+}
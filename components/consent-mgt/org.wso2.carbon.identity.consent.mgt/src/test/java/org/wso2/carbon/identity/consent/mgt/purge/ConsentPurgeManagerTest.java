@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.consent.mgt.purge;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.consent.mgt.core.ConsentManager;
+import org.wso2.carbon.consent.mgt.core.exception.ConsentManagementException;
+import org.wso2.carbon.consent.mgt.core.model.Receipt;
+import org.wso2.carbon.consent.mgt.core.model.ReceiptListResponse;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.cache.SSOConsentCache;
+import org.wso2.carbon.identity.consent.mgt.internal.IdentityConsentDataHolder;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.wso2.carbon.consent.mgt.core.constant.ConsentConstants.ErrorMessages.ERROR_CODE_INVALID_RECEIPT_ID;
+
+@PrepareForTest({IdentityConsentDataHolder.class, IdentityTenantUtil.class, PrivilegedCarbonContext.class,
+        SSOConsentCache.class})
+public class ConsentPurgeManagerTest extends PowerMockTestCase {
+
+    private static final int TENANT_ID = 1;
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final String APPLICATION_NAME = "travelocity.com";
+    private static final int BATCH_SIZE = 10;
+
+    private ConsentPurgeManager consentPurgeManager;
+    private ConsentManager consentManager;
+    private SSOConsentCache ssoConsentCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        consentPurgeManager = Whitebox.invokeConstructor(ConsentPurgeManager.class);
+
+        mockStatic(IdentityConsentDataHolder.class);
+        IdentityConsentDataHolder dataHolder = mock(IdentityConsentDataHolder.class);
+        when(IdentityConsentDataHolder.getInstance()).thenReturn(dataHolder);
+        consentManager = mock(ConsentManager.class);
+        when(dataHolder.getPrivilegedConsentManager()).thenReturn(consentManager);
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantDomain(TENANT_ID)).thenReturn(TENANT_DOMAIN);
+        mockStatic(PrivilegedCarbonContext.class);
+        when(PrivilegedCarbonContext.getThreadLocalCarbonContext()).thenReturn(mock(PrivilegedCarbonContext.class));
+
+        mockStatic(SSOConsentCache.class);
+        ssoConsentCache = mock(SSOConsentCache.class);
+        when(SSOConsentCache.getInstance()).thenReturn(ssoConsentCache);
+    }
+
+    @Test
+    public void testPurgeDeletesOnlyReceiptsGivenBeforeDeletion() throws Exception {
+
+        Receipt oldReceipt = mockReceipt("receipt-1", System.currentTimeMillis() - 60000);
+        Receipt newReceipt = mockReceipt("receipt-2", System.currentTimeMillis() + 60000);
+        when(consentManager.searchReceipts(BATCH_SIZE, 0, "*", TENANT_DOMAIN, APPLICATION_NAME, null, null))
+                .thenReturn(Arrays.asList(mockReceiptListResponse("receipt-1"),
+                        mockReceiptListResponse("receipt-2")));
+
+        consentPurgeManager.purge(TENANT_ID, ConsentPurgeJob.PurgeType.APPLICATION, APPLICATION_NAME, BATCH_SIZE);
+
+        verify(consentManager).deleteReceipt("receipt-1");
+        verify(consentManager, never()).deleteReceipt("receipt-2");
+        verify(ssoConsentCache).clearCacheEntries(oldReceipt);
+        verify(ssoConsentCache, never()).clearCacheEntries(newReceipt);
+    }
+
+    @Test
+    public void testPurgeIgnoresReceiptsAlreadyDeleted() throws Exception {
+
+        when(consentManager.searchReceipts(BATCH_SIZE, 0, "*", TENANT_DOMAIN, APPLICATION_NAME, null, null))
+                .thenReturn(Collections.singletonList(mockReceiptListResponse("receipt-1")));
+        when(consentManager.getReceipt("receipt-1")).thenThrow(new ConsentManagementException("Receipt not found.",
+                ERROR_CODE_INVALID_RECEIPT_ID.getCode()));
+
+        consentPurgeManager.purge(TENANT_ID, ConsentPurgeJob.PurgeType.APPLICATION, APPLICATION_NAME, BATCH_SIZE);
+
+        verify(consentManager, never()).deleteReceipt(anyString());
+    }
+
+    @Test(expectedExceptions = ConsentManagementException.class)
+    public void testInlinePurgeFailsOnReceiptDeletionError() throws Exception {
+
+        mockReceipt("receipt-1", System.currentTimeMillis() - 60000);
+        when(consentManager.searchReceipts(BATCH_SIZE, 0, "*", TENANT_DOMAIN, APPLICATION_NAME, null, null))
+                .thenReturn(Collections.singletonList(mockReceiptListResponse("receipt-1")));
+        doThrow(new ConsentManagementException("Error while deleting the receipt.", "CM_00000"))
+                .when(consentManager).deleteReceipt("receipt-1");
+
+        consentPurgeManager.purge(TENANT_ID, ConsentPurgeJob.PurgeType.APPLICATION, APPLICATION_NAME, BATCH_SIZE);
+    }
+
+    @Test
+    public void testStalePurgeResumedOnlyWhenTakenOver() throws Exception {
+
+        ConsentPurgeJob claimedPurge = new ConsentPurgeJob(TENANT_ID, ConsentPurgeJob.PurgeType.USER, "PRIMARY/alex");
+        claimedPurge.setId(1);
+        ConsentPurgeJob otherNodePurge = new ConsentPurgeJob(TENANT_ID, ConsentPurgeJob.PurgeType.USER, "PRIMARY/bob");
+        otherNodePurge.setId(2);
+
+        ConsentPurgeDAO consentPurgeDAO = mock(ConsentPurgeDAO.class);
+        when(consentPurgeDAO.getStalePurges(anyLong())).thenReturn(Arrays.asList(claimedPurge, otherNodePurge));
+        when(consentPurgeDAO.claimPurge(any(ConsentPurgeJob.class), anyLong())).thenAnswer(
+                invocation -> invocation.getArguments()[0] == claimedPurge);
+        ScheduledExecutorService purgeExecutor = mock(ScheduledExecutorService.class);
+        Whitebox.setInternalState(consentPurgeManager, "consentPurgeDAO", consentPurgeDAO);
+        Whitebox.setInternalState(consentPurgeManager, "purgeExecutor", purgeExecutor);
+
+        Whitebox.invokeMethod(consentPurgeManager, "resumeStalePurges");
+
+        verify(purgeExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    private Receipt mockReceipt(String receiptId, long consentTimestamp) throws ConsentManagementException {
+
+        Receipt receipt = new Receipt();
+        receipt.setConsentReceiptId(receiptId);
+        receipt.setConsentTimestamp(consentTimestamp);
+        when(consentManager.getReceipt(receiptId)).thenReturn(receipt);
+        return receipt;
+    }
+
+    private ReceiptListResponse mockReceiptListResponse(String receiptId) {
+
+        ReceiptListResponse receiptListResponse = mock(ReceiptListResponse.class);
+        when(receiptListResponse.getConsentReceiptId()).thenReturn(receiptId);
+        return receiptListResponse;
+    }
+}
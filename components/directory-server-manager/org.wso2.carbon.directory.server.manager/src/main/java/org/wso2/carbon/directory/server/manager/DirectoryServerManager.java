@@ -64,6 +64,19 @@ public class DirectoryServerManager extends AbstractAdmin {
         ldapServerStoreManager.addServicePrinciple(serverName, serverDescription, serverPassword);
     }
 
+    /**
+     * Adds the given server principles to directory server in a single batch.
+     *
+     * @param serverPrinciples Server principles to be added, along with their descriptions and passwords.
+     * @return Names of the server principles which could not be added.
+     * @throws DirectoryServerManagerException If an error occurred while accessing the directory server.
+     */
+    public String[] addServers(ServerPrinciple[] serverPrinciples) throws DirectoryServerManagerException {
+
+        LDAPServerStoreManager ldapServerStoreManager = getServerStoreManager();
+        return ldapServerStoreManager.addServicePrinciples(serverPrinciples);
+    }
+
     /**
      * Removes given server principle.
      *
@@ -76,6 +89,19 @@ public class DirectoryServerManager extends AbstractAdmin {
         ldapServerStoreManager.deleteServicePrinciple(serverName);
     }
 
+    /**
+     * Removes the given server principles in a single batch.
+     *
+     * @param serverNames Names of the server principles to remove.
+     * @return Names of the server principles which could not be removed.
+     * @throws DirectoryServerManagerException If an error occurred while accessing the directory server.
+     */
+    public String[] removeServers(String[] serverNames) throws DirectoryServerManagerException {
+
+        LDAPServerStoreManager ldapServerStoreManager = getServerStoreManager();
+        return ldapServerStoreManager.deleteServicePrinciples(serverNames);
+    }
+
     /**
      * Changes the password of a given server principle.
      *
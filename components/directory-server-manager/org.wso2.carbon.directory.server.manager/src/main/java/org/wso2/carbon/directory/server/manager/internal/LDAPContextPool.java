@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.directory.server.manager.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.user.api.RealmConfiguration;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.ldap.LDAPConnectionContext;
+import org.wso2.carbon.user.core.ldap.LDAPConstants;
+import org.wso2.carbon.user.core.util.JNDIUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+
+/**
+ * Bounded pool of directory contexts of a directory server, shared by the {@link LDAPServerStoreManager} instances
+ * which are created for the same tenant and connection.
+ * <p>
+ * At most the configured number of contexts are handed out at a time. A context which failed during an operation is
+ * closed when it is returned instead of being kept in the pool. A context which was idle for longer than the
+ * validation interval is checked against the directory server before it is handed out again. When the user store
+ * configuration of the connection changes, the pool is retired and a new pool is created with the new configuration.
+ */
+class LDAPContextPool {
+
+    private static final Log log = LogFactory.getLog(LDAPContextPool.class);
+
+    private static final long BORROW_TIMEOUT_IN_MILLIS = 30000;
+    private static final long VALIDATION_INTERVAL_IN_MILLIS = 30000;
+    private static final String[] NO_ATTRIBUTES = new String[]{"1.1"};
+    private static final Map<String, LDAPContextPool> pools = new ConcurrentHashMap<>();
+
+    private final LDAPConnectionContext connectionSource;
+    private final String configurationDigest;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<IdleContext> idleContexts;
+    private volatile boolean retired;
+
+    private LDAPContextPool(LDAPConnectionContext connectionSource, String configurationDigest, int maxSize) {
+
+        this.connectionSource = connectionSource;
+        this.configurationDigest = configurationDigest;
+        this.permits = new Semaphore(maxSize, true);
+        this.idleContexts = new LinkedBlockingDeque<>(maxSize);
+    }
+
+    /**
+     * Get the pool of the connection of the given realm configuration, creating it if it does not exist. If the pool
+     * of the connection was created with a different user store configuration, such as a changed connection password,
+     * it is retired and replaced with a new pool.
+     *
+     * @param realmConfiguration Realm configuration of the directory server.
+     * @param connectionSource   Connection source used to create the contexts of a new pool.
+     * @param maxSize            Maximum number of contexts of a new pool.
+     * @return Context pool.
+     */
+    static LDAPContextPool getPool(RealmConfiguration realmConfiguration, LDAPConnectionContext connectionSource,
+                                   int maxSize) {
+
+        String key = realmConfiguration.getTenantId() + ":" +
+                realmConfiguration.getUserStoreProperty(LDAPConstants.CONNECTION_URL) + ":" +
+                realmConfiguration.getUserStoreProperty(LDAPConstants.CONNECTION_NAME);
+        String configurationDigest = getConfigurationDigest(realmConfiguration);
+        return pools.compute(key, (k, pool) -> {
+            if (pool != null && pool.configurationDigest.equals(configurationDigest)) {
+                return pool;
+            }
+            if (pool != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("User store configuration of the directory context pool : " + k + " changed. " +
+                            "Retiring the existing pool.");
+                }
+                pool.retire();
+            }
+            return new LDAPContextPool(connectionSource, configurationDigest, maxSize);
+        });
+    }
+
+    /**
+     * Close the idle contexts of all the pools and drop the pools.
+     */
+    static void closeAll() {
+
+        for (LDAPContextPool pool : pools.values()) {
+            pool.retire();
+        }
+        pools.clear();
+    }
+
+    /**
+     * Borrow a context from the pool, creating a new one if there is no valid idle context.
+     *
+     * @return Directory context.
+     * @throws UserStoreException If a context is not available within the timeout or could not be created.
+     */
+    DirContext borrowContext() throws UserStoreException {
+
+        try {
+            if (!permits.tryAcquire(BORROW_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new UserStoreException("Timed out while waiting for a directory context from the pool.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserStoreException("Interrupted while waiting for a directory context from the pool.", e);
+        }
+
+        IdleContext idleContext;
+        while ((idleContext = idleContexts.pollFirst()) != null) {
+            if (isValid(idleContext)) {
+                return idleContext.context;
+            }
+            close(idleContext.context);
+        }
+        try {
+            return connectionSource.getContext();
+        } catch (UserStoreException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a borrowed context to the pool.
+     *
+     * @param context Borrowed context.
+     * @param valid   Whether the context can be reused. Contexts which are not valid are closed.
+     */
+    void returnContext(DirContext context, boolean valid) {
+
+        try {
+            if (!valid || retired || !idleContexts.offerFirst(new IdleContext(context))) {
+                close(context);
+                if (!valid && log.isDebugEnabled()) {
+                    log.debug("Discarded a failed directory context from the pool.");
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void retire() {
+
+        retired = true;
+        IdleContext idleContext;
+        while ((idleContext = idleContexts.poll()) != null) {
+            close(idleContext.context);
+        }
+    }
+
+    /**
+     * Check whether an idle context is still usable. Contexts which were returned recently are trusted, while the
+     * others are checked with a lookup of the context entry which returns no attributes.
+     */
+    private static boolean isValid(IdleContext idleContext) {
+
+        if (System.currentTimeMillis() - idleContext.returnedTime < VALIDATION_INTERVAL_IN_MILLIS) {
+            return true;
+        }
+        try {
+            idleContext.context.getAttributes("", NO_ATTRIBUTES);
+            return true;
+        } catch (NamingException | RuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Discarded a stale directory context from the pool.", e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Digest of the user store properties of the realm configuration, used to detect configuration changes without
+     * keeping the connection password as a part of the pool key.
+     */
+    private static String getConfigurationDigest(RealmConfiguration realmConfiguration) {
+
+        Map<String, String> properties = new TreeMap<>();
+        if (realmConfiguration.getUserStoreProperties() != null) {
+            properties.putAll(realmConfiguration.getUserStoreProperties());
+        }
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                messageDigest.update(String.valueOf(property.getKey()).getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) 0);
+                messageDigest.update(String.valueOf(property.getValue()).getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) 0);
+            }
+            StringBuilder digest = new StringBuilder();
+            for (byte b : messageDigest.digest()) {
+                digest.append(String.format("%02x", b));
+            }
+            return digest.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is available on every Java platform, so the properties are only compared as a fallback.
+            return String.valueOf(properties.hashCode());
+        }
+    }
+
+    private static void close(DirContext context) {
+
+        try {
+            JNDIUtil.closeContext(context);
+        } catch (UserStoreException e) {
+            log.error("Unable to close directory context.", e);
+        }
+    }
+
+    /**
+     * Context kept in the pool, along with the time it was returned.
+     */
+    private static class IdleContext {
+
+        private final DirContext context;
+        private final long returnedTime;
+
+        private IdleContext(DirContext context) {
+
+            this.context = context;
+            this.returnedTime = System.currentTimeMillis();
+        }
+    }
+}
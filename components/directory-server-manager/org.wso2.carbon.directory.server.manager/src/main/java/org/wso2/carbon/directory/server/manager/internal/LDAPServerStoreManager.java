@@ -40,13 +40,23 @@ import javax.naming.directory.BasicAttributes;
 import javax.naming.directory.DirContext;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
+import javax.naming.ldap.Control;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.PagedResultsControl;
+import javax.naming.ldap.PagedResultsResponseControl;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,7 +69,10 @@ public class LDAPServerStoreManager {
 
     private static final Log log = LogFactory.getLog(LDAPServerStoreManager.class);
 
+    private static final int BATCH_FILTER_SIZE = 100;
+
     private LDAPConnectionContext connectionSource;
+    private LDAPContextPool contextPool;
     private RealmConfiguration realmConfiguration;
 
     public LDAPServerStoreManager(RealmConfiguration realmConfig) {
@@ -67,6 +80,10 @@ public class LDAPServerStoreManager {
         this.realmConfiguration = realmConfig;
         try {
             this.connectionSource = new LDAPConnectionContext(realmConfig);
+            int poolSize = getIntProperty(LDAPServerManagerConstants.CONTEXT_POOL_SIZE_PROPERTY, 0);
+            if (poolSize > 0) {
+                this.contextPool = LDAPContextPool.getPool(realmConfig, connectionSource, poolSize);
+            }
         } catch (UserStoreException e) {
             log.error("Error occurred while instantiating LDAPConnectionContext", e);
         }
@@ -168,11 +185,14 @@ public class LDAPServerStoreManager {
     public boolean isExistingServiceUid(String uid)
             throws DirectoryServerManagerException {
 
+        long startTime = System.nanoTime();
+        boolean success = false;
         DirContext dirContext;
         try {
-            dirContext = this.connectionSource.getContext();
+            dirContext = getContext();
         } catch (UserStoreException e) {
             log.error("Unable to retrieve directory context.", e);
+            LDAPServerStoreMetrics.record("isExistingServiceUid", startTime, false);
             throw new DirectoryServerManagerException("Unable to retrieve directory context.", e);
         }
 
@@ -188,28 +208,30 @@ public class LDAPServerStoreManager {
 
         try {
             NamingEnumeration<SearchResult> namingEnumeration = dirContext.search(searchBase, filter, searchControls);
-            return namingEnumeration.hasMore();
+            boolean exists = namingEnumeration.hasMore();
+            success = true;
+            return exists;
 
         } catch (NamingException e) {
             log.error("Unable to check whether service exists in directory server. UID - " + uid, e);
             throw new DirectoryServerManagerException("Can not access the directory service", e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
-            }
+            releaseContext(dirContext, success);
+            LDAPServerStoreMetrics.record("isExistingServiceUid", startTime, success);
         }
     }
 
     public boolean isExistingServicePrinciple(String servicePrinciple)
             throws DirectoryServerManagerException {
 
+        long startTime = System.nanoTime();
+        boolean success = false;
         DirContext dirContext;
         try {
-            dirContext = this.connectionSource.getContext();
+            dirContext = getContext();
         } catch (UserStoreException e) {
             log.error("Unable to retrieve directory context.", e);
+            LDAPServerStoreMetrics.record("isExistingServicePrinciple", startTime, false);
             throw new DirectoryServerManagerException("Unable to retrieve directory context.", e);
         }
 
@@ -224,18 +246,17 @@ public class LDAPServerStoreManager {
 
         try {
             NamingEnumeration<SearchResult> namingEnumeration = dirContext.search(searchBase, filter, searchControls);
-            return namingEnumeration.hasMore();
+            boolean exists = namingEnumeration.hasMore();
+            success = true;
+            return exists;
 
         } catch (NamingException e) {
             String message = "Unable to search entry with search base " + searchBase + ", filter -" + filter;
             log.error(message, e);
             throw new DirectoryServerManagerException("Can not access the directory service", e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
-            }
+            releaseContext(dirContext, success);
+            LDAPServerStoreMetrics.record("isExistingServicePrinciple", startTime, success);
         }
     }
 
@@ -246,28 +267,34 @@ public class LDAPServerStoreManager {
             throw new DirectoryServerManagerException("Invalid credentials provided");
         }
 
+        long startTime = System.nanoTime();
+        boolean success = false;
+
+        // Put only service name as uid. i.e. if server name is like ftp/wso2.example.com
+        // then add only ftp as uid
+        String serverUid = getServiceName(serverName);
+
         DirContext dirContext;
         try {
-            dirContext = this.connectionSource.getContext();
+            dirContext = getContext();
         } catch (UserStoreException e) {
+            LDAPServerStoreMetrics.record("addServicePrinciple", startTime, false);
             throw new DirectoryServerManagerException("An error occurred while retrieving LDAP connection context.", e);
         }
 
         String searchBase = this.realmConfiguration.getUserStoreProperty(LDAPConstants.USER_SEARCH_BASE);
+        DirContext searchBaseContext = null;
         try {
 
-            dirContext = (DirContext) dirContext.lookup(searchBase);
+            searchBaseContext = (DirContext) dirContext.lookup(searchBase);
 
             BasicAttributes basicAttributes = new BasicAttributes(true);
 
-            // Put only service name as uid. i.e. if server name is like ftp/wso2.example.com
-            // then add only ftp as uid
-            String serverUid = getServiceName(serverName);
-
             constructBasicAttributes(basicAttributes, serverUid, serverName, credentials, serverDescription,
                                      LDAPServerManagerConstants.SERVER_PRINCIPAL_ATTRIBUTE_VALUE);
 
-            dirContext.bind(LDAPServerManagerConstants.LDAP_UID + "=" + serverUid, null, basicAttributes);
+            searchBaseContext.bind(LDAPServerManagerConstants.LDAP_UID + "=" + serverUid, null, basicAttributes);
+            success = true;
 
         } catch (NamingException e) {
             String message = "Can not access the directory context or user " +
@@ -275,12 +302,117 @@ public class LDAPServerStoreManager {
             log.error(message, e);
             throw new DirectoryServerManagerException(message, e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
+            closeContext(searchBaseContext);
+            releaseContext(dirContext, success);
+            LDAPServerStoreMetrics.record("addServicePrinciple", startTime, success);
+        }
+    }
+
+    /**
+     * Add the given service principles using a single directory context. The existing uids are resolved with a
+     * single search per batch of principles instead of a search per principle.
+     *
+     * @param principles Service principles to add, along with their descriptions and passwords.
+     * @return Names of the service principles which could not be added.
+     * @throws DirectoryServerManagerException If the directory context could not be retrieved.
+     */
+    public String[] addServicePrinciples(ServerPrinciple[] principles) throws DirectoryServerManagerException {
+
+        if (principles == null || principles.length == 0) {
+            return new String[0];
+        }
+
+        long startTime = System.nanoTime();
+        List<String> failedPrinciples = new ArrayList<>();
+        DirContext dirContext;
+        try {
+            dirContext = getContext();
+        } catch (UserStoreException e) {
+            LDAPServerStoreMetrics.record("addServicePrinciples", startTime, false);
+            throw new DirectoryServerManagerException("An error occurred while retrieving LDAP connection context.", e);
+        }
+
+        String searchBase = this.realmConfiguration.getUserStoreProperty(LDAPConstants.USER_SEARCH_BASE);
+        boolean valid = true;
+        DirContext searchBaseContext = null;
+        try {
+            Set<String> serviceUids = new LinkedHashSet<>();
+            for (ServerPrinciple principle : principles) {
+                String[] components = principle.getServerName() == null ? new String[0] :
+                        principle.getServerName().split("/");
+                if (components.length == 2) {
+                    serviceUids.add(components[0]);
+                }
+            }
+            Set<String> existingUids = getExistingServiceUids(dirContext, searchBase, serviceUids);
+
+            searchBaseContext = (DirContext) dirContext.lookup(searchBase);
+            for (ServerPrinciple principle : principles) {
+                String serverName = principle.getServerName();
+                String[] components = serverName == null ? new String[0] : serverName.split("/");
+                if (components.length != 2 || principle.getServerPassword() == null) {
+                    log.error("Invalid service principle provided for the bulk addition : " + serverName);
+                    failedPrinciples.add(serverName);
+                    continue;
+                }
+                String serverUid = existingUids.contains(components[0]) ? getUniqueServiceUid(serverName) :
+                        components[0];
+                try {
+                    BasicAttributes basicAttributes = new BasicAttributes(true);
+                    constructBasicAttributes(basicAttributes, serverUid, serverName, principle.getServerPassword(),
+                            principle.getServerDescription(),
+                            LDAPServerManagerConstants.SERVER_PRINCIPAL_ATTRIBUTE_VALUE);
+                    searchBaseContext.bind(LDAPServerManagerConstants.LDAP_UID + "=" + serverUid, null,
+                            basicAttributes);
+                    existingUids.add(serverUid);
+                } catch (NamingException e) {
+                    log.error("Unable to add service principle " + serverName + ". Can not access the directory " +
+                            "context or the principle already exists in the system", e);
+                    failedPrinciples.add(serverName);
+                }
+            }
+        } catch (NamingException e) {
+            valid = false;
+            log.error("Unable to add service principles. Can not access the directory service", e);
+            throw new DirectoryServerManagerException("Can not access the directory service", e);
+        } finally {
+            closeContext(searchBaseContext);
+            releaseContext(dirContext, valid);
+            LDAPServerStoreMetrics.record("addServicePrinciples", startTime, valid && failedPrinciples.isEmpty());
+        }
+        return failedPrinciples.toArray(new String[0]);
+    }
+
+    private Set<String> getExistingServiceUids(DirContext dirContext, String searchBase, Set<String> uids)
+            throws NamingException {
+
+        // The uid attribute is matched case insensitively by the directory server.
+        Set<String> existingUids = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        SearchControls searchControls = new SearchControls();
+        searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        searchControls.setReturningAttributes(new String[]{LDAPServerManagerConstants.LDAP_UID});
+
+        List<String> uidList = new ArrayList<>(uids);
+        for (int i = 0; i < uidList.size(); i += BATCH_FILTER_SIZE) {
+            StringBuilder filter = new StringBuilder("(&(|");
+            for (String uid : uidList.subList(i, Math.min(i + BATCH_FILTER_SIZE, uidList.size()))) {
+                filter.append("(").append(LDAPServerManagerConstants.LDAP_UID).append("=")
+                        .append(LDAPServerStoreManagerUtil.escapeSpecialCharactersForFilter(uid)).append(")");
+            }
+            filter.append(")").append(getServerPrincipleIncludeString()).append(")");
+
+            NamingEnumeration<SearchResult> namingEnumeration = dirContext.search(searchBase, filter.toString(),
+                    searchControls);
+            while (namingEnumeration.hasMore()) {
+                Attributes attributes = namingEnumeration.next().getAttributes();
+                Attribute uidAttribute = attributes == null ? null :
+                        attributes.get(LDAPServerManagerConstants.LDAP_UID);
+                if (uidAttribute != null) {
+                    existingUids.add((String) uidAttribute.get());
+                }
             }
         }
+        return existingUids;
     }
 
     private void constructBasicAttributes(BasicAttributes basicAttributes, String id, String principleName,
@@ -370,52 +502,25 @@ public class LDAPServerStoreManager {
         String[] returnedAtts = {LDAPServerManagerConstants.KRB5_PRINCIPAL_NAME_ATTRIBUTE,
                                  LDAPServerManagerConstants.LDAP_COMMON_NAME};
         searchCtls.setReturningAttributes(returnedAtts);
+        int pageSize = getIntProperty(LDAPServerManagerConstants.SEARCH_PAGE_SIZE_PROPERTY, 0);
+        long startTime = System.nanoTime();
+        boolean success = false;
         DirContext dirContext = null;
         try {
-            dirContext = connectionSource.getContext();
-            NamingEnumeration<SearchResult> answer = dirContext.search(searchBase, buff.toString(),
-                                                                       searchCtls);
+            dirContext = getContext();
             List<ServerPrinciple> list = new ArrayList<ServerPrinciple>();
-            int i = 0;
-            while (answer.hasMoreElements() && i < maxItemLimit) {
-                SearchResult sr = answer.next();
-                if (sr.getAttributes() != null) {
-                    Attribute serverNameAttribute = sr.getAttributes()
-                            .get(LDAPServerManagerConstants.KRB5_PRINCIPAL_NAME_ATTRIBUTE);
-                    Attribute serverDescription = sr.getAttributes().get(LDAPServerManagerConstants.LDAP_COMMON_NAME);
-                    if (serverNameAttribute != null) {
-
-                        ServerPrinciple principle;
-                        String serviceName;
-                        String serverPrincipleFullName = (String) serverNameAttribute.get();
-
-                        if (serverPrincipleFullName.toLowerCase(Locale.ENGLISH)
-                                .contains(LDAPServerManagerConstants.KERBEROS_TGT)) {
-                            continue;
-                        }
-
-                        if (serverPrincipleFullName.contains("@")) {
-                            serviceName = serverPrincipleFullName.split("@")[0];
-                        } else {
-                            serviceName = serverPrincipleFullName;
-                        }
-
-                        if (serverDescription != null) {
-                            principle = new ServerPrinciple(serviceName,
-                                                            (String) serverDescription.get());
-                        } else {
-
-                            principle = new ServerPrinciple(serviceName);
-                        }
-
-                        list.add(principle);
-                        i++;
-                    }
-                }
+            if (pageSize > 0 && dirContext instanceof LdapContext) {
+                searchPaged((LdapContext) dirContext, searchBase, buff.toString(), searchCtls, pageSize,
+                        maxItemLimit, list);
+            } else {
+                NamingEnumeration<SearchResult> answer = dirContext.search(searchBase, buff.toString(),
+                                                                           searchCtls);
+                addServicePrinciples(answer, maxItemLimit, list);
             }
 
             serverNames = list.toArray(new ServerPrinciple[list.size()]);
             Arrays.sort(serverNames);
+            success = true;
 
         } catch (NamingException e) {
             log.error(e.getMessage(), e);
@@ -424,16 +529,90 @@ public class LDAPServerStoreManager {
             log.error("Unable to retrieve LDAP connection context.", e);
             throw new DirectoryServerManagerException("Unable to list service principles.", e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
-            }
+            releaseContext(dirContext, success);
+            LDAPServerStoreMetrics.record("listServicePrinciples", startTime, success);
         }
         return serverNames;
 
     }
 
+    /**
+     * Search the service principles page by page using the paged results control, so that large directories are
+     * not returned in a single response.
+     */
+    private void searchPaged(LdapContext ldapContext, String searchBase, String filter, SearchControls searchControls,
+                             int pageSize, int maxItemLimit, List<ServerPrinciple> list) throws NamingException {
+
+        try {
+            byte[] cookie = null;
+            do {
+                ldapContext.setRequestControls(new Control[]{new PagedResultsControl(pageSize, cookie,
+                        Control.NONCRITICAL)});
+                NamingEnumeration<SearchResult> answer = ldapContext.search(searchBase, filter, searchControls);
+                addServicePrinciples(answer, maxItemLimit, list);
+                cookie = getPagedResultsCookie(ldapContext.getResponseControls());
+            } while (cookie != null && cookie.length > 0 && list.size() < maxItemLimit);
+        } catch (IOException e) {
+            throw new NamingException("Unable to create the paged results control. " + e.getMessage());
+        } finally {
+            // Contexts can be pooled, hence the paging control must not be left on the context.
+            ldapContext.setRequestControls(null);
+        }
+    }
+
+    private byte[] getPagedResultsCookie(Control[] responseControls) {
+
+        if (responseControls == null) {
+            return null;
+        }
+        for (Control control : responseControls) {
+            if (control instanceof PagedResultsResponseControl) {
+                return ((PagedResultsResponseControl) control).getCookie();
+            }
+        }
+        return null;
+    }
+
+    private void addServicePrinciples(NamingEnumeration<SearchResult> answer, int maxItemLimit,
+                                      List<ServerPrinciple> list) throws NamingException {
+
+        while (answer.hasMoreElements() && list.size() < maxItemLimit) {
+            SearchResult sr = answer.next();
+            if (sr.getAttributes() != null) {
+                Attribute serverNameAttribute = sr.getAttributes()
+                        .get(LDAPServerManagerConstants.KRB5_PRINCIPAL_NAME_ATTRIBUTE);
+                Attribute serverDescription = sr.getAttributes().get(LDAPServerManagerConstants.LDAP_COMMON_NAME);
+                if (serverNameAttribute != null) {
+
+                    ServerPrinciple principle;
+                    String serviceName;
+                    String serverPrincipleFullName = (String) serverNameAttribute.get();
+
+                    if (serverPrincipleFullName.toLowerCase(Locale.ENGLISH)
+                            .contains(LDAPServerManagerConstants.KERBEROS_TGT)) {
+                        continue;
+                    }
+
+                    if (serverPrincipleFullName.contains("@")) {
+                        serviceName = serverPrincipleFullName.split("@")[0];
+                    } else {
+                        serviceName = serverPrincipleFullName;
+                    }
+
+                    if (serverDescription != null) {
+                        principle = new ServerPrinciple(serviceName,
+                                                        (String) serverDescription.get());
+                    } else {
+
+                        principle = new ServerPrinciple(serviceName);
+                    }
+
+                    list.add(principle);
+                }
+            }
+        }
+    }
+
     private String getFullyQualifiedPrincipalName(String principleName) {
 
         String defaultRealmName = getRealmName();
@@ -514,11 +693,14 @@ public class LDAPServerStoreManager {
     public void updateServicePrinciplePassword(String serverName, Object oldCredential, Object newCredentials)
             throws DirectoryServerManagerException {
 
+        long startTime = System.nanoTime();
+        boolean success = false;
         DirContext dirContext;
 
         try {
-            dirContext = this.connectionSource.getContext();
+            dirContext = getContext();
         } catch (UserStoreException e) {
+            LDAPServerStoreMetrics.record("updateServicePrinciplePassword", startTime, false);
             throw new DirectoryServerManagerException("Unable to retrieve directory connection.", e);
         }
 
@@ -530,6 +712,7 @@ public class LDAPServerStoreManager {
         searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
         searchControls.setReturningAttributes(new String[]{LDAPServerManagerConstants.LDAP_PASSWORD});
 
+        DirContext searchBaseContext = null;
         try {
             NamingEnumeration<SearchResult> namingEnumeration = dirContext
                     .search(searchBase, searchFilter, searchControls);
@@ -547,30 +730,34 @@ public class LDAPServerStoreManager {
                 basicAttributes.put(newPasswordAttribute);
 
                 String dnName = searchResult.getName();
-                dirContext = (DirContext) dirContext.lookup(searchBase);
+                if (searchBaseContext == null) {
+                    searchBaseContext = (DirContext) dirContext.lookup(searchBase);
+                }
 
-                dirContext.modifyAttributes(dnName, DirContext.REPLACE_ATTRIBUTE, basicAttributes);
+                searchBaseContext.modifyAttributes(dnName, DirContext.REPLACE_ATTRIBUTE, basicAttributes);
             }
+            success = true;
 
         } catch (NamingException e) {
             log.error("Unable to update server principle password details. Server name - " + serverName);
             throw new DirectoryServerManagerException("Can not access the directory service", e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
-            }
+            closeContext(searchBaseContext);
+            releaseContext(dirContext, success);
+            LDAPServerStoreMetrics.record("updateServicePrinciplePassword", startTime, success);
         }
     }
 
     public ServerPrinciple getServicePrinciple(String serverName) throws DirectoryServerManagerException {
 
+        long startTime = System.nanoTime();
+        boolean success = false;
         DirContext dirContext;
 
         try {
-            dirContext = this.connectionSource.getContext();
+            dirContext = getContext();
         } catch (UserStoreException e) {
+            LDAPServerStoreMetrics.record("getServicePrinciple", startTime, false);
             throw new DirectoryServerManagerException("Unable to retrieve directory connection.", e);
         }
 
@@ -597,27 +784,29 @@ public class LDAPServerStoreManager {
                 String userPassword = (String)attributes.get(LDAPServerManagerConstants.LDAP_PASSWORD).get();
                 String description = (String)attributes.get(LDAPServerManagerConstants.LDAP_COMMON_NAME).get();
 
+                success = true;
                 return new ServerPrinciple(serverName, description, userPassword);
             }
+            success = true;
             return null;
         } catch (NamingException e) {
             throw new DirectoryServerManagerException("Can not access the directory service", e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
-            }
+            releaseContext(dirContext, success);
+            LDAPServerStoreMetrics.record("getServicePrinciple", startTime, success);
         }
     }
 
     public boolean isValidPassword(String serverName, Object existingCredentials)
             throws DirectoryServerManagerException {
 
+        long startTime = System.nanoTime();
+        boolean success = false;
         DirContext dirContext;
         try {
-            dirContext = this.connectionSource.getContext();
+            dirContext = getContext();
         } catch (UserStoreException e) {
+            LDAPServerStoreMetrics.record("isValidPassword", startTime, false);
             throw new DirectoryServerManagerException("Unable to retrieve directory connection.", e);
         }
 
@@ -651,20 +840,19 @@ public class LDAPServerStoreManager {
                         passwordHashMethod = password.substring(password.indexOf("{") + 1, password.indexOf("}"));
                     }
 
+                    success = true;
                     return password.equals(getPasswordToStore((String) existingCredentials, passwordHashMethod));
                 }
             }
+            success = true;
 
         } catch (NamingException e) {
             log.error("Failed, validating password. Can not access the directory service", e);
             throw new DirectoryServerManagerException("Failed, validating password. " +
                                                       "Can not access the directory service", e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
-            }
+            releaseContext(dirContext, success);
+            LDAPServerStoreMetrics.record("isValidPassword", startTime, success);
         }
 
         return false;
@@ -672,9 +860,10 @@ public class LDAPServerStoreManager {
 
     private String lookupUserId(String serverName) throws DirectoryServerManagerException {
 
+        boolean success = false;
         DirContext dirContext;
         try {
-            dirContext = this.connectionSource.getContext();
+            dirContext = getContext();
         } catch (UserStoreException e) {
             throw new DirectoryServerManagerException("Unable to retrieve directory connection.", e);
         }
@@ -701,8 +890,11 @@ public class LDAPServerStoreManager {
                 Attributes attributes = searchResult.getAttributes();
 
                 Attribute userId = attributes.get("uid");
-                return (String) userId.get();
+                String uid = (String) userId.get();
+                success = true;
+                return uid;
             } else {
+                success = true;
                 return null;
             }
 
@@ -710,11 +902,7 @@ public class LDAPServerStoreManager {
             log.error("Could not find user id for given server " + serverName, e);
             throw new DirectoryServerManagerException("Could not find user id for given server " + serverName, e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
-            }
+            releaseContext(dirContext, success);
         }
 
     }
@@ -722,37 +910,193 @@ public class LDAPServerStoreManager {
     public void deleteServicePrinciple(String serverName)
             throws DirectoryServerManagerException {
 
+        long startTime = System.nanoTime();
+        boolean success = false;
+        String userId;
+        try {
+            userId = lookupUserId(serverName);
+        } catch (DirectoryServerManagerException e) {
+            LDAPServerStoreMetrics.record("deleteServicePrinciple", startTime, false);
+            throw e;
+        }
+
+        if (userId == null) {
+            LDAPServerStoreMetrics.record("deleteServicePrinciple", startTime, false);
+            throw new DirectoryServerManagerException("Could not find user id for given server principle " +
+                                                      serverName);
+        }
+
         DirContext dirContext;
         try {
-            dirContext = this.connectionSource.getContext();
+            dirContext = getContext();
         } catch (UserStoreException e) {
+            LDAPServerStoreMetrics.record("deleteServicePrinciple", startTime, false);
             throw new DirectoryServerManagerException("Unable to retrieve directory connection.", e);
         }
 
         String searchBase = this.realmConfiguration.getUserStoreProperty(LDAPConstants.USER_SEARCH_BASE);
+        DirContext searchBaseContext = null;
+        try {
+            searchBaseContext = (DirContext) dirContext.lookup(searchBase);
+            searchBaseContext.unbind("uid=" + userId);
+            success = true;
 
-        String userId = lookupUserId(serverName);
+        } catch (NamingException e) {
+            log.error("Could not remove service principle " + serverName, e);
+            throw new DirectoryServerManagerException("Could not remove service principle " + serverName, e);
+        } finally {
+            closeContext(searchBaseContext);
+            releaseContext(dirContext, success);
+            LDAPServerStoreMetrics.record("deleteServicePrinciple", startTime, success);
+        }
 
-        if (userId == null) {
-            throw new DirectoryServerManagerException("Could not find user id for given server principle " +
-                                                      serverName);
+    }
+
+    /**
+     * Delete the given service principles using a single directory context. The uids of the principles are resolved
+     * with a single search per batch of principles instead of a search per principle.
+     *
+     * @param serverNames Names of the service principles to delete.
+     * @return Names of the service principles which could not be found or deleted.
+     * @throws DirectoryServerManagerException If the directory context could not be retrieved.
+     */
+    public String[] deleteServicePrinciples(String[] serverNames) throws DirectoryServerManagerException {
+
+        if (serverNames == null || serverNames.length == 0) {
+            return new String[0];
         }
 
+        long startTime = System.nanoTime();
+        Set<String> failedPrinciples = new LinkedHashSet<>(Arrays.asList(serverNames));
+        DirContext dirContext;
         try {
-            dirContext = (DirContext) dirContext.lookup(searchBase);
-            dirContext.unbind("uid=" + userId);
+            dirContext = getContext();
+        } catch (UserStoreException e) {
+            LDAPServerStoreMetrics.record("deleteServicePrinciples", startTime, false);
+            throw new DirectoryServerManagerException("Unable to retrieve directory connection.", e);
+        }
 
+        String searchBase = this.realmConfiguration.getUserStoreProperty(LDAPConstants.USER_SEARCH_BASE);
+        boolean valid = true;
+        DirContext searchBaseContext = null;
+        try {
+            Map<String, String> userIds = lookupUserIds(dirContext, searchBase, serverNames);
+            searchBaseContext = (DirContext) dirContext.lookup(searchBase);
+            for (String serverName : serverNames) {
+                String userId = userIds.get(getFullyQualifiedPrincipalName(serverName));
+                if (userId == null) {
+                    log.error("Could not find user id for given server principle " + serverName);
+                    continue;
+                }
+                try {
+                    searchBaseContext.unbind("uid=" + userId);
+                    failedPrinciples.remove(serverName);
+                } catch (NamingException e) {
+                    log.error("Could not remove service principle " + serverName, e);
+                }
+            }
         } catch (NamingException e) {
-            log.error("Could not remove service principle " + serverName, e);
-            throw new DirectoryServerManagerException("Could not remove service principle " + serverName, e);
+            valid = false;
+            log.error("Unable to remove service principles. Can not access the directory service", e);
+            throw new DirectoryServerManagerException("Can not access the directory service", e);
         } finally {
-            try {
-                JNDIUtil.closeContext(dirContext);
-            } catch (UserStoreException e) {
-                log.error("Unable to close directory context.", e);
+            closeContext(searchBaseContext);
+            releaseContext(dirContext, valid);
+            LDAPServerStoreMetrics.record("deleteServicePrinciples", startTime, valid && failedPrinciples.isEmpty());
+        }
+        return failedPrinciples.toArray(new String[0]);
+    }
+
+    private Map<String, String> lookupUserIds(DirContext dirContext, String searchBase, String[] serverNames)
+            throws NamingException {
+
+        // The principal names are matched case insensitively by the directory server, so the returned names may differ
+        // in case from the requested names.
+        Map<String, String> userIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        SearchControls searchControls = new SearchControls();
+        searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        searchControls.setReturningAttributes(new String[]{LDAPServerManagerConstants.LDAP_UID,
+                LDAPServerManagerConstants.KRB5_PRINCIPAL_NAME_ATTRIBUTE});
+
+        for (int i = 0; i < serverNames.length; i += BATCH_FILTER_SIZE) {
+            StringBuilder filter = new StringBuilder("(&(|");
+            for (String serverName : Arrays.copyOfRange(serverNames, i,
+                    Math.min(i + BATCH_FILTER_SIZE, serverNames.length))) {
+                filter.append("(").append(LDAPServerManagerConstants.KRB5_PRINCIPAL_NAME_ATTRIBUTE).append("=")
+                        .append(getFullyQualifiedPrincipalName(
+                                LDAPServerStoreManagerUtil.escapeSpecialCharactersForFilter(serverName)))
+                        .append(")");
+            }
+            filter.append(")").append(getServerPrincipleIncludeString()).append(")");
+
+            NamingEnumeration<SearchResult> namingEnumeration = dirContext.search(searchBase, filter.toString(),
+                    searchControls);
+            while (namingEnumeration.hasMore()) {
+                Attributes attributes = namingEnumeration.next().getAttributes();
+                if (attributes == null) {
+                    continue;
+                }
+                Attribute userId = attributes.get(LDAPServerManagerConstants.LDAP_UID);
+                Attribute principalName = attributes.get(LDAPServerManagerConstants.KRB5_PRINCIPAL_NAME_ATTRIBUTE);
+                if (userId != null && principalName != null) {
+                    userIds.put((String) principalName.get(), (String) userId.get());
+                }
             }
         }
+        return userIds;
+    }
 
+    private DirContext getContext() throws UserStoreException {
+
+        if (contextPool != null) {
+            return contextPool.borrowContext();
+        }
+        return this.connectionSource.getContext();
+    }
+
+    /**
+     * Release a context obtained from {@link #getContext()}, returning it to the pool when pooling is enabled.
+     *
+     * @param dirContext Directory context to release.
+     * @param valid      Whether the context can be reused.
+     */
+    private void releaseContext(DirContext dirContext, boolean valid) {
+
+        if (dirContext == null) {
+            return;
+        }
+        if (contextPool != null) {
+            contextPool.returnContext(dirContext, valid);
+            return;
+        }
+        closeContext(dirContext);
+    }
+
+    private void closeContext(DirContext dirContext) {
+
+        if (dirContext == null) {
+            return;
+        }
+        try {
+            JNDIUtil.closeContext(dirContext);
+        } catch (UserStoreException e) {
+            log.error("Unable to close directory context.", e);
+        }
+    }
+
+    private int getIntProperty(String propertyName, int defaultValue) {
+
+        String value = this.realmConfiguration.getUserStoreProperty(propertyName);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value : " + value + " configured for the property : " + propertyName +
+                    ". Using the default value : " + defaultValue);
+            return defaultValue;
+        }
     }
 
     private String getRealmName() {
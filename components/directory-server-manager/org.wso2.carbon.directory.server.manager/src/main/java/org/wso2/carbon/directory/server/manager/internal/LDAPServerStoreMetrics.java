@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.directory.server.manager.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of the operations done by the {@link LDAPServerStoreManager} against the directory server.
+ * Operations slower than the slow operation threshold are logged as warnings, and all the operations are logged when
+ * debug logs are enabled.
+ */
+class LDAPServerStoreMetrics {
+
+    private static final Log log = LogFactory.getLog(LDAPServerStoreMetrics.class);
+
+    private static final long SLOW_OPERATION_THRESHOLD_IN_MILLIS = 5000;
+
+    private LDAPServerStoreMetrics() {
+
+    }
+
+    /**
+     * Record the completion of an operation.
+     *
+     * @param operation Name of the operation.
+     * @param startTime Start time of the operation as given by {@link System#nanoTime()}.
+     * @param success   Whether the operation completed successfully.
+     */
+    static void record(String operation, long startTime, boolean success) {
+
+        long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        if (elapsedTime >= SLOW_OPERATION_THRESHOLD_IN_MILLIS) {
+            log.warn("Directory server operation : " + operation + " took " + elapsedTime + " ms. Success : " +
+                    success);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Directory server operation : " + operation + " completed in " + elapsedTime + " ms. " +
+                    "Success : " + success);
+        }
+    }
+}
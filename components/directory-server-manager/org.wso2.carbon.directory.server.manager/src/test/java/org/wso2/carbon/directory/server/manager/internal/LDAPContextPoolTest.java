@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.directory.server.manager.internal;
+
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.user.core.config.RealmConfiguration;
+import org.wso2.carbon.user.core.ldap.LDAPConnectionContext;
+import org.wso2.carbon.user.core.ldap.LDAPConstants;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class LDAPContextPoolTest {
+
+    private LDAPConnectionContext connectionSource;
+    private RealmConfiguration realmConfiguration;
+
+    @BeforeMethod
+    public void setUp() {
+
+        connectionSource = mock(LDAPConnectionContext.class);
+        realmConfiguration = new RealmConfiguration();
+        Map<String, String> properties = new HashMap<>();
+        properties.put(LDAPConstants.CONNECTION_URL, "ldap://localhost:10389");
+        properties.put(LDAPConstants.CONNECTION_NAME, "uid=admin,ou=system");
+        properties.put(LDAPConstants.CONNECTION_PASSWORD, "secret");
+        realmConfiguration.setUserStoreProperties(properties);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        LDAPContextPool.closeAll();
+    }
+
+    @Test
+    public void testContextIsReused() throws Exception {
+
+        DirContext context = mock(DirContext.class);
+        when(connectionSource.getContext()).thenReturn(context);
+        LDAPContextPool pool = LDAPContextPool.getPool(realmConfiguration, connectionSource, 2);
+
+        DirContext borrowedContext = pool.borrowContext();
+        pool.returnContext(borrowedContext, true);
+
+        assertSame(pool.borrowContext(), context);
+        verify(connectionSource, times(1)).getContext();
+        verify(context, never()).getAttributes(anyString(), any(String[].class));
+    }
+
+    @Test
+    public void testFailedContextIsDiscarded() throws Exception {
+
+        DirContext failedContext = mock(DirContext.class);
+        DirContext newContext = mock(DirContext.class);
+        when(connectionSource.getContext()).thenReturn(failedContext, newContext);
+        LDAPContextPool pool = LDAPContextPool.getPool(realmConfiguration, connectionSource, 2);
+
+        pool.returnContext(pool.borrowContext(), false);
+
+        assertSame(pool.borrowContext(), newContext);
+        verify(failedContext).close();
+    }
+
+    @Test
+    public void testStaleIdleContextIsReplaced() throws Exception {
+
+        DirContext staleContext = mock(DirContext.class);
+        DirContext newContext = mock(DirContext.class);
+        when(connectionSource.getContext()).thenReturn(staleContext, newContext);
+        when(staleContext.getAttributes(anyString(), any(String[].class)))
+                .thenThrow(new NamingException("Connection closed."));
+        LDAPContextPool pool = LDAPContextPool.getPool(realmConfiguration, connectionSource, 2);
+
+        pool.returnContext(pool.borrowContext(), true);
+        expireIdleContexts(pool);
+
+        assertSame(pool.borrowContext(), newContext);
+        verify(staleContext).close();
+    }
+
+    @Test
+    public void testValidIdleContextIsReused() throws Exception {
+
+        DirContext context = mock(DirContext.class);
+        when(connectionSource.getContext()).thenReturn(context);
+        LDAPContextPool pool = LDAPContextPool.getPool(realmConfiguration, connectionSource, 2);
+
+        pool.returnContext(pool.borrowContext(), true);
+        expireIdleContexts(pool);
+
+        assertSame(pool.borrowContext(), context);
+        verify(connectionSource, times(1)).getContext();
+        verify(context).getAttributes(anyString(), any(String[].class));
+    }
+
+    @Test
+    public void testPoolIsReplacedOnConfigurationChange() throws Exception {
+
+        DirContext context = mock(DirContext.class);
+        when(connectionSource.getContext()).thenReturn(context);
+        LDAPContextPool pool = LDAPContextPool.getPool(realmConfiguration, connectionSource, 2);
+        assertSame(LDAPContextPool.getPool(realmConfiguration, connectionSource, 2), pool);
+
+        DirContext borrowedContext = pool.borrowContext();
+        realmConfiguration.getUserStoreProperties().put(LDAPConstants.CONNECTION_PASSWORD, "changed");
+        LDAPContextPool newPool = LDAPContextPool.getPool(realmConfiguration, connectionSource, 2);
+        assertNotSame(newPool, pool);
+
+        // A context borrowed from the retired pool is closed when it is returned.
+        pool.returnContext(borrowedContext, true);
+        verify(context).close();
+    }
+
+    private void expireIdleContexts(LDAPContextPool pool) {
+
+        Deque<?> idleContexts = Whitebox.getInternalState(pool, "idleContexts");
+        for (Object idleContext : idleContexts) {
+            Whitebox.setInternalState(idleContext, "returnedTime", 0L);
+        }
+    }
+}
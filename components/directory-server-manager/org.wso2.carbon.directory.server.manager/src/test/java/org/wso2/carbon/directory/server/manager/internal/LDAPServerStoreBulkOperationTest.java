@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.directory.server.manager.internal;
+
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.config.RealmConfiguration;
+import org.wso2.carbon.user.core.ldap.LDAPConnectionContext;
+import org.wso2.carbon.user.core.ldap.LDAPConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.naming.NamingEnumeration;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.SearchControls;
+import javax.naming.directory.SearchResult;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+public class LDAPServerStoreBulkOperationTest {
+
+    private static final String SEARCH_BASE = "ou=Users,dc=example,dc=com";
+
+    private LDAPServerStoreManager serverStoreManager;
+    private DirContext dirContext;
+    private DirContext searchBaseContext;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        RealmConfiguration realmConfiguration = new RealmConfiguration();
+        Map<String, String> properties = new HashMap<>();
+        properties.put(LDAPConstants.USER_SEARCH_BASE, SEARCH_BASE);
+        properties.put(UserCoreConstants.RealmConfig.DEFAULT_REALM_NAME, "EXAMPLE.COM");
+        properties.put(LDAPConstants.CONNECTION_URL, "ldap://localhost:10389");
+        properties.put(LDAPConstants.CONNECTION_NAME, "uid=admin,ou=system");
+        properties.put(LDAPConstants.CONNECTION_PASSWORD, "secret");
+        realmConfiguration.setUserStoreProperties(properties);
+        serverStoreManager = new LDAPServerStoreManager(realmConfiguration);
+
+        dirContext = mock(DirContext.class);
+        searchBaseContext = mock(DirContext.class);
+        when(dirContext.lookup(SEARCH_BASE)).thenReturn(searchBaseContext);
+        LDAPConnectionContext connectionSource = mock(LDAPConnectionContext.class);
+        when(connectionSource.getContext()).thenReturn(dirContext);
+        Whitebox.setInternalState(serverStoreManager, "connectionSource", connectionSource);
+    }
+
+    @Test
+    public void testDeleteMatchesPrincipalNamesCaseInsensitively() throws Exception {
+
+        BasicAttributes attributes = new BasicAttributes(true);
+        attributes.put(LDAPServerManagerConstants.LDAP_UID, "ftp");
+        // The directory server returns the principal name as it was stored, which differs in case from the request.
+        attributes.put(LDAPServerManagerConstants.KRB5_PRINCIPAL_NAME_ATTRIBUTE, "FTP/LocalHost@EXAMPLE.COM");
+        NamingEnumeration<SearchResult> searchResults = mockSearchResults(new SearchResult("uid=ftp", null,
+                attributes));
+        when(dirContext.search(eq(SEARCH_BASE), anyString(), any(SearchControls.class))).thenReturn(searchResults);
+
+        String[] failedPrinciples = serverStoreManager.deleteServicePrinciples(
+                new String[]{"ftp/localhost", "ssh/localhost"});
+
+        assertEquals(failedPrinciples, new String[]{"ssh/localhost"});
+        verify(searchBaseContext).unbind("uid=ftp");
+        verify(searchBaseContext, never()).unbind("uid=ssh");
+    }
+
+    @SuppressWarnings("unchecked")
+    private NamingEnumeration<SearchResult> mockSearchResults(SearchResult searchResult) throws Exception {
+
+        NamingEnumeration<SearchResult> searchResults = mock(NamingEnumeration.class);
+        when(searchResults.hasMore()).thenReturn(true, false);
+        when(searchResults.next()).thenReturn(searchResult);
+        return searchResults;
+    }
+}
@@ -19,6 +19,9 @@
 package org.wso2.carbon.identity.entitlement.endpoint.resources;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -40,9 +43,13 @@ import org.wso2.carbon.identity.entitlement.endpoint.resources.models.HomeRespon
 import org.wso2.carbon.identity.entitlement.endpoint.util.EntitlementEndpointConstants;
 import org.wso2.carbon.identity.entitlement.endpoint.util.JSONRequestParser;
 import org.wso2.carbon.identity.entitlement.endpoint.util.JSONResponseWriter;
+import org.wso2.carbon.identity.entitlement.endpoint.util.JSONStreamingRequestParser;
+import org.wso2.carbon.identity.entitlement.pdp.BatchDecisionEvaluator;
 import org.wso2.carbon.identity.entitlement.pdp.EntitlementEngine;
 import org.wso2.carbon.identity.entitlement.policy.search.PolicySearch;
 
+import java.util.ArrayList;
+import java.util.List;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
@@ -124,7 +131,7 @@ public class DecisionResource extends AbstractResource {
         EntitlementEngine entitlementEngine = EntitlementEngine.getInstance();
 
         if (contentType.equals(EntitlementEndpointConstants.APPLICATION_JSON)) {
-            RequestCtx requestCtx = JSONRequestParser.parse(xacmlRequest);
+            RequestCtx requestCtx = JSONStreamingRequestParser.parse(xacmlRequest);
             ResponseCtx responseCtx = entitlementEngine.evaluate(requestCtx, xacmlRequest);
             return gson.toJson(JSONResponseWriter.write(responseCtx));
         } else {
@@ -133,6 +140,69 @@ public class DecisionResource extends AbstractResource {
 
     }
 
+    /**
+     * API endpoint for evaluating a batch of XACML requests in parallel. A JSON batch carries the individual
+     * requests in a "Requests" array, and a XML batch is a XACML 3.0 multiple decision request.
+     *
+     * @return XACML response String with the results of all the requests
+     */
+    @POST
+    @Path("pdp-batch")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @ApiOperation(value = "Get combined response by evaluating a batch of JSON/XML XACML requests",
+            response = String.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "XACML JSON/XML Response"),
+            @ApiResponse(code = 40010, message = EntitlementEndpointConstants.ERROR_UNAUTHORIZED_MESSAGE,
+                    response = ExceptionBean.class),
+            @ApiResponse(code = 40020, message = EntitlementEndpointConstants.ERROR_REQUEST_PARSE_MESSAGE,
+                    response = ExceptionBean.class),
+            @ApiResponse(code = 40010, message = EntitlementEndpointConstants.ERROR_RESPONSE_READ_MESSAGE,
+                    response = ExceptionBean.class)
+    })
+    public String getBatchDecision(@ApiParam(value = "Request Media Type", required = true)
+                                   @HeaderParam(EntitlementEndpointConstants.ACCEPT_HEADER) String format,
+                                   @ApiParam(value = "Authentication Type", required = true)
+                                   @HeaderParam(EntitlementEndpointConstants.AUTHENTICATION_TYPE_HEADER) String authMechanism,
+                                   @ApiParam(value = "Add HTTP Basic Authorization", required = true)
+                                   @HeaderParam(EntitlementEndpointConstants.AUTHORIZATION_HEADER) String authorization,
+                                   @ApiParam(value = "Response Media Type", required = true)
+                                   @HeaderParam(EntitlementEndpointConstants.CONTENT_TYPE_HEADER) String contentType,
+                                   @ApiParam(value = "XACML JSON/XML Request batch", required = true)
+                                           String xacmlRequest) throws Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("recieved :" + xacmlRequest);
+        }
+        BatchDecisionEvaluator batchDecisionEvaluator = BatchDecisionEvaluator.getInstance();
+
+        if (contentType.equals(EntitlementEndpointConstants.APPLICATION_JSON)) {
+            JsonArray jsonRequests;
+            try {
+                jsonRequests = gson.fromJson(xacmlRequest, JsonObject.class)
+                        .get(EntitlementEndpointConstants.BATCH_REQUESTS).getAsJsonArray();
+            } catch (Exception e) {
+                throw new RequestParseException("Error in JSON Request batch String");
+            }
+            batchDecisionEvaluator.checkRequestCount(jsonRequests.size());
+
+            List<BatchDecisionEvaluator.DecisionRequest> requests = new ArrayList<>();
+            for (JsonElement jsonRequest : jsonRequests) {
+                if (!jsonRequest.isJsonObject()) {
+                    throw new RequestParseException("Error in JSON Request batch String");
+                }
+                RequestCtx requestCtx = JSONRequestParser.parse(jsonRequest.getAsJsonObject());
+                String request = jsonRequest.toString();
+                requests.add(engine -> engine.evaluate(requestCtx, request));
+            }
+            ResponseCtx responseCtx = batchDecisionEvaluator.evaluate(requests);
+            return gson.toJson(JSONResponseWriter.write(responseCtx));
+        } else {
+            return batchDecisionEvaluator.evaluate(xacmlRequest);
+        }
+    }
+
     /**
      * API endpoint for evaluating policy by attributes as queries
      *
@@ -153,8 +153,11 @@ public class EntitlementEndpointConstants {
     public static final String ATTRIBUTE_DATA_TYPE_XPATH_EXPRESSION_SHORT = "xpathExpression";
 
 
+    public static final String REQUEST = "Request";
     public static final String XPATH_VERSION = "XPathVersion";
     public static final String MULTI_REQUESTS = "MultiRequests";
+    public static final String REQUEST_REFERENCE = "RequestReference";
+    public static final String BATCH_REQUESTS = "Requests";
     public static final String REFERENCE_ID = "ReferenceId";
 
 
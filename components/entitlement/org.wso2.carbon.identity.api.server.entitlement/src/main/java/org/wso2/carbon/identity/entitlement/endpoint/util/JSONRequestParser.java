@@ -68,6 +68,27 @@ public class JSONRequestParser {
      */
     public static RequestCtx parse(String jsonRequest) throws JsonParseException, RequestParseException,
             UnknownIdentifierException {
+        JsonObject jsonObject;
+        try {
+            jsonObject = gson.fromJson(jsonRequest, JsonObject.class);
+        } catch (Exception e) {
+            throw new JsonParseException("Error in JSON Request String");
+        }
+        return parse(jsonObject);
+    }
+
+    /**
+     * Static method that will convert an already parsed XACML JSON Request to a <code>{@link RequestCtx}</code>
+     * instance
+     *
+     * @param jsonRequest <code>JsonObject</code> with JSON request
+     * @return <code>{@link RequestCtx}</code> instance that can be used to evaluate on Balana
+     * @throws JsonParseException         <code>{@link JsonParseException}</code>
+     * @throws RequestParseException      <code>{@link RequestParseException}</code>
+     * @throws UnknownIdentifierException <code>{@link UnknownIdentifierException}</code>
+     */
+    public static RequestCtx parse(JsonObject jsonRequest) throws JsonParseException, RequestParseException,
+            UnknownIdentifierException {
         JsonObject requestObject = null;
         Set<Attributes> categories = new HashSet<>();
         boolean returnPolicyIdList = false;
@@ -76,8 +97,7 @@ public class JSONRequestParser {
         RequestDefaults requestDefaults = null;
 
         try {
-            requestObject = gson.fromJson(jsonRequest, JsonObject.class);
-            requestObject = requestObject.get("Request").getAsJsonObject();
+            requestObject = jsonRequest.get("Request").getAsJsonObject();
         } catch (Exception e) {
             throw new JsonParseException("Error in JSON Request String");
         }
@@ -168,23 +188,7 @@ public class JSONRequestParser {
                 id = jsonCategory.get(EntitlementEndpointConstants.ID).getAsString();
             }
             if (jsonCategory.has(EntitlementEndpointConstants.CONTENT)) {
-                DocumentBuilderFactory dbf;
-                Document doc = null;
-
-                String xmlContent = stringContentToXMLContent(jsonCategory
-                        .get(EntitlementEndpointConstants.CONTENT)
-                        .getAsString());
-                dbf = IdentityUtil.getSecuredDocumentBuilderFactory();
-                dbf.setNamespaceAware(true);
-
-                try (ByteArrayInputStream inputStream = new ByteArrayInputStream(xmlContent.getBytes())) {
-                    doc = dbf.newDocumentBuilder().parse(inputStream);
-                } catch (Exception e) {
-                    throw new JsonParseException("DOM of request element can not be created from String.", e);
-                }
-                if (doc != null) {
-                    content = doc.getDocumentElement();
-                }
+                content = stringContentToNode(jsonCategory.get(EntitlementEndpointConstants.CONTENT).getAsString());
             }
 
             // Add all category attributes
@@ -204,6 +208,32 @@ public class JSONRequestParser {
         categories.add(attributesObj);
     }
 
+    /**
+     * Converts the given XML / Base64 encoded XML content of a category to a DOM node
+     *
+     * @param content XML or Base64 encoded XML
+     * @return <code>{@link Node}</code> with the content
+     * @throws RequestParseException
+     */
+    static Node stringContentToNode(String content) throws RequestParseException {
+        DocumentBuilderFactory dbf;
+        Document doc = null;
+
+        String xmlContent = stringContentToXMLContent(content);
+        dbf = IdentityUtil.getSecuredDocumentBuilderFactory();
+        dbf.setNamespaceAware(true);
+
+        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(xmlContent.getBytes())) {
+            doc = dbf.newDocumentBuilder().parse(inputStream);
+        } catch (Exception e) {
+            throw new JsonParseException("DOM of request element can not be created from String.", e);
+        }
+        if (doc != null) {
+            return doc.getDocumentElement();
+        }
+        return null;
+    }
+
     /**
      * Private methods used by the parser to convert a given <code>{@link JsonObject}</code>
      * to a Balana <code>{@link Attribute}</code>
@@ -285,7 +315,7 @@ public class JSONRequestParser {
     }
 
     /**
-     * Private methods constructing a Balana <code>{@link AttributeValue}</code> from given parameters
+     * Method constructing a Balana <code>{@link AttributeValue}</code> from given parameters
      *
      * @param value          <code>String</code> with the actual value of the Attribute
      * @param dataType       <code>URI</code> of the DataType of the value
@@ -293,7 +323,7 @@ public class JSONRequestParser {
      * @return <code>{@link AttributeValue}</code>
      * @throws UnknownIdentifierException
      */
-    private static AttributeValue getAttributeValue(String value, URI dataType, URI parentDataType)
+    static AttributeValue getAttributeValue(String value, URI dataType, URI parentDataType)
             throws UnknownIdentifierException {
         URI type = dataType;
         AttributeValue attributeValue = null;
@@ -339,7 +369,7 @@ public class JSONRequestParser {
      * @param category <code>String</code> with shorthand or fullname URI
      * @return <code>URI</code>
      */
-    private static URI stringCateogryToURI(String category) {
+    static URI stringCateogryToURI(String category) {
         URI uri = null;
         String uriName = category;
         switch (category) {
@@ -404,7 +434,7 @@ public class JSONRequestParser {
      * @param attribute <code>String</code>
      * @return <code>URI</code>
      */
-    private static URI stringAttributeToURI(String attribute) {
+    static URI stringAttributeToURI(String attribute) {
         String uriName = attribute;
         switch (attribute) {
             case EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_STRING_SHORT:
@@ -517,7 +547,7 @@ public class JSONRequestParser {
      * @return <code>String</code> with only XML
      * @throws RequestParseException
      */
-    private static String stringContentToXMLContent(String content) throws RequestParseException {
+    static String stringContentToXMLContent(String content) throws RequestParseException {
         if (content.startsWith("<")) {
             //todo : check if GSON automatically unescape the string
             return content;
@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.endpoint.util;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.w3c.dom.Node;
+import org.wso2.balana.UnknownIdentifierException;
+import org.wso2.balana.XACMLConstants;
+import org.wso2.balana.attr.AttributeValue;
+import org.wso2.balana.ctx.Attribute;
+import org.wso2.balana.ctx.xacml3.RequestCtx;
+import org.wso2.balana.xacml3.Attributes;
+import org.wso2.balana.xacml3.AttributesReference;
+import org.wso2.balana.xacml3.MultiRequests;
+import org.wso2.balana.xacml3.RequestDefaults;
+import org.wso2.balana.xacml3.RequestReference;
+import org.wso2.carbon.identity.entitlement.endpoint.exception.RequestParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class parses a XACML JSON request with a pull parser and builds the
+ * RequestCtx object directly, without building an intermediate JSON tree.
+ * The request is interpreted the same way as in {@link JSONRequestParser}.
+ */
+public class JSONStreamingRequestParser {
+
+    /**
+     * Static method that will convert a XACML JSON Request to a <code>{@link RequestCtx}</code> instance
+     *
+     * @param jsonRequest <code>String</code> with JSON request
+     * @return <code>{@link RequestCtx}</code> instance that can be used to evaluate on Balana
+     * @throws JsonParseException         <code>{@link JsonParseException}</code>
+     * @throws RequestParseException      <code>{@link RequestParseException}</code>
+     * @throws UnknownIdentifierException <code>{@link UnknownIdentifierException}</code>
+     */
+    public static RequestCtx parse(String jsonRequest) throws JsonParseException, RequestParseException,
+            UnknownIdentifierException {
+        if (jsonRequest == null) {
+            throw new JsonParseException("Error in JSON Request String");
+        }
+        return parse(new StringReader(jsonRequest));
+    }
+
+    /**
+     * Static method that will convert a XACML JSON Request read from the given reader to a
+     * <code>{@link RequestCtx}</code> instance
+     *
+     * @param jsonRequest <code>Reader</code> of the JSON request
+     * @return <code>{@link RequestCtx}</code> instance that can be used to evaluate on Balana
+     * @throws JsonParseException         <code>{@link JsonParseException}</code>
+     * @throws RequestParseException      <code>{@link RequestParseException}</code>
+     * @throws UnknownIdentifierException <code>{@link UnknownIdentifierException}</code>
+     */
+    public static RequestCtx parse(Reader jsonRequest) throws JsonParseException, RequestParseException,
+            UnknownIdentifierException {
+        RequestCtx requestCtx = null;
+
+        try (JsonReader reader = new JsonReader(jsonRequest)) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (EntitlementEndpointConstants.REQUEST.equals(reader.nextName())
+                        && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    requestCtx = readRequest(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonParseException("Error in JSON Request String", e);
+        }
+
+        if (requestCtx == null) {
+            throw new JsonParseException("Error in JSON Request String");
+        }
+        return requestCtx;
+    }
+
+    private static RequestCtx readRequest(JsonReader reader) throws IOException, RequestParseException,
+            UnknownIdentifierException {
+        Set<Attributes> categories = new HashSet<>();
+        boolean returnPolicyIdList = false;
+        boolean combinedDecision = false;
+        MultiRequests multiRequests = null;
+        RequestDefaults requestDefaults = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if (isPrimitive(token)) {
+                switch (name) {
+                    case XACMLConstants.RETURN_POLICY_LIST:
+                        returnPolicyIdList = readBoolean(reader);
+                        break;
+
+                    case XACMLConstants.COMBINE_DECISION:
+                        combinedDecision = readBoolean(reader);
+                        break;
+
+                    case EntitlementEndpointConstants.XPATH_VERSION:
+                        requestDefaults = new RequestDefaults(reader.nextString());
+                        break;
+
+                    default:
+                        reader.skipValue();
+                }
+            } else if (token == JsonToken.BEGIN_OBJECT) {
+                if (EntitlementEndpointConstants.MULTI_REQUESTS.equals(name)) {
+                    multiRequests = readMultiRequests(reader);
+                } else {
+                    categories.add(readCategory(reader, name));
+                }
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    categories.add(readCategory(reader, name));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new RequestCtx(null,
+                categories, returnPolicyIdList, combinedDecision, multiRequests, requestDefaults);
+    }
+
+    /**
+     * Reads a category object in to Balana <code>{@link Attributes}</code>
+     *
+     * @param reader reader positioned at the category object
+     * @param name   name of the category in the request
+     * @return <code>{@link Attributes}</code>
+     */
+    private static Attributes readCategory(JsonReader reader, String name) throws IOException,
+            RequestParseException, UnknownIdentifierException {
+        URI category = null;
+        String categoryId = null;
+        Node content = null;
+        Set<Attribute> attributes = null;
+        String id = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String property = reader.nextName();
+            JsonToken token = reader.peek();
+            if (EntitlementEndpointConstants.ATTRIBUTE.equals(property) && token == JsonToken.BEGIN_ARRAY) {
+                attributes = new HashSet<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    attributes.add(readAttribute(reader));
+                }
+                reader.endArray();
+            } else if (!isPrimitive(token)) {
+                reader.skipValue();
+            } else if (EntitlementEndpointConstants.CATEGORY_ID.equals(property)) {
+                categoryId = reader.nextString();
+            } else if (EntitlementEndpointConstants.ID.equals(property)) {
+                id = reader.nextString();
+            } else if (EntitlementEndpointConstants.CONTENT.equals(property)) {
+                content = JSONRequestParser.stringContentToNode(reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (!EntitlementEndpointConstants.CATEGORY_DEFAULT.equals(name)) {
+            category = JSONRequestParser.stringCateogryToURI(name);
+        } else if (categoryId != null) {
+            category = JSONRequestParser.stringCateogryToURI(categoryId);
+        }
+        return new Attributes(category, content, attributes, id);
+    }
+
+    /**
+     * Reads an attribute object in to a Balana <code>{@link Attribute}</code>
+     *
+     * @param reader reader positioned at the attribute object
+     * @return <code>{@link Attribute}</code>
+     */
+    private static Attribute readAttribute(JsonReader reader) throws IOException, RequestParseException,
+            UnknownIdentifierException {
+        URI id = null;
+        URI type = URI.create(EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_STRING);
+        boolean includeInResult = false;
+        String issuer = null;
+        List<String> values = new ArrayList<>();
+        List<URI> valueTypes = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String property = reader.nextName();
+            JsonToken token = reader.peek();
+            if (EntitlementEndpointConstants.ATTRIBUTE_VALUE.equals(property) && token == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (isPrimitive(reader.peek())) {
+                        valueTypes.add(readValue(reader, values));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endArray();
+            } else if (!isPrimitive(token)) {
+                reader.skipValue();
+            } else {
+                switch (property) {
+                    case EntitlementEndpointConstants.ATTRIBUTE_ID:
+                        id = JSONRequestParser.stringAttributeToURI(reader.nextString());
+                        break;
+
+                    case EntitlementEndpointConstants.ATTRIBUTE_ISSUER:
+                        issuer = reader.nextString();
+                        break;
+
+                    case EntitlementEndpointConstants.ATTRIBUTE_INCLUDE_IN_RESULT:
+                        includeInResult = readBoolean(reader);
+                        break;
+
+                    case EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE:
+                        type = JSONRequestParser.stringAttributeToURI(reader.nextString());
+                        break;
+
+                    case EntitlementEndpointConstants.ATTRIBUTE_VALUE:
+                        URI valueType = readValue(reader, values);
+                        valueTypes.add(valueType);
+
+                        // If a recognizable data type is given, it replaces the string data type.
+                        if (type.toString().equals(EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_STRING)) {
+                            type = valueType;
+                        }
+                        break;
+
+                    default:
+                        reader.skipValue();
+                }
+            }
+        }
+        reader.endObject();
+
+        if (id == null) {
+            throw new RequestParseException("Attribute Id should be set");
+        }
+
+        if (values.isEmpty()) {
+            throw new RequestParseException("Attribute should have at least one value");
+        }
+
+        List<AttributeValue> attributeValues = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            attributeValues.add(JSONRequestParser.getAttributeValue(values.get(i), valueTypes.get(i), type));
+        }
+
+        return new Attribute(id, type, issuer, null, attributeValues, includeInResult,
+                XACMLConstants.XACML_VERSION_3_0);
+    }
+
+    /**
+     * Reads a primitive value and predicts its data type based on XACML 3.0 JSON profile
+     *
+     * @param reader reader positioned at the value
+     * @param values list to add the value to
+     * @return <code>URI</code> of the data type of the value
+     * @throws JsonParseException if the value is a number which can not be represented
+     */
+    private static URI readValue(JsonReader reader, List<String> values) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BOOLEAN) {
+            values.add(String.valueOf(reader.nextBoolean()));
+            return URI.create(EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_BOOLEAN);
+        }
+
+        String value = reader.nextString();
+        values.add(value);
+        if (token == JsonToken.NUMBER) {
+            // The lenient reader lets through numbers which are not finite, or which are out of range.
+            double number;
+            int intValue;
+            try {
+                number = Double.parseDouble(value);
+                intValue = new BigDecimal(value).intValue();
+            } catch (NumberFormatException e) {
+                throw new JsonParseException("Error in JSON Request String", e);
+            }
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                throw new JsonParseException("Error in JSON Request String");
+            }
+            if (Math.ceil(number) == intValue) {
+                return URI.create(EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_INTEGER);
+            }
+            return URI.create(EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_DOUBLE);
+        }
+        return URI.create(EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_STRING);
+    }
+
+    private static MultiRequests readMultiRequests(JsonReader reader) throws IOException, RequestParseException {
+        Set<RequestReference> requestReferences = new HashSet<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (EntitlementEndpointConstants.REQUEST_REFERENCE.equals(reader.nextName())
+                    && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    requestReferences.add(readRequestReference(reader));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (requestReferences.isEmpty()) {
+            throw new RequestParseException("MultiRequest should contain at least one Reference Request");
+        }
+        return new MultiRequests(requestReferences);
+    }
+
+    private static RequestReference readRequestReference(JsonReader reader) throws IOException {
+        RequestReference requestReference = new RequestReference();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (EntitlementEndpointConstants.REFERENCE_ID.equals(reader.nextName())
+                    && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                Set<AttributesReference> attributesReferences = new HashSet<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    AttributesReference attributesReference = new AttributesReference();
+                    attributesReference.setId(reader.nextString());
+                    attributesReferences.add(attributesReference);
+                }
+                reader.endArray();
+                requestReference.setReferences(attributesReferences);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return requestReference;
+    }
+
+    private static boolean readBoolean(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        }
+        return Boolean.parseBoolean(reader.nextString());
+    }
+
+    private static boolean isPrimitive(JsonToken token) {
+        return token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN;
+    }
+}
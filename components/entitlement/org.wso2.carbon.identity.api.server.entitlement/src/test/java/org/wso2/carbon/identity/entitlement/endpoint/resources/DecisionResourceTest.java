@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.endpoint.resources;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.balana.XACMLConstants;
+import org.wso2.balana.ctx.AbstractResult;
+import org.wso2.balana.ctx.ResponseCtx;
+import org.wso2.balana.ctx.Status;
+import org.wso2.balana.ctx.xacml3.RequestCtx;
+import org.wso2.balana.ctx.xacml3.Result;
+import org.wso2.carbon.identity.entitlement.EntitlementException;
+import org.wso2.carbon.identity.entitlement.endpoint.exception.RequestParseException;
+import org.wso2.carbon.identity.entitlement.endpoint.util.EntitlementEndpointConstants;
+import org.wso2.carbon.identity.entitlement.endpoint.util.JSONRequestParser;
+import org.wso2.carbon.identity.entitlement.pdp.BatchDecisionEvaluator;
+import org.wso2.carbon.identity.entitlement.pdp.EntitlementEngine;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({BatchDecisionEvaluator.class, JSONRequestParser.class})
+public class DecisionResourceTest extends PowerMockTestCase {
+
+    private static final String JSON_BATCH = "{\"Requests\": [" +
+            "{\"Request\": {\"AccessSubject\": {\"Attribute\": [{\"AttributeId\": \"subject-id\", " +
+            "\"Value\": \"alice\"}]}}}, " +
+            "{\"Request\": {\"AccessSubject\": {\"Attribute\": [{\"AttributeId\": \"subject-id\", " +
+            "\"Value\": \"bob\"}]}}}]}";
+
+    private BatchDecisionEvaluator batchDecisionEvaluator;
+    private DecisionResource decisionResource;
+
+    @BeforeMethod
+    public void setUp() {
+
+        batchDecisionEvaluator = mock(BatchDecisionEvaluator.class);
+        mockStatic(BatchDecisionEvaluator.class);
+        when(BatchDecisionEvaluator.getInstance()).thenReturn(batchDecisionEvaluator);
+        decisionResource = new DecisionResource();
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testJSONBatchIsEvaluatedAsSeparateRequests() throws Exception {
+
+        Status status = new Status(Collections.singletonList(Status.STATUS_OK));
+        Set<AbstractResult> results = new LinkedHashSet<>();
+        results.add(new Result(AbstractResult.DECISION_PERMIT, status));
+        results.add(new Result(AbstractResult.DECISION_DENY, status));
+        when(batchDecisionEvaluator.evaluate(anyListOf(BatchDecisionEvaluator.DecisionRequest.class)))
+                .thenReturn(new ResponseCtx(results, XACMLConstants.XACML_VERSION_3_0));
+
+        String response = getBatchDecision(EntitlementEndpointConstants.APPLICATION_JSON, JSON_BATCH);
+
+        ArgumentCaptor<List> requests = ArgumentCaptor.forClass(List.class);
+        verify(batchDecisionEvaluator).evaluate(requests.capture());
+        assertEquals(requests.getValue().size(), 2);
+
+        // Each request of the batch is evaluated with its own request and parsed context.
+        EntitlementEngine entitlementEngine = mock(EntitlementEngine.class);
+        for (Object request : requests.getValue()) {
+            ((BatchDecisionEvaluator.DecisionRequest) request).evaluate(entitlementEngine);
+        }
+        ArgumentCaptor<String> evaluatedRequests = ArgumentCaptor.forClass(String.class);
+        verify(entitlementEngine, times(2)).evaluate(any(RequestCtx.class),
+                evaluatedRequests.capture());
+        assertTrue(evaluatedRequests.getAllValues().get(0).contains("alice"));
+        assertTrue(evaluatedRequests.getAllValues().get(1).contains("bob"));
+
+        JsonArray decisions = new JsonParser().parse(response).getAsJsonObject().getAsJsonArray("Response");
+        assertEquals(decisions.size(), 2);
+        assertEquals(decisions.get(0).getAsJsonObject().get("Decision").getAsString(), "Permit");
+        assertEquals(decisions.get(1).getAsJsonObject().get("Decision").getAsString(), "Deny");
+    }
+
+    @Test
+    public void testXMLBatchIsEvaluatedAsMultipleDecisionRequest() throws Exception {
+
+        String request = "<Request xmlns=\"urn:oasis:names:tc:xacml:3.0:core:schema:wd-17\"/>";
+        when(batchDecisionEvaluator.evaluate(anyString())).thenReturn("<Response/>");
+
+        assertEquals(getBatchDecision(EntitlementEndpointConstants.APPLICATION_XML, request), "<Response/>");
+        verify(batchDecisionEvaluator).evaluate(eq(request));
+    }
+
+    @Test(expectedExceptions = RequestParseException.class)
+    @SuppressWarnings("unchecked")
+    public void testJSONBatchWithoutRequests() throws Exception {
+
+        try {
+            getBatchDecision(EntitlementEndpointConstants.APPLICATION_JSON, "{\"Request\": {}}");
+        } finally {
+            verify(batchDecisionEvaluator, never()).evaluate(anyListOf(BatchDecisionEvaluator.DecisionRequest.class));
+        }
+    }
+
+    @Test(expectedExceptions = RequestParseException.class)
+    @SuppressWarnings("unchecked")
+    public void testJSONBatchWithInvalidRequest() throws Exception {
+
+        try {
+            getBatchDecision(EntitlementEndpointConstants.APPLICATION_JSON, "{\"Requests\": [\"invalid\"]}");
+        } finally {
+            verify(batchDecisionEvaluator, never()).evaluate(anyListOf(BatchDecisionEvaluator.DecisionRequest.class));
+        }
+    }
+
+    @Test(expectedExceptions = EntitlementException.class)
+    @SuppressWarnings("unchecked")
+    public void testOversizedJSONBatchIsRejectedBeforeParsing() throws Exception {
+
+        doThrow(new EntitlementException("Number of requests in the batch : 2 exceeds the maximum of 1"))
+                .when(batchDecisionEvaluator).checkRequestCount(2);
+        mockStatic(JSONRequestParser.class);
+        try {
+            getBatchDecision(EntitlementEndpointConstants.APPLICATION_JSON, JSON_BATCH);
+        } finally {
+            verifyStatic(never());
+            JSONRequestParser.parse(any(JsonObject.class));
+            verify(batchDecisionEvaluator, never()).evaluate(anyListOf(BatchDecisionEvaluator.DecisionRequest.class));
+        }
+    }
+
+    private String getBatchDecision(String contentType, String request) throws Exception {
+
+        return decisionResource.getBatchDecision(contentType, "Basic", "Basic YWRtaW46YWRtaW4=", contentType,
+                request);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.endpoint.util;
+
+import com.google.gson.JsonParseException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.balana.attr.AttributeValue;
+import org.wso2.balana.ctx.Attribute;
+import org.wso2.balana.ctx.xacml3.RequestCtx;
+import org.wso2.balana.xacml3.Attributes;
+import org.wso2.carbon.identity.testutil.IdentityBaseTest;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+public class JSONStreamingRequestParserTest extends IdentityBaseTest {
+
+    @DataProvider(name = "BuildRequest")
+    public Object[][] buildRequest() {
+
+        return new Object[][]{
+                {"{\"Request\": {\n" +
+                        "   \"AccessSubject\": {\"Attribute\": [{\"AttributeId\": \"subject-id\", " +
+                        "\"Value\": \"sampleName\", \"DataType\": \"string\", \"IncludeInResult\": true}]},\n" +
+                        "   \"Resource\": {\"Attribute\": [{\"AttributeId\": \"resource-id\", " +
+                        "\"Value\": [\"index.jsp\", \"home.jsp\"]}]},\n" +
+                        "   \"Action\": {\"Attribute\": [{\"AttributeId\": \"action-id\", \"Value\": \"read\"}]},\n" +
+                        "   \"Environment\": {\"Attribute\": [{\"AttributeId\": \"environment-id\", \"Value\": 42}, " +
+                        "{\"AttributeId\": \"urn:sample:ratio\", \"Value\": 0.5}, " +
+                        "{\"AttributeId\": \"urn:sample:flag\", \"Value\": true}]},\n" +
+                        "   \"ReturnPolicyIdList\": true\n" +
+                        "}}"},
+                {"{\"Request\": {\"AccessSubject\": [" +
+                        "{\"Attribute\": [{\"AttributeId\": \"subject-id\", \"Value\": \"alice\"}]}, " +
+                        "{\"Attribute\": [{\"AttributeId\": \"subject-id\", \"Value\": \"bob\"}]}]}}"},
+                {"{\"Request\": {\"Environment\": {\"Attribute\": [" +
+                        "{\"AttributeId\": \"environment-id\", \"DataType\": \"string\", \"Value\": 42}, " +
+                        "{\"AttributeId\": \"urn:sample:flag\", \"DataType\": \"string\", \"Value\": true}, " +
+                        "{\"AttributeId\": \"urn:sample:code\", \"Value\": 7, \"DataType\": \"string\"}]}}}"}
+        };
+    }
+
+    @DataProvider(name = "BuildInvalidRequest")
+    public Object[][] buildInvalidRequest() {
+
+        return new Object[][]{
+                {null},
+                {" "},
+                {"{\"Request\": \"invalid\"}"},
+                {"{\"Request\": {\"AccessSubject\": {\"Attribute\": [{\"AttributeId\": \"subject-id\""},
+                {"{\"Request\": {\"Environment\": {\"Attribute\": [{\"AttributeId\": \"environment-id\", " +
+                        "\"Value\": 1e400}]}}}"},
+                {"{\"Request\": {\"Environment\": {\"Attribute\": [{\"AttributeId\": \"environment-id\", " +
+                        "\"Value\": [1, 1e99999999999]}]}}}"}
+        };
+    }
+
+    @Test(dataProvider = "BuildRequest")
+    public void testParseMatchesTreeParser(String request) throws Exception {
+
+        RequestCtx streamingRequestCtx = JSONStreamingRequestParser.parse(request);
+        RequestCtx treeRequestCtx = JSONRequestParser.parse(request);
+
+        Assert.assertEquals(streamingRequestCtx.isReturnPolicyIdList(), treeRequestCtx.isReturnPolicyIdList());
+        Assert.assertEquals(describe(streamingRequestCtx), describe(treeRequestCtx));
+    }
+
+    @Test(dataProvider = "BuildInvalidRequest", expectedExceptions = JsonParseException.class)
+    public void testParseInvalidRequests(String request) throws Exception {
+
+        JSONStreamingRequestParser.parse(request);
+    }
+
+    @Test
+    public void testExplicitStringDataTypeIsReplacedByDetectedType() throws Exception {
+
+        String request = "{\"Request\": {\"Environment\": {\"Attribute\": [" +
+                "{\"AttributeId\": \"environment-id\", \"DataType\": \"string\", \"Value\": 42}, " +
+                "{\"AttributeId\": \"urn:sample:flag\", \"DataType\": \"string\", \"Value\": true}]}}}";
+
+        Set<String> types = new TreeSet<>();
+        for (Attributes attributes : JSONStreamingRequestParser.parse(request).getAttributesSet()) {
+            for (Attribute attribute : attributes.getAttributes()) {
+                types.add(attribute.getId() + "|" + attribute.getType());
+            }
+        }
+
+        Set<String> expectedTypes = new TreeSet<>();
+        expectedTypes.add(EntitlementEndpointConstants.ATTRIBUTE_ENVIRONMENT_ID + "|" +
+                EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_INTEGER);
+        expectedTypes.add("urn:sample:flag|" + EntitlementEndpointConstants.ATTRIBUTE_DATA_TYPE_BOOLEAN);
+        Assert.assertEquals(types, expectedTypes);
+    }
+
+    private Set<String> describe(RequestCtx requestCtx) {
+
+        Set<String> description = new TreeSet<>();
+        for (Attributes attributes : requestCtx.getAttributesSet()) {
+            StringBuilder category = new StringBuilder(String.valueOf(attributes.getCategory()));
+            Set<String> attributeDescriptions = new TreeSet<>();
+            for (Attribute attribute : attributes.getAttributes()) {
+                StringBuilder attributeDescription = new StringBuilder();
+                attributeDescription.append(attribute.getId()).append('|').append(attribute.getType()).append('|')
+                        .append(attribute.isIncludeInResult());
+                Set<String> values = new TreeSet<>();
+                for (AttributeValue value : attribute.getValues()) {
+                    values.add(value.getType() + "=" + value.encode());
+                }
+                attributeDescriptions.add(attributeDescription.append(values).toString());
+            }
+            description.add(category.append(attributeDescriptions).toString());
+        }
+        return description;
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.entitlement.dto.AttributeDTO;
 import org.wso2.carbon.identity.entitlement.dto.EntitledResultSetDTO;
+import org.wso2.carbon.identity.entitlement.pdp.BatchDecisionEvaluator;
 import org.wso2.carbon.identity.entitlement.pdp.EntitlementEngine;
 import org.wso2.carbon.identity.entitlement.policy.search.PolicySearch;
 import org.wso2.carbon.identity.entitlement.wsxacml.XACMLHandler;
@@ -54,6 +55,24 @@ public class EntitlementService implements XACMLHandler {
         }
     }
 
+    /**
+     * Evaluates the given XACML 3.0 multiple decision request, evaluating its individual requests in parallel,
+     * and returns a single Response with the results of all the individual requests
+     *
+     * @param request XACML request as a String Object
+     * @return XACML response as a String Object
+     * @throws EntitlementException throws
+     */
+    public String getBatchDecision(String request) throws EntitlementException {
+
+        try {
+            return BatchDecisionEvaluator.getInstance().evaluate(request);
+        } catch (Exception e) {
+            log.error("Error occurred while evaluating XACML request batch", e);
+            throw new EntitlementException("Error occurred while evaluating XACML request batch");
+        }
+    }
+
     /**
      * Evaluates the given XACML request and returns the Response that the EntitlementEngine will
      * hand back to the PEP. Here PEP does not need construct the XACML request before sending it to the
@@ -86,6 +86,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.util.HashSet;
@@ -517,6 +520,28 @@ public class EntitlementUtil {
         }
     }
 
+    /**
+     * Computes the digest of the given policy, which identifies the version of the policy content that a pre-parsed
+     * form of the policy is derived from.
+     *
+     * @param policy policy as a String
+     * @return hex encoded SHA-256 digest of the policy
+     */
+    public static String getPolicyDigest(String policy) {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] digest = messageDigest.digest(policy.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 message digest is not available", e);
+        }
+    }
+
     /**
      * Gets policy dto for a given policy id
      *
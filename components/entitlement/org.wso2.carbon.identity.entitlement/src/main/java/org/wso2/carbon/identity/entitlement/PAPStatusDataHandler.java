@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.entitlement;
 import org.wso2.carbon.identity.entitlement.dto.StatusHolder;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -52,6 +53,22 @@ public interface PAPStatusDataHandler {
      */
     public void handle(String about, StatusHolder statusHolder) throws EntitlementException;
 
+    /**
+     * Handles the status of many keys at once. Implementations can override this to persist the whole
+     * batch in a single unit of work. The default implementation handles the keys one by one and stops at the
+     * first key which fails, keeping the status of the keys handled before it.
+     *
+     * @param about         indicates what is related with this admin status action
+     * @param statusHolders <code>StatusHolder</code> lists against the key value of the status
+     * @throws EntitlementException throws, if fails to handle
+     */
+    default void handle(String about, Map<String, List<StatusHolder>> statusHolders) throws EntitlementException {
+
+        for (Map.Entry<String, List<StatusHolder>> entry : statusHolders.entrySet()) {
+            handle(about, entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * @param about        indicates what is related with this admin status action
      * @param key          key value of the status
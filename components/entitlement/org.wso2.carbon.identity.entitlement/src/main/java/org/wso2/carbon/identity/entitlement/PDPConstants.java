@@ -138,6 +138,10 @@ public class PDPConstants {
 
     public static final int POLICY_META_DATA_ARRAY_LENGTH = 4;
 
+    public static final String POLICY_ID_PROPERTY = "policyId";
+
+    public static final String POLICY_DIGEST_PROPERTY = "policyDigest";
+
     public static final String AUTHORIZATION_PERMISSION = "/permission/admin/configure";
 
     public static final String ENTITLEMENT_CACHE_MANAGER = "ENTITLEMENT_CACHE_MANAGER";
@@ -247,6 +251,22 @@ public class PDPConstants {
 
     public static final String ATTRIBUTE_CACHING_INTERVAL = "PDP.AttributeCaching.CachingInterval";
 
+    public static final String ATTRIBUTE_PREFETCH = "PDP.AttributePrefetch.Enable";
+
+    public static final String ATTRIBUTE_PREFETCH_LATENCY_BUDGET = "PDP.AttributePrefetch.LatencyBudget";
+
+    public static final String ATTRIBUTE_PREFETCH_THREAD_POOL_SIZE = "PDP.AttributePrefetch.ThreadPoolSize";
+
+    public static final String PARALLEL_POLICY_SEARCH = "PDP.PolicySearch.Parallel.Enable";
+
+    public static final String PARALLEL_POLICY_SEARCH_PARALLELISM = "PDP.PolicySearch.Parallel.Parallelism";
+
+    public static final String BATCH_DECISION_THREAD_POOL_SIZE = "PDP.BatchDecision.ThreadPoolSize";
+
+    public static final String BATCH_DECISION_MAX_REQUESTS = "PDP.BatchDecision.MaxRequests";
+
+    public static final String POLICY_LOADING_PARALLELISM = "PDP.PolicyLoading.Parallelism";
+
     public static final String RESOURCE_CACHING = "PDP.ResourceCaching.Enable";
 
     public static final String RESOURCE_CACHING_INTERVAL = "PDP.DecisionCaching.CachingInterval";
@@ -267,6 +287,10 @@ public class PDPConstants {
 
     public static final String ENTITLEMENT_ITEMS_PER_PAGE = "PAP.Items.Per.Page";
 
+    public static final String POLICY_PUBLISHER_THREAD_POOL_SIZE = "PAP.Policy.Publisher.ThreadPoolSize";
+
+    public static final String POLICY_PUBLISHER_BATCH_SIZE = "PAP.Policy.Publisher.BatchSize";
+
     public static final String PDP_GLOBAL_COMBINING_ALGORITHM = "PDP.Global.Policy.Combining.Algorithm";
 
     public static final String REGISTRY_MEDIA_TYPE = "application/xacml-policy+xml";
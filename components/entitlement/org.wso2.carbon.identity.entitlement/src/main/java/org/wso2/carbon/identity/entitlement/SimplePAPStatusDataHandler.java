@@ -102,6 +102,75 @@ public class SimplePAPStatusDataHandler implements PAPStatusDataHandler {
     }
 
 
+    /**
+     * Persists the status of the whole batch in a single registry transaction. If the batch can not be persisted
+     * as a whole, the transaction is rolled back and the entries are persisted one by one, so that an entry which
+     * fails does not discard the status of the other entries of the batch.
+     */
+    @Override
+    public synchronized void handle(String about, Map<String, List<StatusHolder>> statusHolders)
+            throws EntitlementException {
+
+        if (statusHolders == null || statusHolders.isEmpty()) {
+            return;
+        }
+
+        Registry registry;
+        int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+        try {
+            registry = EntitlementServiceComponent.getRegistryService().getGovernanceSystemRegistry(tenantId);
+            registry.beginTransaction();
+        } catch (RegistryException e) {
+            log.error(e);
+            throw new EntitlementException("Error while persisting policy status", e);
+        }
+
+        boolean committed = false;
+        try {
+            for (Map.Entry<String, List<StatusHolder>> entry : statusHolders.entrySet()) {
+                handle(about, entry.getKey(), entry.getValue());
+            }
+            registry.commitTransaction();
+            committed = true;
+        } catch (RegistryException | EntitlementException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while persisting the status of " + statusHolders.size() + " entries in a " +
+                        "single transaction. Persisting the entries one by one", e);
+            }
+        } finally {
+            if (!committed) {
+                try {
+                    registry.rollbackTransaction();
+                } catch (RegistryException e) {
+                    log.error("Error while rolling back the policy status transaction", e);
+                }
+            }
+        }
+
+        if (!committed) {
+            handleEntries(about, statusHolders);
+        }
+    }
+
+    private void handleEntries(String about, Map<String, List<StatusHolder>> statusHolders)
+            throws EntitlementException {
+
+        EntitlementException error = null;
+        for (Map.Entry<String, List<StatusHolder>> entry : statusHolders.entrySet()) {
+            try {
+                handle(about, entry.getKey(), entry.getValue());
+            } catch (EntitlementException e) {
+                log.error("Error while persisting the status of : " + entry.getKey(), e);
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
     @Override
     public StatusHolder[] getStatusData(String about, String key, String type, String searchString)
             throws EntitlementException {
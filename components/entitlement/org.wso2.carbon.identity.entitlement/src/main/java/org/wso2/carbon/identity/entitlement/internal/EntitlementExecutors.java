@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the thread pools used by the entitlement component to evaluate, publish and load policies in parallel.
+ * <p>
+ * The pools are created on first use, with daemon threads named after the pool, and are shut down when the
+ * entitlement component is deactivated. A pool is created again if it is requested after it was shut down, hence the
+ * pools are looked up on each use instead of being kept by the callers.
+ */
+public class EntitlementExecutors {
+
+    private static final Log log = LogFactory.getLog(EntitlementExecutors.class);
+
+    private static final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+
+    private EntitlementExecutors() {
+
+    }
+
+    /**
+     * Get the fixed size thread pool of the given name, creating it if it does not exist.
+     *
+     * @param name Name of the pool, used as the prefix of the thread names.
+     * @param size Number of threads of a new pool.
+     * @return Thread pool.
+     */
+    public static ExecutorService getFixedThreadPool(String name, int size) {
+
+        return executors.computeIfAbsent(name, key -> {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(1, size), runnable -> {
+                Thread thread = new Thread(runnable, key + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+    }
+
+    /**
+     * Get the fork join pool of the given name, creating it if it does not exist.
+     *
+     * @param name        Name of the pool, used as the prefix of the thread names.
+     * @param parallelism Parallelism of a new pool.
+     * @return Fork join pool.
+     */
+    public static ForkJoinPool getForkJoinPool(String name, int parallelism) {
+
+        return (ForkJoinPool) executors.computeIfAbsent(name, key -> {
+            AtomicInteger threadCount = new AtomicInteger();
+            return new ForkJoinPool(Math.max(1, parallelism), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(key + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        });
+    }
+
+    /**
+     * Shut down all the thread pools, interrupting the tasks which are still running.
+     */
+    public static void shutdown() {
+
+        for (String name : executors.keySet()) {
+            ExecutorService executor = executors.remove(name);
+            if (executor != null) {
+                executor.shutdownNow();
+                if (log.isDebugEnabled()) {
+                    log.debug("Shut down the entitlement thread pool : " + name);
+                }
+            }
+        }
+    }
+}
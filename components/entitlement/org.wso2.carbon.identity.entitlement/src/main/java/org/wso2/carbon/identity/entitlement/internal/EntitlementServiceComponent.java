@@ -352,6 +352,7 @@ public class EntitlementServiceComponent {
      */
     @Deactivate
     protected void deactivate(ComponentContext ctxt) {
+        EntitlementExecutors.shutdown();
         if (log.isDebugEnabled()) {
             log.debug("Identity Entitlement bundle is deactivated");
         }
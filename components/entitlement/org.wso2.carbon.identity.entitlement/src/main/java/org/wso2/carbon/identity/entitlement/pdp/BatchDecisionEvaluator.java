@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.pdp;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.wso2.balana.XACMLConstants;
+import org.wso2.balana.ctx.AbstractResult;
+import org.wso2.balana.ctx.ResponseCtx;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.entitlement.EntitlementException;
+import org.wso2.carbon.identity.entitlement.PDPConstants;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementExecutors;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+/**
+ * Evaluates a batch of XACML requests against the {@link EntitlementEngine} of the current tenant.
+ * <p>
+ * The individual requests of a batch are evaluated in parallel and go through the decision cache of the engine,
+ * and their results are combined in to a single response. A XACML 3.0 request using the multiple decision profile,
+ * either with repeated attribute categories or with a MultiRequests element, is split in to its individual requests
+ * after being parsed once, when the multiple decision profile is enabled. Requests asking for a combined decision are
+ * left to be evaluated by the PDP as a whole.
+ */
+public class BatchDecisionEvaluator {
+
+    private static final Log log = LogFactory.getLog(BatchDecisionEvaluator.class);
+
+    private static final String REQUEST_ELEMENT = "Request";
+    private static final String ATTRIBUTES_ELEMENT = "Attributes";
+    private static final String MULTI_REQUESTS_ELEMENT = "MultiRequests";
+    private static final String REQUEST_REFERENCE_ELEMENT = "RequestReference";
+    private static final String ATTRIBUTES_REFERENCE_ELEMENT = "AttributesReference";
+    private static final String CATEGORY_ATTRIBUTE = "Category";
+    private static final String REFERENCE_ID_ATTRIBUTE = "ReferenceId";
+    private static final String COMBINED_DECISION_ATTRIBUTE = "CombinedDecision";
+
+    private static final int DEFAULT_THREAD_POOL_SIZE = 10;
+    private static final int DEFAULT_MAX_REQUESTS = 100;
+    private static final String THREAD_POOL_NAME = "EntitlementBatchDecision";
+
+    private static volatile BatchDecisionEvaluator instance;
+
+    private final int threadPoolSize;
+    private final int maxRequests;
+    private final boolean multipleDecisionProfileEnabled;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    private BatchDecisionEvaluator(int threadPoolSize, int maxRequests, boolean multipleDecisionProfileEnabled) {
+
+        this.threadPoolSize = threadPoolSize;
+        this.maxRequests = maxRequests;
+        this.multipleDecisionProfileEnabled = multipleDecisionProfileEnabled;
+    }
+
+    public static BatchDecisionEvaluator getInstance() {
+
+        if (instance == null) {
+            synchronized (BatchDecisionEvaluator.class) {
+                if (instance == null) {
+                    Properties properties = EntitlementServiceComponent.getEntitlementConfig().getEngineProperties();
+                    instance = new BatchDecisionEvaluator(
+                            getIntProperty(properties, PDPConstants.BATCH_DECISION_THREAD_POOL_SIZE,
+                                    DEFAULT_THREAD_POOL_SIZE),
+                            getIntProperty(properties, PDPConstants.BATCH_DECISION_MAX_REQUESTS,
+                                    DEFAULT_MAX_REQUESTS),
+                            Boolean.parseBoolean(properties.getProperty(
+                                    PDPConstants.MULTIPLE_DECISION_PROFILE_ENABLE)));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Evaluates the given XACML 3.0 request, evaluating the individual requests of a multiple decision request in
+     * parallel. If the multiple decision profile is disabled, the request is evaluated by the PDP as a whole.
+     *
+     * @param xacmlRequest XACML request as String
+     * @return XACML response as String
+     * @throws EntitlementException if the request can not be parsed or evaluated, or if it has too many individual
+     *                              requests
+     */
+    public String evaluate(String xacmlRequest) throws EntitlementException {
+
+        List<Element> requestElements = Collections.emptyList();
+        if (multipleDecisionProfileEnabled) {
+            requestElements = split(parse(xacmlRequest));
+        }
+        if (requestElements.size() < 2) {
+            try {
+                return EntitlementEngine.getInstance().evaluate(xacmlRequest);
+            } catch (Exception e) {
+                throw new EntitlementException("Error occurred while evaluating XACML request", e);
+            }
+        }
+
+        List<DecisionRequest> requests = new ArrayList<>();
+        for (Element element : requestElements) {
+            String request = toString(element);
+            requests.add(engine -> engine.evaluate(element, request));
+        }
+        return evaluate(requests).encode();
+    }
+
+    /**
+     * Evaluates the given requests in parallel and combines their results in to a single response.
+     *
+     * @param requests requests to evaluate
+     * @return response containing the results of all the requests
+     * @throws EntitlementException if the batch is too large or a request can not be evaluated
+     */
+    public ResponseCtx evaluate(List<DecisionRequest> requests) throws EntitlementException {
+
+        checkRequestCount(requests.size());
+
+        long startTime = System.currentTimeMillis();
+        int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+        String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+
+        ExecutorService executor = EntitlementExecutors.getFixedThreadPool(THREAD_POOL_NAME, threadPoolSize);
+        List<Future<ResponseCtx>> futures = new ArrayList<>();
+        Set<AbstractResult> results = new LinkedHashSet<>();
+        try {
+            for (DecisionRequest request : requests) {
+                futures.add(executor.submit(new DecisionTask(request, tenantId, tenantDomain)));
+            }
+            for (Future<ResponseCtx> future : futures) {
+                results.addAll(future.get().getResults());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EntitlementException("Interrupted while evaluating the XACML request batch", e);
+        } catch (ExecutionException e) {
+            throw new EntitlementException("Error occurred while evaluating the XACML request batch", e.getCause());
+        } catch (RejectedExecutionException e) {
+            throw new EntitlementException("XACML request batch is rejected as the entitlement component is " +
+                    "shutting down", e);
+        } finally {
+            for (Future<ResponseCtx> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        long latency = System.currentTimeMillis() - startTime;
+        record(requests.size(), latency);
+        if (log.isDebugEnabled()) {
+            log.debug("Evaluated a batch of " + requests.size() + " XACML requests in " + latency + " ms.");
+        }
+        return new ResponseCtx(results, XACMLConstants.XACML_VERSION_3_0);
+    }
+
+    /**
+     * Checks the number of requests in a batch against the configured maximum, so that an oversized batch can be
+     * rejected before its requests are parsed.
+     *
+     * @param size number of requests in the batch
+     * @throws EntitlementException if the batch is too large
+     */
+    public void checkRequestCount(int size) throws EntitlementException {
+
+        if (size > maxRequests) {
+            throw new EntitlementException("Number of requests in the batch : " + size +
+                    " exceeds the maximum of " + maxRequests);
+        }
+    }
+
+    public long getBatchCount() {
+
+        return batchCount.get();
+    }
+
+    public long getRequestCount() {
+
+        return requestCount.get();
+    }
+
+    public long getAverageLatency() {
+
+        long count = batchCount.get();
+        return count == 0 ? 0 : totalLatency.get() / count;
+    }
+
+    public long getMaxLatency() {
+
+        return maxLatency.get();
+    }
+
+    private void record(int size, long latency) {
+
+        batchCount.incrementAndGet();
+        requestCount.addAndGet(size);
+        totalLatency.addAndGet(latency);
+        long max;
+        while ((max = maxLatency.get()) < latency && !maxLatency.compareAndSet(max, latency)) {
+            // Retry until the maximum is updated or a larger latency is recorded.
+        }
+    }
+
+    private Element parse(String xacmlRequest) throws EntitlementException {
+
+        DocumentBuilderFactory documentBuilderFactory = IdentityUtil.getSecuredDocumentBuilderFactory();
+        documentBuilderFactory.setNamespaceAware(true);
+        try (ByteArrayInputStream inputStream =
+                     new ByteArrayInputStream(xacmlRequest.getBytes(StandardCharsets.UTF_8))) {
+            return documentBuilderFactory.newDocumentBuilder().parse(inputStream).getDocumentElement();
+        } catch (Exception e) {
+            throw new EntitlementException("Error while creating DOM from XACML request", e);
+        }
+    }
+
+    /**
+     * Splits a XACML 3.0 multiple decision request in to its individual requests.
+     *
+     * @param requestElement request element
+     * @return individual request elements, or the given element if it is not a multiple decision request
+     * @throws EntitlementException if the request has more individual requests than allowed in a batch
+     */
+    private List<Element> split(Element requestElement) throws EntitlementException {
+
+        if (!REQUEST_ELEMENT.equals(requestElement.getLocalName()) ||
+                Boolean.parseBoolean(requestElement.getAttribute(COMBINED_DECISION_ATTRIBUTE))) {
+            return Collections.singletonList(requestElement);
+        }
+
+        List<Element> otherElements = new ArrayList<>();
+        List<Element> attributesElements = new ArrayList<>();
+        Element multiRequestsElement = null;
+        NodeList children = requestElement.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            if (ATTRIBUTES_ELEMENT.equals(child.getLocalName())) {
+                attributesElements.add((Element) child);
+            } else if (MULTI_REQUESTS_ELEMENT.equals(child.getLocalName())) {
+                multiRequestsElement = (Element) child;
+            } else {
+                otherElements.add((Element) child);
+            }
+        }
+
+        List<List<Element>> combinations = new ArrayList<>();
+        if (multiRequestsElement != null) {
+            List<Element> references = getChildElements(multiRequestsElement, REQUEST_REFERENCE_ELEMENT);
+            checkBatchSize(references.size());
+            Map<String, Element> referencedElements = new LinkedHashMap<>();
+            for (Element attributesElement : attributesElements) {
+                String id = attributesElement.getAttributeNS(XMLConstants.XML_NS_URI, "id");
+                if (StringUtils.isNotEmpty(id)) {
+                    referencedElements.put(id, attributesElement);
+                }
+            }
+            for (Element reference : references) {
+                List<Element> combination = new ArrayList<>();
+                for (Element attributesReference : getChildElements(reference, ATTRIBUTES_REFERENCE_ELEMENT)) {
+                    Element referencedElement =
+                            referencedElements.get(attributesReference.getAttribute(REFERENCE_ID_ATTRIBUTE));
+                    if (referencedElement == null) {
+                        // Left to the PDP to report the invalid reference.
+                        return Collections.singletonList(requestElement);
+                    }
+                    combination.add(referencedElement);
+                }
+                combinations.add(combination);
+            }
+        } else {
+            Map<String, List<Element>> categories = new LinkedHashMap<>();
+            for (Element attributesElement : attributesElements) {
+                categories.computeIfAbsent(attributesElement.getAttribute(CATEGORY_ATTRIBUTE),
+                        category -> new ArrayList<>()).add(attributesElement);
+            }
+            // The size of the product is checked before it is built, as it grows exponentially with the categories.
+            long size = 1;
+            for (List<Element> categoryElements : categories.values()) {
+                size *= categoryElements.size();
+                checkBatchSize(size);
+            }
+            combinations.add(new ArrayList<>());
+            for (List<Element> categoryElements : categories.values()) {
+                List<List<Element>> expanded = new ArrayList<>();
+                for (List<Element> combination : combinations) {
+                    for (Element categoryElement : categoryElements) {
+                        List<Element> expandedCombination = new ArrayList<>(combination);
+                        expandedCombination.add(categoryElement);
+                        expanded.add(expandedCombination);
+                    }
+                }
+                combinations = expanded;
+            }
+        }
+
+        if (combinations.size() < 2) {
+            return Collections.singletonList(requestElement);
+        }
+
+        List<Element> requestElements = new ArrayList<>();
+        for (List<Element> combination : combinations) {
+            Document document = requestElement.getOwnerDocument().getImplementation().createDocument(null, null,
+                    null);
+            Element element = (Element) document.importNode(requestElement, false);
+            for (Element attributesElement : combination) {
+                element.appendChild(document.importNode(attributesElement, true));
+            }
+            for (Element otherElement : otherElements) {
+                element.appendChild(document.importNode(otherElement, true));
+            }
+            document.appendChild(element);
+            requestElements.add(element);
+        }
+        return requestElements;
+    }
+
+    private void checkBatchSize(long size) throws EntitlementException {
+
+        if (size > maxRequests) {
+            throw new EntitlementException("Number of individual requests in the multiple decision request : " +
+                    size + " exceeds the maximum of " + maxRequests);
+        }
+    }
+
+    private List<Element> getChildElements(Element parent, String localName) {
+
+        List<Element> elements = new ArrayList<>();
+        NodeList children = parent.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE && localName.equals(child.getLocalName())) {
+                elements.add((Element) child);
+            }
+        }
+        return elements;
+    }
+
+    private String toString(Element element) throws EntitlementException {
+
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            StringWriter buffer = new StringWriter();
+            transformer.transform(new DOMSource(element), new StreamResult(buffer));
+            return buffer.toString();
+        } catch (Exception e) {
+            throw new EntitlementException("Error while serializing XACML request", e);
+        }
+    }
+
+    private static int getIntProperty(Properties properties, String name, int defaultValue) {
+
+        String value = properties.getProperty(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value " + value + " for the property " + name + ". Using the default value " +
+                    defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * A single request of a batch, evaluated against the engine of the tenant of the batch.
+     */
+    public interface DecisionRequest {
+
+        ResponseCtx evaluate(EntitlementEngine engine) throws Exception;
+    }
+
+    /**
+     * Evaluates a request of a batch within the tenant of the batch.
+     */
+    private static class DecisionTask implements Callable<ResponseCtx> {
+
+        private final DecisionRequest request;
+        private final int tenantId;
+        private final String tenantDomain;
+
+        private DecisionTask(DecisionRequest request, int tenantId, String tenantDomain) {
+
+            this.request = request;
+            this.tenantId = tenantId;
+            this.tenantDomain = tenantDomain;
+        }
+
+        @Override
+        public ResponseCtx call() throws Exception {
+
+            try {
+                PrivilegedCarbonContext.startTenantFlow();
+                PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                carbonContext.setTenantId(tenantId);
+                carbonContext.setTenantDomain(tenantDomain);
+                return request.evaluate(EntitlementEngine.getInstance());
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        }
+    }
+}
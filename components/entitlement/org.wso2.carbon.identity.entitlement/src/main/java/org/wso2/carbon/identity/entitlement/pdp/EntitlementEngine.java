@@ -261,6 +261,7 @@ public class EntitlementEngine {
 
             PDPConfig pdpConfig = new PDPConfig(attributeFinder, policyFinder, resourceFinder, true);
             pdpTest = new PDP(pdpConfig);
+            carbonAttributeFinder.setPrefetchPDPConfig(pdpConfig);
         }
 
         if (isPDP) {
@@ -274,6 +275,7 @@ public class EntitlementEngine {
             PDPConfig pdpConfig =
                     new PDPConfig(attributeFinder, carbonPolicyFinder, resourceFinder, pdpMultipleDecision);
             pdp = new PDP(pdpConfig);
+            carbonAttributeFinder.setPrefetchPDPConfig(pdpConfig);
         }
     }
 
@@ -290,7 +292,7 @@ public class EntitlementEngine {
             log.debug("XACML Request : " + xacmlRequest);
         }
 
-        String xacmlResponse = pdpTest.evaluate(xacmlRequest);
+        String xacmlResponse = evaluateByPDP(pdpTest, xacmlRequest);
 
         if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
             log.debug("XACML Response : " + xacmlResponse);
@@ -337,10 +339,10 @@ public class EntitlementEngine {
             for (PIPExtension pipExtension : pipExtensions) {
                 pipExtension.update(requestCtx);
             }
-            ResponseCtx responseCtx = pdp.evaluate(requestCtx);
+            ResponseCtx responseCtx = evaluateByPDP(pdp, requestCtx);
             xacmlResponse = responseCtx.encode();
         } else {
-            xacmlResponse = pdp.evaluate(xacmlRequest);
+            xacmlResponse = evaluateByPDP(pdp, xacmlRequest);
         }
 
         addToCache(xacmlRequest, xacmlResponse, false);
@@ -403,9 +405,13 @@ public class EntitlementEngine {
             for (PIPExtension pipExtension : pipExtensions) {
                 pipExtension.update(requestCtx);
             }
-            responseCtx = pdp.evaluate(requestCtx);
+            responseCtx = evaluateByPDP(pdp, requestCtx);
         } else {
-            responseCtx = pdp.evaluateReturnResponseCtx(xacmlRequest);
+            try {
+                responseCtx = pdp.evaluateReturnResponseCtx(xacmlRequest);
+            } finally {
+                CarbonAttributeFinder.clearEvaluationMemo();
+            }
         }
 
         xacmlResponse = responseCtx.encode();
@@ -420,6 +426,58 @@ public class EntitlementEngine {
 
     }
 
+    /**
+     * Evaluates the given XACML request which is already parsed in to a DOM element. The decision cache is shared
+     * with the String based evaluation, so the String form of the request is used as the cache key
+     *
+     * @param xacmlRequestElement XACML request as a DOM element
+     * @param xacmlRequest        XACML request as String
+     * @return ResponseCtx response
+     * @throws org.wso2.balana.ParsingException                          throws
+     * @throws javax.xml.parsers.ParserConfigurationException            throws
+     * @throws org.xml.sax.SAXException                                  throws
+     * @throws java.io.IOException                                       throws
+     */
+    public ResponseCtx evaluate(Element xacmlRequestElement, String xacmlRequest) throws ParsingException,
+            ParserConfigurationException, SAXException, IOException {
+
+        if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_REQUEST)) {
+            log.debug("XACML Request : " + xacmlRequest);
+        }
+
+        String xacmlResponse;
+
+        if ((xacmlResponse = (String) getFromCache(xacmlRequest, false)) != null) {
+            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
+                log.debug("XACML Response : " + xacmlResponse);
+            }
+
+            DocumentBuilderFactory documentBuilderFactory = IdentityUtil.getSecuredDocumentBuilderFactory();
+            Element node = documentBuilderFactory.newDocumentBuilder().parse
+                    (new ByteArrayInputStream(xacmlResponse.getBytes())).getDocumentElement();
+            return ResponseCtx.getInstance(node);
+        }
+
+        AbstractRequestCtx requestCtx = RequestCtxFactory.getFactory().getRequestCtx(xacmlRequestElement);
+        Map<PIPExtension, Properties> extensions = EntitlementServiceComponent.getEntitlementConfig()
+                .getExtensions();
+        if (extensions != null && !extensions.isEmpty()) {
+            for (PIPExtension pipExtension : extensions.keySet()) {
+                pipExtension.update(requestCtx);
+            }
+        }
+        ResponseCtx responseCtx = evaluateByPDP(pdp, requestCtx);
+        xacmlResponse = responseCtx.encode();
+
+        addToCache(xacmlRequest, xacmlResponse, false);
+
+        if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.XACML_RESPONSE)) {
+            log.debug("XACML Response : " + xacmlResponse);
+        }
+
+        return responseCtx;
+    }
+
     /**
      * Evaluates XACML request directly. This is used by advance search module.
      * Therefore caching and logging has not be implemented for this
@@ -428,7 +486,7 @@ public class EntitlementEngine {
      * @return ResponseCtx  Balana Object model for response
      */
     public ResponseCtx evaluateByContext(AbstractRequestCtx requestCtx) {
-        return pdp.evaluate(requestCtx);
+        return evaluateByPDP(pdp, requestCtx);
     }
 
     /**
@@ -453,7 +511,7 @@ public class EntitlementEngine {
             return xacmlResponse;
         }
 
-        xacmlResponse = pdp.evaluate(requestCtx);
+        xacmlResponse = evaluateByPDP(pdp, requestCtx);
 
         addToCache(xacmlRequest, xacmlResponse, false);
 
@@ -463,6 +521,32 @@ public class EntitlementEngine {
         return xacmlResponse;
     }
 
+    /**
+     * Evaluates the request with the given PDP, dropping the PIP attribute values memoized on the current thread
+     * once the evaluation completes.
+     */
+    private ResponseCtx evaluateByPDP(PDP decisionPoint, AbstractRequestCtx requestCtx) {
+
+        try {
+            return decisionPoint.evaluate(requestCtx);
+        } finally {
+            CarbonAttributeFinder.clearEvaluationMemo();
+        }
+    }
+
+    /**
+     * Evaluates the request with the given PDP, dropping the PIP attribute values memoized on the current thread
+     * once the evaluation completes.
+     */
+    private String evaluateByPDP(PDP decisionPoint, String xacmlRequest) {
+
+        try {
+            return decisionPoint.evaluate(xacmlRequest);
+        } finally {
+            CarbonAttributeFinder.clearEvaluationMemo();
+        }
+    }
+
     /**
      * Evaluates the given XACML request and returns the Response that the EntitlementEngine will
      * hand back to the PEP. Here PEP does not need construct the XACML request before sending it to the
@@ -504,7 +588,7 @@ public class EntitlementEngine {
             log.debug("XACML Request : " + requestAsString);
         }
 
-        response = pdp.evaluate(requestAsString);
+        response = evaluateByPDP(pdp, requestAsString);
 
         addToCache(request, response, true);
 
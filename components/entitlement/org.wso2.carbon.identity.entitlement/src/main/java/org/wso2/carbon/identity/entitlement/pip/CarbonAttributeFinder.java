@@ -22,18 +22,22 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.balana.PDPConfig;
 import org.wso2.balana.ParsingException;
 import org.wso2.balana.attr.AttributeValue;
 import org.wso2.balana.attr.BagAttribute;
 import org.wso2.balana.cond.EvaluationResult;
 import org.wso2.balana.ctx.Attribute;
 import org.wso2.balana.ctx.EvaluationCtx;
+import org.wso2.balana.ctx.EvaluationCtxFactory;
 import org.wso2.balana.ctx.Status;
 import org.wso2.balana.finder.AttributeFinderModule;
 import org.wso2.balana.xacml3.Attributes;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.entitlement.EntitlementUtil;
 import org.wso2.carbon.identity.entitlement.PDPConstants;
 import org.wso2.carbon.identity.entitlement.cache.PIPAttributeCache;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementExecutors;
 import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
 import org.wso2.carbon.identity.entitlement.pdp.EntitlementEngine;
 
@@ -43,13 +47,24 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * CarbonAttributeFinder registers with sun-xacml engine as an AttributeFinderModule and delegate
@@ -65,10 +80,53 @@ public class CarbonAttributeFinder extends AttributeFinderModule {
     private PIPAttributeCache attributeFinderCache = null;
     protected int tenantId;
 
+    private static final int DEFAULT_PREFETCH_LATENCY_BUDGET = 200;
+    private static final int DEFAULT_PREFETCH_THREAD_POOL_SIZE = 10;
+    private static final int MAX_PREFETCH_TRIGGERS = 1000;
+    private static final int MAX_PREFETCH_DESIGNATORS = 50;
+
+    // Attribute values resolved during the evaluation running on the current thread.
+    private static final ThreadLocal<EvaluationMemo> evaluationMemo = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> prefetchWorker = new ThreadLocal<>();
+    private static final String PREFETCH_POOL_NAME = "PIPAttributePrefetch";
+
+    private boolean attributePrefetchEnabled;
+    private int prefetchThreadPoolSize;
+    private long prefetchLatencyBudgetInNanos;
+    private volatile PDPConfig prefetchPDPConfig;
+    // Designators requested in earlier evaluations, keyed by the first designator requested in the evaluation.
+    private final Map<Designator, Set<Designator>> prefetchDesignators = new ConcurrentHashMap<>();
+
     public CarbonAttributeFinder(int tenantId) {
         this.tenantId = tenantId;
     }
 
+    /**
+     * Set the PDP configuration used to create the evaluation contexts of the attribute prefetch workers. Balana
+     * evaluation contexts are not thread safe, hence each prefetch worker resolves the attributes against its own
+     * evaluation context created from the request being evaluated. Attributes are not prefetched until this is set.
+     *
+     * @param pdpConfig PDP configuration of the PDP using this attribute finder.
+     */
+    public void setPrefetchPDPConfig(PDPConfig pdpConfig) {
+
+        this.prefetchPDPConfig = pdpConfig;
+    }
+
+    /**
+     * Drop the attribute values memoized during the evaluation on the current thread, and cancel the attribute
+     * prefetches of the evaluation. This must be called once the PDP completes an evaluation, so that the resolved
+     * attribute values are not retained by pooled threads.
+     */
+    public static void clearEvaluationMemo() {
+
+        EvaluationMemo memo = evaluationMemo.get();
+        if (memo != null) {
+            memo.cancelPrefetch();
+            evaluationMemo.remove();
+        }
+    }
+
     /**
      * Registers PIP attribute handlers with the PDP against their supported attributes. This PIP
      * attribute handlers are picked from pip-config.xml file - which should be inside
@@ -90,6 +148,13 @@ public class CarbonAttributeFinder extends AttributeFinderModule {
             }
             attributeFinderCache = new PIPAttributeCache(attributeCachingInterval);
         }
+        if (Boolean.parseBoolean(properties.getProperty(PDPConstants.ATTRIBUTE_PREFETCH))) {
+            attributePrefetchEnabled = true;
+            prefetchLatencyBudgetInNanos = TimeUnit.MILLISECONDS.toNanos(getIntProperty(properties,
+                    PDPConstants.ATTRIBUTE_PREFETCH_LATENCY_BUDGET, DEFAULT_PREFETCH_LATENCY_BUDGET));
+            prefetchThreadPoolSize = getIntProperty(properties, PDPConstants.ATTRIBUTE_PREFETCH_THREAD_POOL_SIZE,
+                    DEFAULT_PREFETCH_THREAD_POOL_SIZE);
+        }
         // clear decision cache
         if (designators != null && !designators.isEmpty()) {
             Set<PIPAttributeFinder> pipAttributeFinders = designators.keySet();
@@ -138,27 +203,17 @@ public class CarbonAttributeFinder extends AttributeFinderModule {
 
         List<AttributeValue> attrBag = new ArrayList<AttributeValue>();
         // Get the list of attribute finders who are registered with this particular attribute.
+        List<PIPAttributeFinder> finders = getAttributeFinders(attributeId, category);
 
-
-        List<PIPAttributeFinder> finders = null;
-
-        if (StringUtils.isNotBlank(category.toString())) {
-            finders = attrFinders.get(category.toString());
+        if (CollectionUtils.isEmpty(finders)) {
             if (log.isDebugEnabled()) {
-                log.debug("No attribute designators defined for the category " + category.toString());
+                log.debug("No attribute designators defined for the attribute " + attributeId.toString());
             }
+            return new EvaluationResult(BagAttribute.createEmptyBag(attributeType));
         }
 
-        if (CollectionUtils.isEmpty(finders)) {
-            finders = attrFinders.get(attributeId.toString());
-            if (CollectionUtils.isEmpty(finders)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("No attribute designators defined for the attribute " + attributeId.toString());
-                }
-                return new EvaluationResult(BagAttribute.createEmptyBag(attributeType));
-
-            }
-        }
+        Designator designator = new Designator(attributeType, attributeId, category, issuer);
+        EvaluationMemo memo = getEvaluationMemo(context, designator);
 
         try {
 
@@ -170,34 +225,14 @@ public class CarbonAttributeFinder extends AttributeFinderModule {
                             pipAttributeFinder.getClass()));
                 }
 
-                Set<String> attrs = null;
-                String key = null;
-
-                if (attributeFinderCache != null && !pipAttributeFinder.overrideDefaultCache()) {
-
-                    key = "[" + attributeType.toString() + "][" + attributeId.toString() + "][" + category.toString() +
-                            "][" + encodeContext(context) + "]";
-
-                    if (issuer != null) {
-                        key += "[" + issuer + "]";
-                    }
-
-                    if (key != null) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Retrieving attributes from cache, tenantId: " + tenantId + ", key: " + key);
-                        }
-                        attrs = attributeFinderCache.getFromCache(tenantId, key);
-                    }
+                Set<String> attrs = memo.getResolved(pipAttributeFinder, designator);
+                if (attrs == null) {
+                    attrs = memo.awaitPrefetched(pipAttributeFinder, designator);
                 }
-
                 if (attrs == null) {
-                    attrs = pipAttributeFinder.getAttributeValues(attributeType, attributeId, category,
-                                                                  issuer, context);
-                    if (attributeFinderCache != null && key != null
-                        && !pipAttributeFinder.overrideDefaultCache()) {
-                        attributeFinderCache.addToCache(tenantId, key, attrs);
-                    }
+                    attrs = findAttributeValues(pipAttributeFinder, designator, context, memo);
                 }
+                memo.putResolved(pipAttributeFinder, designator, attrs);
 
                 if (attrs != null) {
                     for (Iterator iterAttr = attrs.iterator(); iterAttr.hasNext(); ) {
@@ -244,6 +279,211 @@ public class CarbonAttributeFinder extends AttributeFinderModule {
         return new EvaluationResult(new BagAttribute(attributeType, attrBag));
     }
 
+    private List<PIPAttributeFinder> getAttributeFinders(URI attributeId, URI category) {
+
+        List<PIPAttributeFinder> finders = null;
+
+        if (StringUtils.isNotBlank(category.toString())) {
+            finders = attrFinders.get(category.toString());
+            if (log.isDebugEnabled()) {
+                log.debug("No attribute designators defined for the category " + category.toString());
+            }
+        }
+
+        if (CollectionUtils.isEmpty(finders)) {
+            finders = attrFinders.get(attributeId.toString());
+        }
+        return finders;
+    }
+
+    /**
+     * Resolve the attribute values of the designator from the PIP attribute cache, or from the PIP attribute finder
+     * if they are not cached.
+     */
+    private Set<String> findAttributeValues(PIPAttributeFinder pipAttributeFinder, Designator designator,
+                                            EvaluationCtx context, EvaluationMemo memo) throws Exception {
+
+        Set<String> attrs = null;
+        String key = null;
+
+        if (attributeFinderCache != null && !pipAttributeFinder.overrideDefaultCache()) {
+
+            key = "[" + designator.attributeType.toString() + "][" + designator.attributeId.toString() + "][" +
+                    designator.category.toString() + "][" + memo.getEncodedContext() + "]";
+
+            if (designator.issuer != null) {
+                key += "[" + designator.issuer + "]";
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("Retrieving attributes from cache, tenantId: " + tenantId + ", key: " + key);
+            }
+            attrs = attributeFinderCache.getFromCache(tenantId, key);
+        }
+
+        if (attrs == null) {
+            attrs = pipAttributeFinder.getAttributeValues(designator.attributeType, designator.attributeId,
+                    designator.category, designator.issuer, context);
+            if (attributeFinderCache != null && key != null) {
+                attributeFinderCache.addToCache(tenantId, key, attrs);
+            }
+        }
+        return attrs;
+    }
+
+    /**
+     * Get the attribute memo of the evaluation of the given context, creating a new memo if the context is not the
+     * one being evaluated on the current thread. When prefetching is enabled, the designators which followed the
+     * given designator in earlier evaluations are resolved in parallel as the new memo is created.
+     */
+    private EvaluationMemo getEvaluationMemo(EvaluationCtx context, Designator designator) {
+
+        EvaluationMemo memo = evaluationMemo.get();
+        boolean isPrefetchWorker = Boolean.TRUE.equals(prefetchWorker.get());
+        if (memo != null && memo.owner == this && memo.isContextOf(context)) {
+            if (attributePrefetchEnabled && !isPrefetchWorker) {
+                learnDesignator(memo.trigger, designator);
+            }
+            return memo;
+        }
+        if (memo != null && !isPrefetchWorker) {
+            memo.cancelPrefetch();
+        }
+
+        memo = new EvaluationMemo(this, context, designator, System.nanoTime() + prefetchLatencyBudgetInNanos);
+        evaluationMemo.set(memo);
+        if (attributePrefetchEnabled && !isPrefetchWorker) {
+            prefetch(memo, prefetchDesignators.get(designator));
+        }
+        return memo;
+    }
+
+    private void learnDesignator(Designator trigger, Designator designator) {
+
+        if (trigger.equals(designator)) {
+            return;
+        }
+        Set<Designator> designators = prefetchDesignators.get(trigger);
+        if (designators == null) {
+            if (prefetchDesignators.size() >= MAX_PREFETCH_TRIGGERS) {
+                return;
+            }
+            designators = prefetchDesignators.computeIfAbsent(trigger, key -> ConcurrentHashMap.newKeySet());
+        }
+        if (designators.size() < MAX_PREFETCH_DESIGNATORS) {
+            designators.add(designator);
+        }
+    }
+
+    /**
+     * Resolve the given designators in parallel. The designators of each PIP attribute finder are resolved in
+     * sequence by a single task, so that independent finders are queried at the same time.
+     */
+    private void prefetch(EvaluationMemo memo, Set<Designator> designators) {
+
+        PDPConfig pdpConfig = prefetchPDPConfig;
+        if (CollectionUtils.isEmpty(designators) || pdpConfig == null) {
+            return;
+        }
+
+        Map<PIPAttributeFinder, List<Designator>> designatorsByFinder = new LinkedHashMap<>();
+        for (Designator designator : designators) {
+            List<PIPAttributeFinder> finders = getAttributeFinders(designator.attributeId, designator.category);
+            if (finders != null) {
+                for (PIPAttributeFinder finder : finders) {
+                    designatorsByFinder.computeIfAbsent(finder, key -> new ArrayList<>()).add(designator);
+                }
+            }
+        }
+        if (designatorsByFinder.size() < 2) {
+            // Nothing to gain from resolving the attributes of a single finder in another thread.
+            return;
+        }
+
+        try {
+            // The encoded context is part of the attribute cache keys, hence it is prepared before it is shared.
+            memo.getEncodedContext();
+        } catch (TransformerException e) {
+            log.error("Error while encoding the evaluation context for the attribute prefetch.", e);
+            return;
+        }
+
+        ExecutorService executor = EntitlementExecutors.getFixedThreadPool(PREFETCH_POOL_NAME, prefetchThreadPoolSize);
+        for (Map.Entry<PIPAttributeFinder, List<Designator>> entry : designatorsByFinder.entrySet()) {
+            PIPAttributeFinder finder = entry.getKey();
+            EvaluationCtx workerContext;
+            try {
+                // Created on the evaluating thread, so that the request is only read by the thread evaluating it.
+                workerContext = EvaluationCtxFactory.getFactory().getEvaluationCtx(memo.context.getRequestCtx(),
+                        pdpConfig);
+            } catch (ParsingException | RuntimeException e) {
+                log.error("Error while creating the evaluation context for the attribute prefetch.", e);
+                return;
+            }
+            memo.addWorkerContext(workerContext);
+            List<CompletableFuture<Set<String>>> futures = new ArrayList<>();
+            for (Designator designator : entry.getValue()) {
+                futures.add(memo.addPending(finder, designator));
+            }
+            try {
+                executor.execute(() -> prefetch(memo, workerContext, finder, entry.getValue(), futures));
+            } catch (RejectedExecutionException e) {
+                futures.forEach(future -> future.cancel(false));
+                if (log.isDebugEnabled()) {
+                    log.debug("Attribute prefetch rejected for the PIP attribute handler " + finder.getClass());
+                }
+            }
+        }
+    }
+
+    private void prefetch(EvaluationMemo memo, EvaluationCtx workerContext, PIPAttributeFinder finder,
+                          List<Designator> designators, List<CompletableFuture<Set<String>>> futures) {
+
+        EvaluationMemo previousMemo = evaluationMemo.get();
+        evaluationMemo.set(memo);
+        prefetchWorker.set(Boolean.TRUE);
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId, true);
+            for (int i = 0; i < designators.size(); i++) {
+                CompletableFuture<Set<String>> future = futures.get(i);
+                if (future.isDone() || System.nanoTime() > memo.deadline) {
+                    future.cancel(false);
+                    continue;
+                }
+                try {
+                    Set<String> attrs = findAttributeValues(finder, designators.get(i), workerContext, memo);
+                    future.complete(attrs == null ? Collections.<String>emptySet() : attrs);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+            prefetchWorker.remove();
+            if (previousMemo != null) {
+                evaluationMemo.set(previousMemo);
+            } else {
+                evaluationMemo.remove();
+            }
+        }
+    }
+
+    private static int getIntProperty(Properties properties, String name, int defaultValue) {
+
+        String value = properties.getProperty(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value " + value + " for the property " + name + ". Using the default value " +
+                    defaultValue);
+            return defaultValue;
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -320,4 +560,166 @@ public class CarbonAttributeFinder extends AttributeFinderModule {
 
         return contextWithAttributeValues;
     }
+
+    /**
+     * Attribute designator, identified by the attribute type, id, category and issuer.
+     */
+    private static final class Designator {
+
+        private final URI attributeType;
+        private final URI attributeId;
+        private final URI category;
+        private final String issuer;
+
+        private Designator(URI attributeType, URI attributeId, URI category, String issuer) {
+
+            this.attributeType = attributeType;
+            this.attributeId = attributeId;
+            this.category = category;
+            this.issuer = issuer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Designator)) {
+                return false;
+            }
+            Designator that = (Designator) o;
+            return attributeType.equals(that.attributeType) && attributeId.equals(that.attributeId) &&
+                    category.equals(that.category) && Objects.equals(issuer, that.issuer);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(attributeType, attributeId, category, issuer);
+        }
+    }
+
+    /**
+     * Attribute values resolved by each PIP attribute finder during a single evaluation, so that a designator which
+     * is referred to many times in the policies is resolved once per evaluation.
+     */
+    private static final class EvaluationMemo {
+
+        private final CarbonAttributeFinder owner;
+        private final EvaluationCtx context;
+        private final Designator trigger;
+        private final long deadline;
+        private final Map<Map.Entry<PIPAttributeFinder, Designator>, Set<String>> resolved =
+                new ConcurrentHashMap<>();
+        private final Map<Map.Entry<PIPAttributeFinder, Designator>, CompletableFuture<Set<String>>> pending =
+                new ConcurrentHashMap<>();
+        // Evaluation contexts of the prefetch workers, created from the request of the evaluated context.
+        private final Set<EvaluationCtx> workerContexts = ConcurrentHashMap.newKeySet();
+        private volatile String encodedContext;
+
+        private EvaluationMemo(CarbonAttributeFinder owner, EvaluationCtx context, Designator trigger,
+                               long deadline) {
+
+            this.owner = owner;
+            this.context = context;
+            this.trigger = trigger;
+            this.deadline = deadline;
+        }
+
+        private boolean isContextOf(EvaluationCtx evaluationCtx) {
+
+            return context == evaluationCtx || workerContexts.contains(evaluationCtx);
+        }
+
+        private void addWorkerContext(EvaluationCtx workerContext) {
+
+            workerContexts.add(workerContext);
+        }
+
+        private Set<String> getResolved(PIPAttributeFinder finder, Designator designator) {
+
+            return resolved.get(new AbstractMap.SimpleImmutableEntry<>(finder, designator));
+        }
+
+        private void putResolved(PIPAttributeFinder finder, Designator designator, Set<String> attrs) {
+
+            resolved.put(new AbstractMap.SimpleImmutableEntry<>(finder, designator),
+                    attrs == null ? Collections.<String>emptySet() : attrs);
+        }
+
+        private CompletableFuture<Set<String>> addPending(PIPAttributeFinder finder, Designator designator) {
+
+            CompletableFuture<Set<String>> future = new CompletableFuture<>();
+            pending.put(new AbstractMap.SimpleImmutableEntry<>(finder, designator), future);
+            return future;
+        }
+
+        /**
+         * Wait for the prefetched values of the designator within the remaining latency budget of the evaluation.
+         *
+         * @return Prefetched values, or null if the designator was not prefetched or could not be resolved in time.
+         */
+        private Set<String> awaitPrefetched(PIPAttributeFinder finder, Designator designator) {
+
+            CompletableFuture<Set<String>> future =
+                    pending.remove(new AbstractMap.SimpleImmutableEntry<>(finder, designator));
+            if (future == null) {
+                return null;
+            }
+            if (Boolean.TRUE.equals(prefetchWorker.get())) {
+                // Do not block a prefetch worker on the work queued behind it.
+                return future.getNow(null);
+            }
+            try {
+                if (future.isDone()) {
+                    return future.get();
+                }
+                long remainingTime = deadline - System.nanoTime();
+                if (remainingTime <= 0) {
+                    future.cancel(false);
+                    return null;
+                }
+                return future.get(remainingTime, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(false);
+                if (log.isDebugEnabled()) {
+                    log.debug("Attribute prefetch exceeded the latency budget of the evaluation. Resolving the " +
+                            "attribute " + designator.attributeId + " in line.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Attribute prefetch failed for the attribute " + designator.attributeId +
+                            ". Resolving the attribute in line.", e.getCause());
+                }
+            } catch (RuntimeException e) {
+                // The prefetch was cancelled.
+            }
+            return null;
+        }
+
+        private void cancelPrefetch() {
+
+            for (CompletableFuture<Set<String>> future : pending.values()) {
+                future.cancel(false);
+            }
+            pending.clear();
+            resolved.clear();
+            workerContexts.clear();
+        }
+
+        private String getEncodedContext() throws TransformerException {
+
+            if (encodedContext == null) {
+                synchronized (this) {
+                    if (encodedContext == null) {
+                        encodedContext = owner.encodeContext(context);
+                    }
+                }
+            }
+            return encodedContext;
+        }
+    }
 }
@@ -51,8 +51,8 @@ public class PolicyReader implements ErrorHandler {
     private static final Object lock = new Object();
     private static Log log = LogFactory.getLog(PolicyReader.class);
     private static volatile PolicyReader reader;
-    // the builder used to create DOM documents
-    private DocumentBuilder builder;
+    // the builders used to create DOM documents, one per thread so that policies can be parsed in parallel
+    private ThreadLocal<DocumentBuilder> builder;
 
     // policy finder module to find  policies
     private PolicyFinder policyFinder;
@@ -63,10 +63,18 @@ public class PolicyReader implements ErrorHandler {
         // create the factory
         DocumentBuilderFactory factory = IdentityUtil.getSecuredDocumentBuilderFactory();
         factory.setIgnoringComments(true);
-        // now use the factory to create the document builder
+        // now use the factory to create the document builders
+        builder = ThreadLocal.withInitial(() -> newDocumentBuilder(factory));
+    }
+
+    private DocumentBuilder newDocumentBuilder(DocumentBuilderFactory factory) {
+
         try {
-            builder = factory.newDocumentBuilder();
-            builder.setErrorHandler(this);
+            synchronized (factory) {
+                DocumentBuilder documentBuilder = factory.newDocumentBuilder();
+                documentBuilder.setErrorHandler(this);
+                return documentBuilder;
+            }
         } catch (ParserConfigurationException pce) {
             throw new IllegalArgumentException("Filed to setup repository: ");
         }
@@ -95,7 +103,7 @@ public class PolicyReader implements ErrorHandler {
         InputStream stream = null;
         try {
             stream = new ByteArrayInputStream(policy.getBytes("UTF-8"));
-            handleDocument(builder.parse(stream));
+            handleDocument(builder.get().parse(stream));
         } catch (Exception e) {
             return false;
         }
@@ -106,11 +114,11 @@ public class PolicyReader implements ErrorHandler {
      * @param policy
      * @return
      */
-    public synchronized AbstractPolicy getPolicy(String policy) {
+    public AbstractPolicy getPolicy(String policy) {
         InputStream stream = null;
         try {
             stream = new ByteArrayInputStream(policy.getBytes("UTF-8"));
-            return handleDocument(builder.parse(stream));
+            return handleDocument(builder.get().parse(stream));
         } catch (Exception e) {
             log.error("Error while parsing the policy", e);
             return null;
@@ -128,7 +136,7 @@ public class PolicyReader implements ErrorHandler {
         PolicyTarget policyTarget = new PolicyTarget();
         try {
             stream = new ByteArrayInputStream(policy.getBytes("UTF-8"));
-            AbstractPolicy abstractPolicy = handleDocument(builder.parse(stream));
+            AbstractPolicy abstractPolicy = handleDocument(builder.get().parse(stream));
             policyTarget.setTarget(abstractPolicy.getTarget());
             policyTarget.setPolicyId(abstractPolicy.getId().toString());
             return policyTarget;
@@ -49,6 +49,7 @@ import org.wso2.carbon.identity.entitlement.policy.store.PolicyDataStore;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -68,6 +69,7 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
     public PolicyReader policyReader;
     private List<PolicyFinderModule> finderModules = null;
     private PolicyCollection policyCollection;
+    private CompiledPolicyStore compiledPolicyStore;
 
     private List<PolicyDTO> policyCollectionOrder = new ArrayList<PolicyDTO>();
 
@@ -139,6 +141,9 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
 
         // get policy reader
         policyReader = PolicyReader.getInstance(finder);
+        if (compiledPolicyStore == null) {
+            compiledPolicyStore = new CompiledPolicyStore(policyReader);
+        }
 
         if (this.finderModules != null && this.finderModules.size() > 0) {
             // find policy combining algorithm.
@@ -157,12 +162,23 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
 
             tempPolicyCollection.setPolicyCombiningAlgorithm(policyCombiningAlgorithm);
 
+            List<String[]> modulePolicies = new ArrayList<String[]>();
+            List<String> policies = new ArrayList<String>();
             for (PolicyFinderModule finderModule : this.finderModules) {
                 log.info("Start retrieving policies from " + finderModule + " at : " + new Date());
-                String[] policies = finderModule.getActivePolicies();
-                for (int a = 0; a < policies.length; a++) {
-                    String policy = policies[a];
-                    AbstractPolicy abstractPolicy = policyReader.getPolicy(policy);
+                String[] activePolicies = finderModule.getActivePolicies();
+                modulePolicies.add(activePolicies);
+                policies.addAll(Arrays.asList(activePolicies));
+                log.info("Finish retrieving policies from " + finderModule + " at : " + new Date());
+            }
+
+            // policies of all the modules are loaded at once, so that the parsed form of the unchanged policies
+            // is reused and the rest are parsed in parallel.
+            Iterator<AbstractPolicy> abstractPolicies = compiledPolicyStore.
+                    getPolicies(policies.toArray(new String[policies.size()])).iterator();
+            for (String[] activePolicies : modulePolicies) {
+                for (int a = 0; a < activePolicies.length; a++) {
+                    AbstractPolicy abstractPolicy = abstractPolicies.next();
                     if (abstractPolicy != null) {
                         PolicyDTO policyDTO = new PolicyDTO();
                         policyDTO.setPolicyId(abstractPolicy.getId().toString());
@@ -171,7 +187,6 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
                         tempPolicyCollection.addPolicy(abstractPolicy);
                     }
                 }
-                log.info("Finish retrieving policies from " + finderModule + " at : " + new Date());
             }
         } else {
             log.warn("No Carbon policy finder modules are registered");
@@ -300,7 +315,7 @@ public class CarbonPolicyFinder extends org.wso2.balana.finder.PolicyFinderModul
             for (PolicyFinderModule finderModule : this.finderModules) {
                 String policyString = finderModule.getPolicy(policyId);
                 if (policyString != null) {
-                    AbstractPolicy policy = policyReader.getPolicy(policyString);
+                    AbstractPolicy policy = compiledPolicyStore.getPolicy(policyString);
                     if (policy != null) {
                         return policy;
                     }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.finder;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.balana.AbstractPolicy;
+import org.wso2.carbon.identity.entitlement.EntitlementUtil;
+import org.wso2.carbon.identity.entitlement.PDPConstants;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementExecutors;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
+import org.wso2.carbon.identity.entitlement.policy.PolicyReader;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Parsed form of the policies loaded by a {@link CarbonPolicyFinder}, kept against the digest of the policy content
+ * they are parsed from.
+ * <p>
+ * When the policy store is re-initialized, the parsed form of a policy is reused as long as the content of the policy
+ * is unchanged. Stale policies, whose content no longer matches, are parsed again from the XML, and they are parsed in
+ * parallel.
+ */
+class CompiledPolicyStore {
+
+    private static final Log log = LogFactory.getLog(CompiledPolicyStore.class);
+
+    private static final String THREAD_POOL_NAME = "EntitlementPolicyLoader";
+
+    private final PolicyReader policyReader;
+    private final Map<String, AbstractPolicy> compiledPolicies = new ConcurrentHashMap<>();
+
+    CompiledPolicyStore(PolicyReader policyReader) {
+
+        this.policyReader = policyReader;
+    }
+
+    /**
+     * Returns the parsed form of the given policies. Parsed policies of which the content is not among the given
+     * policies are dropped.
+     *
+     * @param policies policies as Strings
+     * @return parsed policies in the order of the given policies. Policies which can not be parsed are null
+     */
+    List<AbstractPolicy> getPolicies(String[] policies) {
+
+        String[] digests = new String[policies.length];
+        AbstractPolicy[] abstractPolicies = new AbstractPolicy[policies.length];
+        Map<String, String> stalePolicies = new HashMap<>();
+        for (int i = 0; i < policies.length; i++) {
+            digests[i] = EntitlementUtil.getPolicyDigest(policies[i]);
+            abstractPolicies[i] = compiledPolicies.get(digests[i]);
+            if (abstractPolicies[i] == null) {
+                stalePolicies.put(digests[i], policies[i]);
+            }
+        }
+
+        compiledPolicies.keySet().retainAll(new HashSet<>(Arrays.asList(digests)));
+        compiledPolicies.putAll(parse(stalePolicies));
+
+        for (int i = 0; i < policies.length; i++) {
+            if (abstractPolicies[i] == null) {
+                abstractPolicies[i] = compiledPolicies.get(digests[i]);
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Loaded " + policies.length + " policies. Parsed " + stalePolicies.size() +
+                    " policies and reused the parsed form of the rest");
+        }
+        return Arrays.asList(abstractPolicies);
+    }
+
+    /**
+     * Returns the parsed form of the given policy, replacing any parsed form of an earlier version of the policy.
+     *
+     * @param policy policy as String
+     * @return parsed policy or null if the policy can not be parsed
+     */
+    AbstractPolicy getPolicy(String policy) {
+
+        String digest = EntitlementUtil.getPolicyDigest(policy);
+        AbstractPolicy abstractPolicy = compiledPolicies.get(digest);
+        if (abstractPolicy != null) {
+            return abstractPolicy;
+        }
+
+        abstractPolicy = policyReader.getPolicy(policy);
+        if (abstractPolicy != null) {
+            Iterator<AbstractPolicy> iterator = compiledPolicies.values().iterator();
+            while (iterator.hasNext()) {
+                if (abstractPolicy.getId().equals(iterator.next().getId())) {
+                    iterator.remove();
+                }
+            }
+            compiledPolicies.put(digest, abstractPolicy);
+        }
+        return abstractPolicy;
+    }
+
+    private Map<String, AbstractPolicy> parse(Map<String, String> policies) {
+
+        Map<String, AbstractPolicy> abstractPolicies = new HashMap<>();
+        if (policies.size() < 2) {
+            for (Map.Entry<String, String> entry : policies.entrySet()) {
+                putPolicy(abstractPolicies, entry.getKey(), policyReader.getPolicy(entry.getValue()));
+            }
+            return abstractPolicies;
+        }
+
+        ExecutorService executor = EntitlementExecutors.getFixedThreadPool(THREAD_POOL_NAME, getParallelism());
+        Map<String, Future<AbstractPolicy>> futures = new HashMap<>();
+        for (Map.Entry<String, String> entry : policies.entrySet()) {
+            String policy = entry.getValue();
+            try {
+                futures.put(entry.getKey(), executor.submit(() -> policyReader.getPolicy(policy)));
+            } catch (RejectedExecutionException e) {
+                // The pool is shut down along with the entitlement component. Parse in line instead.
+                putPolicy(abstractPolicies, entry.getKey(), policyReader.getPolicy(policy));
+            }
+        }
+
+        for (Map.Entry<String, Future<AbstractPolicy>> entry : futures.entrySet()) {
+            try {
+                putPolicy(abstractPolicies, entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while parsing policies", e);
+                break;
+            } catch (ExecutionException e) {
+                log.error("Error while parsing the policy", e.getCause());
+            }
+        }
+        return abstractPolicies;
+    }
+
+    private static void putPolicy(Map<String, AbstractPolicy> abstractPolicies, String digest,
+                                  AbstractPolicy abstractPolicy) {
+
+        if (abstractPolicy != null) {
+            abstractPolicies.put(digest, abstractPolicy);
+        }
+    }
+
+    private static int getParallelism() {
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Properties properties = EntitlementServiceComponent.getEntitlementConfig().getEngineProperties();
+        String value = properties.getProperty(PDPConstants.POLICY_LOADING_PARALLELISM);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                parallelism = Math.max(1, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value " + value + " for the property " + PDPConstants.POLICY_LOADING_PARALLELISM +
+                        ". Using the default value " + parallelism);
+            }
+        }
+        return parallelism;
+    }
+}
@@ -22,6 +22,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.balana.AbstractPolicy;
 import org.wso2.carbon.identity.entitlement.EntitlementException;
+import org.wso2.carbon.identity.entitlement.EntitlementUtil;
+import org.wso2.carbon.identity.entitlement.PDPConstants;
 import org.wso2.carbon.identity.entitlement.PolicyOrderComparator;
 import org.wso2.carbon.identity.entitlement.dto.PolicyDTO;
 import org.wso2.carbon.identity.entitlement.pap.PAPPolicyReader;
@@ -183,9 +185,13 @@ public class RegistryPolicyReader {
                 throw new EntitlementException("Error while loading entitlement policy. Policy content is null");
             }
             policy = new String((byte[]) resource.getContent(), Charset.forName("UTF-8"));
-            absPolicy = PAPPolicyReader.getInstance(null).getPolicy(policy);
             dto = new PolicyDTO();
-            dto.setPolicyId(absPolicy.getId().toASCIIString());
+            String policyId = getParsedPolicyId(resource, policy);
+            if (policyId == null) {
+                absPolicy = PAPPolicyReader.getInstance(null).getPolicy(policy);
+                policyId = absPolicy.getId().toASCIIString();
+            }
+            dto.setPolicyId(policyId);
             dto.setPolicy(policy);
             String policyOrder = resource.getProperty("order");
             if (policyOrder != null) {
@@ -207,6 +213,30 @@ public class RegistryPolicyReader {
         }
     }
 
+    /**
+     * Returns the policy id persisted along with the policy, if it has been derived from the current content of the
+     * policy resource. Otherwise the policy needs to be parsed to find its id.
+     *
+     * @param resource Registry resource
+     * @param policy   policy content
+     * @return policy id or null if it is not available or stale
+     */
+    private String getParsedPolicyId(Resource resource, String policy) {
+
+        String policyId = resource.getProperty(PDPConstants.POLICY_ID_PROPERTY);
+        String digest = resource.getProperty(PDPConstants.POLICY_DIGEST_PROPERTY);
+        if (policyId == null || digest == null) {
+            return null;
+        }
+        if (!digest.equals(EntitlementUtil.getPolicyDigest(policy))) {
+            if (log.isDebugEnabled()) {
+                log.debug("Persisted policy id of policy : " + policyId + " is stale. Policy is parsed to read the id");
+            }
+            return null;
+        }
+        return policyId;
+    }
+
     /**
      * This reads the policy combining algorithm from registry resource property
      *
@@ -112,6 +112,21 @@ public abstract class AbstractPolicyPublisherModule implements PolicyPublisherMo
         return null;
     }
 
+    /**
+     * Creates a new instance of this module to publish to a single subscriber. As a module keeps the details of the
+     * subscriber it is initialized with, the subscribers of a module can be published to in parallel only through
+     * separate instances. The new instance is initialized with the subscriber by {@link #init(PublisherDataHolder)}.
+     * Modules which do not support this return null, and the subscribers are published to one after the other
+     * through the registered instance.
+     *
+     * @param properties properties the registered module is configured with
+     * @return new instance of the module, or null if not supported
+     */
+    public AbstractPolicyPublisherModule newSubscriberInstance(Properties properties) {
+
+        return null;
+    }
+
     @Override
     public void publish(PolicyDTO policyDTO, String action, boolean enabled, int order) throws EntitlementException {
 
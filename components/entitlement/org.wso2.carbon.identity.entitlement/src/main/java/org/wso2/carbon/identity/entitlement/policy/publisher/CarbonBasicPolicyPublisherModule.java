@@ -81,6 +81,13 @@ public class CarbonBasicPolicyPublisherModule extends AbstractPolicyPublisherMod
         return MODULE_NAME;
     }
 
+    @Override
+    public AbstractPolicyPublisherModule newSubscriberInstance(Properties properties) {
+
+        // All the details of a subscriber are set when the module is initialized with it.
+        return new CarbonBasicPolicyPublisherModule();
+    }
+
     @Override
     public Properties loadProperties() {
 
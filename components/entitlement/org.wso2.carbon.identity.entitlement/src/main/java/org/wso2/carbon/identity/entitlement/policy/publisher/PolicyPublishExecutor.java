@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.entitlement.policy.publisher;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.CarbonContext;
@@ -29,6 +30,7 @@ import org.wso2.carbon.identity.entitlement.common.EntitlementConstants;
 import org.wso2.carbon.identity.entitlement.dto.PolicyDTO;
 import org.wso2.carbon.identity.entitlement.dto.PublisherDataHolder;
 import org.wso2.carbon.identity.entitlement.dto.StatusHolder;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementExecutors;
 import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
 import org.wso2.carbon.identity.entitlement.pap.EntitlementAdminEngine;
 import org.wso2.carbon.identity.entitlement.policy.version.PolicyVersionManager;
@@ -36,8 +38,17 @@ import org.wso2.carbon.registry.api.Registry;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Policy publish executor
@@ -45,6 +56,9 @@ import java.util.Set;
 public class PolicyPublishExecutor {
 
     private static Log log = LogFactory.getLog(PolicyPublishExecutor.class);
+    private static final int DEFAULT_THREAD_POOL_SIZE = 4;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final String THREAD_POOL_NAME = "EntitlementPolicyPublisher";
     private String[] policyIds;
     private String[] subscriberIds;
     private PolicyPublisher publisher;
@@ -101,21 +115,19 @@ public class PolicyPublishExecutor {
         String newVerificationCode = null;
         ArrayList<String> notPublishedSubscribers = new ArrayList<String>();
 
-
-        PolicyPublisherModule policyPublisherModule = null;
         Set<PolicyPublisherModule> publisherModules = publisher.getPublisherModules();
 
         if (publisherModules == null) {
             return;
         }
 
-        PublisherDataHolder holder = null;
         Set<PAPStatusDataHandler> papStatusDataHandler = publisher.getPapStatusDataHandlers();
+        List<SubscriberPublishTask> tasks = new ArrayList<SubscriberPublishTask>();
         for (String subscriberId : subscriberIds) {
 
             // there is only one known subscriber, if policies are publishing to PDP
-            List<StatusHolder> subscriberHolders = new ArrayList<StatusHolder>();
-            List<StatusHolder> policyHolders = new ArrayList<StatusHolder>();
+            PolicyPublisherModule policyPublisherModule = null;
+            PublisherDataHolder holder = null;
             if (toPDP) {
                 policyPublisherModule = new CarbonPDPPublisher();
                 holder = new PublisherDataHolder(policyPublisherModule.getModuleName());
@@ -131,15 +143,6 @@ public class PolicyPublishExecutor {
                     for (PolicyPublisherModule publisherModule : publisherModules) {
                         if (publisherModule.getModuleName().equals(holder.getModuleName())) {
                             policyPublisherModule = publisherModule;
-                            if (policyPublisherModule instanceof AbstractPolicyPublisherModule) {
-                                try {
-                                    ((AbstractPolicyPublisherModule) policyPublisherModule).init(holder);
-                                } catch (Exception e) {
-                                    subscriberHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
-                                            subscriberId, version, "More than one Policy", action, false, e.getMessage()));
-                                    continue;
-                                }
-                            }
                             break;
                         }
                     }
@@ -147,9 +150,12 @@ public class PolicyPublishExecutor {
             }
 
             if (policyPublisherModule == null) {
+                List<StatusHolder> subscriberHolders = new ArrayList<StatusHolder>();
                 subscriberHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
                         subscriberId, version, "More than one Policy", action, false,
                         "No policy publish module is defined for subscriber : " + subscriberId));
+                handleStatus(papStatusDataHandler, EntitlementConstants.Status.ABOUT_SUBSCRIBER,
+                        Collections.singletonMap(subscriberId, subscriberHolders));
                 continue;
             }
 
@@ -167,76 +173,185 @@ public class PolicyPublishExecutor {
                 log.error("Error while calling the post verification publisher module", e);
             }
 
-            for (String policyId : policyIds) {
-
-                PolicyDTO policyDTO = null;
-
-                if (EntitlementConstants.PolicyPublish.ACTION_CREATE.equalsIgnoreCase(action) ||
-                        EntitlementConstants.PolicyPublish.ACTION_UPDATE.equalsIgnoreCase(action)) {
-                    PolicyVersionManager manager = EntitlementAdminEngine.getInstance().getVersionManager();
-                    try {
-                        policyDTO = manager.getPolicy(policyId, version);
-                    } catch (EntitlementException e) {
-                        //  ignore
-                    }
+            boolean shared = false;
+            if (!toPDP) {
+                PolicyPublisherModule subscriberModule = newSubscriberInstance(policyPublisherModule);
+                if (subscriberModule != null) {
+                    policyPublisherModule = subscriberModule;
                 } else {
-                    policyDTO = new PolicyDTO();
-                    policyDTO.setPolicyId(policyId);
-                    policyDTO.setVersion(version);
-                    policyDTO.setPolicyOrder(order);
+                    shared = true;
                 }
+            }
+            tasks.add(new SubscriberPublishTask(subscriberId, holder, policyPublisherModule, shared));
+        }
 
-                if (policyDTO == null) {
-                    subscriberHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
-                            subscriberId, version, policyId, action, false,
-                            "Can not found policy under policy id : " + policyId));
-                    policyHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
-                            policyId, version, subscriberId, action, false,
-                            "Can not found policy under policy id : " + policyId));
-                    continue;
-                }
+        if (!tasks.isEmpty()) {
+            publish(tasks, papStatusDataHandler);
+        }
 
-                try {
-                    policyPublisherModule.publish(policyDTO, action, enabled, order);
-                    subscriberHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
-                            subscriberId, version, policyId, action));
-                    policyHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
-                            policyId, version, subscriberId, action));
-                } catch (Exception e) {
-                    subscriberHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
-                            subscriberId, version, policyId, action, false, e.getMessage()));
-                    policyHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
-                            policyId, version, subscriberId, action, false, e.getMessage()));
-                }
+        if (newVerificationCode != null) {
+            persistVerificationCode(newVerificationCode,
+                    notPublishedSubscribers.toArray(new String[notPublishedSubscribers.size()]));
+        }
+    }
+
+    /**
+     * Creates an instance of a configured publisher module for a single subscriber.
+     *
+     * @param publisherModule configured publisher module
+     * @return new instance of the module, or null if the module does not support it
+     */
+    private PolicyPublisherModule newSubscriberInstance(PolicyPublisherModule publisherModule) {
+
+        if (!(publisherModule instanceof AbstractPolicyPublisherModule)) {
+            return null;
+        }
+        Properties properties = EntitlementServiceComponent.getEntitlementConfig().getPolicyPublisherModules()
+                .get(publisherModule);
+        try {
+            return ((AbstractPolicyPublisherModule) publisherModule).newSubscriberInstance(properties);
+        } catch (RuntimeException e) {
+            log.error("Error while creating an instance of the publisher module : " +
+                    publisherModule.getModuleName() + ". Subscribers of the module are published to one after " +
+                    "the other", e);
+            return null;
+        }
+    }
 
-                for (PAPStatusDataHandler module : papStatusDataHandler) {
+    /**
+     * Publishes the policies to the given subscribers. Policies are loaded once and published to each subscriber
+     * in batches, and subscribers are published to in parallel using a bounded thread pool. A configured publisher
+     * module keeps the details of the subscriber it is initialized with, hence each subscriber is published to
+     * through its own instance of the module. The subscribers of a module which can not create such instances are
+     * published to one after the other.
+     *
+     * @param tasks                publishing tasks of the subscribers
+     * @param papStatusDataHandler status data handlers
+     */
+    private void publish(List<SubscriberPublishTask> tasks, Set<PAPStatusDataHandler> papStatusDataHandler) {
+
+        Map<String, PolicyDTO> policies = loadPolicies();
+        Properties properties = EntitlementServiceComponent.getEntitlementConfig().getEngineProperties();
+        int batchSize = getIntProperty(properties, PDPConstants.POLICY_PUBLISHER_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        PublishProgress progress = new PublishProgress((long) tasks.size() * policies.size());
+
+        CarbonContext carbonContext = CarbonContext.getThreadLocalCarbonContext();
+        String currentTenantDomain = carbonContext.getTenantDomain();
+        int currentTenantId = carbonContext.getTenantId();
+        String currentUserName = carbonContext.getUsername();
+
+        if (tasks.size() == 1) {
+            tasks.get(0).publish(policies, batchSize, papStatusDataHandler, progress);
+            return;
+        }
+
+        ExecutorService executor = EntitlementExecutors.getFixedThreadPool(THREAD_POOL_NAME,
+                getIntProperty(properties, PDPConstants.POLICY_PUBLISHER_THREAD_POOL_SIZE, DEFAULT_THREAD_POOL_SIZE));
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (SubscriberPublishTask task : tasks) {
+            try {
+                futures.add(executor.submit(() -> {
+                    PrivilegedCarbonContext.startTenantFlow();
+                    PrivilegedCarbonContext context = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                    context.setTenantDomain(currentTenantDomain);
+                    context.setTenantId(currentTenantId);
+                    context.setUsername(currentUserName);
                     try {
-                        module.handle(EntitlementConstants.Status.ABOUT_POLICY, policyId, policyHolders);
-                        policyHolders = new ArrayList<StatusHolder>();
-                    } catch (EntitlementException e) {
-                        // ignore
-                        log.error("Error while calling post publishers", e);
+                        task.publish(policies, batchSize, papStatusDataHandler, progress);
+                    } finally {
+                        PrivilegedCarbonContext.endTenantFlow();
                     }
-                }
+                }));
+            } catch (RejectedExecutionException e) {
+                log.error("Publishing policies to subscriber : " + task.subscriberId + " is rejected as the " +
+                        "entitlement component is shutting down");
+                futures.add(null);
             }
+        }
 
-            for (PAPStatusDataHandler module : papStatusDataHandler) {
+        for (int i = 0; i < futures.size(); i++) {
+            if (futures.get(i) == null) {
+                continue;
+            }
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while publishing policies to subscribers", e);
+                return;
+            } catch (ExecutionException e) {
+                log.error("Error while publishing policies to subscriber : " + tasks.get(i).subscriberId,
+                        e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Loads the policies to be published. Policies which can not be found are mapped to null.
+     *
+     * @return policies against the policy ids, in the order of the policy ids
+     */
+    private Map<String, PolicyDTO> loadPolicies() {
+
+        Map<String, PolicyDTO> policies = new LinkedHashMap<String, PolicyDTO>();
+        for (String policyId : policyIds) {
+
+            PolicyDTO policyDTO = null;
+
+            if (EntitlementConstants.PolicyPublish.ACTION_CREATE.equalsIgnoreCase(action) ||
+                    EntitlementConstants.PolicyPublish.ACTION_UPDATE.equalsIgnoreCase(action)) {
+                PolicyVersionManager manager = EntitlementAdminEngine.getInstance().getVersionManager();
                 try {
-                    module.handle(EntitlementConstants.Status.ABOUT_SUBSCRIBER, subscriberId, subscriberHolders);
-                    subscriberHolders = new ArrayList<StatusHolder>();
+                    policyDTO = manager.getPolicy(policyId, version);
                 } catch (EntitlementException e) {
-                    // ignore
-                    log.error("Error while calling post publishers", e);
+                    //  ignore
                 }
+            } else {
+                policyDTO = new PolicyDTO();
+                policyDTO.setPolicyId(policyId);
+                policyDTO.setVersion(version);
+                policyDTO.setPolicyOrder(order);
             }
+            policies.put(policyId, policyDTO);
         }
+        return policies;
+    }
 
-        if (newVerificationCode != null) {
-            persistVerificationCode(newVerificationCode,
-                    notPublishedSubscribers.toArray(new String[notPublishedSubscribers.size()]));
+    private static void handleStatus(Set<PAPStatusDataHandler> papStatusDataHandler, String about,
+                                     Map<String, List<StatusHolder>> statusHolders) {
+
+        if (statusHolders.isEmpty()) {
+            return;
+        }
+        for (PAPStatusDataHandler module : papStatusDataHandler) {
+            try {
+                module.handle(about, statusHolders);
+            } catch (EntitlementException e) {
+                // ignore
+                log.error("Error while calling post publishers", e);
+            }
         }
     }
 
+    private static int getIntProperty(Properties properties, String name, int defaultValue) {
+
+        String value = properties.getProperty(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // ignore
+        }
+        log.warn("Invalid value " + value + " for the property " + name + ". Using the default value " +
+                defaultValue);
+        return defaultValue;
+    }
+
     /**
      * Helper method
      *
@@ -310,4 +425,137 @@ public class PolicyPublishExecutor {
     public void setUserName(String userName) {
         this.userName = userName;
     }
+
+    /**
+     * Publishes the policies to a single subscriber.
+     */
+    private class SubscriberPublishTask {
+
+        private final String subscriberId;
+        private final PublisherDataHolder holder;
+        private final PolicyPublisherModule policyPublisherModule;
+        private final boolean shared;
+
+        private SubscriberPublishTask(String subscriberId, PublisherDataHolder holder,
+                                      PolicyPublisherModule policyPublisherModule, boolean shared) {
+
+            this.subscriberId = subscriberId;
+            this.holder = holder;
+            this.policyPublisherModule = policyPublisherModule;
+            this.shared = shared;
+        }
+
+        private void publish(Map<String, PolicyDTO> policies, int batchSize,
+                             Set<PAPStatusDataHandler> papStatusDataHandler, PublishProgress progress) {
+
+            if (shared) {
+                synchronized (policyPublisherModule) {
+                    doPublish(policies, batchSize, papStatusDataHandler, progress);
+                }
+            } else {
+                doPublish(policies, batchSize, papStatusDataHandler, progress);
+            }
+        }
+
+        private void doPublish(Map<String, PolicyDTO> policies, int batchSize,
+                               Set<PAPStatusDataHandler> papStatusDataHandler, PublishProgress progress) {
+
+            List<StatusHolder> subscriberHolders = new ArrayList<StatusHolder>();
+            if (policyPublisherModule instanceof AbstractPolicyPublisherModule) {
+                try {
+                    ((AbstractPolicyPublisherModule) policyPublisherModule).init(holder);
+                } catch (Exception e) {
+                    subscriberHolders.add(new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
+                            subscriberId, version, "More than one Policy", action, false, e.getMessage()));
+                    handleStatus(papStatusDataHandler, EntitlementConstants.Status.ABOUT_SUBSCRIBER,
+                            Collections.singletonMap(subscriberId, subscriberHolders));
+                    progress.skip(subscriberId, policies.size());
+                    return;
+                }
+            }
+
+            Map<String, List<StatusHolder>> policyHolders = new LinkedHashMap<String, List<StatusHolder>>();
+            for (Map.Entry<String, PolicyDTO> entry : policies.entrySet()) {
+
+                String policyId = entry.getKey();
+                PolicyDTO policyDTO = entry.getValue();
+                StatusHolder subscriberHolder;
+                StatusHolder policyHolder;
+                if (policyDTO == null) {
+                    subscriberHolder = new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
+                            subscriberId, version, policyId, action, false,
+                            "Can not found policy under policy id : " + policyId);
+                    policyHolder = new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
+                            policyId, version, subscriberId, action, false,
+                            "Can not found policy under policy id : " + policyId);
+                } else {
+                    try {
+                        policyPublisherModule.publish(policyDTO, action, enabled, order);
+                        subscriberHolder = new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
+                                subscriberId, version, policyId, action);
+                        policyHolder = new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
+                                policyId, version, subscriberId, action);
+                    } catch (Exception e) {
+                        subscriberHolder = new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
+                                subscriberId, version, policyId, action, false, e.getMessage());
+                        policyHolder = new StatusHolder(EntitlementConstants.StatusTypes.PUBLISH_POLICY,
+                                policyId, version, subscriberId, action, false, e.getMessage());
+                    }
+                }
+                subscriberHolders.add(subscriberHolder);
+                List<StatusHolder> holders = policyHolders.get(policyId);
+                if (holders == null) {
+                    holders = new ArrayList<StatusHolder>();
+                    policyHolders.put(policyId, holders);
+                }
+                holders.add(policyHolder);
+
+                if (policyHolders.size() >= batchSize) {
+                    handleStatus(papStatusDataHandler, EntitlementConstants.Status.ABOUT_POLICY, policyHolders);
+                    progress.update(subscriberId, policyHolders.size());
+                    policyHolders = new LinkedHashMap<String, List<StatusHolder>>();
+                }
+            }
+
+            handleStatus(papStatusDataHandler, EntitlementConstants.Status.ABOUT_POLICY, policyHolders);
+            progress.update(subscriberId, policyHolders.size());
+            handleStatus(papStatusDataHandler, EntitlementConstants.Status.ABOUT_SUBSCRIBER,
+                    Collections.singletonMap(subscriberId, subscriberHolders));
+        }
+    }
+
+    /**
+     * Progress of a publishing operation, shared by the subscribers it publishes to.
+     */
+    private static class PublishProgress {
+
+        private final long total;
+        private final AtomicLong completed = new AtomicLong();
+
+        private PublishProgress(long total) {
+
+            this.total = total;
+        }
+
+        private void update(String subscriberId, int count) {
+
+            if (count == 0) {
+                return;
+            }
+            long current = completed.addAndGet(count);
+            if (log.isInfoEnabled()) {
+                log.info("Published " + count + " policies to subscriber : " + subscriberId + ". Completed " +
+                        current + " of " + total + " policy publications");
+            }
+        }
+
+        private void skip(String subscriberId, int count) {
+
+            long current = completed.addAndGet(count);
+            if (log.isInfoEnabled()) {
+                log.info("Skipped publishing " + count + " policies to subscriber : " + subscriberId +
+                        ". Completed " + current + " of " + total + " policy publications");
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.search;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.balana.ctx.AbstractRequestCtx;
+import org.wso2.balana.ctx.AbstractResult;
+import org.wso2.balana.ctx.ResponseCtx;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.entitlement.EntitlementUtil;
+import org.wso2.carbon.identity.entitlement.dto.AttributeDTO;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementExecutors;
+import org.wso2.carbon.identity.entitlement.pdp.EntitlementEngine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Evaluates the XACML requests of a single policy search.
+ * <p>
+ * The decisions are kept for the duration of the search, so that a combination of attributes which is reached more
+ * than once while the search expands the search attributes is evaluated only once. When a parallelism greater than one
+ * is configured, the requests of each phase of the search are evaluated up front with a fork join pool, and the search
+ * then reads the decisions from the evaluator.
+ */
+class BulkEntitlementEvaluator {
+
+    private static final Log log = LogFactory.getLog(BulkEntitlementEvaluator.class);
+
+    private static final int EVALUATION_THRESHOLD = 8;
+    private static final String EVALUATION_POOL_NAME = "EntitlementSearchEvaluator";
+
+    private final Map<Set<AttributeDTO>, Boolean> decisions = new ConcurrentHashMap<>();
+    private final boolean parallel;
+    private final int parallelism;
+    private final int tenantId;
+    private final String tenantDomain;
+
+    BulkEntitlementEvaluator(int parallelism) {
+
+        this.parallel = parallelism > 1;
+        this.parallelism = parallelism;
+        this.tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+        this.tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+    }
+
+    /**
+     * Evaluate the given requests which were not evaluated yet. The requests are evaluated in parallel when the
+     * evaluator is parallel and are left to be evaluated on demand otherwise.
+     *
+     * @param requests XACML request attributes.
+     */
+    void evaluate(Collection<List<AttributeDTO>> requests) {
+
+        if (!parallel || requests.isEmpty()) {
+            return;
+        }
+
+        Map<Set<AttributeDTO>, List<AttributeDTO>> pendingRequests = new LinkedHashMap<>();
+        for (List<AttributeDTO> request : requests) {
+            Set<AttributeDTO> key = new HashSet<>(request);
+            if (!decisions.containsKey(key)) {
+                pendingRequests.putIfAbsent(key, request);
+            }
+        }
+        if (pendingRequests.size() < 2) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            EntitlementExecutors.getForkJoinPool(EVALUATION_POOL_NAME, parallelism).invoke(
+                    new EvaluationTask(new ArrayList<>(pendingRequests.values()), 0, pendingRequests.size()));
+        } catch (RejectedExecutionException e) {
+            // The pool is shut down as the component is deactivated. The requests are evaluated on demand instead.
+            if (log.isDebugEnabled()) {
+                log.debug("Parallel evaluation of the entitlement search requests was rejected.", e);
+            }
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Evaluated " + pendingRequests.size() + " entitlement search requests in " +
+                    (System.currentTimeMillis() - startTime) + " ms.");
+        }
+    }
+
+    /**
+     * Get whether the request is permitted, evaluating it if it was not evaluated yet.
+     *
+     * @param request XACML request attributes.
+     * @return true if the decision is permit.
+     */
+    boolean isPermitted(List<AttributeDTO> request) {
+
+        Set<AttributeDTO> key = new HashSet<>(request);
+        Boolean decision = decisions.get(key);
+        if (decision == null) {
+            decision = getDecision(request);
+            decisions.put(key, decision);
+        }
+        return decision;
+    }
+
+    private boolean getDecision(List<AttributeDTO> requestAttributes) {
+
+        AbstractRequestCtx requestCtx = EntitlementUtil.createRequestContext(requestAttributes);
+        ResponseCtx responseCtx = EntitlementEngine.getInstance().evaluateByContext(requestCtx);
+
+        if (responseCtx != null) {
+            Set<AbstractResult> results = responseCtx.getResults();
+            for (AbstractResult result : results) {
+                if (result.getDecision() == AbstractResult.DECISION_PERMIT) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits the requests in halves until they are small enough to be evaluated in sequence on a worker, within the
+     * tenant of the search.
+     */
+    private class EvaluationTask extends RecursiveAction {
+
+        private final List<List<AttributeDTO>> requests;
+        private final int start;
+        private final int end;
+
+        private EvaluationTask(List<List<AttributeDTO>> requests, int start, int end) {
+
+            this.requests = requests;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (end - start > EVALUATION_THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new EvaluationTask(requests, start, middle), new EvaluationTask(requests, middle, end));
+                return;
+            }
+
+            try {
+                PrivilegedCarbonContext.startTenantFlow();
+                PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                carbonContext.setTenantId(tenantId);
+                carbonContext.setTenantDomain(tenantDomain);
+                for (int i = start; i < end; i++) {
+                    List<AttributeDTO> request = requests.get(i);
+                    try {
+                        decisions.put(new HashSet<>(request), getDecision(request));
+                    } catch (RuntimeException e) {
+                        // Left to be evaluated again on demand, where the error is surfaced to the search.
+                        log.error("Error while evaluating an entitlement search request in parallel.", e);
+                    }
+                }
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        }
+    }
+}
@@ -18,21 +18,17 @@
 
 package org.wso2.carbon.identity.entitlement.policy.search;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.balana.ctx.AbstractRequestCtx;
-import org.wso2.balana.ctx.AbstractResult;
-import org.wso2.balana.ctx.ResponseCtx;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.entitlement.EntitlementException;
-import org.wso2.carbon.identity.entitlement.EntitlementUtil;
 import org.wso2.carbon.identity.entitlement.PDPConstants;
 import org.wso2.carbon.identity.entitlement.cache.PolicySearchCache;
 import org.wso2.carbon.identity.entitlement.dto.AttributeDTO;
 import org.wso2.carbon.identity.entitlement.dto.EntitledAttributesDTO;
 import org.wso2.carbon.identity.entitlement.dto.EntitledResultSetDTO;
 import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
-import org.wso2.carbon.identity.entitlement.pdp.EntitlementEngine;
 import org.wso2.carbon.identity.entitlement.policy.finder.PolicyFinderModule;
 
 import java.util.ArrayList;
@@ -59,6 +55,8 @@ public class PolicySearch {
 
     private PolicySearchCache policySearchCache = null;
 
+    private int parallelism = 1;
+
     public PolicySearch(boolean cachingEnable, int cachingInterval) {
         // get registered finder modules
         Map<PolicyFinderModule, Properties> finderModules = EntitlementServiceComponent.
@@ -73,6 +71,21 @@ public class PolicySearch {
         // Note that PolicySearchCache also uses EntitlementEngine.getInstance().getPdpDecisionCacheEnable()
         // to set cache timeout.
         this.policySearchCache = new PolicySearchCache(cachingInterval);
+
+        Properties properties = EntitlementServiceComponent.getEntitlementConfig().getEngineProperties();
+        if (Boolean.parseBoolean(properties.getProperty(PDPConstants.PARALLEL_POLICY_SEARCH))) {
+            String value = properties.getProperty(PDPConstants.PARALLEL_POLICY_SEARCH_PARALLELISM);
+            parallelism = Runtime.getRuntime().availableProcessors();
+            if (StringUtils.isNotBlank(value)) {
+                try {
+                    parallelism = Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    log.warn("Invalid value " + value + " for the property " +
+                            PDPConstants.PARALLEL_POLICY_SEARCH_PARALLELISM + ". Using the default value " +
+                            parallelism);
+                }
+            }
+        }
     }
 
     /**
@@ -108,6 +121,7 @@ public class PolicySearch {
         boolean hierarchicalResource = false;
         EntitledResultSetDTO resultSetDTO = new EntitledResultSetDTO();
         Set<EntitledAttributesDTO> resultSet = new HashSet<EntitledAttributesDTO>();
+        BulkEntitlementEvaluator evaluator = new BulkEntitlementEvaluator(parallelism);
 
         if (subjectName != null && subjectName.trim().length() > 0) {
             subjectAttributeDTO = new AttributeDTO();
@@ -123,7 +137,7 @@ public class PolicySearch {
             throw new EntitlementException("Error : subject value can not be null");
         }
 
-        if (getResponse(Arrays.asList(subjectAttributeDTO))) {
+        if (evaluator.isPermitted(Arrays.asList(subjectAttributeDTO))) {
             EntitledAttributesDTO dto = new EntitledAttributesDTO();
             dto.setAllActions(true);
             dto.setAllResources(true);
@@ -185,13 +199,15 @@ public class PolicySearch {
                         }
 
                         if (resultSetDTO.getMessage() == null) {
+                            evaluator.evaluate(getSearchRequests(subjectAttributeDTO, resources, actions,
+                                    requestAttributes, resourceScopeAttribute, enableChildSearch));
                             List<String> entitledActions = new ArrayList<String>();
                             for (AttributeDTO actionDTO : actions) {
                                 List<AttributeDTO> currentRequestAttributes =
                                         new ArrayList<AttributeDTO>();
                                 currentRequestAttributes.add(subjectAttributeDTO);
                                 currentRequestAttributes.add(actionDTO);
-                                if (getResponse(currentRequestAttributes)) {
+                                if (evaluator.isPermitted(currentRequestAttributes)) {
                                     EntitledAttributesDTO dto = new EntitledAttributesDTO();
                                     dto.setAllResources(true);
                                     dto.setAction(actionDTO.getAttributeValue());
@@ -223,7 +239,7 @@ public class PolicySearch {
                                         currentRequestAttributes.add(subjectAttributeDTO);
                                         currentRequestAttributes.add(resource);
 
-                                        if (getResponse(currentRequestAttributes)) {
+                                        if (evaluator.isPermitted(currentRequestAttributes)) {
                                             EntitledAttributesDTO dto = new EntitledAttributesDTO();
                                             dto.setResourceName(resource.getAttributeValue());
                                             dto.setAllActions(true);
@@ -237,6 +253,16 @@ public class PolicySearch {
                                         continue;
                                     }
 
+                                    List<List<AttributeDTO>> actionRequests = new ArrayList<List<AttributeDTO>>();
+                                    for (AttributeDTO actionAttributeDTO : actions) {
+                                        if (!entitledActions.contains(actionAttributeDTO.getAttributeValue())) {
+                                            actionRequests.addAll(getResourceRequests(subjectAttributeDTO,
+                                                    resource, actionAttributeDTO, requestAttributes,
+                                                    resourceScopeAttribute, enableChildSearch));
+                                        }
+                                    }
+                                    evaluator.evaluate(actionRequests);
+
                                     for (AttributeDTO actionAttributeDTO : actions) {
 
                                         if (entitledActions.contains(actionAttributeDTO.getAttributeValue())) {
@@ -260,7 +286,7 @@ public class PolicySearch {
                                             currentRequestAttributes.add(resource);
                                             currentRequestAttributes.add(actionAttributeDTO);
 
-                                            if (getResponse(currentRequestAttributes)) {
+                                            if (evaluator.isPermitted(currentRequestAttributes)) {
                                                 EntitledAttributesDTO dto = new EntitledAttributesDTO();
                                                 dto.setResourceName(resource.getAttributeValue());
                                                 dto.setAction(actionAttributeDTO.getAttributeValue());
@@ -331,6 +357,7 @@ public class PolicySearch {
         EntitledResultSetDTO result = new EntitledResultSetDTO();
         Set<EntitledAttributesDTO> resultAttributes = new HashSet<EntitledAttributesDTO>();
         Set<AttributeDTO> attributeDTOs = new HashSet<AttributeDTO>(Arrays.asList(givenAttributes));
+        BulkEntitlementEvaluator evaluator = new BulkEntitlementEvaluator(parallelism);
 
         for (PolicyFinderModule finderModule : finderModules) {
             Map<String, Set<AttributeDTO>> attributesMap = finderModule.
@@ -340,8 +367,9 @@ public class PolicySearch {
             if (requestSet == null) {
                 log.error("Invalid Search scheme in policy finder : " + finderModule.getModuleName());
             } else {
+                evaluator.evaluate(requestSet);
                 for (List<AttributeDTO> attributeDTOList : requestSet) {
-                    if (getResponse(attributeDTOList)) {
+                    if (evaluator.isPermitted(attributeDTOList)) {
                         EntitledAttributesDTO dto = new EntitledAttributesDTO();
                         dto.setAttributeDTOs(attributeDTOList.
                                 toArray(new AttributeDTO[attributeDTOList.size()]));
@@ -521,27 +549,66 @@ public class PolicySearch {
     }
 
     /**
-     * Helper method to get XACML decision
+     * Helper method to get the XACML requests of the first phase of the search, which are the requests of the
+     * subject with each action and of the subject with each resource.
      *
-     * @param requestAttributes XACML request attributes
-     * @return whether permit or deny
+     * @param subject                subject attribute
+     * @param resources              resource attributes
+     * @param actions                action attributes
+     * @param requestAttributes      environment attributes
+     * @param resourceScopeAttribute resource scope attribute used for child search
+     * @param enableChildSearch      whether search is done for the child resources
+     * @return XACML requests
      */
-    private boolean getResponse(List<AttributeDTO> requestAttributes) {
-
-        ResponseCtx responseCtx;
-        AbstractRequestCtx requestCtx = EntitlementUtil.createRequestContext(requestAttributes);
-
-        responseCtx = EntitlementEngine.getInstance().evaluateByContext(requestCtx);
-
-        if (responseCtx != null) {
-            Set<AbstractResult> results = responseCtx.getResults();
-            for (AbstractResult result : results) {
-                if (result.getDecision() == AbstractResult.DECISION_PERMIT) {
-                    return true;
-                }
+    private List<List<AttributeDTO>> getSearchRequests(AttributeDTO subject, Set<AttributeDTO> resources,
+                                                       Set<AttributeDTO> actions,
+                                                       Set<AttributeDTO> requestAttributes,
+                                                       AttributeDTO resourceScopeAttribute,
+                                                       boolean enableChildSearch) {
+
+        List<List<AttributeDTO>> requests = new ArrayList<List<AttributeDTO>>();
+        for (AttributeDTO action : actions) {
+            requests.add(Arrays.asList(subject, action));
+        }
+        for (AttributeDTO resource : resources) {
+            if (PDPConstants.RESOURCE_CATEGORY_URI.equals(resource.getCategory())
+                || PDPConstants.RESOURCE_ELEMENT.equals(resource.getCategory())) {
+                requests.addAll(getResourceRequests(subject, resource, null, requestAttributes,
+                        resourceScopeAttribute, enableChildSearch));
             }
         }
+        return requests;
+    }
 
-        return false;
+    /**
+     * Helper method to get the XACML requests of a resource, with and without the resource scope attribute
+     *
+     * @param subject                subject attribute
+     * @param resource               resource attribute
+     * @param action                 action attribute, can be null
+     * @param requestAttributes      environment attributes
+     * @param resourceScopeAttribute resource scope attribute used for child search
+     * @param enableChildSearch      whether search is done for the child resources
+     * @return XACML requests
+     */
+    private List<List<AttributeDTO>> getResourceRequests(AttributeDTO subject, AttributeDTO resource,
+                                                         AttributeDTO action, Set<AttributeDTO> requestAttributes,
+                                                         AttributeDTO resourceScopeAttribute,
+                                                         boolean enableChildSearch) {
+
+        List<List<AttributeDTO>> requests = new ArrayList<List<AttributeDTO>>();
+        for (int noOfRequests = enableChildSearch ? 0 : 1; noOfRequests < 2; noOfRequests++) {
+            List<AttributeDTO> currentRequestAttributes = new ArrayList<AttributeDTO>(requestAttributes);
+            if (noOfRequests < 1) {
+                currentRequestAttributes.add(resourceScopeAttribute);
+            }
+            currentRequestAttributes.add(subject);
+            currentRequestAttributes.add(resource);
+            if (action != null) {
+                currentRequestAttributes.add(action);
+            }
+            requests.add(currentRequestAttributes);
+        }
+        return requests;
     }
 }
@@ -23,6 +23,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.entitlement.EntitlementException;
+import org.wso2.carbon.identity.entitlement.EntitlementUtil;
 import org.wso2.carbon.identity.entitlement.PDPConstants;
 import org.wso2.carbon.identity.entitlement.dto.AttributeDTO;
 import org.wso2.carbon.identity.entitlement.dto.PolicyDTO;
@@ -105,6 +106,11 @@ public class RegistryPolicyStoreManageModule extends AbstractPolicyFinderModule
             if (policy.getPolicy() != null && policy.getPolicy().trim().length() != 0) {
                 resource.setContent(policy.getPolicy());
                 resource.setMediaType(PDPConstants.REGISTRY_MEDIA_TYPE);
+                // keep the parsed policy id along with the digest of the content it is read from, so that the
+                // policy need not be parsed to find its id, when it is loaded.
+                resource.setProperty(PDPConstants.POLICY_ID_PROPERTY, policy.getPolicyId());
+                resource.setProperty(PDPConstants.POLICY_DIGEST_PROPERTY,
+                        EntitlementUtil.getPolicyDigest(policy.getPolicy()));
                 AttributeDTO[] attributeDTOs = policy.getAttributeDTOs();
                 if (attributeDTOs != null) {
                     setAttributesAsProperties(attributeDTOs, resource);
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.identity.entitlement.common.EntitlementConstants;
+import org.wso2.carbon.identity.entitlement.dto.StatusHolder;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
+import org.wso2.carbon.registry.core.Registry;
+import org.wso2.carbon.registry.core.Resource;
+import org.wso2.carbon.registry.core.exceptions.RegistryException;
+import org.wso2.carbon.registry.core.service.RegistryService;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.fail;
+
+@PrepareForTest({CarbonContext.class, EntitlementServiceComponent.class})
+public class SimplePAPStatusDataHandlerTest extends PowerMockTestCase {
+
+    private static final String POLICY_STATUS_PATH = "/repository/identity/entitlement/status/policy/";
+
+    private Registry registry;
+    private SimplePAPStatusDataHandler statusDataHandler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        CarbonContext carbonContext = mock(CarbonContext.class);
+        when(carbonContext.getTenantId()).thenReturn(-1234);
+        when(carbonContext.getUsername()).thenReturn("admin");
+        mockStatic(CarbonContext.class);
+        when(CarbonContext.getThreadLocalCarbonContext()).thenReturn(carbonContext);
+
+        registry = mock(Registry.class);
+        when(registry.newResource()).thenAnswer(invocation -> mock(Resource.class));
+        RegistryService registryService = mock(RegistryService.class);
+        when(registryService.getGovernanceSystemRegistry(anyInt())).thenReturn(registry);
+        mockStatic(EntitlementServiceComponent.class);
+        when(EntitlementServiceComponent.getRegistryService()).thenReturn(registryService);
+
+        statusDataHandler = new SimplePAPStatusDataHandler();
+    }
+
+    @Test
+    public void testBatchIsPersistedInSingleTransaction() throws Exception {
+
+        statusDataHandler.handle(EntitlementConstants.Status.ABOUT_POLICY, status("policy1", "policy2"));
+
+        verify(registry).beginTransaction();
+        verify(registry).commitTransaction();
+        verify(registry, never()).rollbackTransaction();
+        verify(registry).put(eq(POLICY_STATUS_PATH + "policy1"), any(Resource.class));
+        verify(registry).put(eq(POLICY_STATUS_PATH + "policy2"), any(Resource.class));
+    }
+
+    @Test
+    public void testFailingEntryDoesNotDiscardOtherEntries() throws Exception {
+
+        doThrow(new RegistryException("Error while persisting the status")).when(registry)
+                .put(eq(POLICY_STATUS_PATH + "policy2"), any(Resource.class));
+
+        try {
+            statusDataHandler.handle(EntitlementConstants.Status.ABOUT_POLICY,
+                    status("policy1", "policy2", "policy3"));
+            fail("The failure of the status of policy2 should be reported.");
+        } catch (EntitlementException e) {
+            // expected
+        }
+
+        verify(registry).rollbackTransaction();
+        verify(registry, never()).commitTransaction();
+        // The entries are persisted again one by one, after the batch is rolled back.
+        verify(registry, times(2)).put(eq(POLICY_STATUS_PATH + "policy1"), any(Resource.class));
+        verify(registry, times(2)).put(eq(POLICY_STATUS_PATH + "policy2"), any(Resource.class));
+        verify(registry).put(eq(POLICY_STATUS_PATH + "policy3"), any(Resource.class));
+    }
+
+    @Test
+    public void testEmptyBatch() throws Exception {
+
+        statusDataHandler.handle(EntitlementConstants.Status.ABOUT_POLICY,
+                Collections.<String, List<StatusHolder>>emptyMap());
+
+        verify(registry, never()).beginTransaction();
+        verify(registry, never()).put(anyString(), any(Resource.class));
+    }
+
+    private static Map<String, List<StatusHolder>> status(String... policyIds) {
+
+        Map<String, List<StatusHolder>> status = new LinkedHashMap<>();
+        for (String policyId : policyIds) {
+            status.put(policyId, Collections.singletonList(new StatusHolder(
+                    EntitlementConstants.StatusTypes.PUBLISH_POLICY, policyId, "1", "subscriber1",
+                    EntitlementConstants.PolicyPublish.ACTION_CREATE)));
+        }
+        return status;
+    }
+}
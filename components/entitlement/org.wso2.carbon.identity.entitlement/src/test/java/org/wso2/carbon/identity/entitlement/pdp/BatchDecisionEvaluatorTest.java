@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.pdp;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.wso2.balana.ctx.AbstractResult;
+import org.wso2.balana.ctx.ResponseCtx;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.entitlement.EntitlementException;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementExecutors;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({CarbonContext.class, PrivilegedCarbonContext.class, IdentityUtil.class, EntitlementEngine.class})
+public class BatchDecisionEvaluatorTest extends PowerMockTestCase {
+
+    private static final String XACML_NS = "urn:oasis:names:tc:xacml:3.0:core:schema:wd-17";
+    private static final String SUBJECT_CATEGORY = "urn:oasis:names:tc:xacml:1.0:subject-category:access-subject";
+    private static final String RESOURCE_CATEGORY = "urn:oasis:names:tc:xacml:3.0:attribute-category:resource";
+    private static final String ACTION_CATEGORY = "urn:oasis:names:tc:xacml:3.0:attribute-category:action";
+    private static final int MAX_REQUESTS = 10;
+
+    private EntitlementEngine entitlementEngine;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        CarbonContext carbonContext = mock(CarbonContext.class);
+        when(carbonContext.getTenantId()).thenReturn(-1234);
+        when(carbonContext.getTenantDomain()).thenReturn("carbon.super");
+        mockStatic(CarbonContext.class);
+        when(CarbonContext.getThreadLocalCarbonContext()).thenReturn(carbonContext);
+        mockStatic(PrivilegedCarbonContext.class);
+        when(PrivilegedCarbonContext.getThreadLocalCarbonContext()).thenReturn(mock(PrivilegedCarbonContext.class));
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getSecuredDocumentBuilderFactory()).thenAnswer(invocation ->
+                DocumentBuilderFactory.newInstance());
+
+        entitlementEngine = mock(EntitlementEngine.class);
+        when(entitlementEngine.evaluate(any(Element.class), anyString())).thenAnswer(invocation ->
+                response(AbstractResult.DECISION_PERMIT));
+        when(entitlementEngine.evaluate(anyString())).thenReturn("<Response/>");
+        mockStatic(EntitlementEngine.class);
+        when(EntitlementEngine.getInstance()).thenReturn(entitlementEngine);
+    }
+
+    @Test
+    public void testSplitRepeatedCategories() throws Exception {
+
+        String request = request("",
+                attributes(SUBJECT_CATEGORY, "alice"), attributes(SUBJECT_CATEGORY, "bob"),
+                attributes(RESOURCE_CATEGORY, "index.jsp"), attributes(RESOURCE_CATEGORY, "home.jsp"),
+                attributes(RESOURCE_CATEGORY, "admin.jsp"), attributes(ACTION_CATEGORY, "read"));
+
+        List<Element> requestElements = split(evaluator(true), request);
+
+        assertEquals(requestElements.size(), 6);
+        List<String> individualRequests = new ArrayList<>();
+        for (Element requestElement : requestElements) {
+            List<Element> attributesElements = getChildElements(requestElement);
+            assertEquals(attributesElements.size(), 3, "Each request should have an element of each category.");
+            StringBuilder individualRequest = new StringBuilder();
+            for (Element attributesElement : attributesElements) {
+                individualRequest.append(attributesElement.getTextContent().trim()).append(' ');
+            }
+            individualRequests.add(individualRequest.toString().trim());
+        }
+        assertEquals(individualRequests.get(0), "alice index.jsp read");
+        assertEquals(individualRequests.get(5), "bob admin.jsp read");
+        assertEquals(new HashSet<>(individualRequests).size(), 6);
+    }
+
+    @Test
+    public void testSplitMultiRequests() throws Exception {
+
+        String request = request("",
+                attributes(SUBJECT_CATEGORY, "alice", "s1"), attributes(SUBJECT_CATEGORY, "bob", "s2"),
+                attributes(RESOURCE_CATEGORY, "index.jsp", "r1"),
+                "<MultiRequests>" +
+                        "<RequestReference><AttributesReference ReferenceId=\"s1\"/>" +
+                        "<AttributesReference ReferenceId=\"r1\"/></RequestReference>" +
+                        "<RequestReference><AttributesReference ReferenceId=\"s2\"/>" +
+                        "<AttributesReference ReferenceId=\"r1\"/></RequestReference>" +
+                        "</MultiRequests>");
+
+        List<Element> requestElements = split(evaluator(true), request);
+
+        assertEquals(requestElements.size(), 2);
+        assertEquals(requestElements.get(0).getTextContent().replaceAll("\\s+", ""), "aliceindex.jsp");
+        assertEquals(requestElements.get(1).getTextContent().replaceAll("\\s+", ""), "bobindex.jsp");
+    }
+
+    @Test
+    public void testSplitInvalidReferenceIsLeftToPDP() throws Exception {
+
+        String request = request("",
+                attributes(SUBJECT_CATEGORY, "alice", "s1"), attributes(SUBJECT_CATEGORY, "bob", "s2"),
+                "<MultiRequests>" +
+                        "<RequestReference><AttributesReference ReferenceId=\"s1\"/></RequestReference>" +
+                        "<RequestReference><AttributesReference ReferenceId=\"s3\"/></RequestReference>" +
+                        "</MultiRequests>");
+
+        assertEquals(split(evaluator(true), request).size(), 1);
+    }
+
+    @Test
+    public void testSplitCombinedDecision() throws Exception {
+
+        String request = request(" CombinedDecision=\"true\"",
+                attributes(SUBJECT_CATEGORY, "alice"), attributes(SUBJECT_CATEGORY, "bob"));
+
+        assertEquals(split(evaluator(true), request).size(), 1);
+    }
+
+    @Test(timeOut = 10000, expectedExceptions = EntitlementException.class)
+    public void testSplitRejectsLargeProductBeforeBuildingIt() throws Exception {
+
+        // Each category is within the limit, but the product of the ten categories has 10^10 requests.
+        List<String> elements = new ArrayList<>();
+        for (int category = 0; category < 10; category++) {
+            for (int i = 0; i < MAX_REQUESTS; i++) {
+                elements.add(attributes("urn:sample:category:" + category, "value-" + i));
+            }
+        }
+
+        split(evaluator(true), request("", elements.toArray(new String[0])));
+    }
+
+    @Test(expectedExceptions = EntitlementException.class)
+    public void testSplitRejectsTooManyRequestReferences() throws Exception {
+
+        StringBuilder multiRequests = new StringBuilder("<MultiRequests>");
+        for (int i = 0; i <= MAX_REQUESTS; i++) {
+            multiRequests.append("<RequestReference><AttributesReference ReferenceId=\"s1\"/></RequestReference>");
+        }
+        multiRequests.append("</MultiRequests>");
+
+        split(evaluator(true), request("", attributes(SUBJECT_CATEGORY, "alice", "s1"), multiRequests.toString()));
+    }
+
+    @Test
+    public void testEvaluateSplitsMultipleDecisionRequest() throws Exception {
+
+        String request = request("",
+                attributes(SUBJECT_CATEGORY, "alice"), attributes(SUBJECT_CATEGORY, "bob"),
+                attributes(RESOURCE_CATEGORY, "index.jsp"));
+
+        evaluator(true).evaluate(request);
+
+        verify(entitlementEngine, times(2)).evaluate(any(Element.class), anyString());
+        verify(entitlementEngine, never()).evaluate(anyString());
+    }
+
+    @Test
+    public void testEvaluateWithMultipleDecisionProfileDisabled() throws Exception {
+
+        String request = request("",
+                attributes(SUBJECT_CATEGORY, "alice"), attributes(SUBJECT_CATEGORY, "bob"),
+                attributes(RESOURCE_CATEGORY, "index.jsp"));
+
+        assertEquals(evaluator(false).evaluate(request), "<Response/>");
+
+        verify(entitlementEngine).evaluate(eq(request));
+        verify(entitlementEngine, never()).evaluate(any(Element.class), anyString());
+    }
+
+    @Test
+    public void testEvaluateBatchOnDaemonThreads() throws Exception {
+
+        List<Boolean> daemonThreads = Collections.synchronizedList(new ArrayList<>());
+        List<BatchDecisionEvaluator.DecisionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int decision = i % 2 == 0 ? AbstractResult.DECISION_PERMIT : AbstractResult.DECISION_DENY;
+            requests.add(engine -> {
+                daemonThreads.add(Thread.currentThread().isDaemon());
+                return response(decision);
+            });
+        }
+
+        BatchDecisionEvaluator evaluator = evaluator(true);
+        ResponseCtx responseCtx = evaluator.evaluate(requests);
+
+        assertEquals(responseCtx.getResults().size(), 4);
+        assertEquals(daemonThreads, Collections.nCopies(4, true));
+        assertEquals(evaluator.getBatchCount(), 1);
+        assertEquals(evaluator.getRequestCount(), 4);
+
+        // The pool is created again when it is used after the component is deactivated.
+        EntitlementExecutors.shutdown();
+        assertEquals(evaluator.evaluate(requests).getResults().size(), 4);
+    }
+
+    @Test(expectedExceptions = EntitlementException.class)
+    public void testEvaluateRejectsLargeBatch() throws Exception {
+
+        List<BatchDecisionEvaluator.DecisionRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= MAX_REQUESTS; i++) {
+            requests.add(engine -> response(AbstractResult.DECISION_PERMIT));
+        }
+
+        evaluator(true).evaluate(requests);
+    }
+
+    private BatchDecisionEvaluator evaluator(boolean multipleDecisionProfileEnabled) throws Exception {
+
+        return Whitebox.invokeConstructor(BatchDecisionEvaluator.class, new Class[]{int.class, int.class,
+                boolean.class}, new Object[]{2, MAX_REQUESTS, multipleDecisionProfileEnabled});
+    }
+
+    private List<Element> split(BatchDecisionEvaluator evaluator, String request) throws Exception {
+
+        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setNamespaceAware(true);
+        Element requestElement = documentBuilderFactory.newDocumentBuilder().parse(
+                new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8))).getDocumentElement();
+        return Whitebox.invokeMethod(evaluator, "split", requestElement);
+    }
+
+    private static List<Element> getChildElements(Element parent) {
+
+        List<Element> elements = new ArrayList<>();
+        NodeList children = parent.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                elements.add((Element) child);
+            }
+        }
+        return elements;
+    }
+
+    private static ResponseCtx response(int decision) {
+
+        AbstractResult result = mock(AbstractResult.class);
+        when(result.getDecision()).thenReturn(decision);
+        ResponseCtx responseCtx = mock(ResponseCtx.class);
+        when(responseCtx.getResults()).thenReturn(Collections.singleton(result));
+        return responseCtx;
+    }
+
+    private static String request(String requestAttributes, String... elements) {
+
+        StringBuilder request = new StringBuilder("<Request xmlns=\"").append(XACML_NS)
+                .append("\" ReturnPolicyIdList=\"false\"").append(requestAttributes).append('>');
+        for (String element : elements) {
+            request.append(element);
+        }
+        return request.append("</Request>").toString();
+    }
+
+    private static String attributes(String category, String value) {
+
+        return attributes(category, value, null);
+    }
+
+    private static String attributes(String category, String value, String id) {
+
+        return "<Attributes Category=\"" + category + "\"" + (id == null ? "" : " xml:id=\"" + id + "\"") + ">" +
+                "<Attribute AttributeId=\"id\" IncludeInResult=\"false\">" +
+                "<AttributeValue DataType=\"http://www.w3.org/2001/XMLSchema#string\">" + value +
+                "</AttributeValue></Attribute></Attributes>";
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.pip;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.balana.PDPConfig;
+import org.wso2.balana.attr.BagAttribute;
+import org.wso2.balana.attr.StringAttribute;
+import org.wso2.balana.cond.EvaluationResult;
+import org.wso2.balana.ctx.AbstractRequestCtx;
+import org.wso2.balana.ctx.EvaluationCtx;
+import org.wso2.balana.ctx.EvaluationCtxFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({EvaluationCtxFactory.class, PrivilegedCarbonContext.class})
+public class CarbonAttributeFinderTest extends PowerMockTestCase {
+
+    private static final URI STRING_TYPE = URI.create(StringAttribute.identifier);
+    private static final URI CATEGORY = URI.create("urn:oasis:names:tc:xacml:1.0:subject-category:access-subject");
+    private static final URI EMAIL = URI.create("http://wso2.org/claims/emailaddress");
+    private static final URI ROLE = URI.create("http://wso2.org/claims/role");
+    private static final URI COUNTRY = URI.create("http://wso2.org/claims/country");
+
+    private CarbonAttributeFinder attributeFinder;
+    private PIPAttributeFinder emailFinder;
+    private PIPAttributeFinder roleFinder;
+    private PIPAttributeFinder countryFinder;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        emailFinder = mock(PIPAttributeFinder.class);
+        roleFinder = mock(PIPAttributeFinder.class);
+        countryFinder = mock(PIPAttributeFinder.class);
+        when(emailFinder.getAttributeValues(eq(STRING_TYPE), eq(EMAIL), eq(CATEGORY), any(String.class),
+                any(EvaluationCtx.class))).thenReturn(Collections.singleton("alice@wso2.com"));
+        when(roleFinder.getAttributeValues(eq(STRING_TYPE), eq(ROLE), eq(CATEGORY), any(String.class),
+                any(EvaluationCtx.class))).thenReturn(Collections.singleton("admin"));
+
+        Map<String, List<PIPAttributeFinder>> attrFinders = new HashMap<>();
+        attrFinders.put(EMAIL.toString(), Collections.singletonList(emailFinder));
+        attrFinders.put(ROLE.toString(), Collections.singletonList(roleFinder));
+        attrFinders.put(COUNTRY.toString(), Collections.singletonList(countryFinder));
+        attributeFinder = new CarbonAttributeFinder(-1234);
+        Whitebox.setInternalState(attributeFinder, "attrFinders", attrFinders);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        CarbonAttributeFinder.clearEvaluationMemo();
+    }
+
+    @Test
+    public void testAttributeIsResolvedOncePerEvaluation() throws Exception {
+
+        EvaluationCtx context = mock(EvaluationCtx.class);
+
+        EvaluationResult result = findAttribute(EMAIL, context);
+        findAttribute(EMAIL, context);
+        findAttribute(EMAIL, context);
+
+        assertValues(result, "alice@wso2.com");
+        verify(emailFinder, times(1)).getAttributeValues(eq(STRING_TYPE), eq(EMAIL), eq(CATEGORY),
+                any(String.class), eq(context));
+    }
+
+    @Test
+    public void testMemoIsNotSharedAcrossEvaluations() throws Exception {
+
+        EvaluationCtx context = mock(EvaluationCtx.class);
+        EvaluationCtx otherContext = mock(EvaluationCtx.class);
+
+        findAttribute(EMAIL, context);
+        findAttribute(EMAIL, otherContext);
+
+        verify(emailFinder).getAttributeValues(eq(STRING_TYPE), eq(EMAIL), eq(CATEGORY), any(String.class),
+                eq(context));
+        verify(emailFinder).getAttributeValues(eq(STRING_TYPE), eq(EMAIL), eq(CATEGORY), any(String.class),
+                eq(otherContext));
+    }
+
+    @Test
+    public void testClearEvaluationMemoDropsResolvedValues() throws Exception {
+
+        EvaluationCtx context = mock(EvaluationCtx.class);
+
+        findAttribute(EMAIL, context);
+        CarbonAttributeFinder.clearEvaluationMemo();
+        findAttribute(EMAIL, context);
+
+        verify(emailFinder, times(2)).getAttributeValues(eq(STRING_TYPE), eq(EMAIL), eq(CATEGORY),
+                any(String.class), eq(context));
+    }
+
+    @Test
+    public void testPrefetchUsesWorkerContextAndRespectsLatencyBudget() throws Exception {
+
+        EvaluationCtx workerContext = mock(EvaluationCtx.class);
+        EvaluationCtxFactory evaluationCtxFactory = mock(EvaluationCtxFactory.class);
+        mockStatic(EvaluationCtxFactory.class);
+        when(EvaluationCtxFactory.getFactory()).thenReturn(evaluationCtxFactory);
+        when(evaluationCtxFactory.getEvaluationCtx(any(AbstractRequestCtx.class), any(PDPConfig.class)))
+                .thenReturn(workerContext);
+        mockStatic(PrivilegedCarbonContext.class);
+        when(PrivilegedCarbonContext.getThreadLocalCarbonContext()).thenReturn(mock(PrivilegedCarbonContext.class));
+
+        Whitebox.setInternalState(attributeFinder, "attributePrefetchEnabled", true);
+        Whitebox.setInternalState(attributeFinder, "prefetchLatencyBudgetInNanos",
+                TimeUnit.MILLISECONDS.toNanos(500));
+        attributeFinder.setPrefetchPDPConfig(mock(PDPConfig.class));
+        Whitebox.setInternalState(attributeFinder, "prefetchThreadPoolSize", 2);
+
+        // The country finder is slow for the prefetch, but answers at once when it is asked in line.
+        CountDownLatch slowPrefetch = new CountDownLatch(1);
+        when(countryFinder.getAttributeValues(eq(STRING_TYPE), eq(COUNTRY), eq(CATEGORY), any(String.class),
+                any(EvaluationCtx.class))).thenAnswer(invocation -> {
+                    if (invocation.getArguments()[4] == workerContext) {
+                        slowPrefetch.await(5, TimeUnit.SECONDS);
+                        return Collections.singleton("prefetched");
+                    }
+                    return Collections.singleton("LK");
+                });
+
+        try {
+            // The first evaluation learns the designators which follow the email address.
+            EvaluationCtx firstContext = mockContext();
+            findAttribute(EMAIL, firstContext);
+            findAttribute(ROLE, firstContext);
+            findAttribute(COUNTRY, firstContext);
+            CarbonAttributeFinder.clearEvaluationMemo();
+
+            // The second evaluation prefetches the role and the country once the email address is requested.
+            EvaluationCtx secondContext = mockContext();
+            findAttribute(EMAIL, secondContext);
+            EvaluationResult role = findAttribute(ROLE, secondContext);
+            long startTime = System.nanoTime();
+            EvaluationResult country = findAttribute(COUNTRY, secondContext);
+            long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+            assertValues(role, "admin");
+            assertValues(country, "LK");
+            assertTrue(elapsedTime < 2000, "The slow prefetch should not hold the evaluation beyond the budget.");
+            verify(roleFinder).getAttributeValues(eq(STRING_TYPE), eq(ROLE), eq(CATEGORY), any(String.class),
+                    eq(workerContext));
+            verify(roleFinder, never()).getAttributeValues(eq(STRING_TYPE), eq(ROLE), eq(CATEGORY),
+                    any(String.class), eq(secondContext));
+            verify(countryFinder).getAttributeValues(eq(STRING_TYPE), eq(COUNTRY), eq(CATEGORY), any(String.class),
+                    eq(secondContext));
+        } finally {
+            slowPrefetch.countDown();
+        }
+    }
+
+    private EvaluationCtx mockContext() {
+
+        AbstractRequestCtx requestCtx = mock(AbstractRequestCtx.class);
+        when(requestCtx.getAttributesSet()).thenReturn(Collections.emptySet());
+        EvaluationCtx context = mock(EvaluationCtx.class);
+        when(context.getRequestCtx()).thenReturn(requestCtx);
+        return context;
+    }
+
+    private EvaluationResult findAttribute(URI attributeId, EvaluationCtx context) {
+
+        return attributeFinder.findAttribute(STRING_TYPE, attributeId, null, CATEGORY, context);
+    }
+
+    private void assertValues(EvaluationResult result, String... values) {
+
+        BagAttribute bag = (BagAttribute) result.getAttributeValue();
+        assertEquals(bag.size(), values.length);
+        for (String value : values) {
+            assertTrue(bag.contains(new StringAttribute(value)), "Missing attribute value : " + value);
+        }
+    }
+}
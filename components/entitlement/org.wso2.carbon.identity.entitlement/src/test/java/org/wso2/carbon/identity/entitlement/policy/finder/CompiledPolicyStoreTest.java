@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.finder;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.balana.AbstractPolicy;
+import org.wso2.carbon.identity.entitlement.PDPConstants;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementConfigHolder;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementExecutors;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
+import org.wso2.carbon.identity.entitlement.policy.PolicyReader;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Properties;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+@PrepareForTest(EntitlementServiceComponent.class)
+public class CompiledPolicyStoreTest extends PowerMockTestCase {
+
+    private static final String INVALID_POLICY = "invalid";
+
+    private PolicyReader policyReader;
+    private CompiledPolicyStore compiledPolicyStore;
+
+    @BeforeMethod
+    public void setUp() {
+
+        Properties properties = new Properties();
+        properties.setProperty(PDPConstants.POLICY_LOADING_PARALLELISM, "2");
+        EntitlementConfigHolder configHolder = mock(EntitlementConfigHolder.class);
+        when(configHolder.getEngineProperties()).thenReturn(properties);
+        mockStatic(EntitlementServiceComponent.class);
+        when(EntitlementServiceComponent.getEntitlementConfig()).thenReturn(configHolder);
+
+        // Policies are written as <policy id>:<version>, and parsed in to a policy with the given id.
+        policyReader = mock(PolicyReader.class);
+        when(policyReader.getPolicy(anyString())).thenAnswer(invocation -> {
+            String policy = (String) invocation.getArguments()[0];
+            if (INVALID_POLICY.equals(policy)) {
+                return null;
+            }
+            AbstractPolicy abstractPolicy = mock(AbstractPolicy.class);
+            when(abstractPolicy.getId()).thenReturn(URI.create(policy.substring(0, policy.indexOf(':'))));
+            return abstractPolicy;
+        });
+        compiledPolicyStore = new CompiledPolicyStore(policyReader);
+    }
+
+    @Test
+    public void testUnchangedPoliciesAreReused() {
+
+        String[] policies = {"policy1:1", "policy2:1", "policy3:1"};
+
+        List<AbstractPolicy> first = compiledPolicyStore.getPolicies(policies);
+        List<AbstractPolicy> second = compiledPolicyStore.getPolicies(policies);
+
+        for (int i = 0; i < policies.length; i++) {
+            assertSame(second.get(i), first.get(i));
+            verify(policyReader, times(1)).getPolicy(policies[i]);
+        }
+    }
+
+    @Test
+    public void testStalePoliciesAreParsedAgain() {
+
+        List<AbstractPolicy> first = compiledPolicyStore.getPolicies(new String[]{"policy1:1", "policy2:1"});
+        List<AbstractPolicy> second = compiledPolicyStore.getPolicies(new String[]{"policy1:1", "policy2:2"});
+
+        assertSame(second.get(0), first.get(0));
+        assertNotSame(second.get(1), first.get(1));
+        verify(policyReader).getPolicy("policy2:2");
+
+        // The parsed form of the earlier version is dropped once the policy is changed.
+        compiledPolicyStore.getPolicies(new String[]{"policy1:1", "policy2:1"});
+        verify(policyReader, times(2)).getPolicy("policy2:1");
+        verify(policyReader, times(1)).getPolicy("policy1:1");
+    }
+
+    @Test
+    public void testPolicyReplacesEarlierVersion() {
+
+        AbstractPolicy first = compiledPolicyStore.getPolicy("policy1:1");
+        AbstractPolicy second = compiledPolicyStore.getPolicy("policy1:2");
+
+        assertNotSame(second, first);
+        assertSame(compiledPolicyStore.getPolicy("policy1:2"), second);
+        verify(policyReader, times(1)).getPolicy("policy1:2");
+
+        assertNotSame(compiledPolicyStore.getPolicy("policy1:1"), first);
+        verify(policyReader, times(2)).getPolicy("policy1:1");
+    }
+
+    @Test
+    public void testInvalidPolicyIsNotKept() {
+
+        List<AbstractPolicy> abstractPolicies = compiledPolicyStore.getPolicies(
+                new String[]{"policy1:1", INVALID_POLICY});
+        assertNull(abstractPolicies.get(1));
+
+        compiledPolicyStore.getPolicies(new String[]{"policy1:1", INVALID_POLICY});
+        verify(policyReader, times(2)).getPolicy(INVALID_POLICY);
+    }
+
+    @Test
+    public void testPoliciesAreParsedAfterExecutorsAreShutDown() {
+
+        String[] policies = {"policy1:1", "policy2:1", "policy3:1"};
+        EntitlementExecutors.shutdown();
+
+        List<AbstractPolicy> abstractPolicies = compiledPolicyStore.getPolicies(policies);
+
+        for (int i = 0; i < policies.length; i++) {
+            assertNotNull(abstractPolicies.get(i));
+            verify(policyReader).getPolicy(policies[i]);
+        }
+    }
+}
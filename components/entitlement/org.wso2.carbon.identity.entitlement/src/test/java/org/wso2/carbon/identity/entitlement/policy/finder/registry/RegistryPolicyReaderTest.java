@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.finder.registry;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.balana.AbstractPolicy;
+import org.wso2.carbon.identity.entitlement.EntitlementUtil;
+import org.wso2.carbon.identity.entitlement.PDPConstants;
+import org.wso2.carbon.identity.entitlement.dto.PolicyDTO;
+import org.wso2.carbon.identity.entitlement.pap.PAPPolicyReader;
+import org.wso2.carbon.registry.core.Registry;
+import org.wso2.carbon.registry.core.Resource;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+
+@PrepareForTest(PAPPolicyReader.class)
+public class RegistryPolicyReaderTest extends PowerMockTestCase {
+
+    private static final String POLICY = "<Policy PolicyId=\"parsedPolicy\"/>";
+
+    private PAPPolicyReader papPolicyReader;
+    private RegistryPolicyReader registryPolicyReader;
+
+    @BeforeMethod
+    public void setUp() {
+
+        AbstractPolicy abstractPolicy = mock(AbstractPolicy.class);
+        when(abstractPolicy.getId()).thenReturn(URI.create("parsedPolicy"));
+        papPolicyReader = mock(PAPPolicyReader.class);
+        when(papPolicyReader.getPolicy(anyString())).thenReturn(abstractPolicy);
+        mockStatic(PAPPolicyReader.class);
+        when(PAPPolicyReader.getInstance(any())).thenReturn(papPolicyReader);
+
+        registryPolicyReader = new RegistryPolicyReader(mock(Registry.class), "/policies");
+    }
+
+    @Test
+    public void testPersistedPolicyIdIsUsedWhenDigestMatches() throws Exception {
+
+        PolicyDTO policyDTO = readPolicy(resource(POLICY, "persistedPolicy", EntitlementUtil.getPolicyDigest(POLICY)));
+
+        assertEquals(policyDTO.getPolicyId(), "persistedPolicy");
+        assertEquals(policyDTO.getPolicy(), POLICY);
+        verify(papPolicyReader, never()).getPolicy(anyString());
+    }
+
+    @Test
+    public void testPolicyIsParsedWhenDigestIsStale() throws Exception {
+
+        String earlierPolicy = "<Policy PolicyId=\"persistedPolicy\"/>";
+        PolicyDTO policyDTO = readPolicy(resource(POLICY, "persistedPolicy",
+                EntitlementUtil.getPolicyDigest(earlierPolicy)));
+
+        assertEquals(policyDTO.getPolicyId(), "parsedPolicy");
+        verify(papPolicyReader).getPolicy(POLICY);
+    }
+
+    @Test
+    public void testPolicyIsParsedWithoutPersistedPolicyId() throws Exception {
+
+        PolicyDTO policyDTO = readPolicy(resource(POLICY, null, EntitlementUtil.getPolicyDigest(POLICY)));
+
+        assertEquals(policyDTO.getPolicyId(), "parsedPolicy");
+        verify(papPolicyReader).getPolicy(POLICY);
+    }
+
+    @Test
+    public void testPolicyIsParsedWithoutPersistedDigest() throws Exception {
+
+        PolicyDTO policyDTO = readPolicy(resource(POLICY, "persistedPolicy", null));
+
+        assertEquals(policyDTO.getPolicyId(), "parsedPolicy");
+        verify(papPolicyReader).getPolicy(POLICY);
+    }
+
+    private PolicyDTO readPolicy(Resource resource) throws Exception {
+
+        return Whitebox.invokeMethod(registryPolicyReader, "readPolicy", resource);
+    }
+
+    private static Resource resource(String policy, String policyId, String digest) throws Exception {
+
+        Resource resource = mock(Resource.class);
+        when(resource.getContent()).thenReturn(policy.getBytes(StandardCharsets.UTF_8));
+        when(resource.getProperty(PDPConstants.POLICY_ID_PROPERTY)).thenReturn(policyId);
+        when(resource.getProperty(PDPConstants.POLICY_DIGEST_PROPERTY)).thenReturn(digest);
+        when(resource.getProperty("active")).thenReturn("true");
+        when(resource.getProperties()).thenReturn(new Properties());
+        return resource;
+    }
+}
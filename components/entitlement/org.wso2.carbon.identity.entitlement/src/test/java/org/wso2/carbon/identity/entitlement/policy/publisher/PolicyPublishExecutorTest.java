@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.publisher;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.entitlement.EntitlementException;
+import org.wso2.carbon.identity.entitlement.PAPStatusDataHandler;
+import org.wso2.carbon.identity.entitlement.PDPConstants;
+import org.wso2.carbon.identity.entitlement.common.EntitlementConstants;
+import org.wso2.carbon.identity.entitlement.dto.PolicyDTO;
+import org.wso2.carbon.identity.entitlement.dto.PublisherDataHolder;
+import org.wso2.carbon.identity.entitlement.dto.StatusHolder;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementConfigHolder;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementExecutors;
+import org.wso2.carbon.identity.entitlement.internal.EntitlementServiceComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({CarbonContext.class, PrivilegedCarbonContext.class, EntitlementServiceComponent.class})
+public class PolicyPublishExecutorTest extends PowerMockTestCase {
+
+    private static final String MODULE_NAME = "TestPublisherModule";
+    private static final String FAILING_POLICY = "failingPolicy";
+
+    private TestPublisherModule publisherModule;
+    private RecordingStatusDataHandler statusDataHandler;
+    private PolicyPublisher publisher;
+    private Properties moduleProperties;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        CarbonContext carbonContext = mock(CarbonContext.class);
+        when(carbonContext.getTenantId()).thenReturn(-1234);
+        when(carbonContext.getTenantDomain()).thenReturn("carbon.super");
+        when(carbonContext.getUsername()).thenReturn("admin");
+        mockStatic(CarbonContext.class);
+        when(CarbonContext.getThreadLocalCarbonContext()).thenReturn(carbonContext);
+        mockStatic(PrivilegedCarbonContext.class);
+        when(PrivilegedCarbonContext.getThreadLocalCarbonContext()).thenReturn(mock(PrivilegedCarbonContext.class));
+
+        Properties properties = new Properties();
+        properties.setProperty(PDPConstants.POLICY_PUBLISHER_THREAD_POOL_SIZE, "4");
+        properties.setProperty(PDPConstants.POLICY_PUBLISHER_BATCH_SIZE, "2");
+        publisherModule = new TestPublisherModule(false);
+        moduleProperties = new Properties();
+        EntitlementConfigHolder configHolder = mock(EntitlementConfigHolder.class);
+        when(configHolder.getEngineProperties()).thenReturn(properties);
+        Map<PolicyPublisherModule, Properties> publisherModules = Collections.singletonMap(publisherModule,
+                moduleProperties);
+        when(configHolder.getPolicyPublisherModules()).thenReturn(publisherModules);
+        mockStatic(EntitlementServiceComponent.class);
+        when(EntitlementServiceComponent.getEntitlementConfig()).thenReturn(configHolder);
+
+        statusDataHandler = new RecordingStatusDataHandler();
+        publisher = mock(PolicyPublisher.class);
+        when(publisher.getPublisherModules()).thenReturn(Collections.<PolicyPublisherModule>singleton(
+                publisherModule));
+        when(publisher.getPapStatusDataHandlers()).thenReturn(Collections.<PAPStatusDataHandler>singleton(
+                statusDataHandler));
+        when(publisher.retrieveSubscriber(anyString(), eq(true))).thenAnswer(invocation -> {
+            PublisherDataHolder holder = new PublisherDataHolder(MODULE_NAME);
+            publisherModule.subscribers.put(holder, (String) invocation.getArguments()[0]);
+            return holder;
+        });
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        EntitlementExecutors.shutdown();
+    }
+
+    @Test
+    public void testSubscribersOfSharedModuleArePublishedToOneAfterTheOther() {
+
+        String[] policyIds = {"policy1", "policy2", "policy3"};
+        String[] subscriberIds = {"subscriber1", "subscriber2", "subscriber3"};
+
+        publish(policyIds, subscriberIds);
+
+        assertEquals(publisherModule.maxActive.get(), 1, "The shared publisher module was used concurrently.");
+        List<String> publications = new ArrayList<>(publisherModule.publications);
+        Collections.sort(publications);
+        List<String> expectedPublications = new ArrayList<>();
+        for (String subscriberId : subscriberIds) {
+            for (String policyId : policyIds) {
+                expectedPublications.add(subscriberId + ":" + policyId);
+            }
+        }
+        assertEquals(publications, expectedPublications,
+                "Each policy should be published with the details of its own subscriber.");
+        assertTrue(publisherModule.daemonThreads.stream().allMatch(Boolean::booleanValue));
+    }
+
+    @Test
+    public void testSubscribersArePublishedToInParallelThroughTheirOwnInstances() {
+
+        publisherModule.perSubscriberInstances = true;
+        String[] policyIds = {"policy1", "policy2", "policy3"};
+        String[] subscriberIds = {"subscriber1", "subscriber2", "subscriber3"};
+
+        publish(policyIds, subscriberIds);
+
+        assertTrue(publisherModule.maxActive.get() > 1, "Subscribers were not published to in parallel.");
+        assertEquals(publisherModule.instances.size(), subscriberIds.length);
+        assertTrue(publisherModule.instances.stream().allMatch(properties -> properties == moduleProperties),
+                "Instances should be created with the properties of the registered module.");
+        List<String> publications = new ArrayList<>(publisherModule.publications);
+        Collections.sort(publications);
+        List<String> expectedPublications = new ArrayList<>();
+        for (String subscriberId : subscriberIds) {
+            for (String policyId : policyIds) {
+                expectedPublications.add(subscriberId + ":" + policyId);
+            }
+        }
+        assertEquals(publications, expectedPublications,
+                "Each policy should be published with the details of its own subscriber.");
+    }
+
+    @Test
+    public void testStatusIsRecordedForEachPublication() {
+
+        publish(new String[]{"policy1", FAILING_POLICY, "policy3"}, new String[]{"subscriber1", "subscriber2"});
+
+        List<StatusHolder> subscriberStatus = statusDataHandler.get(EntitlementConstants.Status.ABOUT_SUBSCRIBER);
+        assertEquals(subscriberStatus.size(), 6);
+        List<StatusHolder> policyStatus = statusDataHandler.get(EntitlementConstants.Status.ABOUT_POLICY);
+        assertEquals(policyStatus.size(), 6);
+        for (StatusHolder statusHolder : policyStatus) {
+            assertEquals(statusHolder.isSuccess(), !FAILING_POLICY.equals(statusHolder.getKey()),
+                    "Wrong status for the policy : " + statusHolder.getKey());
+        }
+        for (StatusHolder statusHolder : subscriberStatus) {
+            assertEquals(statusHolder.isSuccess(), !FAILING_POLICY.equals(statusHolder.getTarget()),
+                    "Wrong status for the subscriber : " + statusHolder.getKey());
+        }
+    }
+
+    @Test
+    public void testPublishingAfterShutdown() {
+
+        EntitlementExecutors.shutdown();
+
+        publish(new String[]{"policy1"}, new String[]{"subscriber1", "subscriber2"});
+
+        assertEquals(publisherModule.publications.size(), 2);
+        assertFalse(statusDataHandler.get(EntitlementConstants.Status.ABOUT_SUBSCRIBER).isEmpty());
+    }
+
+    private void publish(String[] policyIds, String[] subscriberIds) {
+
+        new PolicyPublishExecutor(policyIds, "1", EntitlementConstants.PolicyPublish.ACTION_DELETE, true, 0,
+                subscriberIds, publisher, false, null).publish();
+    }
+
+    /**
+     * Publisher module which records the subscriber it is initialized with for each publication. Instances created
+     * for the subscribers record in to the registered instance.
+     */
+    private static class TestPublisherModule extends AbstractPolicyPublisherModule {
+
+        private final Map<PublisherDataHolder, String> subscribers;
+        private final List<String> publications;
+        private final List<Boolean> daemonThreads;
+        private final List<Properties> instances;
+        private final AtomicInteger active;
+        private final AtomicInteger maxActive;
+        private volatile boolean perSubscriberInstances;
+        private volatile String subscriberId;
+
+        private TestPublisherModule(boolean perSubscriberInstances) {
+
+            this.subscribers = new ConcurrentHashMap<>();
+            this.publications = Collections.synchronizedList(new ArrayList<>());
+            this.daemonThreads = Collections.synchronizedList(new ArrayList<>());
+            this.instances = Collections.synchronizedList(new ArrayList<>());
+            this.active = new AtomicInteger();
+            this.maxActive = new AtomicInteger();
+            this.perSubscriberInstances = perSubscriberInstances;
+        }
+
+        private TestPublisherModule(TestPublisherModule registered) {
+
+            this.subscribers = registered.subscribers;
+            this.publications = registered.publications;
+            this.daemonThreads = registered.daemonThreads;
+            this.instances = registered.instances;
+            this.active = registered.active;
+            this.maxActive = registered.maxActive;
+        }
+
+        @Override
+        public String getModuleName() {
+
+            return MODULE_NAME;
+        }
+
+        @Override
+        public AbstractPolicyPublisherModule newSubscriberInstance(Properties properties) {
+
+            if (!perSubscriberInstances) {
+                return null;
+            }
+            instances.add(properties);
+            return new TestPublisherModule(this);
+        }
+
+        @Override
+        public void init(PublisherDataHolder propertyHolder) {
+
+            subscriberId = subscribers.get(propertyHolder);
+        }
+
+        @Override
+        public void delete(PolicyDTO policyDTO) throws EntitlementException {
+
+            int current = active.incrementAndGet();
+            maxActive.accumulateAndGet(current, Math::max);
+            try {
+                String initializedSubscriber = subscriberId;
+                Thread.sleep(10);
+                publications.add(initializedSubscriber + ":" + policyDTO.getPolicyId());
+                daemonThreads.add(Thread.currentThread().isDaemon());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            if (FAILING_POLICY.equals(policyDTO.getPolicyId())) {
+                throw new EntitlementException("Error while deleting the policy : " + policyDTO.getPolicyId());
+            }
+        }
+
+        @Override
+        public void publishNew(PolicyDTO policyDTO) {
+
+        }
+
+        @Override
+        public void update(PolicyDTO policyDTO) {
+
+        }
+
+        @Override
+        public void order(PolicyDTO policyDTO) {
+
+        }
+
+        @Override
+        public void disable(PolicyDTO policyDTO) {
+
+        }
+
+        @Override
+        public void enable(PolicyDTO policyDTO) {
+
+        }
+    }
+
+    /**
+     * Status data handler which keeps the status in memory.
+     */
+    private static class RecordingStatusDataHandler implements PAPStatusDataHandler {
+
+        private final Map<String, List<StatusHolder>> status = new ConcurrentHashMap<>();
+
+        private List<StatusHolder> get(String about) {
+
+            return status.getOrDefault(about, Collections.<StatusHolder>emptyList());
+        }
+
+        @Override
+        public void init(Properties properties) {
+
+        }
+
+        @Override
+        public void handle(String about, String key, List<StatusHolder> statusHolder) {
+
+            status.computeIfAbsent(about, k -> Collections.synchronizedList(new ArrayList<>())).addAll(statusHolder);
+        }
+
+        @Override
+        public void handle(String about, StatusHolder statusHolder) {
+
+            handle(about, statusHolder.getKey(), Collections.singletonList(statusHolder));
+        }
+
+        @Override
+        public StatusHolder[] getStatusData(String about, String key, String type, String searchString) {
+
+            return new StatusHolder[0];
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.entitlement.policy.search;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.balana.ctx.AbstractRequestCtx;
+import org.wso2.balana.ctx.AbstractResult;
+import org.wso2.balana.ctx.ResponseCtx;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.entitlement.EntitlementUtil;
+import org.wso2.carbon.identity.entitlement.PDPConstants;
+import org.wso2.carbon.identity.entitlement.dto.AttributeDTO;
+import org.wso2.carbon.identity.entitlement.pdp.EntitlementEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({CarbonContext.class, PrivilegedCarbonContext.class, EntitlementUtil.class, EntitlementEngine.class})
+public class BulkEntitlementEvaluatorTest extends PowerMockTestCase {
+
+    private static final String PERMITTED_RESOURCE = "/permitted";
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final Map<AbstractRequestCtx, List<AttributeDTO>> requests = new ConcurrentHashMap<>();
+
+    @BeforeMethod
+    public void setUp() {
+
+        evaluations.set(0);
+        requests.clear();
+
+        CarbonContext carbonContext = mock(CarbonContext.class);
+        when(carbonContext.getTenantId()).thenReturn(-1234);
+        when(carbonContext.getTenantDomain()).thenReturn("carbon.super");
+        mockStatic(CarbonContext.class);
+        when(CarbonContext.getThreadLocalCarbonContext()).thenReturn(carbonContext);
+        mockStatic(PrivilegedCarbonContext.class);
+        when(PrivilegedCarbonContext.getThreadLocalCarbonContext()).thenReturn(mock(PrivilegedCarbonContext.class));
+
+        mockStatic(EntitlementUtil.class);
+        when(EntitlementUtil.createRequestContext(anyListOf(AttributeDTO.class))).thenAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<AttributeDTO> request = (List<AttributeDTO>) invocation.getArguments()[0];
+            AbstractRequestCtx requestCtx = mock(AbstractRequestCtx.class);
+            requests.put(requestCtx, request);
+            return requestCtx;
+        });
+
+        // Permits the requests for the permitted resource, and denies the others.
+        EntitlementEngine entitlementEngine = mock(EntitlementEngine.class);
+        when(entitlementEngine.evaluateByContext(any(AbstractRequestCtx.class))).thenAnswer(invocation -> {
+            evaluations.incrementAndGet();
+            List<AttributeDTO> request = requests.get((AbstractRequestCtx) invocation.getArguments()[0]);
+            boolean permit = request.contains(resource(PERMITTED_RESOURCE));
+            AbstractResult result = mock(AbstractResult.class);
+            when(result.getDecision()).thenReturn(permit ? AbstractResult.DECISION_PERMIT :
+                    AbstractResult.DECISION_DENY);
+            ResponseCtx responseCtx = mock(ResponseCtx.class);
+            when(responseCtx.getResults()).thenReturn(Collections.singleton(result));
+            return responseCtx;
+        });
+        mockStatic(EntitlementEngine.class);
+        when(EntitlementEngine.getInstance()).thenReturn(entitlementEngine);
+    }
+
+    @Test
+    public void testDecisionIsReusedForSameAttributes() {
+
+        BulkEntitlementEvaluator evaluator = new BulkEntitlementEvaluator(1);
+
+        assertTrue(evaluator.isPermitted(Arrays.asList(subject("alice"), resource(PERMITTED_RESOURCE))));
+        // The same attributes in a different order are the same request.
+        assertTrue(evaluator.isPermitted(Arrays.asList(resource(PERMITTED_RESOURCE), subject("alice"))));
+        assertEquals(evaluations.get(), 1);
+    }
+
+    @Test
+    public void testDecisionIsNotSharedAcrossDifferentAttributes() {
+
+        BulkEntitlementEvaluator evaluator = new BulkEntitlementEvaluator(1);
+
+        assertTrue(evaluator.isPermitted(Arrays.asList(subject("alice"), resource(PERMITTED_RESOURCE))));
+        assertFalse(evaluator.isPermitted(Arrays.asList(subject("alice"), resource("/denied"))));
+        assertTrue(evaluator.isPermitted(Arrays.asList(subject("bob"), resource(PERMITTED_RESOURCE))));
+        assertFalse(evaluator.isPermitted(Arrays.asList(subject("alice"), resource("/denied"))));
+        assertEquals(evaluations.get(), 3);
+    }
+
+    @Test
+    public void testDecisionsAreNotSharedAcrossSearches() {
+
+        List<AttributeDTO> request = Arrays.asList(subject("alice"), resource(PERMITTED_RESOURCE));
+
+        assertTrue(new BulkEntitlementEvaluator(1).isPermitted(request));
+        assertTrue(new BulkEntitlementEvaluator(1).isPermitted(request));
+        assertEquals(evaluations.get(), 2);
+    }
+
+    @Test
+    public void testParallelEvaluationMatchesSequentialDecisions() {
+
+        List<List<AttributeDTO>> searchRequests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            searchRequests.add(Arrays.asList(subject("user" + i), resource(i % 2 == 0 ? PERMITTED_RESOURCE :
+                    "/denied")));
+        }
+        // Duplicated requests are evaluated once.
+        searchRequests.add(Arrays.asList(resource(PERMITTED_RESOURCE), subject("user0")));
+
+        BulkEntitlementEvaluator evaluator = new BulkEntitlementEvaluator(4);
+        evaluator.evaluate(searchRequests);
+        assertEquals(evaluations.get(), 40);
+
+        for (int i = 0; i < 40; i++) {
+            assertEquals(evaluator.isPermitted(searchRequests.get(i)), i % 2 == 0, "Wrong decision for user" + i);
+        }
+        assertEquals(evaluations.get(), 40, "The decisions evaluated in parallel should be reused.");
+    }
+
+    private static AttributeDTO subject(String subject) {
+
+        return attribute(PDPConstants.SUBJECT_CATEGORY_URI, PDPConstants.SUBJECT_ID_DEFAULT, subject);
+    }
+
+    private static AttributeDTO resource(String resource) {
+
+        return attribute(PDPConstants.RESOURCE_CATEGORY_URI, PDPConstants.RESOURCE_ID_DEFAULT, resource);
+    }
+
+    private static AttributeDTO attribute(String category, String attributeId, String value) {
+
+        AttributeDTO attributeDTO = new AttributeDTO();
+        attributeDTO.setCategory(category);
+        attributeDTO.setAttributeId(attributeId);
+        attributeDTO.setAttributeValue(value);
+        attributeDTO.setAttributeDataType(PDPConstants.STRING_DATA_TYPE);
+        return attributeDTO;
+    }
+}
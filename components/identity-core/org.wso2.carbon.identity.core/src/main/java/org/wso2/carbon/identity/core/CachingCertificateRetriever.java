@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.identity.core;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.cache.CertificateCache;
+import org.wso2.carbon.identity.core.cache.CertificateCacheEntry;
+import org.wso2.carbon.identity.core.cache.CertificateCacheKey;
+import org.wso2.carbon.user.api.Tenant;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+
+/**
+ * A {@link CertificateRetriever} decorator which keeps the parsed certificates returned by the wrapped retriever in
+ * the {@link CertificateCache}, keyed by the tenant and the certificate identifier. Entries of a retriever type must
+ * be invalidated through {@link #clearCacheEntry(Class, String, int)} when the underlying certificate changes.
+ */
+public class CachingCertificateRetriever implements CertificateRetriever {
+
+    private static final Log log = LogFactory.getLog(CachingCertificateRetriever.class);
+    private static final String THUMBPRINT_DIGEST_ALGORITHM = "SHA-256";
+
+    private final CertificateRetriever certificateRetriever;
+
+    public CachingCertificateRetriever(CertificateRetriever certificateRetriever) {
+
+        this.certificateRetriever = certificateRetriever;
+    }
+
+    @Override
+    public X509Certificate getCertificate(String certificateId, Tenant tenant) throws CertificateRetrievingException {
+
+        CertificateCacheEntry entry = getCertificateEntry(certificateId, tenant);
+        return entry == null ? null : entry.getCertificate();
+    }
+
+    /**
+     * Get the public key of the certificate.
+     *
+     * @param certificateId Identifier of the certificate.
+     * @param tenant        Tenant where the certificate should be searched for, if applicable.
+     * @return Public key of the certificate or null if the certificate is not found.
+     * @throws CertificateRetrievingException If an error occurs while retrieving the certificate.
+     */
+    public PublicKey getPublicKey(String certificateId, Tenant tenant) throws CertificateRetrievingException {
+
+        CertificateCacheEntry entry = getCertificateEntry(certificateId, tenant);
+        return entry == null ? null : entry.getPublicKey();
+    }
+
+    /**
+     * Get the hex encoded SHA-256 thumbprint of the certificate.
+     *
+     * @param certificateId Identifier of the certificate.
+     * @param tenant        Tenant where the certificate should be searched for, if applicable.
+     * @return Thumbprint of the certificate or null if the certificate is not found.
+     * @throws CertificateRetrievingException If an error occurs while retrieving the certificate.
+     */
+    public String getThumbprint(String certificateId, Tenant tenant) throws CertificateRetrievingException {
+
+        CertificateCacheEntry entry = getCertificateEntry(certificateId, tenant);
+        return entry == null ? null : entry.getThumbprint();
+    }
+
+    /**
+     * Clear the cached certificate retrieved by the given retriever type.
+     *
+     * @param retrieverType Type of the wrapped retriever the certificate was resolved through.
+     * @param certificateId Identifier of the certificate.
+     * @param tenantId      Tenant id of the cache entry.
+     */
+    public static void clearCacheEntry(Class<? extends CertificateRetriever> retrieverType, String certificateId,
+                                       int tenantId) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing the cached certificate: " + certificateId + " of the source: " +
+                    retrieverType.getName() + " in tenant: " + tenantId);
+        }
+        CertificateCache.getInstance().clearCacheEntry(new CertificateCacheKey(retrieverType.getName(),
+                certificateId), tenantId);
+    }
+
+    /**
+     * Clear all cached certificates of a tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clearCache(int tenantId) {
+
+        CertificateCache.getInstance().clear(tenantId);
+    }
+
+    private CertificateCacheEntry getCertificateEntry(String certificateId, Tenant tenant)
+            throws CertificateRetrievingException {
+
+        if (certificateId == null) {
+            return null;
+        }
+        CertificateCacheKey cacheKey = new CertificateCacheKey(certificateRetriever.getClass().getName(),
+                certificateId);
+        CertificateCacheEntry entry = CertificateCache.getInstance().getValueFromCache(cacheKey, tenant.getId());
+        if (entry != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Certificate: " + certificateId + " found in the cache for tenant: " + tenant.getDomain());
+            }
+            return entry;
+        }
+
+        X509Certificate certificate = certificateRetriever.getCertificate(certificateId, tenant);
+        if (certificate == null) {
+            return null;
+        }
+        entry = new CertificateCacheEntry(certificate, getThumbprint(certificate, certificateId));
+        CertificateCache.getInstance().addToCache(cacheKey, entry, tenant.getId());
+        return entry;
+    }
+
+    private String getThumbprint(X509Certificate certificate, String certificateId)
+            throws CertificateRetrievingException {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance(THUMBPRINT_DIGEST_ALGORITHM);
+            return new String(Hex.encodeHex(digest.digest(certificate.getEncoded())));
+        } catch (NoSuchAlgorithmException | CertificateEncodingException e) {
+            throw new CertificateRetrievingException("Error while computing the thumbprint of the certificate: " +
+                    certificateId, e);
+        }
+    }
+}
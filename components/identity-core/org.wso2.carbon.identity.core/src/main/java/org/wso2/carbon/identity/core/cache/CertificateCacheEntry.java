@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+
+/**
+ * Cache entry for {@link CertificateCache}. Holds the parsed certificate along with the values derived from it, so
+ * that callers do not need to recompute them per request.
+ */
+public class CertificateCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -2284729351238460219L;
+
+    private final X509Certificate certificate;
+    private final String thumbprint;
+
+    public CertificateCacheEntry(X509Certificate certificate, String thumbprint) {
+
+        this.certificate = certificate;
+        this.thumbprint = thumbprint;
+    }
+
+    public X509Certificate getCertificate() {
+
+        return certificate;
+    }
+
+    public PublicKey getPublicKey() {
+
+        return certificate.getPublicKey();
+    }
+
+    /**
+     * Get the hex encoded SHA-256 thumbprint of the DER encoded certificate.
+     *
+     * @return Certificate thumbprint.
+     */
+    public String getThumbprint() {
+
+        return thumbprint;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.identity.core.cache;
+
+/**
+ * Cache key for {@link CertificateCache}. Identifies a certificate by the source it was retrieved from and the
+ * identifier of the certificate within that source. The tenant is handled by the tenanted cache space.
+ */
+public class CertificateCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 4139127407470264305L;
+
+    private final String source;
+    private final String certificateId;
+
+    public CertificateCacheKey(String source, String certificateId) {
+
+        this.source = source;
+        this.certificateId = certificateId;
+    }
+
+    public String getSource() {
+
+        return source;
+    }
+
+    public String getCertificateId() {
+
+        return certificateId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CertificateCacheKey)) {
+            return false;
+        }
+        CertificateCacheKey that = (CertificateCacheKey) o;
+        return source.equals(that.source) && certificateId.equals(that.certificateId);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return 31 * source.hashCode() + certificateId.hashCode();
+    }
+}
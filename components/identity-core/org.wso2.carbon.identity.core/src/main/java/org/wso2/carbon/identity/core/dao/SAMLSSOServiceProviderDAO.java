@@ -22,6 +22,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.base.IdentityException;
+import org.wso2.carbon.identity.core.CachingCertificateRetriever;
 import org.wso2.carbon.identity.core.CertificateRetriever;
 import org.wso2.carbon.identity.core.CertificateRetrievingException;
 import org.wso2.carbon.identity.core.DatabaseCertificateRetriever;
@@ -603,10 +604,10 @@ public class SAMLSSOServiceProviderDAO extends AbstractDAO<SAMLSSOServiceProvide
         CertificateRetriever certificateRetriever;
         String certificateIdentifier;
         if (applicationCertificateId != -1) {
-            certificateRetriever = new DatabaseCertificateRetriever();
+            certificateRetriever = new CachingCertificateRetriever(new DatabaseCertificateRetriever());
             certificateIdentifier = Integer.toString(applicationCertificateId);
         } else {
-            certificateRetriever = new KeyStoreCertificateRetriever();
+            certificateRetriever = new CachingCertificateRetriever(new KeyStoreCertificateRetriever());
             certificateIdentifier = serviceProviderDO.getCertAlias();
         }
 
@@ -51,6 +51,8 @@ import static org.wso2.carbon.identity.core.util.IdentityCoreConstants.PROXY_CON
  */
 public class DefaultServiceURLBuilder implements ServiceURLBuilder {
 
+    private static volatile ServiceURLComponents resolvedURLComponents;
+
     private String fragment;
     private String[] urlPaths;
     private String tenant;
@@ -80,19 +82,20 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
     @Override
     public ServiceURL build() throws URLBuilderException {
 
-        String protocol = fetchProtocol();
-        String proxyHostName = fetchProxyHostName();
-        String internalHostName = fetchInternalHostName();
-        String authenticationEndpointHostName = fetchAuthenticationEndpointHostName();
-        String authenticationEndpointPath = fetchAuthenticationEndpointPath();
-        String recoveryEndpointHostName = fetchRecoveryEndpointHostName();
-        String recoveryEndpointPath = fetchRecoveryEndpointPath();
-        int proxyPort = fetchPort();
-        int transportPort = fetchTransportPort();
+        ServiceURLComponents urlComponents = getURLComponents();
+        String protocol = urlComponents.protocol;
+        String proxyHostName = urlComponents.proxyHostName;
+        String internalHostName = urlComponents.internalHostName;
+        String authenticationEndpointHostName = urlComponents.authenticationEndpointHostName;
+        String authenticationEndpointPath = urlComponents.authenticationEndpointPath;
+        String recoveryEndpointHostName = urlComponents.recoveryEndpointHostName;
+        String recoveryEndpointPath = urlComponents.recoveryEndpointPath;
+        int proxyPort = urlComponents.proxyPort;
+        int transportPort = urlComponents.transportPort;
         String tenantDomain = StringUtils.isNotBlank(tenant) ? tenant : resolveTenantDomain();
-        String proxyContextPath = ServerConfiguration.getInstance().getFirstProperty(PROXY_CONTEXT_PATH);
+        String proxyContextPath = urlComponents.proxyContextPath;
         String resolvedFragment = buildFragment(fragment, fragmentParams);
-        String urlPath = getResolvedUrlPath(tenantDomain);
+        String urlPath = getResolvedUrlPath(urlComponents, tenantDomain);
 
         if (StringUtils.isNotBlank(urlPath)) {
             if (authenticationEndpointHostName != null && authenticationEndpointPath != null &&
@@ -110,15 +113,32 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
                 proxyContextPath, urlPath, parameters, resolvedFragment);
     }
 
-    private String getResolvedUrlPath(String tenantDomain) {
+    /**
+     * Clear the memoized server level URL components, so that they are resolved again from the server
+     * configuration on the next build. This should be invoked when the server configuration is reloaded.
+     */
+    public static void clearResolvedURLComponents() {
+
+        resolvedURLComponents = null;
+    }
+
+    private static ServiceURLComponents getURLComponents() throws URLBuilderException {
+
+        ServiceURLComponents urlComponents = resolvedURLComponents;
+        if (urlComponents == null) {
+            urlComponents = new ServiceURLComponents();
+            resolvedURLComponents = urlComponents;
+        }
+        return urlComponents;
+    }
+
+    private String getResolvedUrlPath(ServiceURLComponents urlComponents, String tenantDomain) {
 
         String resolvedUrlContext = buildUrlPath(urlPaths);
         StringBuilder resolvedUrlStringBuilder = new StringBuilder();
 
-        if (IdentityTenantUtil.isTenantQualifiedUrlsEnabled()) {
-            if (isNotSuperTenant(tenantDomain)) {
-                resolvedUrlStringBuilder.append("/t/").append(tenantDomain);
-            }
+        if (urlComponents.tenantQualifiedUrlsEnabled) {
+            resolvedUrlStringBuilder.append(urlComponents.getTenantPath(tenantDomain));
         }
 
         if (StringUtils.isNotBlank(resolvedUrlContext)) {
@@ -132,7 +152,7 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
         return resolvedUrlStringBuilder.toString();
     }
 
-    private boolean isNotSuperTenant(String tenantDomain) {
+    private static boolean isNotSuperTenant(String tenantDomain) {
 
         return !StringUtils.equals(tenantDomain, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
     }
@@ -246,24 +266,24 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
         return urlPathBuilder.toString();
     }
 
-    private String fetchProtocol() {
+    private static String fetchProtocol() {
 
         return CarbonUtils.getManagementTransport();
     }
 
-    private String fetchProxyHostName() throws URLBuilderException {
+    private static String fetchProxyHostName() throws URLBuilderException {
 
         String proxyHostName = ServerConfiguration.getInstance().getFirstProperty(IdentityCoreConstants.HOST_NAME);
         return resolveHostName(proxyHostName);
     }
 
-    private String fetchInternalHostName() throws URLBuilderException {
+    private static String fetchInternalHostName() throws URLBuilderException {
 
         String internalHostName = IdentityUtil.getProperty(IdentityCoreConstants.SERVER_HOST_NAME);
         return resolveHostName(internalHostName);
     }
 
-    private String resolveHostName(String hostName) throws URLBuilderException {
+    private static String resolveHostName(String hostName) throws URLBuilderException {
 
         try {
             if (StringUtils.isBlank(hostName)) {
@@ -280,7 +300,7 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
         return hostName;
     }
 
-    private int fetchPort() {
+    private static int fetchPort() {
 
         String mgtTransport = CarbonUtils.getManagementTransport();
         AxisConfiguration axisConfiguration = IdentityCoreServiceComponent.getConfigurationContextService().
@@ -292,7 +312,7 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
         return port;
     }
 
-    private int fetchTransportPort() {
+    private static int fetchTransportPort() {
 
         String mgtTransport = CarbonUtils.getManagementTransport();
         AxisConfiguration axisConfiguration = IdentityCoreServiceComponent.getConfigurationContextService().
@@ -300,7 +320,7 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
         return CarbonUtils.getTransportPort(axisConfiguration, mgtTransport);
     }
 
-    private String fetchAuthenticationEndpointHostName() throws URLBuilderException {
+    private static String fetchAuthenticationEndpointHostName() throws URLBuilderException {
 
         String authenticationEndpointHostName = IdentityUtil.
                 getProperty(IdentityCoreConstants.AUTHENTICATION_ENDPOINT_HOST_NAME);
@@ -310,28 +330,28 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
         return null;
     }
 
-    private String fetchAuthenticationEndpointPath() {
+    private static String fetchAuthenticationEndpointPath() {
 
         String authenticationEndpointPath = IdentityUtil
                 .getProperty(IdentityCoreConstants.AUTHENTICATION_ENDPOINT_PATH);
         return preprocessEndpointPath(authenticationEndpointPath);
     }
 
-    private String fetchRecoveryEndpointHostName() throws URLBuilderException {
+    private static String fetchRecoveryEndpointHostName() throws URLBuilderException {
 
         String recoveryEndpointHostName = IdentityUtil.
                 getProperty(IdentityCoreConstants.RECOVERY_ENDPOINT_HOST_NAME);
         return resolveHostName(recoveryEndpointHostName);
     }
 
-    private String fetchRecoveryEndpointPath() {
+    private static String fetchRecoveryEndpointPath() {
 
         String recoveryEndpointPath = IdentityUtil
                 .getProperty(IdentityCoreConstants.RECOVERY_ENDPOINT_PATH);
         return preprocessEndpointPath(recoveryEndpointPath);
     }
 
-    private String preprocessEndpointPath(String endpointPath) {
+    private static String preprocessEndpointPath(String endpointPath) {
 
         if (StringUtils.isNotBlank(endpointPath)) {
             if (!endpointPath.startsWith("/")) {
@@ -346,6 +366,48 @@ public class DefaultServiceURLBuilder implements ServiceURLBuilder {
         return null;
     }
 
+    /**
+     * Server level components of the service URLs, resolved once from the server configuration and reused by all
+     * builders until {@link #clearResolvedURLComponents()} is invoked.
+     */
+    private static final class ServiceURLComponents {
+
+        private final String protocol;
+        private final String proxyHostName;
+        private final String internalHostName;
+        private final String authenticationEndpointHostName;
+        private final String authenticationEndpointPath;
+        private final String recoveryEndpointHostName;
+        private final String recoveryEndpointPath;
+        private final int proxyPort;
+        private final int transportPort;
+        private final String proxyContextPath;
+        private final boolean tenantQualifiedUrlsEnabled;
+
+        private ServiceURLComponents() throws URLBuilderException {
+
+            this.protocol = fetchProtocol();
+            this.proxyHostName = fetchProxyHostName();
+            this.internalHostName = fetchInternalHostName();
+            this.authenticationEndpointHostName = fetchAuthenticationEndpointHostName();
+            this.authenticationEndpointPath = fetchAuthenticationEndpointPath();
+            this.recoveryEndpointHostName = fetchRecoveryEndpointHostName();
+            this.recoveryEndpointPath = fetchRecoveryEndpointPath();
+            this.proxyPort = fetchPort();
+            this.transportPort = fetchTransportPort();
+            this.proxyContextPath = ServerConfiguration.getInstance().getFirstProperty(PROXY_CONTEXT_PATH);
+            this.tenantQualifiedUrlsEnabled = IdentityTenantUtil.isTenantQualifiedUrlsEnabled();
+        }
+
+        private String getTenantPath(String tenantDomain) {
+
+            if (!isNotSuperTenant(tenantDomain)) {
+                return StringUtils.EMPTY;
+            }
+            return "/t/" + tenantDomain;
+        }
+    }
+
     private class ServiceURLImpl implements ServiceURL {
 
         private String protocol;
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.persistence.JDBCPersistenceManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Unit of work bound to the current thread, in which the session database connection is shared.
+ * <p>
+ * The session database is accessed through a single transactional connection which is opened by the first
+ * transactional access. Each DAO gets its own proxy of it, bound to a savepoint taken when the proxy is handed out.
+ * Close and commit on a proxy are deferred to the end of the scope, and a rollback only rolls back to the savepoint
+ * of the proxy, so a DAO recovering from an expected failure does not fail the unit of work. Non-transactional
+ * reads use their own connection until the shared connection is opened, after which they join it to see the
+ * uncommitted writes. Connections of the identity database are not part of the scope, so writes to it are not
+ * atomic with the unit of work.
+ * <p>
+ * Scopes can be nested, in which case only the outermost scope completes the transaction.
+ */
+final class DatabaseConnectionScope {
+
+    private static final Log log = LogFactory.getLog(DatabaseConnectionScope.class);
+    private static final ThreadLocal<DatabaseConnectionScope> currentScope = new ThreadLocal<>();
+
+    private int depth;
+    private boolean rollbackOnly;
+    private Connection sessionDBConnection;
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
+
+    private DatabaseConnectionScope() {
+
+    }
+
+    static DatabaseConnectionScope current() {
+
+        return currentScope.get();
+    }
+
+    static void begin() {
+
+        DatabaseConnectionScope scope = currentScope.get();
+        if (scope == null) {
+            scope = new DatabaseConnectionScope();
+            currentScope.set(scope);
+        }
+        scope.depth++;
+    }
+
+    /**
+     * End the scope, completing the transaction if this is the outermost scope.
+     *
+     * @param commit Whether the unit of work completed successfully.
+     * @throws IdentityRuntimeException If the transaction was to be committed, but could not be.
+     */
+    static void end(boolean commit) throws IdentityRuntimeException {
+
+        DatabaseConnectionScope scope = currentScope.get();
+        if (scope == null) {
+            return;
+        }
+        if (!commit) {
+            scope.rollbackOnly = true;
+        }
+        if (--scope.depth > 0) {
+            return;
+        }
+        currentScope.remove();
+        scope.complete(commit);
+    }
+
+    Connection getSessionDBConnection(boolean shouldApplyTransaction) {
+
+        if (sessionDBConnection == null) {
+            if (!shouldApplyTransaction) {
+                return JDBCPersistenceManager.getInstance().getSessionDBConnection(false);
+            }
+            sessionDBConnection = JDBCPersistenceManager.getInstance().getSessionDBConnection(true);
+        }
+        return createConnectionProxy(sessionDBConnection, setSavepoint(sessionDBConnection));
+    }
+
+    /**
+     * Register an action to run once the transaction of the scope is committed. The action is dropped if the
+     * transaction is rolled back.
+     *
+     * @param action Action to run.
+     */
+    void addAfterCommitAction(Runnable action) {
+
+        afterCommitActions.add(action);
+    }
+
+    /**
+     * Wrap the session data source so that the connections obtained from it within this scope join the shared
+     * connection. As the data source cannot tell reads from writes, all of them join.
+     *
+     * @param dataSource Session data source to wrap.
+     * @return Data source returning proxies of the shared connection.
+     */
+    DataSource wrapDataSource(DataSource dataSource) {
+
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if ("getConnection".equals(method.getName()) && (args == null || args.length == 0)
+                            && currentScope.get() == this) {
+                        return getSessionDBConnection(true);
+                    }
+                    return invoke(dataSource, method, args);
+                });
+    }
+
+    private Savepoint setSavepoint(Connection connection) {
+
+        try {
+            return connection.setSavepoint();
+        } catch (SQLException e) {
+            // Without savepoints, a rollback by any DAO rolls back the whole unit of work.
+            if (log.isDebugEnabled()) {
+                log.debug("Savepoints are not available in the database connection scope.", e);
+            }
+            return null;
+        }
+    }
+
+    private Connection createConnectionProxy(Connection connection, Savepoint savepoint) {
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                        case "commit":
+                        case "setAutoCommit":
+                            return null;
+                        case "rollback":
+                            if (args == null || args.length == 0) {
+                                if (savepoint == null) {
+                                    rollbackOnly = true;
+                                } else {
+                                    connection.rollback(savepoint);
+                                }
+                                return null;
+                            }
+                            return invoke(connection, method, args);
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return invoke(connection, method, args);
+                    }
+                });
+    }
+
+    private void complete(boolean commit) throws IdentityRuntimeException {
+
+        if (sessionDBConnection == null) {
+            if (!rollbackOnly) {
+                runAfterCommitActions();
+            }
+            return;
+        }
+        try {
+            if (rollbackOnly) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Rolling back the database connection scope.");
+                }
+                sessionDBConnection.rollback();
+            } else {
+                sessionDBConnection.commit();
+            }
+        } catch (SQLException e) {
+            if (rollbackOnly) {
+                log.error("Error while rolling back the transaction of the database connection scope.", e);
+            } else {
+                JDBCPersistenceManager.getInstance().rollbackTransaction(sessionDBConnection);
+                throw IdentityRuntimeException.error("Error while committing the transaction of the database " +
+                        "connection scope.", e);
+            }
+        } finally {
+            IdentityDatabaseUtil.closeConnection(sessionDBConnection);
+        }
+        if (rollbackOnly) {
+            if (commit) {
+                throw IdentityRuntimeException.error("The transaction of the database connection scope was rolled " +
+                        "back, as a part of the unit of work failed.");
+            }
+            return;
+        }
+        runAfterCommitActions();
+    }
+
+    private void runAfterCommitActions() {
+
+        for (Runnable action : afterCommitActions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Error while running an action after committing the database connection scope.", e);
+            }
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
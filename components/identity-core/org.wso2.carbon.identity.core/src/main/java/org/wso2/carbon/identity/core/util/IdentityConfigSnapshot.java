@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.identity.core.util;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolved view of the identity.xml configuration read through {@link IdentityUtil#getProperty(String)}.
+ * <p>
+ * Values without placeholders are captured eagerly when the snapshot is created, once the configuration is loaded.
+ * Values with placeholders are resolved through {@link IdentityUtil#fillURLPlaceholders(String)} on first access,
+ * since placeholders such as the management transport port can only be resolved after the server transports are
+ * available, and are kept only once no placeholder is left unresolved. Typed values are parsed once per snapshot on
+ * the same terms. A new snapshot is created whenever the underlying configuration is reloaded.
+ */
+final class IdentityConfigSnapshot {
+
+    private static final Object INVALID_VALUE = new Object();
+    private static final String PLACEHOLDER_PREFIX = "${";
+
+    private final Map<String, Object> configuration;
+    private final Map<String, String> resolvedValues = new ConcurrentHashMap<>();
+    private final Map<String, Object> intValues = new ConcurrentHashMap<>();
+    private final Map<String, Object> longValues = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> booleanValues = new ConcurrentHashMap<>();
+
+    IdentityConfigSnapshot(Map<String, Object> configuration) {
+
+        this.configuration = configuration;
+        for (Map.Entry<String, Object> entry : configuration.entrySet()) {
+            String value = getRawValue(entry.getValue());
+            if (value != null && isResolved(value)) {
+                resolvedValues.put(entry.getKey(), value);
+            }
+        }
+    }
+
+    /**
+     * Check whether this snapshot was created from the given configuration.
+     *
+     * @param configuration Raw configuration.
+     * @return True if the snapshot is of the given configuration instance.
+     */
+    boolean isSnapshotOf(Map<String, Object> configuration) {
+
+        return this.configuration == configuration;
+    }
+
+    String getProperty(String key) {
+
+        String resolvedValue = resolvedValues.get(key);
+        if (resolvedValue != null) {
+            return resolvedValue;
+        }
+
+        String value = getRawValue(configuration.get(key));
+        if (value == null) {
+            return null;
+        }
+        resolvedValue = IdentityUtil.fillURLPlaceholders(value);
+        if (isResolved(resolvedValue)) {
+            resolvedValues.put(key, resolvedValue);
+        }
+        return resolvedValue;
+    }
+
+    int getIntProperty(String key, int defaultValue) {
+
+        Object parsedValue = intValues.get(key);
+        if (parsedValue == null) {
+            String value = getProperty(key);
+            parsedValue = INVALID_VALUE;
+            if (StringUtils.isNotBlank(value)) {
+                try {
+                    parsedValue = Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    // Treated as not configured.
+                }
+            }
+            if (isResolved(value)) {
+                intValues.put(key, parsedValue);
+            }
+        }
+        return parsedValue == INVALID_VALUE ? defaultValue : (Integer) parsedValue;
+    }
+
+    long getLongProperty(String key, long defaultValue) {
+
+        Object parsedValue = longValues.get(key);
+        if (parsedValue == null) {
+            String value = getProperty(key);
+            parsedValue = INVALID_VALUE;
+            if (StringUtils.isNotBlank(value)) {
+                try {
+                    parsedValue = Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    // Treated as not configured.
+                }
+            }
+            if (isResolved(value)) {
+                longValues.put(key, parsedValue);
+            }
+        }
+        return parsedValue == INVALID_VALUE ? defaultValue : (Long) parsedValue;
+    }
+
+    boolean getBooleanProperty(String key, boolean defaultValue) {
+
+        Boolean parsedValue = booleanValues.get(key);
+        if (parsedValue != null) {
+            return parsedValue;
+        }
+        String value = getProperty(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        parsedValue = Boolean.parseBoolean(value.trim());
+        if (isResolved(value)) {
+            booleanValues.put(key, parsedValue);
+        }
+        return parsedValue;
+    }
+
+    long getDurationInMillis(String key, TimeUnit unit, long defaultValue) {
+
+        long value = getLongProperty(key, -1L);
+        if (value < 0) {
+            return unit.toMillis(defaultValue);
+        }
+        return unit.toMillis(value);
+    }
+
+    private static String getRawValue(Object value) {
+
+        if (value instanceof List) {
+            List values = (List) value;
+            value = values.isEmpty() ? null : values.get(0);
+        }
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return (String) value;
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Values that still have a placeholder are not cached, since the placeholder may become resolvable later.
+     */
+    private static boolean isResolved(String value) {
+
+        return value == null || !StringUtils.contains(value, PLACEHOLDER_PREFIX);
+    }
+}
@@ -37,6 +37,7 @@ import javax.sql.DataSource;
 public class IdentityDatabaseUtil {
 
     private static final Log log = LogFactory.getLog(IdentityDatabaseUtil.class);
+    private static final String CONNECTION_SCOPE_ENABLE = "JDBCPersistenceManager.ConnectionScope.Enable";
 
     @Deprecated
     public static Connection getDBConnection() throws IdentityRuntimeException {
@@ -63,6 +64,10 @@ public class IdentityDatabaseUtil {
      */
     public static Connection getSessionDBConnection(boolean shouldApplyTransaction) throws IdentityRuntimeException {
 
+        DatabaseConnectionScope scope = DatabaseConnectionScope.current();
+        if (scope != null) {
+            return scope.getSessionDBConnection(shouldApplyTransaction);
+        }
         return JDBCPersistenceManager.getInstance().getSessionDBConnection(shouldApplyTransaction);
     }
 
@@ -83,9 +88,59 @@ public class IdentityDatabaseUtil {
      */
     public static DataSource getSessionDataSource() {
 
+        DatabaseConnectionScope scope = DatabaseConnectionScope.current();
+        if (scope != null) {
+            return scope.wrapDataSource(JDBCPersistenceManager.getInstance().getSessionDataSource());
+        }
         return JDBCPersistenceManager.getInstance().getSessionDataSource();
     }
 
+    /**
+     * Start a unit of work on the session database on the current thread, if enabled with
+     * "JDBCPersistenceManager.ConnectionScope.Enable". Until the matching {@link #endConnectionScope(boolean)}, the
+     * transactional session database connections and the connections of the session data source obtained through
+     * this class share one connection. Closing and committing these connections is deferred to the end of the scope,
+     * and rolling one back only undoes the work done through that connection. The identity database is not part of
+     * the unit of work.
+     * <p>
+     * Every call needs to be paired with a call to {@link #endConnectionScope(boolean)}.
+     */
+    public static void beginConnectionScope() {
+
+        if (DatabaseConnectionScope.current() != null || IdentityUtil.getBooleanProperty(CONNECTION_SCOPE_ENABLE,
+                false)) {
+            DatabaseConnectionScope.begin();
+        }
+    }
+
+    /**
+     * End the unit of work started with {@link #beginConnectionScope()}. When the outermost scope ends, the shared
+     * connection is committed, or rolled back if the unit of work failed, and returned to the pool.
+     *
+     * @param commit Whether the unit of work completed successfully.
+     * @throws IdentityRuntimeException If the unit of work was to be committed, but was rolled back or could not be
+     *                                  committed.
+     */
+    public static void endConnectionScope(boolean commit) throws IdentityRuntimeException {
+
+        DatabaseConnectionScope.end(commit);
+    }
+
+    /**
+     * Run an action once the session database writes of the current unit of work are committed, or immediately if
+     * there is no unit of work on the current thread. The action is dropped if the unit of work is rolled back.
+     *
+     * @param action Action to run, such as populating a cache with the written data.
+     */
+    public static void runAfterCommit(Runnable action) {
+
+        DatabaseConnectionScope scope = DatabaseConnectionScope.current();
+        if (scope != null) {
+            scope.addAfterCommitAction(action);
+        } else {
+            action.run();
+        }
+    }
 
     public static void closeAllConnections(Connection dbConnection, ResultSet rs, PreparedStatement prepStmt) {
 
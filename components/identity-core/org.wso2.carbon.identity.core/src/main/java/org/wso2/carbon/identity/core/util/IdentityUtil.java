@@ -39,6 +39,7 @@ import org.wso2.carbon.core.util.Utils;
 import org.wso2.carbon.identity.base.IdentityConstants;
 import org.wso2.carbon.identity.base.IdentityException;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.internal.DefaultServiceURLBuilder;
 import org.wso2.carbon.identity.core.internal.IdentityCoreServiceComponent;
 import org.wso2.carbon.identity.core.internal.IdentityCoreServiceDataHolder;
 import org.wso2.carbon.identity.core.model.IdentityCacheConfig;
@@ -86,6 +87,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -126,6 +128,7 @@ public class IdentityUtil {
     private static final String DISABLE_EMAIL_USERNAME_VALIDATION = "DisableEmailUserNameValidation";
     private static Log log = LogFactory.getLog(IdentityUtil.class);
     private static Map<String, Object> configuration = new HashMap<>();
+    private static volatile IdentityConfigSnapshot configSnapshot;
     private static Map<IdentityEventListenerConfigKey, IdentityEventListenerConfig> eventListenerConfiguration = new
             HashMap<>();
     private static Map<IdentityCacheConfigKey, IdentityCacheConfig> identityCacheConfigurationHolder = new HashMap<>();
@@ -182,22 +185,70 @@ public class IdentityUtil {
      */
     public static String getProperty(String key) {
 
-        Object value = configuration.get(key);
-        String strValue;
+        return getConfigSnapshot().getProperty(key);
+    }
 
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof List) {
-            value = ((List) value).get(0);
-        }
-        if (value instanceof String) {
-            strValue = (String) value;
-        } else {
-            strValue = String.valueOf(value);
+    /**
+     * Read an integer configuration element from the identity.xml. The parsed value is cached until the
+     * configuration is reloaded.
+     *
+     * @param key          Element name as specified in {@link #getProperty(String)}.
+     * @param defaultValue Value to return if the element is not configured or is not a valid integer.
+     * @return Configured integer value.
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+
+        return getConfigSnapshot().getIntProperty(key, defaultValue);
+    }
+
+    /**
+     * Read a long configuration element from the identity.xml. The parsed value is cached until the configuration
+     * is reloaded.
+     *
+     * @param key          Element name as specified in {@link #getProperty(String)}.
+     * @param defaultValue Value to return if the element is not configured or is not a valid long.
+     * @return Configured long value.
+     */
+    public static long getLongProperty(String key, long defaultValue) {
+
+        return getConfigSnapshot().getLongProperty(key, defaultValue);
+    }
+
+    /**
+     * Read a boolean configuration element from the identity.xml. The parsed value is cached until the
+     * configuration is reloaded.
+     *
+     * @param key          Element name as specified in {@link #getProperty(String)}.
+     * @param defaultValue Value to return if the element is not configured.
+     * @return Configured boolean value.
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+
+        return getConfigSnapshot().getBooleanProperty(key, defaultValue);
+    }
+
+    /**
+     * Read a duration configuration element from the identity.xml, configured as a non negative number in the
+     * given unit. The parsed value is cached until the configuration is reloaded.
+     *
+     * @param key          Element name as specified in {@link #getProperty(String)}.
+     * @param unit         Unit the element is configured in.
+     * @param defaultValue Value in the given unit to use if the element is not configured or is invalid.
+     * @return Configured duration in milliseconds.
+     */
+    public static long getDurationPropertyInMillis(String key, TimeUnit unit, long defaultValue) {
+
+        return getConfigSnapshot().getDurationInMillis(key, unit, defaultValue);
+    }
+
+    private static IdentityConfigSnapshot getConfigSnapshot() {
+
+        IdentityConfigSnapshot snapshot = configSnapshot;
+        if (snapshot == null || !snapshot.isSnapshotOf(configuration)) {
+            snapshot = new IdentityConfigSnapshot(configuration);
+            configSnapshot = snapshot;
         }
-        strValue = fillURLPlaceholders(strValue);
-        return strValue;
+        return snapshot;
     }
 
     public static IdentityEventListenerConfig readEventListenerProperty(String type, String name) {
@@ -310,6 +361,7 @@ public class IdentityUtil {
 
     public static void populateProperties() {
         configuration = IdentityConfigParser.getInstance().getConfiguration();
+        configSnapshot = new IdentityConfigSnapshot(configuration);
         eventListenerConfiguration = IdentityConfigParser.getInstance().getEventListenerConfiguration();
         identityCacheConfigurationHolder = IdentityConfigParser.getInstance().getIdentityCacheConfigurationHolder();
         identityCookiesConfigurationHolder = IdentityConfigParser.getIdentityCookieConfigurationHolder();
@@ -319,6 +371,7 @@ public class IdentityUtil {
                 IdentityConfigParser.getInstance().getCookiesToInvalidateConfigurationHolder();
         storeProcedureBasedDAOConfigurationHolder =
                 IdentityConfigParser.getInstance().getStoreProcedureBasedDAOConfigurationHolder();
+        DefaultServiceURLBuilder.clearResolvedURLComponents();
     }
 
     public static String getPPIDDisplayValue(String value) throws Exception {
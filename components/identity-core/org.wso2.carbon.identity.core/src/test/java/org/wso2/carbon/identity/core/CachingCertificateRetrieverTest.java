@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core;
+
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.context.internal.OSGiDataHolder;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.user.api.Tenant;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.io.File;
+import java.net.URL;
+import java.security.cert.X509Certificate;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test for the caching certificate retriever.
+ */
+@PrepareForTest({IdentityTenantUtil.class})
+@PowerMockIgnore({"javax.net.*", "javax.security.*", "javax.crypto.*", "javax.xml.*", "org.xml.*", "org.w3c.*",
+        "javax.naming.*", "javax.sql.*"})
+public class CachingCertificateRetrieverTest {
+
+    private static final String CERTIFICATE_ID = "10";
+
+    private CertificateRetriever certificateRetriever;
+    private X509Certificate certificate;
+    private Tenant tenant;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        URL root = this.getClass().getClassLoader().getResource(".");
+        File file = new File(root.getPath());
+        System.setProperty("carbon.home", file.getAbsolutePath());
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain("foo.com");
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(1);
+
+        RealmService mockRealmService = mock(RealmService.class);
+        TenantManager mockTenantManager = mock(TenantManager.class);
+        when(mockRealmService.getTenantManager()).thenReturn(mockTenantManager);
+        when(mockTenantManager.getDomain(1)).thenReturn("foo.com");
+        when(mockTenantManager.getTenantId("foo.com")).thenReturn(1);
+        OSGiDataHolder.getInstance().setUserRealmService(mockRealmService);
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantDomain(1)).thenReturn("foo.com");
+        when(IdentityTenantUtil.getTenantId("foo.com")).thenReturn(1);
+
+        tenant = new Tenant();
+        tenant.setId(1);
+        tenant.setDomain("foo.com");
+
+        certificate = mock(X509Certificate.class);
+        when(certificate.getEncoded()).thenReturn(new byte[]{1, 2, 3});
+        certificateRetriever = mock(DatabaseCertificateRetriever.class);
+        when(certificateRetriever.getCertificate(CERTIFICATE_ID, tenant)).thenReturn(certificate);
+        CachingCertificateRetriever.clearCache(1);
+    }
+
+    @Test
+    public void testCertificateIsCached() throws Exception {
+
+        CachingCertificateRetriever cachingRetriever = new CachingCertificateRetriever(certificateRetriever);
+
+        assertEquals(cachingRetriever.getCertificate(CERTIFICATE_ID, tenant), certificate);
+        assertEquals(cachingRetriever.getCertificate(CERTIFICATE_ID, tenant), certificate);
+        assertNotNull(cachingRetriever.getThumbprint(CERTIFICATE_ID, tenant));
+        verify(certificateRetriever, times(1)).getCertificate(CERTIFICATE_ID, tenant);
+    }
+
+    @Test
+    public void testClearCacheEntry() throws Exception {
+
+        CachingCertificateRetriever cachingRetriever = new CachingCertificateRetriever(certificateRetriever);
+        cachingRetriever.getCertificate(CERTIFICATE_ID, tenant);
+
+        CachingCertificateRetriever.clearCacheEntry(certificateRetriever.getClass(), CERTIFICATE_ID, 1);
+        cachingRetriever.getCertificate(CERTIFICATE_ID, tenant);
+
+        verify(certificateRetriever, times(2)).getCertificate(CERTIFICATE_ID, tenant);
+    }
+
+    @Test
+    public void testClearCache() throws Exception {
+
+        CachingCertificateRetriever cachingRetriever = new CachingCertificateRetriever(certificateRetriever);
+        cachingRetriever.getCertificate(CERTIFICATE_ID, tenant);
+
+        CachingCertificateRetriever.clearCache(1);
+        cachingRetriever.getCertificate(CERTIFICATE_ID, tenant);
+
+        verify(certificateRetriever, times(2)).getCertificate(CERTIFICATE_ID, tenant);
+    }
+
+    @Test
+    public void testMissingCertificateIsNotCached() throws Exception {
+
+        CachingCertificateRetriever cachingRetriever = new CachingCertificateRetriever(certificateRetriever);
+
+        assertNull(cachingRetriever.getCertificate("20", tenant));
+        assertNull(cachingRetriever.getCertificate("20", tenant));
+        verify(certificateRetriever, times(2)).getCertificate("20", tenant);
+    }
+}
@@ -73,6 +73,7 @@ public class DefaultServiceURLBuilderTest {
     @BeforeMethod
     public void setUp() throws Exception {
 
+        DefaultServiceURLBuilder.clearResolvedURLComponents();
         mockStatic(CarbonUtils.class);
         mockStatic(ServerConfiguration.class);
         mockStatic(NetworkUtils.class);
@@ -506,6 +507,28 @@ public class DefaultServiceURLBuilderTest {
         assertEquals(relativeInternalUrl, expected);
     }
 
+    @Test
+    public void testResolvedURLComponentsAreReused() throws URLBuilderException {
+
+        when(CarbonUtils.getManagementTransport()).thenReturn(HTTPS);
+        when(ServerConfiguration.getInstance().getFirstProperty(IdentityCoreConstants.HOST_NAME))
+                .thenReturn("www.wso2.com");
+        when(CarbonUtils.getTransportProxyPort(mockAxisConfiguration, HTTPS)).thenReturn(9443);
+        when(IdentityTenantUtil.isTenantQualifiedUrlsEnabled()).thenReturn(false);
+
+        assertEquals(ServiceURLBuilder.create().addPath("/commonauth").build().getAbsolutePublicURL(),
+                "https://www.wso2.com:9443/commonauth");
+
+        when(ServerConfiguration.getInstance().getFirstProperty(IdentityCoreConstants.HOST_NAME))
+                .thenReturn("identity.wso2.com");
+        assertEquals(ServiceURLBuilder.create().addPath("/oauth2/token").build().getAbsolutePublicURL(),
+                "https://www.wso2.com:9443/oauth2/token");
+
+        DefaultServiceURLBuilder.clearResolvedURLComponents();
+        assertEquals(ServiceURLBuilder.create().addPath("/oauth2/token").build().getAbsolutePublicURL(),
+                "https://identity.wso2.com:9443/oauth2/token");
+    }
+
     @ObjectFactory
     public IObjectFactory getObjectFactory() {
 
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.core.util;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.persistence.JDBCPersistenceManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@PrepareForTest({JDBCPersistenceManager.class, IdentityUtil.class})
+public class IdentityDatabaseUtilTest {
+
+    @Mock
+    private JDBCPersistenceManager mockPersistenceManager;
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private Connection mockReadConnection;
+    @Mock
+    private Savepoint mockSavepoint;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        initMocks(this);
+        mockStatic(JDBCPersistenceManager.class);
+        when(JDBCPersistenceManager.getInstance()).thenReturn(mockPersistenceManager);
+        when(mockPersistenceManager.getSessionDBConnection(true)).thenReturn(mockConnection);
+        when(mockPersistenceManager.getSessionDBConnection(false)).thenReturn(mockReadConnection);
+        when(mockConnection.setSavepoint()).thenReturn(mockSavepoint);
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getBooleanProperty(anyString(), anyBoolean())).thenReturn(true);
+    }
+
+    @Test
+    public void testConnectionScopeSharesConnection() throws Exception {
+
+        IdentityDatabaseUtil.beginConnectionScope();
+        try {
+            Connection first = IdentityDatabaseUtil.getSessionDBConnection(true);
+            first.commit();
+            first.close();
+            Connection second = IdentityDatabaseUtil.getSessionDBConnection(true);
+            second.prepareStatement("SELECT 1");
+            verify(mockConnection).prepareStatement("SELECT 1");
+            verify(mockConnection, never()).commit();
+            verify(mockConnection, never()).close();
+        } finally {
+            IdentityDatabaseUtil.endConnectionScope(true);
+        }
+
+        verify(mockPersistenceManager, times(1)).getSessionDBConnection(eq(true));
+        verify(mockConnection, times(1)).commit();
+        verify(mockConnection, times(1)).close();
+    }
+
+    @Test
+    public void testConnectionScopeRollbackToSavepoint() throws Exception {
+
+        IdentityDatabaseUtil.beginConnectionScope();
+        try {
+            IdentityDatabaseUtil.getSessionDBConnection(true).rollback();
+            verify(mockConnection, times(1)).rollback(mockSavepoint);
+        } finally {
+            IdentityDatabaseUtil.endConnectionScope(true);
+        }
+
+        verify(mockConnection, never()).rollback();
+        verify(mockConnection, times(1)).commit();
+        verify(mockConnection, times(1)).close();
+    }
+
+    @Test
+    public void testConnectionScopeRollbackWithoutSavepoints() throws Exception {
+
+        when(mockConnection.setSavepoint()).thenThrow(new SQLException("Savepoints are not supported."));
+        IdentityDatabaseUtil.beginConnectionScope();
+        IdentityDatabaseUtil.getSessionDBConnection(true).rollback();
+        try {
+            IdentityDatabaseUtil.endConnectionScope(true);
+            fail("A unit of work rolled back by a DAO should not be reported as committed.");
+        } catch (IdentityRuntimeException e) {
+            // Expected.
+        }
+
+        verify(mockConnection, times(1)).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection, times(1)).close();
+    }
+
+    @Test
+    public void testConnectionScopeCommitFailureIsPropagated() throws Exception {
+
+        doThrow(new SQLException("Commit failed.")).when(mockConnection).commit();
+        AtomicBoolean actionRun = new AtomicBoolean();
+        IdentityDatabaseUtil.beginConnectionScope();
+        IdentityDatabaseUtil.getSessionDBConnection(true);
+        IdentityDatabaseUtil.runAfterCommit(() -> actionRun.set(true));
+        try {
+            IdentityDatabaseUtil.endConnectionScope(true);
+            fail("A commit failure should be propagated to the caller.");
+        } catch (IdentityRuntimeException e) {
+            // Expected.
+        }
+
+        assertFalse(actionRun.get());
+        verify(mockPersistenceManager, times(1)).rollbackTransaction(mockConnection);
+        verify(mockConnection, times(1)).close();
+    }
+
+    @Test
+    public void testConnectionScopeRunsActionsAfterCommit() throws Exception {
+
+        AtomicBoolean actionRun = new AtomicBoolean();
+        IdentityDatabaseUtil.beginConnectionScope();
+        try {
+            IdentityDatabaseUtil.getSessionDBConnection(true);
+            IdentityDatabaseUtil.runAfterCommit(() -> actionRun.set(true));
+            assertFalse(actionRun.get());
+        } finally {
+            IdentityDatabaseUtil.endConnectionScope(true);
+        }
+        assertTrue(actionRun.get());
+
+        actionRun.set(false);
+        IdentityDatabaseUtil.beginConnectionScope();
+        IdentityDatabaseUtil.getSessionDBConnection(true);
+        IdentityDatabaseUtil.runAfterCommit(() -> actionRun.set(true));
+        IdentityDatabaseUtil.endConnectionScope(false);
+        assertFalse(actionRun.get());
+
+        IdentityDatabaseUtil.runAfterCommit(() -> actionRun.set(true));
+        assertTrue(actionRun.get());
+    }
+
+    @Test
+    public void testConnectionScopeReadsJoinOnlyAfterWrites() throws Exception {
+
+        IdentityDatabaseUtil.beginConnectionScope();
+        try {
+            assertSame(IdentityDatabaseUtil.getSessionDBConnection(false), mockReadConnection);
+            IdentityDatabaseUtil.getSessionDBConnection(true);
+            Connection read = IdentityDatabaseUtil.getSessionDBConnection(false);
+            read.prepareStatement("SELECT 1");
+            verify(mockConnection).prepareStatement("SELECT 1");
+        } finally {
+            IdentityDatabaseUtil.endConnectionScope(true);
+        }
+
+        verify(mockPersistenceManager, times(1)).getSessionDBConnection(eq(false));
+        verify(mockPersistenceManager, times(1)).getSessionDBConnection(eq(true));
+    }
+
+    @Test
+    public void testConnectionScopeExcludesIdentityDatabase() {
+
+        Connection identityConnection = mock(Connection.class);
+        when(mockPersistenceManager.getDBConnection(true)).thenReturn(identityConnection);
+        IdentityDatabaseUtil.beginConnectionScope();
+        try {
+            assertSame(IdentityDatabaseUtil.getDBConnection(true), identityConnection);
+        } finally {
+            IdentityDatabaseUtil.endConnectionScope(true);
+        }
+    }
+}
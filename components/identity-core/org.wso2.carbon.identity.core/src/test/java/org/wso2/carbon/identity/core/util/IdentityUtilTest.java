@@ -64,6 +64,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import javax.servlet.http.HttpServletRequest;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -200,6 +201,33 @@ public class IdentityUtilTest {
                 "= %s, value = %s", key, String.valueOf(value)));
     }
 
+    @DataProvider
+    public Object[][] getTypedPropertyTestData() {
+        return new Object[][]{
+                {"10", 10, 10L, false, 10000L},
+                {" 20 ", 20, 20L, false, 20000L},
+                {"true", -1, -1L, true, -1000L},
+                {"", -1, -1L, false, -1000L},
+                {null, -1, -1L, false, -1000L},
+        };
+    }
+
+    @Test(dataProvider = "getTypedPropertyTestData")
+    public void testGetTypedProperty(String value, int expectedInt, long expectedLong, boolean expectedBoolean,
+                                     long expectedDuration) throws Exception {
+        Map<String, Object> mockConfig = new HashMap<>();
+        mockConfig.put("typedKey", value);
+
+        Whitebox.setInternalState(IdentityUtil.class, "configuration", mockConfig);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(IdentityUtil.getIntProperty("typedKey", -1), expectedInt);
+            assertEquals(IdentityUtil.getLongProperty("typedKey", -1L), expectedLong);
+            assertEquals(IdentityUtil.getBooleanProperty("typedKey", false), expectedBoolean);
+            assertEquals(IdentityUtil.getDurationPropertyInMillis("typedKey", TimeUnit.SECONDS, -1L),
+                    expectedDuration);
+        }
+    }
+
 
     @Test
     public void testReadEventListenerProperty() throws Exception {
@@ -28,6 +28,7 @@ import org.wso2.carbon.core.RegistryResources;
 import org.wso2.carbon.core.util.CryptoUtil;
 import org.wso2.carbon.core.util.KeyStoreManager;
 import org.wso2.carbon.core.util.KeyStoreUtil;
+import org.wso2.carbon.identity.core.CachingCertificateRetriever;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.registry.core.Association;
 import org.wso2.carbon.registry.core.Collection;
@@ -890,6 +891,9 @@ public class KeyStoreAdmin {
             KeyStoreManager keyStoreManager = KeyStoreManager.getInstance(tenantId);
             keyStoreManager.updateKeyStore(name, keyStore);
         }
+        // Certificates resolved from the key store or the trust store are cached against the tenant. The cache is
+        // cleared once the store is persisted, so that a concurrent read can not cache the old certificate again.
+        CachingCertificateRetriever.clearCache(tenantId);
     }
 
     /**
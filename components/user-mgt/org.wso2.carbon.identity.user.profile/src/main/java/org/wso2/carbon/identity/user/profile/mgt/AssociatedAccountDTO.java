@@ -19,7 +19,11 @@
 
 package org.wso2.carbon.identity.user.profile.mgt;
 
-public class AssociatedAccountDTO {
+import java.io.Serializable;
+
+public class AssociatedAccountDTO implements Serializable {
+
+    private static final long serialVersionUID = 5281930347701682935L;
 
     private String id;
     private String identityProviderName;
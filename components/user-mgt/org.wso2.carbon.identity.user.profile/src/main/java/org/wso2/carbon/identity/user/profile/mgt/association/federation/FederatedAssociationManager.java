@@ -22,6 +22,9 @@ import org.wso2.carbon.identity.application.common.model.User;
 import org.wso2.carbon.identity.user.profile.mgt.UserProfileException;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.exception.FederatedAssociationManagerException;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.model.FederatedAssociation;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.model.UserFederatedAssociation;
+
+import java.util.List;
 
 /**
  * The service which exposes federated account association management APIs.
@@ -52,6 +55,22 @@ public interface FederatedAssociationManager {
 
     }
 
+    /**
+     * Create the given associations of local users with federated users. Meant for bulk operations such as
+     * migrations, where the associations of a tenant are persisted together.
+     *
+     * @param associations Associations of local users with the IdP names and the federated user ids.
+     * @throws FederatedAssociationManagerException while creating the federated associations.
+     */
+    default void createFederatedAssociations(List<UserFederatedAssociation> associations)
+            throws FederatedAssociationManagerException {
+
+        for (UserFederatedAssociation association : associations) {
+            createFederatedAssociation(association.getUser(), association.getIdpName(),
+                    association.getFederatedUserId());
+        }
+    }
+
     /**
      * Get associated local user for the given federated user.
      *
@@ -27,12 +27,20 @@ import org.wso2.carbon.identity.application.common.model.IdentityProvider;
 import org.wso2.carbon.identity.application.common.model.User;
 import org.wso2.carbon.identity.user.profile.mgt.AssociatedAccountDTO;
 import org.wso2.carbon.identity.user.profile.mgt.UserProfileException;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCache;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCacheEntry;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCacheKey;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCacheUtil;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.UserFederatedAssociationCache;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.UserFederatedAssociationCacheEntry;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.UserFederatedAssociationCacheKey;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.constant.FederatedAssociationConstants;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.exception.FederatedAssociationManagerClientException;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.exception.FederatedAssociationManagerException;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.exception.FederatedAssociationManagerServerException;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.model.AssociatedIdentityProvider;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.model.FederatedAssociation;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.model.UserFederatedAssociation;
 import org.wso2.carbon.identity.user.profile.mgt.dao.UserProfileMgtDAO;
 import org.wso2.carbon.identity.user.profile.mgt.internal.IdentityUserProfileServiceDataHolder;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
@@ -45,7 +53,13 @@ import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.wso2.carbon.identity.user.profile.mgt.association.federation.constant.FederatedAssociationConstants.ErrorMessages.ERROR_WHILE_CREATING_FEDERATED_ASSOCIATION_OF_USER;
 import static org.wso2.carbon.identity.user.profile.mgt.association.federation.constant.FederatedAssociationConstants.ErrorMessages.ERROR_WHILE_DELETING_FEDERATED_ASSOCIATION_OF_USER;
@@ -79,6 +93,51 @@ public class FederatedAssociationManagerImpl implements FederatedAssociationMana
         } catch (UserProfileException e) {
             throw handleFederatedAssociationManagerServerException(ERROR_WHILE_CREATING_FEDERATED_ASSOCIATION_OF_USER
                     , e, false);
+        } finally {
+            FederatedAssociationCacheUtil.clearAssociation(tenantId, user.getUserStoreDomain(), user.getUserName(),
+                    idpName, federatedUserId);
+        }
+    }
+
+    @Override
+    public void createFederatedAssociations(List<UserFederatedAssociation> associations)
+            throws FederatedAssociationManagerException {
+
+        Map<Integer, List<UserFederatedAssociation>> associationsOfTenants = new LinkedHashMap<>();
+        Set<List<String>> federatedUsers = new HashSet<>();
+        for (UserFederatedAssociation association : associations) {
+            User user = association.getUser();
+            validateUserObject(user);
+            if (StringUtils.isEmpty(association.getIdpName()) || StringUtils.isEmpty(association.getFederatedUserId())
+                    || !federatedUsers.add(Arrays.asList(user.getTenantDomain(), association.getIdpName(),
+                    association.getFederatedUserId()))) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Invalid or duplicate federated association with the idpName: "
+                            + association.getIdpName() + ", and federatedUserId: " + association.getFederatedUserId()
+                            + ", for the user: " + user.toFullQualifiedUsername());
+                }
+                throw handleFederatedAssociationManagerClientException(INVALID_FEDERATED_ASSOCIATION, null, true);
+            }
+            int tenantId = getValidatedTenantId(user);
+            validateUserExistence(user, tenantId);
+            associationsOfTenants.computeIfAbsent(tenantId, key -> new ArrayList<>()).add(association);
+        }
+
+        for (Map.Entry<Integer, List<UserFederatedAssociation>> associationsOfTenant :
+                associationsOfTenants.entrySet()) {
+            int tenantId = associationsOfTenant.getKey();
+            try {
+                UserProfileMgtDAO.getInstance().createAssociations(tenantId, associationsOfTenant.getValue());
+            } catch (UserProfileException e) {
+                throw handleFederatedAssociationManagerServerException(
+                        ERROR_WHILE_CREATING_FEDERATED_ASSOCIATION_OF_USER, e, false);
+            } finally {
+                for (UserFederatedAssociation association : associationsOfTenant.getValue()) {
+                    FederatedAssociationCacheUtil.clearAssociation(tenantId, association.getUser()
+                            .getUserStoreDomain(), association.getUser().getUserName(), association.getIdpName(),
+                            association.getFederatedUserId());
+                }
+            }
         }
     }
 
@@ -119,8 +178,21 @@ public class FederatedAssociationManagerImpl implements FederatedAssociationMana
             throws FederatedAssociationManagerException {
 
         int tenantId = getValidatedTenantIdFromDomain(tenantDomain);
+        FederatedAssociationCacheKey cacheKey = new FederatedAssociationCacheKey(idpName, federatedUserId);
+        FederatedAssociationCacheEntry cacheEntry = FederatedAssociationCache.getInstance()
+                .getValueFromCache(cacheKey, tenantId);
+        if (cacheEntry != null) {
+            return cacheEntry.getUsername();
+        }
         try {
-            return UserProfileMgtDAO.getInstance().getUserAssociatedFor(tenantId, idpName, federatedUserId);
+            String username = UserProfileMgtDAO.getInstance().getUserAssociatedFor(tenantId, idpName,
+                    federatedUserId);
+            // Absent associations are not cached, as associations can also be created without passing through here.
+            if (username != null) {
+                FederatedAssociationCache.getInstance().addToCache(cacheKey,
+                        new FederatedAssociationCacheEntry(username), tenantId);
+            }
+            return username;
         } catch (UserProfileException e) {
             if (log.isDebugEnabled()) {
                 String msg = "Error while retrieving user associated for federated IdP: " + idpName + ", with " +
@@ -142,11 +214,16 @@ public class FederatedAssociationManagerImpl implements FederatedAssociationMana
         validateUserExistence(user, tenantId);
         try {
             List<FederatedAssociation> federatedAssociations = new ArrayList<>();
-            List<AssociatedAccountDTO> associatedAccountDTOS = UserProfileMgtDAO.getInstance()
-                    .getAssociatedFederatedAccountsForUser(tenantId, user.getUserStoreDomain(), user.getUserName());
+            List<AssociatedAccountDTO> associatedAccountDTOS = getAssociatedAccounts(tenantId, user);
+            // Associations of a user commonly share identity providers, so each is resolved once.
+            Map<String, AssociatedIdentityProvider> associatedIdps = new HashMap<>();
             for (AssociatedAccountDTO associatedAccount : associatedAccountDTOS) {
-                AssociatedIdentityProvider idp = getAssociatedIdentityProvider(user.getTenantDomain(),
-                        associatedAccount.getIdentityProviderName());
+                AssociatedIdentityProvider idp = associatedIdps.get(associatedAccount.getIdentityProviderName());
+                if (idp == null) {
+                    idp = getAssociatedIdentityProvider(user.getTenantDomain(),
+                            associatedAccount.getIdentityProviderName());
+                    associatedIdps.put(associatedAccount.getIdentityProviderName(), idp);
+                }
                 federatedAssociations.add(
                         new FederatedAssociation(
                                 associatedAccount.getId(),
@@ -177,6 +254,8 @@ public class FederatedAssociationManagerImpl implements FederatedAssociationMana
         try {
             UserProfileMgtDAO.getInstance().deleteAssociation(tenantId, user.getUserStoreDomain(), user.getUserName(),
                     idpName, federatedUserId);
+            FederatedAssociationCacheUtil.clearAssociation(tenantId, user.getUserStoreDomain(), user.getUserName(),
+                    idpName, federatedUserId);
         } catch (UserProfileException e) {
             if (log.isDebugEnabled()) {
                 String msg = "Error while removing the federated association with idpId: " + idpName + ", and " +
@@ -194,9 +273,13 @@ public class FederatedAssociationManagerImpl implements FederatedAssociationMana
 
         validateUserObject(user);
         validateFederatedAssociation(user, federatedAssociationId);
+        int tenantId = getValidatedTenantId(user);
         try {
+            List<AssociatedAccountDTO> associatedAccounts = getAssociatedAccounts(tenantId, user);
             UserProfileMgtDAO.getInstance().deleteFederatedAssociation(user.getUserStoreDomain(), user.getUserName(),
                     federatedAssociationId);
+            FederatedAssociationCacheUtil.clearAssociationsOfUser(tenantId, user.getUserStoreDomain(),
+                    user.getUserName(), associatedAccounts);
         } catch (UserProfileException e) {
             if (log.isDebugEnabled()) {
                 String msg = "Error while removing the federated association: " + federatedAssociationId
@@ -215,8 +298,11 @@ public class FederatedAssociationManagerImpl implements FederatedAssociationMana
         int tenantId = getValidatedTenantId(user);
         validateExistenceOfFederatedAssociations(user);
         try {
+            List<AssociatedAccountDTO> associatedAccounts = getAssociatedAccounts(tenantId, user);
             UserProfileMgtDAO.getInstance().deleteFederatedAssociation(tenantId, user.getUserStoreDomain(),
                     user.getUserName());
+            FederatedAssociationCacheUtil.clearAssociationsOfUser(tenantId, user.getUserStoreDomain(),
+                    user.getUserName(), associatedAccounts);
         } catch (UserProfileException e) {
             if (log.isDebugEnabled()) {
                 String msg = "Error while removing the federated associations of user: "
@@ -228,6 +314,22 @@ public class FederatedAssociationManagerImpl implements FederatedAssociationMana
         }
     }
 
+    private List<AssociatedAccountDTO> getAssociatedAccounts(int tenantId, User user) throws UserProfileException {
+
+        UserFederatedAssociationCacheKey cacheKey = new UserFederatedAssociationCacheKey(user.getUserStoreDomain(),
+                user.getUserName());
+        UserFederatedAssociationCacheEntry cacheEntry = UserFederatedAssociationCache.getInstance()
+                .getValueFromCache(cacheKey, tenantId);
+        if (cacheEntry != null) {
+            return cacheEntry.getAssociatedAccounts();
+        }
+        List<AssociatedAccountDTO> associatedAccounts = UserProfileMgtDAO.getInstance()
+                .getAssociatedFederatedAccountsForUser(tenantId, user.getUserStoreDomain(), user.getUserName());
+        UserFederatedAssociationCache.getInstance().addToCache(cacheKey,
+                new UserFederatedAssociationCacheEntry(associatedAccounts), tenantId);
+        return associatedAccounts;
+    }
+
     private void validateUserObject(User user) throws FederatedAssociationManagerException {
 
         boolean isValidUserObject = (user != null && isRequiredUserParametersPresent(user));
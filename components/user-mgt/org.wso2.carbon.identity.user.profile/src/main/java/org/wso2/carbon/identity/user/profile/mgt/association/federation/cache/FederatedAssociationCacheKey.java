@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.association.federation.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key of the local user associated with a federated user of an identity provider.
+ */
+public class FederatedAssociationCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 6170913254318879211L;
+
+    private final String idpName;
+    private final String federatedUserId;
+
+    public FederatedAssociationCacheKey(String idpName, String federatedUserId) {
+
+        this.idpName = idpName;
+        this.federatedUserId = federatedUserId;
+    }
+
+    public String getIdpName() {
+
+        return idpName;
+    }
+
+    public String getFederatedUserId() {
+
+        return federatedUserId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FederatedAssociationCacheKey that = (FederatedAssociationCacheKey) o;
+        return Objects.equals(idpName, that.idpName) && Objects.equals(federatedUserId, that.federatedUserId);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(idpName, federatedUserId);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.association.federation.cache;
+
+import org.wso2.carbon.identity.user.profile.mgt.AssociatedAccountDTO;
+
+import java.util.List;
+
+/**
+ * Invalidates the federated association caches when the associations are changed.
+ */
+public class FederatedAssociationCacheUtil {
+
+    private FederatedAssociationCacheUtil() {
+
+    }
+
+    /**
+     * Clear the cached lookups of an association.
+     *
+     * @param tenantId        Tenant id of the association.
+     * @param userStoreDomain User store domain of the local user.
+     * @param username        Username of the local user without the user store domain.
+     * @param idpName         Name of the identity provider.
+     * @param federatedUserId Federated user id.
+     */
+    public static void clearAssociation(int tenantId, String userStoreDomain, String username, String idpName,
+                                        String federatedUserId) {
+
+        FederatedAssociationCache.getInstance().clearCacheEntry(new FederatedAssociationCacheKey(idpName,
+                federatedUserId), tenantId);
+        UserFederatedAssociationCache.getInstance().clearCacheEntry(new UserFederatedAssociationCacheKey(
+                userStoreDomain, username), tenantId);
+    }
+
+    /**
+     * Clear the cached lookups of the given associations of a local user.
+     *
+     * @param tenantId           Tenant id of the user.
+     * @param userStoreDomain    User store domain of the user.
+     * @param username           Username without the user store domain.
+     * @param associatedAccounts Associations of the user.
+     */
+    public static void clearAssociationsOfUser(int tenantId, String userStoreDomain, String username,
+                                               List<AssociatedAccountDTO> associatedAccounts) {
+
+        for (AssociatedAccountDTO associatedAccount : associatedAccounts) {
+            FederatedAssociationCache.getInstance().clearCacheEntry(new FederatedAssociationCacheKey(
+                    associatedAccount.getIdentityProviderName(), associatedAccount.getUsername()), tenantId);
+        }
+        UserFederatedAssociationCache.getInstance().clearCacheEntry(new UserFederatedAssociationCacheKey(
+                userStoreDomain, username), tenantId);
+    }
+
+    /**
+     * Clear the cached lookups of all the associations of a tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clearAssociationsOfTenant(int tenantId) {
+
+        FederatedAssociationCache.getInstance().clear(tenantId);
+        UserFederatedAssociationCache.getInstance().clear(tenantId);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.association.federation.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache of the federated associations of a local user. Entries are kept in the tenant of the user.
+ */
+public class UserFederatedAssociationCache extends BaseCache<UserFederatedAssociationCacheKey,
+        UserFederatedAssociationCacheEntry> {
+
+    private static final String USER_FEDERATED_ASSOCIATION_CACHE_NAME = "UserFederatedAssociationCache";
+
+    private static volatile UserFederatedAssociationCache instance;
+
+    private UserFederatedAssociationCache() {
+
+        super(USER_FEDERATED_ASSOCIATION_CACHE_NAME);
+    }
+
+    public static UserFederatedAssociationCache getInstance() {
+
+        if (instance == null) {
+            synchronized (UserFederatedAssociationCache.class) {
+                if (instance == null) {
+                    instance = new UserFederatedAssociationCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
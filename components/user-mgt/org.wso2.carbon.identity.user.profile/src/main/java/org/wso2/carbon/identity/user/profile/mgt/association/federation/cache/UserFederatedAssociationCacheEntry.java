@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.association.federation.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+import org.wso2.carbon.identity.user.profile.mgt.AssociatedAccountDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache entry holding the federated associations of a local user.
+ */
+public class UserFederatedAssociationCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 8411203977530428125L;
+
+    private final ArrayList<AssociatedAccountDTO> associatedAccounts;
+
+    public UserFederatedAssociationCacheEntry(List<AssociatedAccountDTO> associatedAccounts) {
+
+        this.associatedAccounts = new ArrayList<>(associatedAccounts);
+    }
+
+    public List<AssociatedAccountDTO> getAssociatedAccounts() {
+
+        return new ArrayList<>(associatedAccounts);
+    }
+}
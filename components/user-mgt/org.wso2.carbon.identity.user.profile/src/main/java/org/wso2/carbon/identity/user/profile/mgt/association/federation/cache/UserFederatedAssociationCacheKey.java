@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.association.federation.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key of the federated associations of a local user. The user store domain is kept in upper case, the way the
+ * associations are stored.
+ */
+public class UserFederatedAssociationCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -4719204856409931574L;
+
+    private final String userStoreDomain;
+    private final String username;
+
+    public UserFederatedAssociationCacheKey(String userStoreDomain, String username) {
+
+        this.userStoreDomain = StringUtils.upperCase(userStoreDomain);
+        this.username = username;
+    }
+
+    public String getUserStoreDomain() {
+
+        return userStoreDomain;
+    }
+
+    public String getUsername() {
+
+        return username;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        UserFederatedAssociationCacheKey that = (UserFederatedAssociationCacheKey) o;
+        return Objects.equals(userStoreDomain, that.userStoreDomain) && Objects.equals(username, that.username);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(userStoreDomain, username);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.association.federation.model;
+
+import org.wso2.carbon.identity.application.common.model.User;
+
+/**
+ * Model class representing the association of a local user with a federated user of an identity provider.
+ */
+public class UserFederatedAssociation {
+
+    private User user;
+    private String idpName;
+    private String federatedUserId;
+
+    public UserFederatedAssociation(User user, String idpName, String federatedUserId) {
+
+        this.user = user;
+        this.idpName = idpName;
+        this.federatedUserId = federatedUserId;
+    }
+
+    public User getUser() {
+
+        return user;
+    }
+
+    public void setUser(User user) {
+
+        this.user = user;
+    }
+
+    public String getIdpName() {
+
+        return idpName;
+    }
+
+    public void setIdpName(String idpName) {
+
+        this.idpName = idpName;
+    }
+
+    public String getFederatedUserId() {
+
+        return federatedUserId;
+    }
+
+    public void setFederatedUserId(String federatedUserId) {
+
+        this.federatedUserId = federatedUserId;
+    }
+}
@@ -21,6 +21,7 @@ import org.wso2.carbon.identity.application.common.util.IdentityApplicationManag
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.user.profile.mgt.AssociatedAccountDTO;
 import org.wso2.carbon.identity.user.profile.mgt.UserProfileException;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.model.UserFederatedAssociation;
 import org.wso2.carbon.identity.user.profile.mgt.util.Constants;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
@@ -128,6 +129,43 @@ public class UserProfileMgtDAO {
         }
     }
 
+    /**
+     * Persist the association entries of the given users in a single batch. Either all the entries are persisted or
+     * none of them.
+     *
+     * @param tenantId     tenant identifier
+     * @param associations associations of the users of the tenant with the federated identifiers
+     * @throws UserProfileException
+     */
+    public void createAssociations(int tenantId, List<UserFederatedAssociation> associations)
+            throws UserProfileException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection()) {
+            try (PreparedStatement prepStmt = connection
+                    .prepareStatement(Constants.SQLQueries.ASSOCIATE_USER_ACCOUNTS)) {
+                for (UserFederatedAssociation association : associations) {
+                    prepStmt.setInt(1, tenantId);
+                    prepStmt.setString(2, association.getIdpName());
+                    prepStmt.setInt(3, tenantId);
+                    prepStmt.setString(4, association.getFederatedUserId());
+                    prepStmt.setString(5, association.getUser().getUserStoreDomain().toUpperCase());
+                    prepStmt.setString(6, association.getUser().getUserName());
+                    prepStmt.setString(7, generateUUID());
+                    prepStmt.addBatch();
+                }
+                prepStmt.executeBatch();
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e1) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw new UserProfileException("Error occurred while persisting " + associations.size() +
+                        " account association entries in tenant: " + tenantId, e1);
+            }
+        } catch (SQLException e) {
+            throw new UserProfileException("Error occurred while persisting " + associations.size() +
+                    " account association entries in tenant: " + tenantId, e);
+        }
+    }
+
     /**
      * Delete the association entry for the given user with the given federated identifier.
      *
@@ -31,10 +31,12 @@ import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.FederatedAssociationManager;
 import org.wso2.carbon.identity.user.profile.mgt.association.federation.FederatedAssociationManagerImpl;
+import org.wso2.carbon.identity.user.profile.mgt.listener.FederatedAssociationIdPMgtListener;
 import org.wso2.carbon.identity.user.profile.mgt.listener.ProfileMgtEventListener;
 import org.wso2.carbon.identity.user.profile.mgt.util.ServiceHodler;
 import org.wso2.carbon.identity.user.store.configuration.listener.UserStoreConfigListener;
 import org.wso2.carbon.idp.mgt.IdpManager;
+import org.wso2.carbon.idp.mgt.listener.IdentityProviderMgtListener;
 import org.wso2.carbon.user.core.UserRealm;
 import org.wso2.carbon.user.core.listener.UserOperationEventListener;
 import org.wso2.carbon.user.core.service.RealmService;
@@ -84,6 +86,9 @@ public class IdentityUserProfileServiceComponent {
                 log.error("User profile management - ProfileMgtEventListener could not be registered.");
             }
 
+            ctxt.getBundleContext().registerService(IdentityProviderMgtListener.class.getName(),
+                    new FederatedAssociationIdPMgtListener(), null);
+
             FederatedAssociationManager federatedAssociationManager = new FederatedAssociationManagerImpl();
             ServiceRegistration federatedAssociationManagerSR = ctxt.getBundleContext().registerService(
                     FederatedAssociationManager.class.getName(), federatedAssociationManager, null);
@@ -18,6 +18,7 @@
 package org.wso2.carbon.identity.user.profile.mgt.internal;
 
 import org.wso2.carbon.identity.user.profile.mgt.UserProfileException;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCacheUtil;
 import org.wso2.carbon.identity.user.profile.mgt.dao.UserProfileMgtDAO;
 import org.wso2.carbon.identity.user.store.configuration.listener.AbstractUserStoreConfigListener;
 import org.wso2.carbon.user.api.UserStoreException;
@@ -31,6 +32,7 @@ public class UserStoreConfigListenerImpl extends AbstractUserStoreConfigListener
         try {
             UserProfileMgtDAO.getInstance().updateDomainNameOfAssociations(tenantId, currentUserStoreName,
                                                                                    newUserStoreName);
+            FederatedAssociationCacheUtil.clearAssociationsOfTenant(tenantId);
         } catch (UserProfileException e) {
             throw new UserStoreException(String.format("Error occurred while updating user domain of associated " +
                                                        "ids with domain '%s'", currentUserStoreName), e);
@@ -42,6 +44,7 @@ public class UserStoreConfigListenerImpl extends AbstractUserStoreConfigListener
 
         try {
             UserProfileMgtDAO.getInstance().deleteAssociationsFromDomain(tenantId, userStoreName);
+            FederatedAssociationCacheUtil.clearAssociationsOfTenant(tenantId);
         } catch (UserProfileException e) {
             throw new UserStoreException(String.format("Error occurred while deleting associated ids with " +
                                                        "domain '%s'", userStoreName), e);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.listener;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCacheUtil;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.listener.AbstractIdentityProviderMgtListener;
+
+/**
+ * Clears the cached federated associations of a tenant when an identity provider of the tenant is renamed or
+ * deleted. The associations are cached by the identity provider name, so an identity provider created again with the
+ * same name would otherwise be resolved to the local users associated with the old one.
+ */
+public class FederatedAssociationIdPMgtListener extends AbstractIdentityProviderMgtListener {
+
+    @Override
+    public boolean doPostUpdateIdP(String oldIdPName, IdentityProvider identityProvider, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        if (identityProvider == null || !StringUtils.equals(oldIdPName,
+                identityProvider.getIdentityProviderName())) {
+            clearAssociationsOfTenant(tenantDomain);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateIdPByResourceId(String resourceId, IdentityProvider oldIdentityProvider,
+                                               IdentityProvider newIdentityProvider, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        if (oldIdentityProvider == null || newIdentityProvider == null || !StringUtils.equals(
+                oldIdentityProvider.getIdentityProviderName(), newIdentityProvider.getIdentityProviderName())) {
+            clearAssociationsOfTenant(tenantDomain);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteIdP(String idPName, String tenantDomain) throws IdentityProviderManagementException {
+
+        clearAssociationsOfTenant(tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteIdPByResourceId(String resourceId, IdentityProvider identityProvider,
+                                               String tenantDomain) throws IdentityProviderManagementException {
+
+        clearAssociationsOfTenant(tenantDomain);
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteIdPs(String tenantDomain) throws IdentityProviderManagementException {
+
+        clearAssociationsOfTenant(tenantDomain);
+        return true;
+    }
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return 38;
+    }
+
+    private void clearAssociationsOfTenant(String tenantDomain) {
+
+        FederatedAssociationCacheUtil.clearAssociationsOfTenant(IdentityTenantUtil.getTenantId(tenantDomain));
+    }
+}
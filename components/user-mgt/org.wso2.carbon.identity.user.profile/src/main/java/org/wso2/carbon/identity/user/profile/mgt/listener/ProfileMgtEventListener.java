@@ -26,6 +26,10 @@ import org.wso2.carbon.identity.base.IdentityValidationUtil;
 import org.wso2.carbon.identity.core.AbstractIdentityUserOperationEventListener;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.user.profile.mgt.AssociatedAccountDTO;
+import org.wso2.carbon.identity.user.profile.mgt.UserProfileException;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCacheUtil;
+import org.wso2.carbon.identity.user.profile.mgt.dao.UserProfileMgtDAO;
 import org.wso2.carbon.identity.user.profile.mgt.util.ServiceHodler;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.UserStoreException;
@@ -35,6 +39,7 @@ import org.wso2.carbon.user.core.util.UserCoreUtil;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 public class ProfileMgtEventListener extends AbstractIdentityUserOperationEventListener {
@@ -143,6 +148,15 @@ public class ProfileMgtEventListener extends AbstractIdentityUserOperationEventL
             log.debug("Deleting federated IDP user account associations of user:" + fullyQualifiedUsername);
         }
 
+        List<AssociatedAccountDTO> associatedAccounts;
+        try {
+            associatedAccounts = UserProfileMgtDAO.getInstance().getAssociatedFederatedAccountsForUser(tenantId,
+                    userStoreDomain, tenantAwareUsername);
+        } catch (UserProfileException e) {
+            throw new UserStoreException(String.format("Error when trying to retrieve the federated IDP user "
+                    + "account associations of user:%s", fullyQualifiedUsername), e);
+        }
+
         try (Connection connection = IdentityDatabaseUtil.getDBConnection()) {
             try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
                 prepStmt.setString(1, tenantAwareUsername);
@@ -150,6 +164,8 @@ public class ProfileMgtEventListener extends AbstractIdentityUserOperationEventL
                 prepStmt.setInt(3, tenantId);
                 prepStmt.executeUpdate();
                 IdentityDatabaseUtil.commitTransaction(connection);
+                FederatedAssociationCacheUtil.clearAssociationsOfUser(tenantId, userStoreDomain, tenantAwareUsername,
+                        associatedAccounts);
             } catch (SQLException e1) {
                 IdentityDatabaseUtil.rollbackTransaction(connection);
                 throw new UserStoreException(String.format("Error when trying to delete the federated IDP user "
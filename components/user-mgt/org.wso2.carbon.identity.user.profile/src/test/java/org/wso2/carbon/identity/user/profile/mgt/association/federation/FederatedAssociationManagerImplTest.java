@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.association.federation;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.User;
+import org.wso2.carbon.identity.user.profile.mgt.AssociatedAccountDTO;
+import org.wso2.carbon.identity.user.profile.mgt.UserProfileException;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCache;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCacheKey;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.UserFederatedAssociationCache;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.UserFederatedAssociationCacheKey;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.exception.FederatedAssociationManagerClientException;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.exception.FederatedAssociationManagerServerException;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.model.UserFederatedAssociation;
+import org.wso2.carbon.identity.user.profile.mgt.dao.UserProfileMgtDAO;
+import org.wso2.carbon.identity.user.profile.mgt.internal.IdentityUserProfileServiceDataHolder;
+import org.wso2.carbon.idp.mgt.IdpManager;
+import org.wso2.carbon.user.api.UserRealm;
+import org.wso2.carbon.user.api.UserStoreManager;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.fail;
+
+/**
+ * Unit tests for the cache invalidation of FederatedAssociationManagerImpl.
+ */
+@PrepareForTest({UserProfileMgtDAO.class, FederatedAssociationCache.class, UserFederatedAssociationCache.class})
+public class FederatedAssociationManagerImplTest extends PowerMockTestCase {
+
+    private static final int TENANT_ID = -1234;
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String USER_STORE_DOMAIN = "PRIMARY";
+    private static final String IDP_NAME = "testIdP";
+
+    private UserProfileMgtDAO userProfileMgtDAO;
+    private FederatedAssociationCache federatedAssociationCache;
+    private UserFederatedAssociationCache userFederatedAssociationCache;
+    private FederatedAssociationManagerImpl federatedAssociationManager;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        userProfileMgtDAO = mock(UserProfileMgtDAO.class);
+        mockStatic(UserProfileMgtDAO.class);
+        when(UserProfileMgtDAO.getInstance()).thenReturn(userProfileMgtDAO);
+        federatedAssociationCache = mock(FederatedAssociationCache.class);
+        mockStatic(FederatedAssociationCache.class);
+        when(FederatedAssociationCache.getInstance()).thenReturn(federatedAssociationCache);
+        userFederatedAssociationCache = mock(UserFederatedAssociationCache.class);
+        mockStatic(UserFederatedAssociationCache.class);
+        when(UserFederatedAssociationCache.getInstance()).thenReturn(userFederatedAssociationCache);
+
+        TenantManager tenantManager = mock(TenantManager.class);
+        when(tenantManager.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        UserStoreManager userStoreManager = mock(UserStoreManager.class);
+        when(userStoreManager.isExistingUser(anyString())).thenReturn(true);
+        UserRealm userRealm = mock(UserRealm.class);
+        when(userRealm.getUserStoreManager()).thenReturn(userStoreManager);
+        RealmService realmService = mock(RealmService.class);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(realmService.getTenantUserRealm(TENANT_ID)).thenReturn(userRealm);
+        IdentityUserProfileServiceDataHolder.getInstance().setRealmService(realmService);
+
+        IdentityProvider identityProvider = new IdentityProvider();
+        identityProvider.setIdentityProviderName(IDP_NAME);
+        identityProvider.setResourceId("testIdPResourceId");
+        IdpManager idpManager = mock(IdpManager.class);
+        when(idpManager.getIdPByName(IDP_NAME, TENANT_DOMAIN)).thenReturn(identityProvider);
+        IdentityUserProfileServiceDataHolder.getInstance().setIdpManager(idpManager);
+
+        federatedAssociationManager = new FederatedAssociationManagerImpl();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        IdentityUserProfileServiceDataHolder.getInstance().setRealmService(null);
+        IdentityUserProfileServiceDataHolder.getInstance().setIdpManager(null);
+    }
+
+    @Test
+    public void testCreateFederatedAssociationsClearsCachedLookups() throws Exception {
+
+        List<UserFederatedAssociation> associations = Arrays.asList(createAssociation("user1", "federatedUser1"),
+                createAssociation("user2", "federatedUser2"));
+
+        federatedAssociationManager.createFederatedAssociations(associations);
+
+        verify(userProfileMgtDAO).createAssociations(TENANT_ID, associations);
+        verifyLookupsCleared("user1", "federatedUser1");
+        verifyLookupsCleared("user2", "federatedUser2");
+    }
+
+    @Test
+    public void testCreateFederatedAssociationsClearsCachedLookupsWhenBatchFails() throws Exception {
+
+        List<UserFederatedAssociation> associations = Arrays.asList(createAssociation("user1", "federatedUser1"),
+                createAssociation("user2", "federatedUser2"));
+        doThrow(new UserProfileException("Duplicate association")).when(userProfileMgtDAO)
+                .createAssociations(TENANT_ID, associations);
+
+        try {
+            federatedAssociationManager.createFederatedAssociations(associations);
+            fail("A failed batch should be reported.");
+        } catch (FederatedAssociationManagerServerException e) {
+            // Expected.
+        }
+
+        verifyLookupsCleared("user1", "federatedUser1");
+        verifyLookupsCleared("user2", "federatedUser2");
+    }
+
+    @Test(expectedExceptions = FederatedAssociationManagerClientException.class)
+    @SuppressWarnings("unchecked")
+    public void testCreateFederatedAssociationsRejectsDuplicateInBatch() throws Exception {
+
+        try {
+            federatedAssociationManager.createFederatedAssociations(Arrays.asList(
+                    createAssociation("user1", "federatedUser1"), createAssociation("user2", "federatedUser1")));
+        } finally {
+            verify(userProfileMgtDAO, never()).createAssociations(anyInt(),
+                    anyListOf(UserFederatedAssociation.class));
+        }
+    }
+
+    @Test
+    public void testDeleteFederatedAssociationsClearsCachedLookups() throws Exception {
+
+        User user = createUser("user1");
+        when(userProfileMgtDAO.getAssociatedFederatedAccountsForUser(TENANT_ID, USER_STORE_DOMAIN, "user1"))
+                .thenReturn(Collections.singletonList(new AssociatedAccountDTO("associationId", IDP_NAME,
+                        "federatedUser1")));
+
+        federatedAssociationManager.deleteFederatedAssociation(user);
+
+        verify(userProfileMgtDAO).deleteFederatedAssociation(eq(TENANT_ID), eq(USER_STORE_DOMAIN), eq("user1"));
+        verifyLookupsCleared("user1", "federatedUser1");
+    }
+
+    private void verifyLookupsCleared(String username, String federatedUserId) {
+
+        verify(federatedAssociationCache).clearCacheEntry(new FederatedAssociationCacheKey(IDP_NAME,
+                federatedUserId), TENANT_ID);
+        verify(userFederatedAssociationCache).clearCacheEntry(new UserFederatedAssociationCacheKey(
+                USER_STORE_DOMAIN, username), TENANT_ID);
+    }
+
+    private UserFederatedAssociation createAssociation(String username, String federatedUserId) {
+
+        return new UserFederatedAssociation(createUser(username), IDP_NAME, federatedUserId);
+    }
+
+    private User createUser(String username) {
+
+        User user = new User();
+        user.setTenantDomain(TENANT_DOMAIN);
+        user.setUserStoreDomain(USER_STORE_DOMAIN);
+        user.setUserName(username);
+        return user;
+    }
+}
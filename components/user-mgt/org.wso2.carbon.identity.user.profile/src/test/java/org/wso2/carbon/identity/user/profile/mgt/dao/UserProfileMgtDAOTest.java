@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.dao;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.User;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.user.profile.mgt.UserProfileException;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.model.UserFederatedAssociation;
+
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.mockito.Matchers.any;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+/**
+ * Unit tests for the federated associations of UserProfileMgtDAO.
+ */
+@PrepareForTest(IdentityDatabaseUtil.class)
+public class UserProfileMgtDAOTest extends PowerMockTestCase {
+
+    private static final int TENANT_ID = -1234;
+    private static final String IDP_NAME = "testIdP";
+
+    private BasicDataSource dataSource;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUsername("username");
+        dataSource.setPassword("password");
+        dataSource.setUrl("jdbc:h2:mem:testUserProfileMgt");
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeUpdate("RUNSCRIPT FROM '" + Paths.get(System.getProperty("user.dir"),
+                    "src", "test", "resources", "dbscripts", "h2.sql").toString() + "'");
+        }
+        mockIdentityDatabaseUtil();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeUpdate("DROP ALL OBJECTS");
+        }
+        dataSource.close();
+    }
+
+    @Test
+    public void testCreateAssociations() throws Exception {
+
+        UserProfileMgtDAO.getInstance().createAssociations(TENANT_ID, Arrays.asList(
+                createAssociation("user1", "federatedUser1"), createAssociation("user2", "federatedUser2")));
+
+        assertEquals(getAssociatedUser("federatedUser1"), "user1");
+        assertEquals(getAssociatedUser("federatedUser2"), "user2");
+    }
+
+    @Test
+    public void testCreateAssociationsRollsBackOnDuplicate() throws Exception {
+
+        UserProfileMgtDAO.getInstance().createAssociation(TENANT_ID, "PRIMARY", "user1", IDP_NAME,
+                "federatedUser1");
+        try {
+            UserProfileMgtDAO.getInstance().createAssociations(TENANT_ID, Arrays.asList(
+                    createAssociation("user2", "federatedUser2"), createAssociation("user3", "federatedUser1")));
+            fail("Creating a duplicate association should fail.");
+        } catch (UserProfileException e) {
+            // Expected.
+        }
+
+        assertEquals(getAssociatedUser("federatedUser1"), "user1");
+        assertNull(getAssociatedUser("federatedUser2"), "Associations of a failed batch should be rolled back.");
+    }
+
+    private UserFederatedAssociation createAssociation(String username, String federatedUserId) {
+
+        User user = new User();
+        user.setTenantDomain("carbon.super");
+        user.setUserStoreDomain("PRIMARY");
+        user.setUserName(username);
+        return new UserFederatedAssociation(user, IDP_NAME, federatedUserId);
+    }
+
+    private String getAssociatedUser(String federatedUserId) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepStmt = connection.prepareStatement("SELECT USER_NAME FROM IDN_ASSOCIATED_ID " +
+                     "WHERE TENANT_ID = ? AND IDP_USER_ID = ?")) {
+            prepStmt.setInt(1, TENANT_ID);
+            prepStmt.setString(2, federatedUserId);
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    private void mockIdentityDatabaseUtil() throws SQLException {
+
+        mockStatic(IdentityDatabaseUtil.class);
+        when(IdentityDatabaseUtil.getDBConnection()).thenAnswer(invocation -> {
+            Connection connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            return connection;
+        });
+        doAnswer(invocation -> {
+            ((Connection) invocation.getArguments()[0]).commit();
+            return null;
+        }).when(IdentityDatabaseUtil.class);
+        IdentityDatabaseUtil.commitTransaction(any(Connection.class));
+        doAnswer(invocation -> {
+            ((Connection) invocation.getArguments()[0]).rollback();
+            return null;
+        }).when(IdentityDatabaseUtil.class);
+        IdentityDatabaseUtil.rollbackTransaction(any(Connection.class));
+    }
+}
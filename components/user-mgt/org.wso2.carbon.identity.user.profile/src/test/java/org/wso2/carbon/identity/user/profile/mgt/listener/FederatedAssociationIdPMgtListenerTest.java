@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.profile.mgt.listener;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.FederatedAssociationCache;
+import org.wso2.carbon.identity.user.profile.mgt.association.federation.cache.UserFederatedAssociationCache;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Unit tests for FederatedAssociationIdPMgtListener.
+ */
+@PrepareForTest({IdentityTenantUtil.class, FederatedAssociationCache.class, UserFederatedAssociationCache.class})
+public class FederatedAssociationIdPMgtListenerTest extends PowerMockTestCase {
+
+    private static final int TENANT_ID = -1234;
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    private FederatedAssociationCache federatedAssociationCache;
+    private UserFederatedAssociationCache userFederatedAssociationCache;
+    private FederatedAssociationIdPMgtListener listener;
+
+    @BeforeMethod
+    public void setUp() {
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        federatedAssociationCache = mock(FederatedAssociationCache.class);
+        mockStatic(FederatedAssociationCache.class);
+        when(FederatedAssociationCache.getInstance()).thenReturn(federatedAssociationCache);
+        userFederatedAssociationCache = mock(UserFederatedAssociationCache.class);
+        mockStatic(UserFederatedAssociationCache.class);
+        when(UserFederatedAssociationCache.getInstance()).thenReturn(userFederatedAssociationCache);
+        listener = new FederatedAssociationIdPMgtListener();
+    }
+
+    @Test
+    public void testRenamingIdPClearsCachedAssociations() throws Exception {
+
+        listener.doPostUpdateIdP("oldIdP", createIdentityProvider("newIdP"), TENANT_DOMAIN);
+
+        verifyCachesCleared();
+    }
+
+    @Test
+    public void testRenamingIdPByResourceIdClearsCachedAssociations() throws Exception {
+
+        listener.doPostUpdateIdPByResourceId("resourceId", createIdentityProvider("oldIdP"),
+                createIdentityProvider("newIdP"), TENANT_DOMAIN);
+
+        verifyCachesCleared();
+    }
+
+    @Test
+    public void testUpdatingIdPWithoutRenameKeepsCachedAssociations() throws Exception {
+
+        listener.doPostUpdateIdP("testIdP", createIdentityProvider("testIdP"), TENANT_DOMAIN);
+        listener.doPostUpdateIdPByResourceId("resourceId", createIdentityProvider("testIdP"),
+                createIdentityProvider("testIdP"), TENANT_DOMAIN);
+
+        verify(federatedAssociationCache, never()).clear(anyInt());
+        verify(userFederatedAssociationCache, never()).clear(anyInt());
+    }
+
+    @Test
+    public void testDeletingIdPClearsCachedAssociations() throws Exception {
+
+        listener.doPostDeleteIdP("testIdP", TENANT_DOMAIN);
+
+        verifyCachesCleared();
+    }
+
+    @Test
+    public void testDeletingIdPByResourceIdClearsCachedAssociations() throws Exception {
+
+        listener.doPostDeleteIdPByResourceId("resourceId", createIdentityProvider("testIdP"), TENANT_DOMAIN);
+
+        verifyCachesCleared();
+    }
+
+    @Test
+    public void testDeletingIdPsOfTenantClearsCachedAssociations() throws Exception {
+
+        listener.doPostDeleteIdPs(TENANT_DOMAIN);
+
+        verifyCachesCleared();
+    }
+
+    private void verifyCachesCleared() {
+
+        verify(federatedAssociationCache).clear(TENANT_ID);
+        verify(userFederatedAssociationCache).clear(TENANT_ID);
+    }
+
+    private IdentityProvider createIdentityProvider(String name) {
+
+        IdentityProvider identityProvider = new IdentityProvider();
+        identityProvider.setIdentityProviderName(name);
+        return identityProvider;
+    }
+}
@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS IDP (
+  ID                         INTEGER               AUTO_INCREMENT,
+  TENANT_ID                  INTEGER,
+  NAME                       VARCHAR(254) NOT NULL,
+  PRIMARY KEY (ID),
+  UNIQUE (TENANT_ID, NAME)
+);
+
+CREATE TABLE IF NOT EXISTS IDN_ASSOCIATED_ID (
+	    ID INTEGER AUTO_INCREMENT,
+	    IDP_USER_ID VARCHAR(255) NOT NULL,
+	    TENANT_ID INTEGER DEFAULT -1234,
+	    IDP_ID INTEGER NOT NULL,
+	    DOMAIN_NAME VARCHAR(255) NOT NULL,
+ 	    USER_NAME VARCHAR(255) NOT NULL,
+        ASSOCIATION_ID CHAR(36) NOT NULL,
+	    PRIMARY KEY (ID),
+	    UNIQUE(IDP_USER_ID, TENANT_ID, IDP_ID),
+	    FOREIGN KEY (IDP_ID) REFERENCES IDP(ID) ON DELETE CASCADE
+);
+
+INSERT INTO IDP (TENANT_ID, NAME) VALUES (-1234, 'testIdP');
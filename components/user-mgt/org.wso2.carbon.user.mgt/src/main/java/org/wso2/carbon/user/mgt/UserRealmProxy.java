@@ -29,8 +29,6 @@ import org.wso2.carbon.identity.base.IdentityConstants;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.registry.api.Registry;
 import org.wso2.carbon.registry.api.RegistryException;
-import org.wso2.carbon.registry.api.Resource;
-import org.wso2.carbon.registry.core.Collection;
 import org.wso2.carbon.registry.core.RegistryConstants;
 import org.wso2.carbon.user.api.Claim;
 import org.wso2.carbon.user.api.ClaimMapping;
@@ -57,12 +55,15 @@ import org.wso2.carbon.user.mgt.common.UserRealmInfo;
 import org.wso2.carbon.user.mgt.common.UserStoreInfo;
 import org.wso2.carbon.user.mgt.internal.UserMgtDSComponent;
 import org.wso2.carbon.user.mgt.permission.ManagementPermissionUtil;
+import org.wso2.carbon.user.mgt.permission.UIPermissionTree;
+import org.wso2.carbon.user.mgt.permission.UIPermissionTreeManager;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -75,9 +76,6 @@ public class UserRealmProxy {
 
     private static final Log log = LogFactory.getLog(UserRealmProxy.class);
 
-    private static final String APPLICATIONS_PATH = RegistryConstants.PATH_SEPARATOR
-            + CarbonConstants.UI_PERMISSION_NAME + RegistryConstants.PATH_SEPARATOR
-            + "applications";
     private static final String DISAPLAY_NAME_CLAIM = "http://wso2.org/claims/displayName";
 
     public static final String FALSE = "false";
@@ -2030,54 +2028,14 @@ public class UserRealmProxy {
     public UIPermissionNode getAllUIPermissions(int tenantId)
             throws UserAdminException {
 
-        UIPermissionNode nodeRoot;
-        Collection regRoot;
-        Collection parent = null;
-        Registry tenentRegistry = null;
-
         try {
-            Registry registry = UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry();
-            if (tenantId == MultitenantConstants.SUPER_TENANT_ID) {
-                if (CarbonContext.getThreadLocalCarbonContext().getTenantId() != MultitenantConstants.SUPER_TENANT_ID) {
-                    log.error("Illegal access attempt");
-                    throw new UserStoreException("Illegal access attempt");
-                }
-                regRoot = (Collection) registry.get(UserMgtConstants.UI_PERMISSION_ROOT);
-                String displayName = regRoot.getProperty(UserMgtConstants.DISPLAY_NAME);
-                nodeRoot = new UIPermissionNode(UserMgtConstants.UI_PERMISSION_ROOT, displayName);
-            } else {
-
-                regRoot = (Collection) registry.get(UserMgtConstants.UI_ADMIN_PERMISSION_ROOT);
-
-                tenentRegistry = UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry(tenantId);
-                Collection appRoot;
-
-                if (tenentRegistry.resourceExists(APPLICATIONS_PATH)) {
-                    appRoot = (Collection) tenentRegistry.get(APPLICATIONS_PATH);
-                    parent = (Collection) tenentRegistry.newCollection();
-                    parent.setProperty(UserMgtConstants.DISPLAY_NAME, "All Permissions");
-                    parent.setChildren(new String[]{regRoot.getPath(), appRoot.getPath()});
-                }
-
-                String displayName = null;
-
-                if (parent != null) {
-                    displayName = parent.getProperty(UserMgtConstants.DISPLAY_NAME);
-                } else {
-                    displayName = regRoot.getProperty(UserMgtConstants.DISPLAY_NAME);
-                }
-
-                nodeRoot = new UIPermissionNode(UserMgtConstants.UI_ADMIN_PERMISSION_ROOT,
-                        displayName);
-            }
-
-            if (parent != null) {
-                buildUIPermissionNode(parent, nodeRoot, registry, tenentRegistry, null, null, null);
-            } else {
-                buildUIPermissionNode(regRoot, nodeRoot, registry, tenentRegistry, null, null, null);
+            if (tenantId == MultitenantConstants.SUPER_TENANT_ID &&
+                    CarbonContext.getThreadLocalCarbonContext().getTenantId() != MultitenantConstants.SUPER_TENANT_ID) {
+                log.error("Illegal access attempt");
+                throw new UserStoreException("Illegal access attempt");
             }
-
-            return nodeRoot;
+            UIPermissionTree permissionTree = UIPermissionTreeManager.getInstance().getPermissionTree(tenantId);
+            return permissionTree.toUIPermissionNode(null);
         } catch (UserStoreException e) {
             // previously logged so logging not needed
             throw new UserAdminException(e.getMessage(), e);
@@ -2089,52 +2047,13 @@ public class UserRealmProxy {
 
     public UIPermissionNode getRolePermissions(String roleName, int tenantId)
             throws UserAdminException {
-        UIPermissionNode nodeRoot;
-        Collection regRoot;
-        Collection parent = null;
-        Registry tenentRegistry = null;
 
         try {
-            Registry registry = UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry();
-            if (tenantId == MultitenantConstants.SUPER_TENANT_ID) {
-                regRoot = (Collection) registry.get(UserMgtConstants.UI_PERMISSION_ROOT);
-                String displayName = regRoot.getProperty(UserMgtConstants.DISPLAY_NAME);
-                nodeRoot = new UIPermissionNode(UserMgtConstants.UI_PERMISSION_ROOT, displayName);
-            } else {
-
-                regRoot = (Collection) registry.get(UserMgtConstants.UI_ADMIN_PERMISSION_ROOT);
-
-                tenentRegistry = UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry(tenantId);
-                Collection appRoot;
-
-                if (tenentRegistry.resourceExists(APPLICATIONS_PATH)) {
-                    appRoot = (Collection) tenentRegistry.get(APPLICATIONS_PATH);
-                    parent = (Collection) tenentRegistry.newCollection();
-                    parent.setProperty(UserMgtConstants.DISPLAY_NAME, "All Permissions");
-                    parent.setChildren(new String[]{regRoot.getPath(), appRoot.getPath()});
-                }
-
-                String displayName = null;
-
-                if (parent != null) {
-                    displayName = parent.getProperty(UserMgtConstants.DISPLAY_NAME);
-                } else {
-                    displayName = regRoot.getProperty(UserMgtConstants.DISPLAY_NAME);
-                }
-
-                nodeRoot = new UIPermissionNode(UserMgtConstants.UI_ADMIN_PERMISSION_ROOT,
-                        displayName);
-            }
-
-            if (parent != null) {
-                buildUIPermissionNode(parent, nodeRoot, registry, tenentRegistry,
-                        realm.getAuthorizationManager(), roleName, null);
-            } else {
-                buildUIPermissionNode(regRoot, nodeRoot, registry, tenentRegistry,
-                        realm.getAuthorizationManager(), roleName, null);
-            }
-
-            return nodeRoot;
+            UIPermissionTree permissionTree = UIPermissionTreeManager.getInstance().getPermissionTree(tenantId);
+            AuthorizationManager authMan = realm.getAuthorizationManager();
+            BitSet selection = permissionTree.computeSelection(resourcePath ->
+                    authMan.isRoleAuthorized(roleName, resourcePath, UserMgtConstants.EXECUTE_ACTION));
+            return permissionTree.toUIPermissionNode(selection);
         } catch (UserStoreException e) {
             // previously logged so logging not needed
             throw new UserAdminException(e.getMessage(), e);
@@ -2269,98 +2188,6 @@ public class UserRealmProxy {
         }
     }
 
-    private void buildUIPermissionNode(Collection parent, UIPermissionNode parentNode,
-                                       Registry registry, Registry tenantRegistry, AuthorizationManager authMan,
-                                       String roleName, String userName)
-            throws RegistryException, UserStoreException {
-
-        boolean isSelected = false;
-        if (roleName != null) {
-            isSelected = authMan.isRoleAuthorized(roleName, parentNode.getResourcePath(),
-                    UserMgtConstants.EXECUTE_ACTION);
-        } else if (userName != null) {
-            isSelected = authMan.isUserAuthorized(userName, parentNode.getResourcePath(),
-                    UserMgtConstants.EXECUTE_ACTION);
-        }
-        if (isSelected) {
-            buildUIPermissionNodeAllSelected(parent, parentNode, registry, tenantRegistry);
-            parentNode.setSelected(true);
-        } else {
-            buildUIPermissionNodeNotAllSelected(parent, parentNode, registry, tenantRegistry,
-                    authMan, roleName, userName);
-        }
-    }
-
-    private void buildUIPermissionNodeAllSelected(Collection parent, UIPermissionNode parentNode,
-                                                  Registry registry, Registry tenantRegistry) throws RegistryException,
-            UserStoreException {
-
-        String[] children = parent.getChildren();
-        UIPermissionNode[] childNodes = new UIPermissionNode[children.length];
-        for (int i = 0; i < children.length; i++) {
-            String child = children[i];
-            Resource resource = null;
-
-            if (registry.resourceExists(child)) {
-                resource = registry.get(child);
-            } else if (tenantRegistry != null) {
-                resource = tenantRegistry.get(child);
-            } else {
-                throw new RegistryException("Permission resource not found in the registry.");
-            }
-
-            childNodes[i] = getUIPermissionNode(resource, true);
-            if (resource instanceof Collection) {
-                buildUIPermissionNodeAllSelected((Collection) resource, childNodes[i], registry,
-                        tenantRegistry);
-            }
-        }
-        parentNode.setNodeList(childNodes);
-    }
-
-    private void buildUIPermissionNodeNotAllSelected(Collection parent, UIPermissionNode parentNode,
-                                                     Registry registry, Registry tenantRegistry,
-                                                     AuthorizationManager authMan, String roleName, String userName)
-            throws RegistryException, UserStoreException {
-
-        String[] children = parent.getChildren();
-        UIPermissionNode[] childNodes = new UIPermissionNode[children.length];
-
-        for (int i = 0; i < children.length; i++) {
-            String child = children[i];
-            Resource resource = null;
-
-            if (tenantRegistry != null && child.startsWith("/permission/applications")) {
-                resource = tenantRegistry.get(child);
-            } else if (registry.resourceExists(child)) {
-                resource = registry.get(child);
-            } else {
-                throw new RegistryException("Permission resource not found in the registry.");
-            }
-
-            boolean isSelected = false;
-            if (roleName != null) {
-                isSelected = authMan.isRoleAuthorized(roleName, child,
-                        UserMgtConstants.EXECUTE_ACTION);
-            } else if (userName != null) {
-                isSelected = authMan.isUserAuthorized(userName, child,
-                        UserMgtConstants.EXECUTE_ACTION);
-            }
-            childNodes[i] = getUIPermissionNode(resource, isSelected);
-            if (resource instanceof Collection) {
-                buildUIPermissionNodeNotAllSelected((Collection) resource, childNodes[i],
-                        registry, tenantRegistry, authMan, roleName, userName);
-            }
-        }
-        parentNode.setNodeList(childNodes);
-    }
-
-    private UIPermissionNode getUIPermissionNode(Resource resource,
-                                                 boolean isSelected) throws RegistryException {
-        String displayName = resource.getProperty(UserMgtConstants.DISPLAY_NAME);
-        return new UIPermissionNode(resource.getPath(), displayName, isSelected);
-    }
-
     /**
      * Gets logged in user of the server
      *
@@ -2473,115 +2300,25 @@ public class UserRealmProxy {
      */
     public UIPermissionNode getRolePermissions(List<String> roleNames, int tenantId) throws UserAdminException {
 
-        UIPermissionNode nodeRoot;
-        Collection regRoot;
-        Collection parent = null;
-        Registry tenantRegistry = null;
-
         try {
-            Registry registry = UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry();
-            if (tenantId == MultitenantConstants.SUPER_TENANT_ID) {
-                regRoot = (Collection) registry.get(UserMgtConstants.UI_PERMISSION_ROOT);
-                String displayName = regRoot.getProperty(UserMgtConstants.DISPLAY_NAME);
-                nodeRoot = new UIPermissionNode(UserMgtConstants.UI_PERMISSION_ROOT, displayName);
-            } else {
-                regRoot = (Collection) registry.get(UserMgtConstants.UI_ADMIN_PERMISSION_ROOT);
-                tenantRegistry = UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry(tenantId);
-                Collection appRoot;
-
-                if (tenantRegistry.resourceExists(APPLICATIONS_PATH)) {
-                    appRoot = (Collection) tenantRegistry.get(APPLICATIONS_PATH);
-                    parent = (Collection) tenantRegistry.newCollection();
-                    parent.setProperty(UserMgtConstants.DISPLAY_NAME, "All Permissions");
-                    parent.setChildren(new String[] { regRoot.getPath(), appRoot.getPath() });
-                }
-
-                String displayName;
-                if (parent != null) {
-                    displayName = parent.getProperty(UserMgtConstants.DISPLAY_NAME);
-                } else {
-                    displayName = regRoot.getProperty(UserMgtConstants.DISPLAY_NAME);
+            UIPermissionTree permissionTree = UIPermissionTreeManager.getInstance().getPermissionTree(tenantId);
+            AuthorizationManager authMan = realm.getAuthorizationManager();
+            BitSet selection = permissionTree.computeSelection(resourcePath -> {
+                for (String roleName : roleNames) {
+                    if (StringUtils.isNotBlank(roleName) &&
+                            authMan.isRoleAuthorized(roleName, resourcePath, UserMgtConstants.EXECUTE_ACTION)) {
+                        return true;
+                    }
                 }
-                nodeRoot = new UIPermissionNode(UserMgtConstants.UI_ADMIN_PERMISSION_ROOT, displayName);
-            }
-
-            if (parent != null) {
-                buildUIPermissionNode(parent, nodeRoot, registry, tenantRegistry, realm.getAuthorizationManager(),
-                        roleNames);
-            } else {
-                buildUIPermissionNode(regRoot, nodeRoot, registry, tenantRegistry, realm.getAuthorizationManager(),
-                        roleNames);
-            }
-            return nodeRoot;
+                return false;
+            });
+            return permissionTree.toUIPermissionNode(selection);
         } catch (UserStoreException | RegistryException e) {
             log.error(e.getMessage(), e);
             throw new UserAdminException(e.getMessage(), e);
         }
     }
 
-    private void buildUIPermissionNode(Collection parent, UIPermissionNode parentNode,
-            Registry registry, Registry tenantRegistry, AuthorizationManager authMan,
-            List<String> roleNames)
-            throws RegistryException, UserStoreException {
-
-        boolean isSelected = false;
-        for (String roleName : roleNames) {
-            if (StringUtils.isNotBlank(roleName)) {
-                if (authMan.isRoleAuthorized(roleName, parentNode.getResourcePath(),
-                        UserMgtConstants.EXECUTE_ACTION)) {
-                    isSelected = true;
-                    break;
-                }
-            }
-        }
-
-        if (isSelected) {
-            buildUIPermissionNodeAllSelected(parent, parentNode, registry, tenantRegistry);
-            parentNode.setSelected(true);
-        } else {
-            buildUIPermissionNodeNotAllSelected(parent, parentNode, registry, tenantRegistry,
-                    authMan, roleNames);
-        }
-    }
-
-    private void buildUIPermissionNodeNotAllSelected(Collection parent, UIPermissionNode parentNode,
-            Registry registry, Registry tenantRegistry,
-            AuthorizationManager authMan, List<String> roleNames)
-            throws RegistryException, UserStoreException {
-
-        String[] children = parent.getChildren();
-        UIPermissionNode[] childNodes = new UIPermissionNode[children.length];
-
-        for (int i = 0; i < children.length; i++) {
-            String child = children[i];
-            Resource resource;
-
-            if (tenantRegistry != null && child.startsWith("/permission/applications")) {
-                resource = tenantRegistry.get(child);
-            } else if (registry.resourceExists(child)) {
-                resource = registry.get(child);
-            } else {
-                throw new RegistryException("Permission resource not found in the registry.");
-            }
-
-            boolean isSelected = false;
-            for (String roleName : roleNames) {
-                if (StringUtils.isNotBlank(roleName)) {
-                    if (authMan.isRoleAuthorized(roleName, child, UserMgtConstants.EXECUTE_ACTION)) {
-                        isSelected = true;
-                        break;
-                    }
-                }
-            }
-            childNodes[i] = getUIPermissionNode(resource, isSelected);
-            if (resource instanceof Collection) {
-                buildUIPermissionNodeNotAllSelected((Collection) resource, childNodes[i],
-                        registry, tenantRegistry, authMan, roleNames);
-            }
-        }
-        parentNode.setNodeList(childNodes);
-    }
-
     /**
      * Get hybrid role list of a group.
      *
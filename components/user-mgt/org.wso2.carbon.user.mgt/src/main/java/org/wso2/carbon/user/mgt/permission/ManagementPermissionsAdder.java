@@ -106,6 +106,7 @@ public class ManagementPermissionsAdder implements BundleListener {
                 resource.setProperty(UserMgtConstants.DISPLAY_NAME, uiPermission.getDisplayName());
                 registry.put(uiPermission.getResourceId(), resource);
             }
+            UIPermissionTreeManager.getInstance().clearAllPermissionTrees();
         }
     }
 
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.user.mgt.permission;
+
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.mgt.common.UIPermissionNode;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, in-memory snapshot of the UI permission tree of a tenant.
+ * <p>
+ * The nodes are laid out in pre-order so that the sub tree of any node occupies a contiguous index range. Role
+ * specific views are computed as a {@link BitSet} of selected node indexes over this shared structure and only
+ * materialized to {@link UIPermissionNode}s when returned to the caller. Modifications never mutate an existing tree;
+ * they return a new tree which shares the untouched nodes with the old one.
+ */
+public class UIPermissionTree implements Serializable {
+
+    private static final long serialVersionUID = -3816046512947398841L;
+
+    private final Node root;
+    private final long generation;
+    private final String[] paths;
+    private final String[] displayNames;
+    private final int[] subTreeEnd;
+    private final Map<String, Integer> indexByPath;
+
+    public UIPermissionTree(Node root, long generation) {
+
+        this.root = root;
+        this.generation = generation;
+        int size = root.size();
+        this.paths = new String[size];
+        this.displayNames = new String[size];
+        this.subTreeEnd = new int[size];
+        this.indexByPath = new HashMap<>(size * 2);
+        flatten(root, 0);
+    }
+
+    /**
+     * Get the permission manager generation this tree was built against.
+     *
+     * @return Generation of the tree.
+     */
+    public long getGeneration() {
+
+        return generation;
+    }
+
+    /**
+     * Get the root node of the tree.
+     *
+     * @return Root node.
+     */
+    public Node getRoot() {
+
+        return root;
+    }
+
+    /**
+     * Get the number of nodes in the tree.
+     *
+     * @return Node count.
+     */
+    public int size() {
+
+        return paths.length;
+    }
+
+    /**
+     * Check whether a node with the given resource path exists in the tree.
+     *
+     * @param resourcePath Permission resource path.
+     * @return True if the path is part of the tree.
+     */
+    public boolean contains(String resourcePath) {
+
+        return indexByPath.containsKey(resourcePath);
+    }
+
+    /**
+     * Compute the selected nodes of the tree for the given authorization check.
+     * <p>
+     * If the root is authorized the whole tree is selected. Otherwise each node is evaluated individually, which is
+     * the same evaluation order {@link org.wso2.carbon.user.mgt.UserRealmProxy} used when walking the registry.
+     *
+     * @param evaluator Authorization check to apply on the permission paths.
+     * @return Bit set of the selected node indexes.
+     * @throws UserStoreException If the authorization check fails.
+     */
+    public BitSet computeSelection(PermissionEvaluator evaluator) throws UserStoreException {
+
+        BitSet selection = new BitSet(paths.length);
+        if (evaluator == null) {
+            return selection;
+        }
+        if (evaluator.isAuthorized(paths[0])) {
+            selection.set(0, paths.length);
+            return selection;
+        }
+        for (int i = 1; i < paths.length; i++) {
+            if (evaluator.isAuthorized(paths[i])) {
+                selection.set(i);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * Materialize a new {@link UIPermissionNode} tree applying the given selection overlay. The returned nodes are
+     * owned by the caller.
+     *
+     * @param selection Selected node indexes. May be null if nothing is selected.
+     * @return Root of the materialized permission node tree.
+     */
+    public UIPermissionNode toUIPermissionNode(BitSet selection) {
+
+        return materialize(0, selection == null ? new BitSet(0) : selection);
+    }
+
+    /**
+     * Return a new tree in which the node at the given path is replaced with the given sub tree. If no node exists
+     * at the path, the sub tree is attached as a child of the node at the parent path. The tree is returned as is if
+     * neither exists.
+     *
+     * @param resourcePath Path of the node to replace or add.
+     * @param subTree      Replacement sub tree.
+     * @return Updated tree.
+     */
+    public UIPermissionTree withSubTree(String resourcePath, Node subTree) {
+
+        Node updated = root.replace(resourcePath, subTree);
+        if (updated == root) {
+            return this;
+        }
+        return new UIPermissionTree(updated, generation);
+    }
+
+    /**
+     * Return a new tree without the node at the given path and its descendants.
+     *
+     * @param resourcePath Path of the node to remove.
+     * @return Updated tree.
+     */
+    public UIPermissionTree withoutSubTree(String resourcePath) {
+
+        if (!contains(resourcePath) || root.getPath().equals(resourcePath)) {
+            return this;
+        }
+        return new UIPermissionTree(root.replace(resourcePath, null), generation);
+    }
+
+    private int flatten(Node node, int index) {
+
+        paths[index] = node.getPath();
+        displayNames[index] = node.getDisplayName();
+        indexByPath.put(node.getPath(), index);
+        int next = index + 1;
+        for (Node child : node.getChildren()) {
+            next = flatten(child, next);
+        }
+        subTreeEnd[index] = next;
+        return next;
+    }
+
+    private UIPermissionNode materialize(int index, BitSet selection) {
+
+        UIPermissionNode node = new UIPermissionNode(paths[index], displayNames[index], selection.get(index));
+        List<UIPermissionNode> children = new ArrayList<>();
+        int child = index + 1;
+        while (child < subTreeEnd[index]) {
+            children.add(materialize(child, selection));
+            child = subTreeEnd[child];
+        }
+        node.setNodeList(children.toArray(new UIPermissionNode[0]));
+        return node;
+    }
+
+    /**
+     * Authorization check applied on each permission path when computing a selection overlay.
+     */
+    public interface PermissionEvaluator {
+
+        boolean isAuthorized(String resourcePath) throws UserStoreException;
+    }
+
+    /**
+     * Immutable node of the permission tree.
+     */
+    public static final class Node implements Serializable {
+
+        private static final long serialVersionUID = 6157323546019316212L;
+
+        private final String path;
+        private final String displayName;
+        private final List<Node> children;
+        private final int size;
+
+        public Node(String path, String displayName, List<Node> children) {
+
+            this.path = path;
+            this.displayName = displayName;
+            this.children = children == null ? Collections.<Node>emptyList() :
+                    Collections.unmodifiableList(new ArrayList<>(children));
+            int count = 1;
+            for (Node child : this.children) {
+                count += child.size;
+            }
+            this.size = count;
+        }
+
+        public String getPath() {
+
+            return path;
+        }
+
+        public String getDisplayName() {
+
+            return displayName;
+        }
+
+        public List<Node> getChildren() {
+
+            return children;
+        }
+
+        int size() {
+
+            return size;
+        }
+
+        /**
+         * Replace the descendant at the given path, copying only the nodes on the way down. A null replacement
+         * removes the descendant.
+         */
+        Node replace(String targetPath, Node replacement) {
+
+            if (path.equals(targetPath)) {
+                return replacement;
+            }
+            List<Node> updatedChildren = new ArrayList<>(children.size() + 1);
+            boolean changed = false;
+            for (Node child : children) {
+                if (isOnPath(child.path, targetPath)) {
+                    Node updatedChild = child.replace(targetPath, replacement);
+                    changed |= updatedChild != child;
+                    if (updatedChild != null) {
+                        updatedChildren.add(updatedChild);
+                    }
+                } else {
+                    updatedChildren.add(child);
+                }
+            }
+            if (!changed && replacement != null && isParentOf(targetPath)) {
+                updatedChildren.add(replacement);
+                changed = true;
+            }
+            return changed ? new Node(path, displayName, updatedChildren) : this;
+        }
+
+        private boolean isParentOf(String targetPath) {
+
+            String parentPath = targetPath.substring(0, Math.max(targetPath.lastIndexOf('/'), 0));
+            return trimSeparator(path).equals(parentPath);
+        }
+
+        private static boolean isOnPath(String nodePath, String targetPath) {
+
+            String trimmed = trimSeparator(nodePath);
+            return targetPath.equals(nodePath) || targetPath.equals(trimmed) || targetPath.startsWith(trimmed + "/");
+        }
+
+        private static String trimSeparator(String value) {
+
+            return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.user.mgt.permission;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Local cache holding the {@link UIPermissionTree} of each tenant, keyed by tenant id.
+ */
+public class UIPermissionTreeCache extends BaseCache<Integer, UIPermissionTree> {
+
+    private static final String CACHE_NAME = "UIPermissionTreeCache";
+    private static volatile UIPermissionTreeCache instance;
+
+    private UIPermissionTreeCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static UIPermissionTreeCache getInstance() {
+
+        if (instance == null) {
+            synchronized (UIPermissionTreeCache.class) {
+                if (instance == null) {
+                    instance = new UIPermissionTreeCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.carbon.user.mgt.permission;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.CarbonConstants;
+import org.wso2.carbon.registry.api.Registry;
+import org.wso2.carbon.registry.api.RegistryException;
+import org.wso2.carbon.registry.api.Resource;
+import org.wso2.carbon.registry.core.Collection;
+import org.wso2.carbon.registry.core.RegistryConstants;
+import org.wso2.carbon.user.mgt.UserMgtConstants;
+import org.wso2.carbon.user.mgt.internal.UserMgtDSComponent;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintains the per tenant {@link UIPermissionTree}s. A tree is loaded from the registry once and then kept up to
+ * date incrementally as application permissions are added, updated or removed. Permissions contributed by bundles
+ * are only added to the super tenant registry, hence such changes invalidate the trees of all tenants.
+ */
+public class UIPermissionTreeManager {
+
+    private static final Log log = LogFactory.getLog(UIPermissionTreeManager.class);
+
+    public static final String APPLICATIONS_PATH = RegistryConstants.PATH_SEPARATOR
+            + CarbonConstants.UI_PERMISSION_NAME + RegistryConstants.PATH_SEPARATOR + "applications";
+    private static final String ALL_PERMISSIONS_DISPLAY_NAME = "All Permissions";
+
+    private static final UIPermissionTreeManager instance = new UIPermissionTreeManager();
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Integer, AtomicLong> tenantInvalidations = new ConcurrentHashMap<>();
+    private final Object updateLock = new Object();
+
+    private UIPermissionTreeManager() {
+
+    }
+
+    public static UIPermissionTreeManager getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Get the permission tree of the tenant, loading it from the registry if it is not available in the cache.
+     *
+     * @param tenantId Tenant id.
+     * @return Permission tree of the tenant.
+     * @throws RegistryException If an error occurs while reading the permissions from the registry.
+     */
+    public UIPermissionTree getPermissionTree(int tenantId) throws RegistryException {
+
+        UIPermissionTree tree = getCachedTree(tenantId);
+        if (tree != null) {
+            return tree;
+        }
+        long currentGeneration = generation.get();
+        long currentInvalidation = getTenantInvalidation(tenantId).get();
+        tree = loadPermissionTree(tenantId, currentGeneration);
+        synchronized (updateLock) {
+            // Do not cache the loaded tree if the permissions changed while it was being loaded.
+            if (currentGeneration == generation.get()
+                    && currentInvalidation == getTenantInvalidation(tenantId).get()) {
+                UIPermissionTreeCache.getInstance().addToCache(tenantId, tree, tenantId);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Reload the permission sub tree of an application into the cached tree of the tenant. This only reads the
+     * application node from the registry.
+     *
+     * @param applicationName Name of the application.
+     * @param tenantId        Tenant id.
+     */
+    public void refreshApplicationPermissions(String applicationName, int tenantId) {
+
+        synchronized (updateLock) {
+            getTenantInvalidation(tenantId).incrementAndGet();
+            UIPermissionTree tree = getCachedTree(tenantId);
+            if (tree == null) {
+                return;
+            }
+            if (!tree.contains(APPLICATIONS_PATH)) {
+                // The applications root is being created. Let the tree be loaded again on the next read.
+                clearPermissionTree(tenantId);
+                return;
+            }
+            String applicationPath = getApplicationPath(applicationName);
+            try {
+                Registry registry = getApplicationRegistry(tenantId);
+                UIPermissionTree updatedTree;
+                if (registry.resourceExists(applicationPath)) {
+                    Resource resource = registry.get(applicationPath);
+                    updatedTree = tree.withSubTree(resource.getPath(), buildNode(resource, registry, null));
+                } else {
+                    updatedTree = tree.withoutSubTree(applicationPath);
+                }
+                UIPermissionTreeCache.getInstance().addToCache(tenantId, updatedTree, tenantId);
+            } catch (RegistryException e) {
+                log.error("Error while refreshing the permissions of application: " + applicationName +
+                        " in tenant: " + tenantId + ". Clearing the cached permission tree.", e);
+                clearPermissionTree(tenantId);
+            }
+        }
+    }
+
+    /**
+     * Remove the permission sub tree of an application from the cached tree of the tenant.
+     *
+     * @param applicationName Name of the application.
+     * @param tenantId        Tenant id.
+     */
+    public void removeApplicationPermissions(String applicationName, int tenantId) {
+
+        synchronized (updateLock) {
+            getTenantInvalidation(tenantId).incrementAndGet();
+            UIPermissionTree tree = getCachedTree(tenantId);
+            if (tree == null) {
+                return;
+            }
+            UIPermissionTree updatedTree = tree.withoutSubTree(getApplicationPath(applicationName));
+            if (updatedTree != tree) {
+                UIPermissionTreeCache.getInstance().addToCache(tenantId, updatedTree, tenantId);
+            }
+        }
+    }
+
+    /**
+     * Clear the cached permission tree of a tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    public void clearPermissionTree(int tenantId) {
+
+        getTenantInvalidation(tenantId).incrementAndGet();
+        UIPermissionTreeCache.getInstance().clearCacheEntry(tenantId, tenantId);
+    }
+
+    /**
+     * Invalidate the permission trees of all tenants. Used when the shared super tenant permissions change.
+     */
+    public void clearAllPermissionTrees() {
+
+        generation.incrementAndGet();
+    }
+
+    private AtomicLong getTenantInvalidation(int tenantId) {
+
+        return tenantInvalidations.computeIfAbsent(tenantId, id -> new AtomicLong());
+    }
+
+    private UIPermissionTree getCachedTree(int tenantId) {
+
+        UIPermissionTree tree = UIPermissionTreeCache.getInstance().getValueFromCache(tenantId, tenantId);
+        if (tree != null && tree.getGeneration() != generation.get()) {
+            return null;
+        }
+        return tree;
+    }
+
+    private UIPermissionTree loadPermissionTree(int tenantId, long treeGeneration) throws RegistryException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Loading the UI permission tree of tenant: " + tenantId);
+        }
+        Registry registry = UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry();
+        if (tenantId == MultitenantConstants.SUPER_TENANT_ID) {
+            Collection regRoot = (Collection) registry.get(UserMgtConstants.UI_PERMISSION_ROOT);
+            UIPermissionTree.Node root = new UIPermissionTree.Node(UserMgtConstants.UI_PERMISSION_ROOT,
+                    regRoot.getProperty(UserMgtConstants.DISPLAY_NAME), buildChildren(regRoot, registry, null));
+            return new UIPermissionTree(root, treeGeneration);
+        }
+
+        Collection regRoot = (Collection) registry.get(UserMgtConstants.UI_ADMIN_PERMISSION_ROOT);
+        Registry tenantRegistry = UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry(tenantId);
+        List<UIPermissionTree.Node> children;
+        String displayName;
+        if (tenantRegistry.resourceExists(APPLICATIONS_PATH)) {
+            Collection appRoot = (Collection) tenantRegistry.get(APPLICATIONS_PATH);
+            children = Arrays.asList(buildNode(regRoot, registry, tenantRegistry),
+                    buildNode(appRoot, registry, tenantRegistry));
+            displayName = ALL_PERMISSIONS_DISPLAY_NAME;
+        } else {
+            children = buildChildren(regRoot, registry, tenantRegistry);
+            displayName = regRoot.getProperty(UserMgtConstants.DISPLAY_NAME);
+        }
+        UIPermissionTree.Node root = new UIPermissionTree.Node(UserMgtConstants.UI_ADMIN_PERMISSION_ROOT,
+                displayName, children);
+        return new UIPermissionTree(root, treeGeneration);
+    }
+
+    private UIPermissionTree.Node buildNode(Resource resource, Registry registry, Registry tenantRegistry)
+            throws RegistryException {
+
+        List<UIPermissionTree.Node> children = null;
+        if (resource instanceof Collection) {
+            children = buildChildren((Collection) resource, registry, tenantRegistry);
+        }
+        return new UIPermissionTree.Node(resource.getPath(), resource.getProperty(UserMgtConstants.DISPLAY_NAME),
+                children);
+    }
+
+    private List<UIPermissionTree.Node> buildChildren(Collection parent, Registry registry, Registry tenantRegistry)
+            throws RegistryException {
+
+        String[] childPaths = parent.getChildren();
+        List<UIPermissionTree.Node> children = new ArrayList<>(childPaths.length);
+        for (String child : childPaths) {
+            Resource resource;
+            if (tenantRegistry != null && child.startsWith(APPLICATIONS_PATH)) {
+                resource = tenantRegistry.get(child);
+            } else if (registry.resourceExists(child)) {
+                resource = registry.get(child);
+            } else {
+                throw new RegistryException("Permission resource not found in the registry.");
+            }
+            children.add(buildNode(resource, registry, tenantRegistry));
+        }
+        return children;
+    }
+
+    private Registry getApplicationRegistry(int tenantId) throws RegistryException {
+
+        if (tenantId == MultitenantConstants.SUPER_TENANT_ID) {
+            return UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry();
+        }
+        return UserMgtDSComponent.getRegistryService().getGovernanceSystemRegistry(tenantId);
+    }
+
+    private String getApplicationPath(String applicationName) {
+
+        return APPLICATIONS_PATH + RegistryConstants.PATH_SEPARATOR + applicationName;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * you may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.user.mgt.permission;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.user.mgt.common.UIPermissionNode;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+/**
+ * Test cases for UIPermissionTree class.
+ */
+public class UIPermissionTreeTest {
+
+    private UIPermissionTree tree;
+
+    @BeforeMethod
+    public void init() {
+
+        UIPermissionTree.Node login = new UIPermissionTree.Node("/permission/admin/login", "Login", null);
+        UIPermissionTree.Node manage = new UIPermissionTree.Node("/permission/admin/manage", "Manage",
+                Collections.singletonList(new UIPermissionTree.Node("/permission/admin/manage/users", "Users",
+                        null)));
+        UIPermissionTree.Node admin = new UIPermissionTree.Node("/permission/admin", "Admin",
+                Arrays.asList(login, manage));
+        UIPermissionTree.Node app = new UIPermissionTree.Node("/permission/applications/app1", "app1",
+                Collections.singletonList(new UIPermissionTree.Node("/permission/applications/app1/read", "read",
+                        null)));
+        UIPermissionTree.Node applications = new UIPermissionTree.Node("/permission/applications", "Applications",
+                Collections.singletonList(app));
+        tree = new UIPermissionTree(new UIPermissionTree.Node("/permission/admin/", "All Permissions",
+                Arrays.asList(admin, applications)), 0);
+    }
+
+    @Test(description = "Test materializing the tree without a selection.")
+    public void testToUIPermissionNode() {
+
+        UIPermissionNode root = tree.toUIPermissionNode(null);
+        Assert.assertEquals(tree.size(), 8);
+        Assert.assertEquals(root.getDisplayName(), "All Permissions");
+        Assert.assertEquals(root.getNodeList().length, 2);
+        Assert.assertEquals(root.getNodeList()[0].getNodeList()[1].getNodeList()[0].getResourcePath(),
+                "/permission/admin/manage/users");
+        Assert.assertFalse(root.isSelected());
+    }
+
+    @Test(description = "Test computing a role selection overlay.")
+    public void testComputeSelection() throws Exception {
+
+        BitSet selection = tree.computeSelection(path -> path.startsWith("/permission/admin/manage"));
+        UIPermissionNode root = tree.toUIPermissionNode(selection);
+        UIPermissionNode manage = root.getNodeList()[0].getNodeList()[1];
+        Assert.assertTrue(manage.isSelected());
+        Assert.assertTrue(manage.getNodeList()[0].isSelected());
+        Assert.assertFalse(root.getNodeList()[0].getNodeList()[0].isSelected());
+
+        BitSet all = tree.computeSelection(path -> "/permission/admin/".equals(path));
+        Assert.assertEquals(all.cardinality(), tree.size());
+    }
+
+    @Test(description = "Test adding, replacing and removing application sub trees.")
+    public void testSubTreeUpdates() {
+
+        UIPermissionTree.Node app2 = new UIPermissionTree.Node("/permission/applications/app2", "app2", null);
+        UIPermissionTree added = tree.withSubTree(app2.getPath(), app2);
+        Assert.assertTrue(added.contains("/permission/applications/app2"));
+        Assert.assertFalse(tree.contains("/permission/applications/app2"));
+        Assert.assertEquals(added.size(), tree.size() + 1);
+
+        UIPermissionTree.Node app1 = new UIPermissionTree.Node("/permission/applications/app1", "app1", null);
+        UIPermissionTree replaced = added.withSubTree(app1.getPath(), app1);
+        Assert.assertFalse(replaced.contains("/permission/applications/app1/read"));
+        Assert.assertTrue(replaced.contains("/permission/applications/app1"));
+
+        UIPermissionTree removed = replaced.withoutSubTree("/permission/applications/app1");
+        Assert.assertFalse(removed.contains("/permission/applications/app1"));
+        Assert.assertTrue(removed.contains("/permission/applications/app2"));
+        Assert.assertSame(removed.withoutSubTree("/permission/applications/unknown"), removed);
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.store.configuration.deployer;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.impl.builder.StAXOMBuilder;
+import org.apache.axiom.om.util.Base64;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.user.store.configuration.deployer.exception.UserStoreConfigurationDeployerException;
+import org.wso2.carbon.identity.user.store.configuration.deployer.internal.UserStoreConfigComponent;
+import org.wso2.carbon.identity.user.store.configuration.deployer.util.UserStoreConfigurationConstants;
+import org.wso2.carbon.user.api.RealmConfiguration;
+import org.wso2.carbon.user.api.UserRealm;
+import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.service.RealmService;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Tracks the secondary user store configurations deployed to the tenant realms, so that a configuration which has not
+ * changed since it became active is not deployed again.
+ * <p>
+ * A configuration is considered unchanged when the digest of its file matches the digest recorded when it was last
+ * deployed, and the user store class and the plain text properties of the file match the active realm configuration
+ * of its domain. Files with properties which are yet to be encrypted are always deployed. The time taken to deploy
+ * each user store is recorded.
+ */
+public class UserStoreConfigDeploymentTracker {
+
+    private static final Log log = LogFactory.getLog(UserStoreConfigDeploymentTracker.class);
+
+    private static final String INCREMENTAL_DEPLOYMENT_ENABLE = "UserStoreDeployment.Incremental.Enable";
+    private static final String INCREMENTAL_DEPLOYMENT_POOL_SIZE = "UserStoreDeployment.Incremental.PoolSize";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static volatile UserStoreConfigDeploymentTracker instance;
+
+    private final boolean enabled;
+    private final int poolSize;
+    private final Map<String, String> deployedDigests = new ConcurrentHashMap<>();
+    private final Map<String, Long> deploymentTimes = new ConcurrentHashMap<>();
+    private final AtomicLong deployedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    private UserStoreConfigDeploymentTracker() {
+
+        enabled = Boolean.parseBoolean(IdentityUtil.getProperty(INCREMENTAL_DEPLOYMENT_ENABLE));
+        int configuredPoolSize = 0;
+        String poolSizeProperty = IdentityUtil.getProperty(INCREMENTAL_DEPLOYMENT_POOL_SIZE);
+        if (StringUtils.isNotBlank(poolSizeProperty)) {
+            try {
+                configuredPoolSize = Integer.parseInt(poolSizeProperty.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + poolSizeProperty + " for " + INCREMENTAL_DEPLOYMENT_POOL_SIZE +
+                        ". Using the number of available processors.");
+            }
+        }
+        poolSize = configuredPoolSize > 0 ? configuredPoolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    public static UserStoreConfigDeploymentTracker getInstance() {
+
+        if (instance == null) {
+            synchronized (UserStoreConfigDeploymentTracker.class) {
+                if (instance == null) {
+                    instance = new UserStoreConfigDeploymentTracker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Parse and validate the given user store configuration files of a tenant in parallel, and record the ones which
+     * match the active realm configuration of the tenant as deployed.
+     *
+     * @param tenantId Tenant id.
+     * @param files    User store configuration files of the tenant.
+     * @return Files which are not active in the realm of the tenant and need to be deployed.
+     */
+    public List<File> loadActiveConfigurations(int tenantId, List<File> files) {
+
+        if (files.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long startTime = System.currentTimeMillis();
+        List<File> changedFiles = new ArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(poolSize, files.size()));
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(files.size());
+            for (File file : files) {
+                results.add(executorService.submit(() -> loadActiveConfiguration(tenantId, file)));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    if (!results.get(i).get()) {
+                        changedFiles.add(files.get(i));
+                    }
+                } catch (ExecutionException e) {
+                    log.error("Error while validating the user store configuration: " + files.get(i).getName(),
+                            e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while validating the user store configurations of tenant: " + tenantId);
+        } finally {
+            executorService.shutdownNow();
+        }
+        log.info("Validated " + files.size() + " user store configurations of tenant: " + tenantId + " in " +
+                (System.currentTimeMillis() - startTime) + " ms. " + changedFiles.size() + " need to be deployed.");
+        return changedFiles;
+    }
+
+    /**
+     * Check whether the user store configuration file is unchanged since it was last deployed and active in the realm.
+     *
+     * @param tenantId Tenant id.
+     * @param file     User store configuration file.
+     * @return True if the deployment can be skipped.
+     */
+    public boolean isDeployed(int tenantId, File file) {
+
+        String deployedDigest = deployedDigests.get(file.getAbsolutePath());
+        if (deployedDigest == null) {
+            return false;
+        }
+        try {
+            byte[] content = FileUtils.readFileToByteArray(file);
+            if (!deployedDigest.equals(digest(content)) || !isActive(tenantId, parse(content))) {
+                return false;
+            }
+        } catch (IOException | UserStoreConfigurationDeployerException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while comparing the user store configuration: " + file.getName() + " with the " +
+                        "deployed configuration.", e);
+            }
+            return false;
+        }
+        skippedCount.incrementAndGet();
+        if (log.isDebugEnabled()) {
+            log.debug("User store configuration: " + file.getName() + " of tenant: " + tenantId + " is unchanged. " +
+                    "Skipping the deployment.");
+        }
+        return true;
+    }
+
+    /**
+     * Record the deployment of a user store configuration file.
+     *
+     * @param tenantId       Tenant id.
+     * @param file           Deployed user store configuration file.
+     * @param digest         Digest of the deployed content, or null if not known.
+     * @param deploymentTime Time taken for the deployment in milliseconds.
+     */
+    public void recordDeployment(int tenantId, File file, String digest, long deploymentTime) {
+
+        deployedCount.incrementAndGet();
+        deploymentTimes.put(file.getAbsolutePath(), deploymentTime);
+        if (digest != null) {
+            deployedDigests.put(file.getAbsolutePath(), digest);
+        } else {
+            deployedDigests.remove(file.getAbsolutePath());
+        }
+        log.info("Deployed user store configuration: " + file.getName() + " of tenant: " + tenantId + " in " +
+                deploymentTime + " ms.");
+    }
+
+    /**
+     * Forget the deployment of a removed user store configuration file.
+     *
+     * @param filePath Path of the user store configuration file.
+     */
+    public void removeDeployment(String filePath) {
+
+        String absolutePath = new File(filePath).getAbsolutePath();
+        deployedDigests.remove(absolutePath);
+        deploymentTimes.remove(absolutePath);
+    }
+
+    /**
+     * Compute the digest of the file content, unless the file has properties which are yet to be encrypted.
+     *
+     * @param file User store configuration file.
+     * @return Digest of the content, or null if the file is to be rewritten on deployment.
+     */
+    public String getDigestIfFinal(File file) {
+
+        try {
+            byte[] content = FileUtils.readFileToByteArray(file);
+            if (hasPropertiesToEncrypt(parse(content))) {
+                return null;
+            }
+            return digest(content);
+        } catch (IOException | UserStoreConfigurationDeployerException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while computing the digest of the user store configuration: " + file.getName(), e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Get the time taken for the last deployment of a user store configuration file.
+     *
+     * @param filePath Path of the user store configuration file.
+     * @return Deployment time in milliseconds, or null if the file was not deployed.
+     */
+    public Long getDeploymentTime(String filePath) {
+
+        return deploymentTimes.get(new File(filePath).getAbsolutePath());
+    }
+
+    public long getDeployedCount() {
+
+        return deployedCount.get();
+    }
+
+    public long getSkippedCount() {
+
+        return skippedCount.get();
+    }
+
+    private boolean loadActiveConfiguration(int tenantId, File file) throws IOException,
+            UserStoreConfigurationDeployerException {
+
+        if (!UserStoreConfigurationConstants.XML_EXTENSION.equalsIgnoreCase(FilenameUtils.getExtension(
+                file.getName()))) {
+            return false;
+        }
+        byte[] content = FileUtils.readFileToByteArray(file);
+        OMElement document = parse(content);
+        if (StringUtils.isBlank(document.getAttributeValue(new QName(UserStoreConfigurationConstants
+                .PROPERTY_CLASS)))) {
+            throw new UserStoreConfigurationDeployerException("User store class is not defined in the user store " +
+                    "configuration: " + file.getName());
+        }
+        if (hasPropertiesToEncrypt(document) || !isActive(tenantId, document)) {
+            return false;
+        }
+        deployedDigests.put(file.getAbsolutePath(), digest(content));
+        return true;
+    }
+
+    private boolean isActive(int tenantId, OMElement document) {
+
+        RealmService realmService = UserStoreConfigComponent.getRealmService();
+        String domainName = getPropertyValue(document, UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME);
+        if (realmService == null || StringUtils.isBlank(domainName)) {
+            return false;
+        }
+        try {
+            UserRealm userRealm = realmService.getTenantUserRealm(tenantId);
+            if (userRealm == null) {
+                return false;
+            }
+            RealmConfiguration realmConfig = userRealm.getRealmConfiguration().getSecondaryRealmConfig();
+            while (realmConfig != null) {
+                if (domainName.equalsIgnoreCase(realmConfig.getUserStoreProperty(
+                        UserCoreConstants.RealmConfig.PROPERTY_DOMAIN_NAME))) {
+                    return matches(document, realmConfig);
+                }
+                realmConfig = realmConfig.getSecondaryRealmConfig();
+            }
+        } catch (UserStoreException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while reading the active realm configuration of tenant: " + tenantId, e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compare the user store class and the plain text properties of the configuration with the active realm
+     * configuration. Encrypted properties are covered by the digest of the file.
+     */
+    private boolean matches(OMElement document, RealmConfiguration realmConfig) {
+
+        String userStoreClass = document.getAttributeValue(new QName(UserStoreConfigurationConstants.PROPERTY_CLASS));
+        if (!StringUtils.equals(userStoreClass, realmConfig.getUserStoreClass())) {
+            return false;
+        }
+        Iterator<?> properties = document.getChildrenWithName(new QName(UserStoreConfigurationConstants.PROPERTY));
+        while (properties.hasNext()) {
+            OMElement property = (OMElement) properties.next();
+            if (property.getAttribute(new QName(UserStoreConfigurationConstants.PROPERTY_ENCRYPTED)) != null) {
+                continue;
+            }
+            String name = property.getAttributeValue(new QName(UserStoreConfigurationConstants.PROPERTY_NAME));
+            if (!StringUtils.equals(StringUtils.trimToEmpty(property.getText()),
+                    StringUtils.trimToEmpty(realmConfig.getUserStoreProperty(name)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasPropertiesToEncrypt(OMElement document) {
+
+        String userStoreClass = document.getAttributeValue(new QName(UserStoreConfigurationConstants.PROPERTY_CLASS));
+        return UserStoreConfigurationDeployer.hasPropertiesToEncrypt(document, userStoreClass);
+    }
+
+    private String getPropertyValue(OMElement document, String propertyName) {
+
+        Iterator<?> properties = document.getChildrenWithName(new QName(UserStoreConfigurationConstants.PROPERTY));
+        while (properties.hasNext()) {
+            OMElement property = (OMElement) properties.next();
+            if (propertyName.equals(property.getAttributeValue(new QName(UserStoreConfigurationConstants
+                    .PROPERTY_NAME)))) {
+                return property.getText();
+            }
+        }
+        return null;
+    }
+
+    private OMElement parse(byte[] content) throws UserStoreConfigurationDeployerException {
+
+        try {
+            return new StAXOMBuilder(new ByteArrayInputStream(content)).getDocumentElement();
+        } catch (XMLStreamException e) {
+            throw new UserStoreConfigurationDeployerException("Error while parsing the user store configuration.", e);
+        }
+    }
+
+    private String digest(byte[] content) throws UserStoreConfigurationDeployerException {
+
+        try {
+            return Base64.encode(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new UserStoreConfigurationDeployerException("Error while computing the digest of the user store " +
+                    "configuration.", e);
+        }
+    }
+}
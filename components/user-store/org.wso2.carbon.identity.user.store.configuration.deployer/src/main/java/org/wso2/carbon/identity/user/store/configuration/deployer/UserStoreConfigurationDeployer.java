@@ -30,6 +30,7 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.base.api.ServerConfigurationService;
+import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.core.util.CryptoException;
 import org.wso2.carbon.identity.core.util.IdentityIOStreamUtils;
 import org.wso2.carbon.identity.user.store.configuration.deployer.exception.UserStoreConfigurationDeployerException;
@@ -108,6 +109,35 @@ public class UserStoreConfigurationDeployer extends AbstractDeployer {
         return propertyList;
     }
 
+    /**
+     * Check whether the user store configuration has properties which are to be encrypted on deployment.
+     *
+     * @param secondaryStoreDocument OMElement of the user store configuration
+     * @param userStoreClass         class name of user store
+     * @return If a property is yet to be encrypted
+     */
+    static boolean hasPropertiesToEncrypt(OMElement secondaryStoreDocument, String userStoreClass) {
+
+        if (userStoreClass == null || UserStoreManagerRegistry.getUserStoreProperties(userStoreClass) == null) {
+            return false;
+        }
+        ArrayList<String> encryptList = getEncryptPropertyList(userStoreClass);
+        Iterator<?> ite = secondaryStoreDocument.getChildrenWithName(new QName(
+                UserStoreConfigurationConstants.PROPERTY));
+        while (ite.hasNext()) {
+            OMElement propElem = (OMElement) ite.next();
+            if (propElem != null && propElem.getText() != null && propElem.getAttribute(new QName(
+                    UserStoreConfigurationConstants.PROPERTY_ENCRYPTED)) == null) {
+                String propertyName = propElem.getAttributeValue(new QName(
+                        UserStoreConfigurationConstants.PROPERTY_NAME));
+                if (encryptList.contains(propertyName) || isEligibleTobeEncrypted(propElem)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     public void init(ConfigurationContext configurationContext) {
         log.info("User Store Configuration Deployer initiated.");
         this.axisConfig = configurationContext.getAxisConfiguration();
@@ -164,8 +194,25 @@ public class UserStoreConfigurationDeployer extends AbstractDeployer {
                 }
             }
 
+            UserStoreConfigDeploymentTracker deploymentTracker = UserStoreConfigDeploymentTracker.getInstance();
+            if (!deploymentTracker.isEnabled()) {
+                UserStoreDeploymentManager userStoreDeploymentManager = new UserStoreDeploymentManager();
+                userStoreDeploymentManager.deploy(deploymentFileData.getAbsolutePath());
+                return;
+            }
+
+            // Only the user stores which changed since they were deployed are deployed again, as each deployment
+            // rebuilds the realm of the tenant.
+            File file = new File(absolutePath);
+            int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+            if (deploymentTracker.isDeployed(tenantId, file)) {
+                return;
+            }
+            String digest = deploymentTracker.getDigestIfFinal(file);
+            long startTime = System.currentTimeMillis();
             UserStoreDeploymentManager userStoreDeploymentManager = new UserStoreDeploymentManager();
-            userStoreDeploymentManager.deploy(deploymentFileData.getAbsolutePath());
+            userStoreDeploymentManager.deploy(absolutePath);
+            deploymentTracker.recordDeployment(tenantId, file, digest, System.currentTimeMillis() - startTime);
         }
     }
 
@@ -182,6 +229,7 @@ public class UserStoreConfigurationDeployer extends AbstractDeployer {
             if (!UserStoreConfigurationConstants.ENC_EXTENSION.equalsIgnoreCase(ext)) {
                 UserStoreDeploymentManager userStoreDeploymentManager = new UserStoreDeploymentManager();
                 userStoreDeploymentManager.undeploy(fileName);
+                UserStoreConfigDeploymentTracker.getInstance().removeDeployment(fileName);
             }
         }
     }
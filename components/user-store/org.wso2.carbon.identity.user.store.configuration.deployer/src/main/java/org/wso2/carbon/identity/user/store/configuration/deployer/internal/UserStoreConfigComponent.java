@@ -29,13 +29,17 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.base.api.ServerConfigurationService;
+import org.wso2.carbon.identity.user.store.configuration.deployer.UserStoreConfigDeploymentTracker;
 import org.wso2.carbon.identity.user.store.configuration.deployer.util.UserStoreConfigurationConstants;
 import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.utils.CarbonUtils;
 import org.wso2.carbon.utils.ConfigurationContextService;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component(
         name = "identity.user.store.org.wso2.carbon.identity.user.store.configuration.component",
@@ -167,7 +171,19 @@ public class UserStoreConfigComponent {
         File[] listOfFiles = folder.listFiles();
 
         if (listOfFiles != null) {
+            List<File> userStoreFiles = new ArrayList<>();
             for (File file : listOfFiles) {
+                if (file != null && isValidExtension(FilenameUtils.getExtension(file.getAbsolutePath()))) {
+                    userStoreFiles.add(file);
+                }
+            }
+            UserStoreConfigDeploymentTracker deploymentTracker = UserStoreConfigDeploymentTracker.getInstance();
+            if (deploymentTracker.isEnabled()) {
+                // User stores already active in the realm with the same configuration are not redeployed.
+                userStoreFiles = deploymentTracker.loadActiveConfigurations(MultitenantConstants.SUPER_TENANT_ID,
+                        userStoreFiles);
+            }
+            for (File file : userStoreFiles) {
                 if (file != null) {
                     String ext = FilenameUtils.getExtension(file.getAbsolutePath());
                     if (isValidExtension(ext)) {
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.store.configuration.deployer;
+
+import org.apache.commons.io.FileUtils;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.user.store.configuration.deployer.internal.UserStoreConfigComponent;
+import org.wso2.carbon.user.api.RealmConfiguration;
+import org.wso2.carbon.user.api.UserRealm;
+import org.wso2.carbon.user.core.UserStoreManagerRegistry;
+import org.wso2.carbon.user.core.service.RealmService;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@PrepareForTest({IdentityUtil.class, UserStoreManagerRegistry.class})
+public class UserStoreConfigDeploymentTrackerTest extends PowerMockTestCase {
+
+    private static final int TENANT_ID = -1234;
+    private static final String USER_STORE_CLASS =
+            "org.wso2.carbon.user.core.ldap.UniqueIDReadWriteLDAPUserStoreManager";
+    private static final String CONNECTION_URL = "ldap://localhost:10389";
+    private static final String CONFIGURATION = "<UserStoreManager class=\"" + USER_STORE_CLASS + "\">\n" +
+            "    <Property name=\"DomainName\">SECONDARY</Property>\n" +
+            "    <Property name=\"ConnectionURL\">%s</Property>\n" +
+            "    <Property encrypted=\"true\" name=\"ConnectionPassword\">c2VjcmV0</Property>\n" +
+            "</UserStoreManager>\n";
+
+    private UserStoreConfigDeploymentTracker deploymentTracker;
+    private RealmConfiguration activeConfiguration;
+    private File userStoreDirectory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty("UserStoreDeployment.Incremental.Enable")).thenReturn("true");
+        when(IdentityUtil.getProperty("UserStoreDeployment.Incremental.PoolSize")).thenReturn("2");
+        mockStatic(UserStoreManagerRegistry.class);
+        deploymentTracker = Whitebox.invokeConstructor(UserStoreConfigDeploymentTracker.class);
+
+        activeConfiguration = mock(RealmConfiguration.class);
+        when(activeConfiguration.getUserStoreClass()).thenReturn(USER_STORE_CLASS);
+        when(activeConfiguration.getUserStoreProperty("DomainName")).thenReturn("SECONDARY");
+        when(activeConfiguration.getUserStoreProperty("ConnectionURL")).thenReturn(CONNECTION_URL);
+        RealmConfiguration primaryConfiguration = mock(RealmConfiguration.class);
+        when(primaryConfiguration.getSecondaryRealmConfig()).thenReturn(activeConfiguration);
+        UserRealm userRealm = mock(UserRealm.class);
+        when(userRealm.getRealmConfiguration()).thenReturn(primaryConfiguration);
+        RealmService realmService = mock(RealmService.class);
+        when(realmService.getTenantUserRealm(TENANT_ID)).thenReturn(userRealm);
+        Whitebox.setInternalState(UserStoreConfigComponent.class, "realmService", realmService);
+
+        userStoreDirectory = Files.createTempDirectory("userstores").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        Whitebox.setInternalState(UserStoreConfigComponent.class, "realmService", (RealmService) null);
+        FileUtils.deleteDirectory(userStoreDirectory);
+    }
+
+    @Test
+    public void testOnlyChangedConfigurationsNeedDeployment() throws Exception {
+
+        File unchangedFile = writeConfiguration("SECONDARY.xml", CONNECTION_URL);
+        File encryptedFile = writeConfiguration("TERTIARY.enc", CONNECTION_URL);
+
+        List<File> changedFiles = deploymentTracker.loadActiveConfigurations(TENANT_ID,
+                Arrays.asList(unchangedFile, encryptedFile));
+
+        assertEquals(changedFiles, Collections.singletonList(encryptedFile));
+        assertTrue(deploymentTracker.isDeployed(TENANT_ID, unchangedFile));
+        assertEquals(deploymentTracker.getSkippedCount(), 1);
+    }
+
+    @Test
+    public void testConfigurationDifferentFromRealmNeedsDeployment() throws Exception {
+
+        File changedFile = writeConfiguration("SECONDARY.xml", "ldap://ldap.wso2.com:389");
+
+        List<File> changedFiles = deploymentTracker.loadActiveConfigurations(TENANT_ID,
+                Collections.singletonList(changedFile));
+
+        assertEquals(changedFiles, Collections.singletonList(changedFile));
+        assertFalse(deploymentTracker.isDeployed(TENANT_ID, changedFile));
+    }
+
+    @Test
+    public void testRecordedDeploymentIsSkippedUntilFileChanges() throws Exception {
+
+        File file = writeConfiguration("SECONDARY.xml", CONNECTION_URL);
+        deploymentTracker.recordDeployment(TENANT_ID, file, deploymentTracker.getDigestIfFinal(file), 5);
+
+        assertTrue(deploymentTracker.isDeployed(TENANT_ID, file));
+        assertEquals(deploymentTracker.getDeploymentTime(file.getPath()), Long.valueOf(5));
+        assertEquals(deploymentTracker.getDeployedCount(), 1);
+
+        // The encrypted password changed, which is only covered by the digest of the file.
+        FileUtils.writeStringToFile(file, String.format(CONFIGURATION, CONNECTION_URL).replace("c2VjcmV0",
+                "bmV3U2VjcmV0"), StandardCharsets.UTF_8);
+        assertFalse(deploymentTracker.isDeployed(TENANT_ID, file));
+    }
+
+    @Test
+    public void testRecordedDeploymentIsNotSkippedWhenRealmChanges() throws Exception {
+
+        File file = writeConfiguration("SECONDARY.xml", CONNECTION_URL);
+        deploymentTracker.recordDeployment(TENANT_ID, file, deploymentTracker.getDigestIfFinal(file), 5);
+        when(activeConfiguration.getUserStoreProperty("ConnectionURL")).thenReturn("ldap://ldap.wso2.com:389");
+
+        assertFalse(deploymentTracker.isDeployed(TENANT_ID, file));
+    }
+
+    @Test
+    public void testRemovedDeploymentIsForgotten() throws Exception {
+
+        File file = writeConfiguration("SECONDARY.xml", CONNECTION_URL);
+        deploymentTracker.recordDeployment(TENANT_ID, file, deploymentTracker.getDigestIfFinal(file), 5);
+
+        deploymentTracker.removeDeployment(file.getPath());
+
+        assertFalse(deploymentTracker.isDeployed(TENANT_ID, file));
+        assertNull(deploymentTracker.getDeploymentTime(file.getPath()));
+    }
+
+    private File writeConfiguration(String fileName, String connectionUrl) throws Exception {
+
+        File file = new File(userStoreDirectory, fileName);
+        FileUtils.writeStringToFile(file, String.format(CONFIGURATION, connectionUrl), StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -24,6 +24,8 @@ import org.wso2.carbon.identity.user.store.count.dto.PairDTO;
 import org.wso2.carbon.identity.user.store.count.exception.UserStoreCounterException;
 import org.wso2.carbon.identity.user.store.count.internal.UserStoreCountDSComponent;
 import org.wso2.carbon.identity.user.store.count.jdbc.internal.InternalStoreCountConstants;
+import org.wso2.carbon.identity.user.store.count.snapshot.UserStoreCountSnapshotManager;
+import org.wso2.carbon.identity.user.store.count.snapshot.UserStoreCountSnapshotManager.CountType;
 import org.wso2.carbon.identity.user.store.count.util.UserStoreCountUtils;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.api.UserStoreManager;
@@ -52,10 +54,9 @@ public class UserStoreCountService {
         int i = 0;
 
         for (String userStoreDomain : userStoreDomains) {
-            String filterWithDomain = getFilterWithDomain(userStoreDomain, filter);
             long count = -1L;
             try {
-                count = getUserCountWithClaims(UserStoreCountUtils.USERNAME_CLAIM, filterWithDomain);
+                count = getUserCount(userStoreDomain, UserStoreCountUtils.USERNAME_CLAIM, filter);
                 userCounts[i] = new PairDTO(userStoreDomain, Long.toString(count));
             } catch (UserStoreCounterException e) {
                 userCounts[i] = new PairDTO(userStoreDomain, "Error while getting user count");
@@ -81,9 +82,8 @@ public class UserStoreCountService {
 
         for (String userStoreDomain : userStoreDomains) {
             long count = -1L;
-            String filterWithDomain = getFilterWithDomain(userStoreDomain, filter);
             try {
-                count = getRoleCount(filterWithDomain);
+                count = getRoleCount(userStoreDomain, filter);
                 roleCounts[i] = new PairDTO(userStoreDomain, Long.toString(count));
             } catch (UserStoreCounterException e) {
                 roleCounts[i] = new PairDTO(userStoreDomain, "Error while getting role count");
@@ -91,13 +91,10 @@ public class UserStoreCountService {
             }
             i++;
         }
-        String internalDomainFilter = UserCoreConstants.INTERNAL_DOMAIN + UserCoreConstants.DOMAIN_SEPARATOR + filter;
-        String applicationDomainFilter = InternalStoreCountConstants.APPLICATION_DOMAIN +
-                UserCoreConstants.DOMAIN_SEPARATOR + filter;
         roleCounts[i] = new PairDTO(UserCoreConstants.INTERNAL_DOMAIN, String.valueOf(
-                getRoleCount(internalDomainFilter)));
+                getRoleCount(UserCoreConstants.INTERNAL_DOMAIN, filter)));
         roleCounts[++i] = new PairDTO(InternalStoreCountConstants.APPLICATION_DOMAIN, String.valueOf(
-                getRoleCount(applicationDomainFilter)));
+                getRoleCount(InternalStoreCountConstants.APPLICATION_DOMAIN, filter)));
 
         return roleCounts;
     }
@@ -117,9 +114,8 @@ public class UserStoreCountService {
 
         for (String userStoreDomain : userStoreDomains) {
             long count = -1L;
-            String filterWithDomain = getFilterWithDomain(userStoreDomain, valueFilter);
             try {
-                count = getUserCountWithClaims(claimURI, filterWithDomain);
+                count = getUserCount(userStoreDomain, claimURI, valueFilter);
             } catch (UserStoreCounterException e) {
                 log.error("Error while getting user count with claim : " + claimURI + ", from user store domain : "
                         + userStoreDomain, e);
@@ -138,8 +134,7 @@ public class UserStoreCountService {
      */
     public long countUsersInDomain(String filter, String domain) throws UserStoreCounterException {
 
-        String filterWithDomain = getFilterWithDomain(domain, filter);
-        return getUserCountWithClaims(UserStoreCountUtils.USERNAME_CLAIM, filterWithDomain);
+        return getUserCount(domain, UserStoreCountUtils.USERNAME_CLAIM, filter);
     }
 
     /**
@@ -150,8 +145,7 @@ public class UserStoreCountService {
      */
     public long countRolesInDomain(String filter, String domain) throws UserStoreCounterException {
 
-        String filterWithDomain = getFilterWithDomain(domain, filter);
-        return getRoleCount(filterWithDomain);
+        return getRoleCount(domain, filter);
     }
 
     /**
@@ -164,8 +158,7 @@ public class UserStoreCountService {
     public long countByClaimInDomain(String claimURI, String valueFilter, String domain)
             throws UserStoreCounterException {
 
-        String filterWithDomain = getFilterWithDomain(domain, valueFilter);
-        return getUserCountWithClaims(claimURI, filterWithDomain);
+        return getUserCount(domain, claimURI, valueFilter);
     }
 
     /**
@@ -181,6 +174,38 @@ public class UserStoreCountService {
 
     }
 
+    /**
+     * Get the user count of the domain, served from the count snapshot when the snapshots are enabled.
+     *
+     * @param domain      user store domain.
+     * @param claimURI    claim uri.
+     * @param valueFilter filter that filter the users, without the domain.
+     * @return user count.
+     * @throws UserStoreCounterException UserStoreCounterException.
+     */
+    private long getUserCount(String domain, String claimURI, String valueFilter) throws UserStoreCounterException {
+
+        String filterWithDomain = getFilterWithDomain(domain, valueFilter);
+        CountType countType = UserStoreCountUtils.USERNAME_CLAIM.equals(claimURI) ? CountType.USER : CountType.CLAIM;
+        return UserStoreCountSnapshotManager.getInstance().getCount(tenantId, domain, countType, claimURI,
+                valueFilter, () -> getUserCountWithClaims(claimURI, filterWithDomain));
+    }
+
+    /**
+     * Get the role count of the domain, served from the count snapshot when the snapshots are enabled.
+     *
+     * @param domain user store domain.
+     * @param filter filter that filter the roles, without the domain.
+     * @return role count.
+     * @throws UserStoreCounterException UserStoreCounterException.
+     */
+    private long getRoleCount(String domain, String filter) throws UserStoreCounterException {
+
+        String filterWithDomain = getFilterWithDomain(domain, filter);
+        return UserStoreCountSnapshotManager.getInstance().getCount(tenantId, domain, CountType.ROLE, null, filter,
+                () -> getRoleCount(filterWithDomain));
+    }
+
     /**
      * Get User count.
      *
@@ -28,10 +28,15 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
+import org.wso2.carbon.identity.user.store.configuration.listener.UserStoreConfigListener;
 import org.wso2.carbon.identity.user.store.count.AbstractCountRetrieverFactory;
 import org.wso2.carbon.identity.user.store.count.exception.UserStoreCounterException;
 import org.wso2.carbon.identity.user.store.count.jdbc.JDBCCountRetrieverFactory;
 import org.wso2.carbon.identity.user.store.count.jdbc.internal.InternalCountRetrieverFactory;
+import org.wso2.carbon.identity.user.store.count.snapshot.UserStoreCountSnapshotConfigListener;
+import org.wso2.carbon.identity.user.store.count.snapshot.UserStoreCountSnapshotListener;
+import org.wso2.carbon.identity.user.store.count.snapshot.UserStoreCountSnapshotManager;
+import org.wso2.carbon.user.core.listener.UserOperationEventListener;
 import org.wso2.carbon.user.core.service.RealmService;
 
 /**
@@ -102,6 +107,15 @@ public class UserStoreCountDSComponent {
         } else {
             log.error("Identity User Store Count -  JDBCUserStoreCountRetriever could not be registered.");
         }
+
+        UserStoreCountSnapshotManager snapshotManager = UserStoreCountSnapshotManager.getInstance();
+        if (snapshotManager.isEnabled()) {
+            bundleContext.registerService(UserOperationEventListener.class.getName(),
+                    new UserStoreCountSnapshotListener(), null);
+            bundleContext.registerService(UserStoreConfigListener.class.getName(),
+                    new UserStoreCountSnapshotConfigListener(), null);
+            snapshotManager.start();
+        }
     }
 
     protected void deactivate(ComponentContext ctxt) {
@@ -109,6 +123,8 @@ public class UserStoreCountDSComponent {
             log.debug("User store count bundle is deactivated");
         }
 
+        UserStoreCountSnapshotManager.getInstance().stop();
+
         UserStoreCountDataHolder.getInstance().setBundleContext(null);
     }
 
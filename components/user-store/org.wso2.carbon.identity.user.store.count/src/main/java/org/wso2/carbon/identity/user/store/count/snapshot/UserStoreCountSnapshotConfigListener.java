@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.store.count.snapshot;
+
+import org.wso2.carbon.identity.user.store.configuration.dto.UserStoreDTO;
+import org.wso2.carbon.identity.user.store.configuration.listener.AbstractUserStoreConfigListener;
+import org.wso2.carbon.user.api.UserStoreException;
+
+/**
+ * User store configuration listener which drops the user store count snapshots of a user store when it is renamed,
+ * updated or deleted, as the kept counts no longer reflect the user store.
+ */
+public class UserStoreCountSnapshotConfigListener extends AbstractUserStoreConfigListener {
+
+    @Override
+    public void onUserStoreNamePostUpdate(int tenantId, String currentUserStoreName, String newUserStoreName)
+            throws UserStoreException {
+
+        UserStoreCountSnapshotManager.getInstance().clear(tenantId, currentUserStoreName);
+        UserStoreCountSnapshotManager.getInstance().clear(tenantId, newUserStoreName);
+    }
+
+    @Override
+    public void onUserStorePostDelete(int tenantId, String userStoreName) throws UserStoreException {
+
+        UserStoreCountSnapshotManager.getInstance().clear(tenantId, userStoreName);
+    }
+
+    @Override
+    public void onUserStorePreUpdate(int tenantId, UserStoreDTO userStoreDTO, boolean isStateChange)
+            throws UserStoreException {
+
+        if (userStoreDTO != null) {
+            UserStoreCountSnapshotManager.getInstance().clear(tenantId, userStoreDTO.getDomainId());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.store.count.snapshot;
+
+import org.wso2.carbon.identity.core.AbstractIdentityUserOperationEventListener;
+import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
+import org.wso2.carbon.identity.user.store.count.snapshot.UserStoreCountSnapshotManager.CountType;
+import org.wso2.carbon.user.api.Permission;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
+
+import java.util.Map;
+
+/**
+ * User operation event listener which applies the additions and deletions of users and roles to the user store count
+ * snapshots.
+ */
+public class UserStoreCountSnapshotListener extends AbstractIdentityUserOperationEventListener {
+
+    @Override
+    public int getExecutionOrderId() {
+
+        int orderId = getOrderId();
+        if (orderId != IdentityCoreConstants.EVENT_LISTENER_ORDER_ID) {
+            return orderId;
+        }
+        return 97;
+    }
+
+    @Override
+    public boolean doPostAddUser(String userName, Object credential, String[] roleList, Map<String, String> claims,
+                                 String profile, UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (isSnapshotEnabled()) {
+            getSnapshotManager().onAdded(userStoreManager.getTenantId(), getDomain(userName, userStoreManager),
+                    CountType.USER, UserCoreUtil.removeDomainFromName(userName));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteUser(String userName, UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (isSnapshotEnabled()) {
+            getSnapshotManager().onDeleted(userStoreManager.getTenantId(), getDomain(userName, userStoreManager),
+                    CountType.USER, UserCoreUtil.removeDomainFromName(userName));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostAddRole(String roleName, String[] userList, Permission[] permissions,
+                                 UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (isSnapshotEnabled()) {
+            getSnapshotManager().onAdded(userStoreManager.getTenantId(), getDomain(roleName, userStoreManager),
+                    CountType.ROLE, UserCoreUtil.removeDomainFromName(roleName));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostAddInternalRole(String roleName, String[] userList, Permission[] permissions,
+                                         UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (isSnapshotEnabled()) {
+            String domain = roleName.contains(UserCoreConstants.DOMAIN_SEPARATOR) ?
+                    UserCoreUtil.extractDomainFromName(roleName) : UserCoreConstants.INTERNAL_DOMAIN;
+            getSnapshotManager().onAdded(userStoreManager.getTenantId(), domain, CountType.ROLE,
+                    UserCoreUtil.removeDomainFromName(roleName));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostDeleteRole(String roleName, UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (isSnapshotEnabled()) {
+            getSnapshotManager().onDeleted(userStoreManager.getTenantId(), getDomain(roleName, userStoreManager),
+                    CountType.ROLE, UserCoreUtil.removeDomainFromName(roleName));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean doPostUpdateRoleName(String roleName, String newRoleName, UserStoreManager userStoreManager)
+            throws UserStoreException {
+
+        if (isSnapshotEnabled()) {
+            int tenantId = userStoreManager.getTenantId();
+            getSnapshotManager().onDeleted(tenantId, getDomain(roleName, userStoreManager), CountType.ROLE,
+                    UserCoreUtil.removeDomainFromName(roleName));
+            getSnapshotManager().onAdded(tenantId, getDomain(newRoleName, userStoreManager), CountType.ROLE,
+                    UserCoreUtil.removeDomainFromName(newRoleName));
+        }
+        return true;
+    }
+
+    private boolean isSnapshotEnabled() {
+
+        return isEnable() && getSnapshotManager().isEnabled();
+    }
+
+    private UserStoreCountSnapshotManager getSnapshotManager() {
+
+        return UserStoreCountSnapshotManager.getInstance();
+    }
+
+    /**
+     * Resolve the user store domain of the name, falling back to the domain of the user store manager handling the
+     * operation when the name is not domain qualified.
+     */
+    private String getDomain(String name, UserStoreManager userStoreManager) {
+
+        if (name != null && name.contains(UserCoreConstants.DOMAIN_SEPARATOR)) {
+            return UserCoreUtil.extractDomainFromName(name);
+        }
+        return UserCoreUtil.getDomainName(userStoreManager.getRealmConfiguration());
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.store.count.snapshot;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.user.store.count.exception.UserStoreCounterException;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps snapshots of the user, role and claim counts of the user stores, so that the counts can be served without
+ * running a count query against the user store on every request.
+ * <p>
+ * A snapshot is kept per tenant, user store domain, count type and filter. It is taken with an exact count on the
+ * first request and is then kept up to date incrementally by {@link UserStoreCountSnapshotListener} as users and roles
+ * are added and deleted. Once a snapshot is older than the configured maximum age, the approximate value is served
+ * while an exact recount runs in the background. All the snapshots are recounted periodically to correct any drift,
+ * and the snapshots which were not read since the previous reconciliation are dropped.
+ */
+public class UserStoreCountSnapshotManager {
+
+    private static final Log log = LogFactory.getLog(UserStoreCountSnapshotManager.class);
+
+    private static final String SNAPSHOT_ENABLE = "UserStoreCount.Snapshot.Enable";
+    private static final String SNAPSHOT_MAX_AGE = "UserStoreCount.Snapshot.MaxAge";
+    private static final String SNAPSHOT_RECONCILIATION_INTERVAL = "UserStoreCount.Snapshot.ReconciliationInterval";
+    private static final int DEFAULT_MAX_AGE_IN_SECONDS = 300;
+    private static final int DEFAULT_RECONCILIATION_INTERVAL_IN_SECONDS = 3600;
+    private static final int MAX_SNAPSHOTS = 10000;
+
+    private static volatile UserStoreCountSnapshotManager instance;
+
+    private final boolean enabled;
+    private final long maxAgeInMillis;
+    private final long reconciliationIntervalInSeconds;
+    private final Map<SnapshotKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService executorService;
+
+    /**
+     * Types of the counts kept as snapshots.
+     */
+    public enum CountType {
+        USER, ROLE, CLAIM
+    }
+
+    /**
+     * Exact count of a snapshot, retrieved from the user store.
+     */
+    public interface CountLoader {
+
+        long count() throws UserStoreCounterException;
+    }
+
+    private UserStoreCountSnapshotManager() {
+
+        enabled = IdentityUtil.getBooleanProperty(SNAPSHOT_ENABLE, false);
+        maxAgeInMillis = TimeUnit.SECONDS.toMillis(IdentityUtil.getIntProperty(SNAPSHOT_MAX_AGE,
+                DEFAULT_MAX_AGE_IN_SECONDS));
+        reconciliationIntervalInSeconds = IdentityUtil.getIntProperty(SNAPSHOT_RECONCILIATION_INTERVAL,
+                DEFAULT_RECONCILIATION_INTERVAL_IN_SECONDS);
+    }
+
+    public static UserStoreCountSnapshotManager getInstance() {
+
+        if (instance == null) {
+            synchronized (UserStoreCountSnapshotManager.class) {
+                if (instance == null) {
+                    instance = new UserStoreCountSnapshotManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Start the background recounts and the periodic reconciliation of the snapshots.
+     */
+    public synchronized void start() {
+
+        if (!enabled || executorService != null) {
+            return;
+        }
+        executorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UserStoreCountSnapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (reconciliationIntervalInSeconds > 0) {
+            executorService.scheduleWithFixedDelay(this::reconcile, reconciliationIntervalInSeconds,
+                    reconciliationIntervalInSeconds, TimeUnit.SECONDS);
+        }
+        log.info("User store count snapshots are enabled with a maximum age of " +
+                TimeUnit.MILLISECONDS.toSeconds(maxAgeInMillis) + " seconds.");
+    }
+
+    /**
+     * Stop the background recounts and drop all the snapshots.
+     */
+    public synchronized void stop() {
+
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+        snapshots.clear();
+    }
+
+    /**
+     * Get the count of the given type from the snapshot. If there is no snapshot yet, the exact count is retrieved
+     * and kept as the snapshot. If the snapshot is older than the maximum age, the approximate value is returned and
+     * an exact recount is scheduled in the background.
+     *
+     * @param tenantId Tenant id.
+     * @param domain   User store domain.
+     * @param type     Count type.
+     * @param claimURI Claim URI of a claim count, null otherwise.
+     * @param filter   Filter of the count, without the domain.
+     * @param loader   Loader of the exact count.
+     * @return Count matching the filter.
+     * @throws UserStoreCounterException If the exact count could not be retrieved.
+     */
+    public long getCount(int tenantId, String domain, CountType type, String claimURI, String filter,
+                         CountLoader loader) throws UserStoreCounterException {
+
+        if (!enabled || executorService == null) {
+            return loader.count();
+        }
+        SnapshotKey key = new SnapshotKey(tenantId, domain, type, claimURI, filter);
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            if (snapshots.size() >= MAX_SNAPSHOTS) {
+                return loader.count();
+            }
+            // Register the snapshot before counting, so that the additions and deletions made while counting are
+            // tracked against it.
+            Snapshot newSnapshot = new Snapshot(key, loader);
+            snapshot = snapshots.putIfAbsent(key, newSnapshot);
+            if (snapshot == null) {
+                return load(newSnapshot);
+            }
+        }
+        if (!snapshot.loaded) {
+            return loader.count();
+        }
+        snapshot.lastAccessTime = System.currentTimeMillis();
+        if (snapshot.lastRecountTime + maxAgeInMillis < snapshot.lastAccessTime) {
+            scheduleRecount(snapshot);
+        }
+        return snapshot.count.get();
+    }
+
+    /**
+     * Apply the addition of a user or a role to the matching snapshots.
+     *
+     * @param tenantId Tenant id.
+     * @param domain   User store domain.
+     * @param type     Count type, either {@link CountType#USER} or {@link CountType#ROLE}.
+     * @param name     Name of the user or the role, without the domain.
+     */
+    public void onAdded(int tenantId, String domain, CountType type, String name) {
+
+        applyDelta(tenantId, domain, type, name, 1);
+    }
+
+    /**
+     * Apply the deletion of a user or a role to the matching snapshots.
+     *
+     * @param tenantId Tenant id.
+     * @param domain   User store domain.
+     * @param type     Count type, either {@link CountType#USER} or {@link CountType#ROLE}.
+     * @param name     Name of the user or the role, without the domain.
+     */
+    public void onDeleted(int tenantId, String domain, CountType type, String name) {
+
+        applyDelta(tenantId, domain, type, name, -1);
+    }
+
+    /**
+     * Drop the snapshots of the given user store domain, so that the next request takes an exact count.
+     *
+     * @param tenantId Tenant id.
+     * @param domain   User store domain.
+     */
+    public void clear(int tenantId, String domain) {
+
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        String normalizedDomain = StringUtils.upperCase(domain);
+        snapshots.keySet().removeIf(key -> key.tenantId == tenantId &&
+                StringUtils.equals(key.domain, normalizedDomain));
+    }
+
+    private void applyDelta(int tenantId, String domain, CountType type, String name, long delta) {
+
+        if (!enabled || snapshots.isEmpty() || StringUtils.isEmpty(name)) {
+            return;
+        }
+        String normalizedDomain = StringUtils.upperCase(domain);
+        for (Snapshot snapshot : snapshots.values()) {
+            SnapshotKey key = snapshot.key;
+            if (key.tenantId == tenantId && key.type == type && StringUtils.equals(key.domain, normalizedDomain)
+                    && snapshot.matches(name)) {
+                snapshot.modifications.incrementAndGet();
+                if (snapshot.count.addAndGet(delta) < 0) {
+                    snapshot.count.set(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Take the initial exact count of a newly registered snapshot. If users or roles matching the snapshot were added
+     * or deleted while counting, the count may or may not include them, so the snapshot is left stale to be recounted
+     * on the next request.
+     */
+    private long load(Snapshot snapshot) throws UserStoreCounterException {
+
+        long modifications = snapshot.modifications.get();
+        long count;
+        try {
+            count = snapshot.loader.count();
+        } catch (UserStoreCounterException | RuntimeException e) {
+            snapshots.remove(snapshot.key, snapshot);
+            throw e;
+        }
+        snapshot.count.set(count);
+        if (snapshot.modifications.get() == modifications) {
+            snapshot.lastRecountTime = System.currentTimeMillis();
+        }
+        snapshot.loaded = true;
+        return count;
+    }
+
+    private void scheduleRecount(Snapshot snapshot) {
+
+        ScheduledExecutorService executor = executorService;
+        if (executor == null || !snapshot.recounting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    recount(snapshot);
+                } finally {
+                    snapshot.recounting.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            snapshot.recounting.set(false);
+            if (log.isDebugEnabled()) {
+                log.debug("Could not schedule the recount of the user store count snapshot : " + snapshot.key, e);
+            }
+        }
+    }
+
+    private void reconcile() {
+
+        long reconciliationStartTime = System.currentTimeMillis();
+        long idleThreshold = reconciliationStartTime - TimeUnit.SECONDS.toMillis(reconciliationIntervalInSeconds);
+        Iterator<Snapshot> iterator = snapshots.values().iterator();
+        while (iterator.hasNext()) {
+            Snapshot snapshot = iterator.next();
+            if (snapshot.lastAccessTime < idleThreshold) {
+                iterator.remove();
+                continue;
+            }
+            if (snapshot.loaded && snapshot.lastRecountTime < reconciliationStartTime &&
+                    snapshot.recounting.compareAndSet(false, true)) {
+                try {
+                    recount(snapshot);
+                } finally {
+                    snapshot.recounting.set(false);
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Reconciled " + snapshots.size() + " user store count snapshots in " +
+                    (System.currentTimeMillis() - reconciliationStartTime) + " ms.");
+        }
+    }
+
+    private void recount(Snapshot snapshot) {
+
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(snapshot.key.tenantId, true);
+            long modifications = snapshot.modifications.get();
+            long count = snapshot.loader.count();
+            snapshot.count.set(count);
+            // Leave the snapshot stale if it was modified while recounting, as the count may have missed the change.
+            if (snapshot.modifications.get() == modifications) {
+                snapshot.lastRecountTime = System.currentTimeMillis();
+            }
+        } catch (UserStoreCounterException e) {
+            log.error("Error while recounting the user store count snapshot : " + snapshot.key, e);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    /**
+     * Snapshot of a count, along with the loader used to recount it.
+     */
+    private static class Snapshot {
+
+        private final SnapshotKey key;
+        private final CountLoader loader;
+        private final Pattern pattern;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong modifications = new AtomicLong();
+        private final AtomicBoolean recounting = new AtomicBoolean(false);
+        private volatile boolean loaded;
+        private volatile long lastRecountTime;
+        private volatile long lastAccessTime;
+
+        private Snapshot(SnapshotKey key, CountLoader loader) {
+
+            this.key = key;
+            this.loader = loader;
+            this.pattern = toPattern(key.filter);
+            this.lastAccessTime = System.currentTimeMillis();
+        }
+
+        private boolean matches(String name) {
+
+            return pattern == null || pattern.matcher(name).matches();
+        }
+
+        private static Pattern toPattern(String filter) {
+
+            if (StringUtils.isEmpty(filter) || "*".equals(filter) || "%".equals(filter)) {
+                return null;
+            }
+            StringBuilder regex = new StringBuilder();
+            for (String part : filter.split("[*%]", -1)) {
+                if (regex.length() > 0) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(part));
+            }
+            return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+        }
+    }
+
+    /**
+     * Key of a snapshot, made of the tenant, the user store domain, the count type and the filter.
+     */
+    private static class SnapshotKey {
+
+        private final int tenantId;
+        private final String domain;
+        private final CountType type;
+        private final String claimURI;
+        private final String filter;
+
+        private SnapshotKey(int tenantId, String domain, CountType type, String claimURI, String filter) {
+
+            this.tenantId = tenantId;
+            this.domain = StringUtils.upperCase(domain);
+            this.type = type;
+            this.claimURI = type == CountType.CLAIM ? claimURI : null;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SnapshotKey that = (SnapshotKey) o;
+            return tenantId == that.tenantId && type == that.type && Objects.equals(domain, that.domain) &&
+                    Objects.equals(claimURI, that.claimURI) && Objects.equals(filter, that.filter);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(tenantId, domain, type, claimURI, filter);
+        }
+
+        @Override
+        public String toString() {
+
+            return "tenant : " + tenantId + ", domain : " + domain + ", type : " + type +
+                    (claimURI != null ? ", claim : " + claimURI : "") + ", filter : " + filter;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.user.store.count.snapshot;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.user.store.count.exception.UserStoreCounterException;
+import org.wso2.carbon.identity.user.store.count.snapshot.UserStoreCountSnapshotManager.CountType;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+@PrepareForTest({IdentityUtil.class, PrivilegedCarbonContext.class})
+public class UserStoreCountSnapshotManagerTest extends PowerMockTestCase {
+
+    private static final int TENANT_ID = 1;
+    private static final String DOMAIN = "PRIMARY";
+
+    private UserStoreCountSnapshotManager snapshotManager;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getBooleanProperty("UserStoreCount.Snapshot.Enable", false)).thenReturn(true);
+        when(IdentityUtil.getIntProperty(anyString(), anyInt()))
+                .thenAnswer(invocation -> invocation.getArguments()[1]);
+        mockStatic(PrivilegedCarbonContext.class);
+        when(PrivilegedCarbonContext.getThreadLocalCarbonContext()).thenReturn(mock(PrivilegedCarbonContext.class));
+
+        snapshotManager = Whitebox.invokeConstructor(UserStoreCountSnapshotManager.class);
+        ScheduledExecutorService executorService = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+        Whitebox.setInternalState(snapshotManager, "executorService", executorService);
+    }
+
+    @Test
+    public void testAddedAndDeletedUsersAreApplied() throws Exception {
+
+        CountingLoader loader = new CountingLoader(5);
+        assertEquals(getUserCount("*", loader), 5);
+
+        snapshotManager.onAdded(TENANT_ID, DOMAIN, CountType.USER, "alice");
+        snapshotManager.onAdded(TENANT_ID, DOMAIN, CountType.USER, "bob");
+        assertEquals(getUserCount("*", loader), 7);
+
+        snapshotManager.onDeleted(TENANT_ID, DOMAIN, CountType.USER, "alice");
+        assertEquals(getUserCount("*", loader), 6);
+        assertEquals(loader.invocations.get(), 1, "The snapshot should be served without recounting.");
+    }
+
+    @Test
+    public void testDeletionDoesNotMakeCountNegative() throws Exception {
+
+        CountingLoader loader = new CountingLoader(0);
+        assertEquals(getUserCount("*", loader), 0);
+
+        snapshotManager.onDeleted(TENANT_ID, DOMAIN, CountType.USER, "alice");
+        assertEquals(getUserCount("*", loader), 0);
+    }
+
+    @Test
+    public void testFilterMatching() throws Exception {
+
+        CountingLoader prefixLoader = new CountingLoader(2);
+        CountingLoader containsLoader = new CountingLoader(3);
+        CountingLoader exactLoader = new CountingLoader(1);
+        CountingLoader allLoader = new CountingLoader(10);
+        getUserCount("adm*", prefixLoader);
+        getUserCount("%min%", containsLoader);
+        getUserCount("admin", exactLoader);
+        getUserCount("%", allLoader);
+
+        snapshotManager.onAdded(TENANT_ID, DOMAIN, CountType.USER, "ADMIN");
+        snapshotManager.onAdded(TENANT_ID, DOMAIN, CountType.USER, "superadmin");
+        snapshotManager.onAdded(TENANT_ID, DOMAIN, CountType.USER, "adm.user");
+        snapshotManager.onAdded(TENANT_ID, DOMAIN, CountType.USER, "alice");
+
+        assertEquals(getUserCount("adm*", prefixLoader), 4);
+        assertEquals(getUserCount("%min%", containsLoader), 5);
+        assertEquals(getUserCount("admin", exactLoader), 2);
+        assertEquals(getUserCount("%", allLoader), 14);
+    }
+
+    @Test
+    public void testDeltasAreScopedToTenantDomainAndType() throws Exception {
+
+        CountingLoader userLoader = new CountingLoader(5);
+        CountingLoader roleLoader = new CountingLoader(3);
+        getUserCount("*", userLoader);
+        snapshotManager.getCount(TENANT_ID, DOMAIN, CountType.ROLE, null, "*", roleLoader);
+
+        snapshotManager.onAdded(TENANT_ID + 1, DOMAIN, CountType.USER, "alice");
+        snapshotManager.onAdded(TENANT_ID, "SECONDARY", CountType.USER, "alice");
+        snapshotManager.onAdded(TENANT_ID, DOMAIN, CountType.ROLE, "manager");
+        snapshotManager.onAdded(TENANT_ID, "primary", CountType.USER, "bob");
+
+        assertEquals(getUserCount("*", userLoader), 6);
+        assertEquals(snapshotManager.getCount(TENANT_ID, DOMAIN, CountType.ROLE, null, "*", roleLoader), 4);
+    }
+
+    @Test
+    public void testAdditionWhileLoadingIsNotLost() throws Exception {
+
+        AtomicInteger invocations = new AtomicInteger();
+        UserStoreCountSnapshotManager.CountLoader loader = () -> {
+            if (invocations.incrementAndGet() == 1) {
+                // A user added after the count query read the user store, but before the snapshot was kept.
+                snapshotManager.onAdded(TENANT_ID, DOMAIN, CountType.USER, "alice");
+                return 10;
+            }
+            return 11;
+        };
+
+        assertEquals(getUserCount("*", loader), 10);
+        assertEquals(getUserCount("*", loader), 11);
+        assertEquals(invocations.get(), 2, "The snapshot modified while loading should be recounted.");
+        assertEquals(getUserCount("*", loader), 11);
+        assertEquals(invocations.get(), 2);
+    }
+
+    @Test
+    public void testFailedLoadIsNotKept() throws Exception {
+
+        AtomicInteger invocations = new AtomicInteger();
+        UserStoreCountSnapshotManager.CountLoader loader = () -> {
+            if (invocations.incrementAndGet() == 1) {
+                throw new UserStoreCounterException("Count query failed.");
+            }
+            return 4;
+        };
+
+        try {
+            getUserCount("*", loader);
+            fail("The error of the initial count should be thrown.");
+        } catch (UserStoreCounterException e) {
+            // Expected.
+        }
+        assertEquals(getUserCount("*", loader), 4);
+        assertEquals(getUserCount("*", loader), 4);
+        assertEquals(invocations.get(), 2);
+    }
+
+    @Test
+    public void testClearDropsSnapshotsOfDomain() throws Exception {
+
+        CountingLoader loader = new CountingLoader(5);
+        CountingLoader otherDomainLoader = new CountingLoader(2);
+        getUserCount("*", loader);
+        snapshotManager.getCount(TENANT_ID, "SECONDARY", CountType.USER, null, "*", otherDomainLoader);
+
+        snapshotManager.clear(TENANT_ID, "primary");
+
+        getUserCount("*", loader);
+        snapshotManager.getCount(TENANT_ID, "SECONDARY", CountType.USER, null, "*", otherDomainLoader);
+        assertEquals(loader.invocations.get(), 2);
+        assertEquals(otherDomainLoader.invocations.get(), 1);
+    }
+
+    private long getUserCount(String filter, UserStoreCountSnapshotManager.CountLoader loader)
+            throws UserStoreCounterException {
+
+        return snapshotManager.getCount(TENANT_ID, DOMAIN, CountType.USER, null, filter, loader);
+    }
+
+    private static class CountingLoader implements UserStoreCountSnapshotManager.CountLoader {
+
+        private final long count;
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private CountingLoader(long count) {
+
+            this.count = count;
+        }
+
+        @Override
+        public long count() {
+
+            invocations.incrementAndGet();
+            return count;
+        }
+    }
+}
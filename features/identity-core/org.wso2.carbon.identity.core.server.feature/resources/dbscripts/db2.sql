@@ -685,6 +685,27 @@ CREATE TRIGGER IDN_AUTH_WAIT_STATUS_TRIG NO CASCADE
                     SET (NEW.ID) = (NEXTVAL FOR IDN_AUTH_WAIT_STATUS_SEQ);
                 END
 /
+CREATE TABLE IDN_CONSENT_PURGE (
+  ID              INTEGER                NOT NULL,
+  TENANT_ID       INTEGER                NOT NULL,
+  PURGE_TYPE      VARCHAR(20)            NOT NULL,
+  SUBJECT         VARCHAR(255)           NOT NULL,
+  DELETED_COUNT   INTEGER DEFAULT 0,
+  TIME_CREATED    TIMESTAMP,
+  TIME_UPDATED    TIMESTAMP,
+  PRIMARY KEY (ID))
+/
+CREATE SEQUENCE IDN_CONSENT_PURGE_SEQ START WITH 1 INCREMENT BY 1 NOCACHE
+/
+CREATE TRIGGER IDN_CONSENT_PURGE_TRIG NO CASCADE
+            BEFORE INSERT
+            ON IDN_CONSENT_PURGE
+            REFERENCING NEW AS NEW
+            FOR EACH ROW MODE DB2SQL
+                BEGIN ATOMIC
+                    SET (NEW.ID) = (NEXTVAL FOR IDN_CONSENT_PURGE_SEQ);
+                END
+/
 CREATE TABLE IDP (
 			ID INTEGER NOT NULL,
 			TENANT_ID INTEGER NOT NULL,
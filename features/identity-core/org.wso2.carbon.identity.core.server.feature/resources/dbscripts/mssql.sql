@@ -557,6 +557,18 @@ CREATE TABLE IDN_AUTH_WAIT_STATUS (
   CONSTRAINT IDN_AUTH_WAIT_STATUS_KEY UNIQUE (LONG_WAIT_KEY)
 );
 
+IF NOT EXISTS(SELECT * FROM SYS.OBJECTS WHERE OBJECT_ID = OBJECT_ID(N'[DBO].[IDN_CONSENT_PURGE]') AND TYPE IN (N'U'))
+CREATE TABLE IDN_CONSENT_PURGE (
+  ID              INTEGER IDENTITY       NOT NULL,
+  TENANT_ID       INTEGER                NOT NULL,
+  PURGE_TYPE      VARCHAR(20)            NOT NULL,
+  SUBJECT         VARCHAR(255)           NOT NULL,
+  DELETED_COUNT   INTEGER DEFAULT 0,
+  TIME_CREATED    DATETIME,
+  TIME_UPDATED    DATETIME,
+  PRIMARY KEY (ID)
+);
+
 IF NOT  EXISTS (SELECT * FROM SYS.OBJECTS WHERE OBJECT_ID = OBJECT_ID(N'[DBO].[IDP]') AND TYPE IN (N'U'))
   CREATE TABLE IDP (
     ID                         INTEGER               IDENTITY,
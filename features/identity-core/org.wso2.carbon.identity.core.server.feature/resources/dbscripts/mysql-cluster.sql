@@ -590,6 +590,18 @@ CREATE TABLE IF NOT EXISTS IDN_AUTH_WAIT_STATUS (
 )
   ENGINE NDB;
 
+CREATE TABLE IF NOT EXISTS IDN_CONSENT_PURGE (
+  ID            INTEGER AUTO_INCREMENT NOT NULL,
+  TENANT_ID     INTEGER                NOT NULL,
+  PURGE_TYPE    VARCHAR(20)            NOT NULL,
+  SUBJECT       VARCHAR(255)           NOT NULL,
+  DELETED_COUNT INTEGER                DEFAULT 0,
+  TIME_CREATED  TIMESTAMP              NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  TIME_UPDATED  TIMESTAMP              NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (ID)
+)
+  ENGINE NDB;
+
 CREATE TABLE IF NOT EXISTS IDP (
   ID                         INTEGER               AUTO_INCREMENT,
   TENANT_ID                  INTEGER,
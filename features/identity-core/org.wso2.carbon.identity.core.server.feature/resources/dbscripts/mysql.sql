@@ -516,6 +516,16 @@ CREATE TABLE IF NOT EXISTS IDN_AUTH_WAIT_STATUS (
   PRIMARY KEY (ID),
   CONSTRAINT IDN_AUTH_WAIT_STATUS_KEY UNIQUE (LONG_WAIT_KEY));
 
+CREATE TABLE IF NOT EXISTS IDN_CONSENT_PURGE (
+  ID              INTEGER AUTO_INCREMENT NOT NULL,
+  TENANT_ID       INTEGER                NOT NULL,
+  PURGE_TYPE      VARCHAR(20)            NOT NULL,
+  SUBJECT         VARCHAR(255)           NOT NULL,
+  DELETED_COUNT   INTEGER DEFAULT 0,
+  TIME_CREATED    TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  TIME_UPDATED    TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (ID));
+
 CREATE TABLE IF NOT EXISTS IDP (
 			ID INTEGER AUTO_INCREMENT,
 			TENANT_ID INTEGER,
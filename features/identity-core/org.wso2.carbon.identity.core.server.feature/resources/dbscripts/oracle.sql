@@ -722,6 +722,30 @@ CREATE OR REPLACE TRIGGER IDN_AUTH_WAIT_STATUS_TRIG
     FROM dual;
   END;
 /
+CREATE TABLE IDN_CONSENT_PURGE (
+  ID              INTEGER       NOT NULL,
+  TENANT_ID       INTEGER       NOT NULL,
+  PURGE_TYPE      VARCHAR(20)   NOT NULL,
+  SUBJECT         VARCHAR(255)  NOT NULL,
+  DELETED_COUNT   INTEGER       DEFAULT 0,
+  TIME_CREATED    TIMESTAMP,
+  TIME_UPDATED    TIMESTAMP,
+  PRIMARY KEY (ID)
+)
+/
+CREATE SEQUENCE IDN_CONSENT_PURGE_SEQ START WITH 1 INCREMENT BY 1 NOCACHE
+/
+CREATE OR REPLACE TRIGGER IDN_CONSENT_PURGE_TRIG
+  BEFORE INSERT
+  ON IDN_CONSENT_PURGE
+  REFERENCING NEW AS NEW
+  FOR EACH ROW
+  BEGIN
+    SELECT IDN_CONSENT_PURGE_SEQ.nextval
+    INTO :NEW.ID
+    FROM dual;
+  END;
+/
 CREATE TABLE IDP (
   ID                         INTEGER,
   TENANT_ID                  INTEGER,
@@ -607,6 +607,20 @@ CREATE TABLE IDN_AUTH_WAIT_STATUS (
   CONSTRAINT IDN_AUTH_WAIT_STATUS_KEY UNIQUE (LONG_WAIT_KEY)
 );
 
+DROP TABLE IF EXISTS IDN_CONSENT_PURGE;
+DROP SEQUENCE IF EXISTS IDN_CONSENT_PURGE_SEQ;
+CREATE SEQUENCE IDN_CONSENT_PURGE_SEQ;
+CREATE TABLE IDN_CONSENT_PURGE (
+  ID              INTEGER       NOT NULL DEFAULT NEXTVAL('IDN_CONSENT_PURGE_SEQ'),
+  TENANT_ID       INTEGER       NOT NULL,
+  PURGE_TYPE      VARCHAR(20)   NOT NULL,
+  SUBJECT         VARCHAR(255)  NOT NULL,
+  DELETED_COUNT   INTEGER DEFAULT 0,
+  TIME_CREATED    TIMESTAMP,
+  TIME_UPDATED    TIMESTAMP,
+  PRIMARY KEY (ID)
+);
+
 DROP TABLE IF EXISTS IDP;
 DROP SEQUENCE IF EXISTS IDP_SEQ;
 CREATE SEQUENCE IDP_SEQ;